@@ -1,5 +1,8 @@
 package com.stefanrogic;
 
+import com.stefanrogic.core.astronomy.StarCatalogueBuilder;
+import com.stefanrogic.core.scene.EphemerisTableBuilder;
+import com.stefanrogic.core.scene.HeadlessSimulation;
 import com.stefanrogic.core.window.Window;
 import static org.lwjgl.glfw.GLFW.*;
 import org.lwjgl.glfw.GLFWVidMode;
@@ -8,6 +11,24 @@ public class Main {
     private static final String WINDOW_TITLE = "The Solar System";
 
     public static void main(String[] args) {
+        // BATCH MODE: NO WINDOW, NO OPENGL (--headless --steps N --dt SECONDS)
+        if (HeadlessSimulation.isRequested(args)) {
+            HeadlessSimulation.fromArgs(args).run();
+            return;
+        }
+        
+        // FIT A CHEBYSHEV EPHEMERIS FILE FROM THE INTEGRATOR (--build-ephemeris --out FILE)
+        if (EphemerisTableBuilder.isRequested(args)) {
+            EphemerisTableBuilder.fromArgs(args).run();
+            return;
+        }
+        
+        // CONVERT A CSV STAR CATALOGUE FOR THE SKY (--build-star-catalogue --csv FILE --out FILE)
+        if (StarCatalogueBuilder.isRequested(args)) {
+            StarCatalogueBuilder.fromArgs(args).run();
+            return;
+        }
+        
         System.out.println("Starting...");
         
         // Initialize GLFW
@@ -0,0 +1,272 @@
+package com.stefanrogic.assets;
+
+import java.util.Arrays;
+
+/**
+ * Unit-sphere meshes that spread their triangles evenly, unlike the latitude/longitude Sphere, which
+ * piles slivers up at the poles. Two generators: a subdivided icosahedron (icosphere) and a cube whose
+ * faces are projected onto the sphere (cube sphere). Both write straight into presized primitive
+ * arrays in Sphere's layout (position, normal, uv = 8 floats), wind triangles counter-clockwise seen
+ * from outside, and finish with vertex-cache-optimised index order and vertices renumbered in first-use
+ * order, so the GPU re-shades as few vertices as possible and fetches them sequentially.
+ *
+ * Texture coordinates follow Sphere's convention, but the u seam is not split, so triangles crossing
+ * it interpolate across the whole texture. Use these meshes for untextured bodies.
+ */
+public final class SphereMesh {
+
+    public static final int FLOATS_PER_VERTEX = 8;
+
+    private final float[] vertices;
+    private final int[] indices;
+
+    private SphereMesh(float[] vertices, int[] indices) {
+        this.vertices = vertices;
+        this.indices = indices;
+    }
+
+    public float[] getVertices() { return vertices; }
+    public int[] getIndices() { return indices; }
+    public int getVertexCount() { return vertices.length / FLOATS_PER_VERTEX; }
+    public int getTriangleCount() { return indices.length / 3; }
+
+    /**
+     * Icosahedron with every triangle split into four, subdivisions times:
+     * 10 * 4^s + 2 vertices, 20 * 4^s triangles
+     */
+    public static SphereMesh icosphere(int subdivisions) {
+        if (subdivisions < 0 || subdivisions > 7) {
+            throw new IllegalArgumentException("icosphere subdivisions must be 0..7, got " + subdivisions);
+        }
+        int vertexCount = 10 * (1 << (2 * subdivisions)) + 2;
+        float[] positions = new float[vertexCount * 3];
+
+        // TWELVE VERTICES OF A REGULAR ICOSAHEDRON: CYCLIC PERMUTATIONS OF (0, +-1, +-PHI)
+        float phi = (float) ((1.0 + Math.sqrt(5.0)) / 2.0);
+        float[] base = {
+            -1, phi, 0,   1, phi, 0,   -1, -phi, 0,   1, -phi, 0,
+            0, -1, phi,   0, 1, phi,   0, -1, -phi,   0, 1, -phi,
+            phi, 0, -1,   phi, 0, 1,   -phi, 0, -1,   -phi, 0, 1
+        };
+        System.arraycopy(base, 0, positions, 0, base.length);
+        for (int v = 0; v < 12; v++) {
+            normalize(positions, v);
+        }
+        int[] triangles = {
+            0, 11, 5,   0, 5, 1,    0, 1, 7,    0, 7, 10,   0, 10, 11,
+            1, 5, 9,    5, 11, 4,   11, 10, 2,  10, 7, 6,   7, 1, 8,
+            3, 9, 4,    3, 4, 2,    3, 2, 6,    3, 6, 8,    3, 8, 9,
+            4, 9, 5,    2, 4, 11,   6, 2, 10,   8, 6, 7,    9, 8, 1
+        };
+
+        int used = 12;
+        for (int level = 0; level < subdivisions; level++) {
+            int triangleCount = triangles.length / 3;
+            int[] next = new int[triangles.length * 4];
+            Midpoints midpoints = new Midpoints(positions, used, triangleCount * 3 / 2);
+            for (int t = 0; t < triangleCount; t++) {
+                int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+                int ab = midpoints.of(a, b), bc = midpoints.of(b, c), ca = midpoints.of(c, a);
+                int o = t * 12;
+                next[o] = a;      next[o + 1] = ab;  next[o + 2] = ca;
+                next[o + 3] = b;  next[o + 4] = bc;  next[o + 5] = ab;
+                next[o + 6] = c;  next[o + 7] = ca;  next[o + 8] = bc;
+                next[o + 9] = ab; next[o + 10] = bc; next[o + 11] = ca;
+            }
+            used = midpoints.vertexCount;
+            triangles = next;
+        }
+        return finish(positions, triangles);
+    }
+
+    /**
+     * Cube with segments x segments quads per face, each point pushed onto the sphere with the
+     * area-preserving spherified-cube mapping: 6 * (n + 1)^2 vertices, 12 * n^2 triangles
+     */
+    public static SphereMesh cubeSphere(int segments) {
+        if (segments < 1 || segments > 512) {
+            throw new IllegalArgumentException("cube sphere segments must be 1..512, got " + segments);
+        }
+        int side = segments + 1;
+        float[] positions = new float[6 * side * side * 3];
+        int[] triangles = new int[6 * segments * segments * 6];
+        float[] p = new float[3];
+        int vertex = 0;
+        int index = 0;
+        for (int face = 0; face < 6; face++) {
+            int axis = face >> 1;
+            float sign = (face & 1) == 0 ? 1.0f : -1.0f;
+            int first = vertex;
+            for (int j = 0; j <= segments; j++) {
+                for (int i = 0; i <= segments; i++) {
+                    float s = 2.0f * i / segments - 1.0f;
+                    float t = 2.0f * j / segments - 1.0f;
+                    // FACE POINT: FIXED COORDINATE ON THE FACE AXIS, s AND t ON THE OTHER TWO
+                    p[axis] = sign;
+                    p[(axis + 1) % 3] = s;
+                    p[(axis + 2) % 3] = t;
+                    float x2 = p[0] * p[0], y2 = p[1] * p[1], z2 = p[2] * p[2];
+                    positions[vertex * 3] = p[0] * (float) Math.sqrt(1.0f - y2 / 2.0f - z2 / 2.0f + y2 * z2 / 3.0f);
+                    positions[vertex * 3 + 1] = p[1] * (float) Math.sqrt(1.0f - z2 / 2.0f - x2 / 2.0f + z2 * x2 / 3.0f);
+                    positions[vertex * 3 + 2] = p[2] * (float) Math.sqrt(1.0f - x2 / 2.0f - y2 / 2.0f + x2 * y2 / 3.0f);
+                    normalize(positions, vertex); // THE MAPPING IS EXACT UP TO ROUNDING
+                    vertex++;
+                }
+            }
+            for (int j = 0; j < segments; j++) {
+                for (int i = 0; i < segments; i++) {
+                    int a = first + j * side + i;
+                    int b = a + 1;
+                    int c = a + side;
+                    int d = c + 1;
+                    triangles[index++] = a; triangles[index++] = b; triangles[index++] = d;
+                    triangles[index++] = a; triangles[index++] = d; triangles[index++] = c;
+                }
+            }
+        }
+        return finish(positions, triangles);
+    }
+
+    /**
+     * Largest gap between a facet and the true sphere, in radii: one minus the distance from the centre
+     * to the flattest triangle's plane. Multiply by a projected radius to get the error in pixels.
+     */
+    public static float maxFacetError(float[] vertices, int[] indices, int floatsPerVertex) {
+        float worst = 0.0f;
+        for (int t = 0; t < indices.length; t += 3) {
+            int a = indices[t] * floatsPerVertex, b = indices[t + 1] * floatsPerVertex, c = indices[t + 2] * floatsPerVertex;
+            float ux = vertices[b] - vertices[a], uy = vertices[b + 1] - vertices[a + 1], uz = vertices[b + 2] - vertices[a + 2];
+            float vx = vertices[c] - vertices[a], vy = vertices[c + 1] - vertices[a + 1], vz = vertices[c + 2] - vertices[a + 2];
+            float nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length < 1e-12f) {
+                continue; // DEGENERATE POLE TRIANGLE OF A UV SPHERE
+            }
+            float radius = (float) Math.sqrt(vertices[a] * vertices[a] + vertices[a + 1] * vertices[a + 1] + vertices[a + 2] * vertices[a + 2]);
+            float distance = Math.abs(nx * vertices[a] + ny * vertices[a + 1] + nz * vertices[a + 2]) / length;
+            worst = Math.max(worst, 1.0f - distance / radius);
+        }
+        return worst;
+    }
+
+    /**
+     * Average post-transform cache misses per triangle for a FIFO cache of the given size: 3.0 is one
+     * shaded vertex per corner, about 0.5 is the floor for a closed mesh
+     */
+    public static float averageCacheMissRatio(int[] indices, int cacheSize) {
+        int[] fifo = new int[cacheSize];
+        Arrays.fill(fifo, -1);
+        int head = 0;
+        int misses = 0;
+        for (int index : indices) {
+            boolean hit = false;
+            for (int entry : fifo) {
+                if (entry == index) {
+                    hit = true;
+                    break;
+                }
+            }
+            if (!hit) {
+                misses++;
+                fifo[head] = index;
+                head = (head + 1) % cacheSize;
+            }
+        }
+        return misses / (indices.length / 3.0f);
+    }
+
+    /**
+     * Fix winding, reorder for the vertex cache, then lay the vertices out in first-use order
+     */
+    private static SphereMesh finish(float[] positions, int[] triangles) {
+        int vertexCount = positions.length / 3;
+        for (int t = 0; t < triangles.length; t += 3) {
+            int a = triangles[t] * 3, b = triangles[t + 1] * 3, c = triangles[t + 2] * 3;
+            float ux = positions[b] - positions[a], uy = positions[b + 1] - positions[a + 1], uz = positions[b + 2] - positions[a + 2];
+            float vx = positions[c] - positions[a], vy = positions[c + 1] - positions[a + 1], vz = positions[c + 2] - positions[a + 2];
+            float outward = (uy * vz - uz * vy) * positions[a] + (uz * vx - ux * vz) * positions[a + 1] + (ux * vy - uy * vx) * positions[a + 2];
+            if (outward < 0.0f) {
+                int swap = triangles[t + 1];
+                triangles[t + 1] = triangles[t + 2];
+                triangles[t + 2] = swap;
+            }
+        }
+
+        int[] ordered = VertexCacheOptimizer.optimize(triangles, vertexCount);
+
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        float[] vertices = new float[vertexCount * FLOATS_PER_VERTEX];
+        int next = 0;
+        for (int i = 0; i < ordered.length; i++) {
+            int source = ordered[i];
+            if (remap[source] < 0) {
+                remap[source] = next;
+                writeVertex(positions, source, vertices, next);
+                next++;
+            }
+            ordered[i] = remap[source];
+        }
+        return new SphereMesh(vertices, ordered);
+    }
+
+    private static void writeVertex(float[] positions, int source, float[] vertices, int target) {
+        float x = positions[source * 3], y = positions[source * 3 + 1], z = positions[source * 3 + 2];
+        int o = target * FLOATS_PER_VERTEX;
+        vertices[o] = x;     vertices[o + 1] = y; vertices[o + 2] = z; // POSITION ON THE UNIT SPHERE
+        vertices[o + 3] = x; vertices[o + 4] = y; vertices[o + 5] = z; // NORMAL
+        // SAME MAPPING AS Sphere: x = cos(phi) sin(theta), y = cos(theta), z = sin(phi) sin(theta)
+        double longitude = Math.atan2(z, x);
+        vertices[o + 6] = (float) ((longitude < 0.0 ? longitude + 2.0 * Math.PI : longitude) / (2.0 * Math.PI));
+        vertices[o + 7] = (float) (Math.acos(Math.max(-1.0f, Math.min(1.0f, y))) / Math.PI);
+    }
+
+    private static void normalize(float[] positions, int vertex) {
+        int o = vertex * 3;
+        float length = (float) Math.sqrt(positions[o] * positions[o] + positions[o + 1] * positions[o + 1] + positions[o + 2] * positions[o + 2]);
+        positions[o] /= length;
+        positions[o + 1] /= length;
+        positions[o + 2] /= length;
+    }
+
+    /**
+     * Midpoint vertex of each undirected edge, appended to positions the first time it is asked for.
+     * Open addressing on a long edge key, so nothing is boxed.
+     */
+    private static final class Midpoints {
+        private final float[] positions;
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+        int vertexCount;
+
+        Midpoints(float[] positions, int vertexCount, int edges) {
+            this.positions = positions;
+            this.vertexCount = vertexCount;
+            int capacity = Integer.highestOneBit(Math.max(4, edges * 2) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1L);
+        }
+
+        int of(int a, int b) {
+            long key = a < b ? (long) a << 32 | b : (long) b << 32 | a;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (keys[slot] != -1L) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            int midpoint = vertexCount++;
+            for (int c = 0; c < 3; c++) {
+                positions[midpoint * 3 + c] = positions[a * 3 + c] + positions[b * 3 + c];
+            }
+            normalize(positions, midpoint);
+            keys[slot] = key;
+            values[slot] = midpoint;
+            return midpoint;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.stefanrogic.assets;
+
+import java.util.Arrays;
+
+/**
+ * Triangle reordering for the post-transform vertex cache, after Tom Forsyth's "Linear-Speed Vertex
+ * Cache Optimisation". Every vertex gets a score from its position in a simulated LRU cache and from
+ * how many of its triangles are still unemitted; the next triangle emitted is the one whose vertices
+ * score highest. Only triangles touching the cache change score each step, which keeps the whole
+ * pass linear in the triangle count.
+ */
+final class VertexCacheOptimizer {
+
+    private static final int CACHE_SIZE = 32;
+    private static final float CACHE_DECAY_POWER = 1.5f;
+    private static final float LAST_TRIANGLE_SCORE = 0.75f;
+    private static final float VALENCE_BOOST_SCALE = 2.0f;
+    private static final float VALENCE_BOOST_POWER = 0.5f;
+
+    private VertexCacheOptimizer() {
+    }
+
+    /**
+     * Same triangles (and windings) as the input, in cache-friendly order
+     */
+    static int[] optimize(int[] indices, int vertexCount) {
+        int triangleCount = indices.length / 3;
+
+        // TRIANGLES OF EACH VERTEX, FLATTENED: vertexTriangles[triangleStart[v] .. + remaining[v]]
+        int[] remaining = new int[vertexCount];
+        for (int index : indices) {
+            remaining[index]++;
+        }
+        int[] triangleStart = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            triangleStart[v + 1] = triangleStart[v] + remaining[v];
+        }
+        int[] vertexTriangles = new int[indices.length];
+        int[] fill = Arrays.copyOf(triangleStart, vertexCount);
+        for (int i = 0; i < indices.length; i++) {
+            vertexTriangles[fill[indices[i]]++] = i / 3;
+        }
+
+        int[] cachePosition = new int[vertexCount];
+        Arrays.fill(cachePosition, -1);
+        float[] vertexScore = new float[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexScore[v] = score(-1, remaining[v]);
+        }
+        boolean[] emitted = new boolean[triangleCount];
+        int best = -1;
+        float bestScore = -1.0f;
+        for (int t = 0; t < triangleCount; t++) {
+            float s = vertexScore[indices[t * 3]] + vertexScore[indices[t * 3 + 1]] + vertexScore[indices[t * 3 + 2]];
+            if (s > bestScore) {
+                bestScore = s;
+                best = t;
+            }
+        }
+
+        int[] output = new int[indices.length];
+        int[] cache = new int[CACHE_SIZE + 3];
+        int[] nextCache = new int[CACHE_SIZE + 3];
+        int cacheUsed = 0;
+        int scanFrom = 0;
+        for (int out = 0; out < triangleCount; out++) {
+            if (best < 0) {
+                // NOTHING IN THE CACHE HAS TRIANGLES LEFT: TAKE THE NEXT UNEMITTED ONE IN INPUT ORDER
+                while (emitted[scanFrom]) {
+                    scanFrom++;
+                }
+                best = scanFrom;
+            }
+            emitted[best] = true;
+            int nextUsed = 0;
+            for (int corner = 0; corner < 3; corner++) {
+                int v = indices[best * 3 + corner];
+                output[out * 3 + corner] = v;
+                nextCache[nextUsed++] = v;
+
+                // DROP THE TRIANGLE FROM THE VERTEX'S LIVE LIST
+                int start = triangleStart[v];
+                int last = start + --remaining[v];
+                for (int k = start; k <= last; k++) {
+                    if (vertexTriangles[k] == best) {
+                        vertexTriangles[k] = vertexTriangles[last];
+                        break;
+                    }
+                }
+            }
+            // THE EMITTED TRIANGLE'S VERTICES MOVE TO THE FRONT, EVERYTHING ELSE SHIFTS BACK
+            for (int i = 0; i < cacheUsed; i++) {
+                int v = cache[i];
+                if (v != nextCache[0] && v != nextCache[1] && v != nextCache[2]) {
+                    nextCache[nextUsed++] = v;
+                }
+            }
+            for (int i = 0; i < nextUsed; i++) {
+                int v = nextCache[i];
+                cachePosition[v] = i < CACHE_SIZE ? i : -1;
+                vertexScore[v] = score(cachePosition[v], remaining[v]);
+            }
+
+            best = -1;
+            bestScore = -1.0f;
+            for (int i = 0; i < nextUsed; i++) {
+                int v = nextCache[i];
+                for (int k = triangleStart[v], end = k + remaining[v]; k < end; k++) {
+                    int t = vertexTriangles[k];
+                    float s = vertexScore[indices[t * 3]] + vertexScore[indices[t * 3 + 1]] + vertexScore[indices[t * 3 + 2]];
+                    if (s > bestScore) {
+                        bestScore = s;
+                        best = t;
+                    }
+                }
+            }
+
+            int[] swap = cache;
+            cache = nextCache;
+            nextCache = swap;
+            cacheUsed = Math.min(nextUsed, CACHE_SIZE);
+        }
+        return output;
+    }
+
+    private static float score(int cachePosition, int remainingTriangles) {
+        if (remainingTriangles == 0) {
+            return -1.0f; // NOTHING LEFT TO DRAW WITH THIS VERTEX
+        }
+        float score = 0.0f;
+        if (cachePosition >= 0) {
+            if (cachePosition < 3) {
+                // USED BY THE TRIANGLE JUST EMITTED; A FIXED SCORE STOPS STRIPS FROM WINNING OUTRIGHT
+                score = LAST_TRIANGLE_SCORE;
+            } else {
+                float scale = 1.0f / (CACHE_SIZE - 3);
+                score = (float) Math.pow(1.0f - (cachePosition - 3) * scale, CACHE_DECAY_POWER);
+            }
+        }
+        // FEW TRIANGLES LEFT: FINISH THIS VERTEX OFF BEFORE IT BECOMES AN ISOLATED STRAGGLER
+        return score + VALENCE_BOOST_SCALE * (float) Math.pow(remainingTriangles, -VALENCE_BOOST_POWER);
+    }
+}
@@ -0,0 +1,65 @@
+package com.stefanrogic.assets.celestial;
+
+import java.util.Random;
+import com.stefanrogic.core.astronomy.AstronomicalCalculator;
+import com.stefanrogic.core.astronomy.KeplerianEphemeris;
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Main asteroid belt between Mars and Jupiter. Asteroids are plain entries in the BodyStore
+ * (ids firstId .. firstId + count - 1) with no per-asteroid object, so 100k of them stay cheap.
+ * Orbits are random Keplerian element sets, turned into state vectors with one ephemeris evaluation.
+ */
+public class AsteroidBelt {
+
+    // BELT DATA
+    private static final double INNER_AXIS = 2.2; // AU
+    private static final double OUTER_AXIS = 3.27; // AU
+    private static final double MAX_ECCENTRICITY = 0.3;
+    private static final double MAX_INCLINATION = 15.0; // DEGREES
+    private static final double EARTH_MEAN_MOTION = 35999.37244981; // DEGREES PER CENTURY AT 1 AU
+    private static final double TOTAL_MASS = 2.39e21; // KG, ROUGHLY 3% OF THE MOON
+    private static final float ASTEROID_RADIUS = 0.005f; // 50 KM
+
+    private final int firstId;
+    private final int count;
+
+    public AsteroidBelt(BodyStore store, Sun sun, int count, long seed) {
+        Random random = new Random(seed);
+        double massEach = TOTAL_MASS / Math.max(1, count);
+
+        store.ensureCapacity(store.size() + count);
+        this.firstId = store.size();
+        this.count = count;
+
+        KeplerianEphemeris elements = new KeplerianEphemeris();
+        elements.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            double axis = INNER_AXIS + random.nextDouble() * (OUTER_AXIS - INNER_AXIS);
+            // MOST ASTEROIDS ARE NEARLY CIRCULAR AND LIE CLOSE TO THE ECLIPTIC
+            double eccentricity = MAX_ECCENTRICITY * random.nextDouble() * random.nextDouble();
+            double inclination = MAX_INCLINATION * random.nextDouble() * random.nextDouble();
+            double meanMotion = EARTH_MEAN_MOTION / Math.pow(axis, 1.5); // KEPLER'S THIRD LAW
+            elements.add("ASTEROID " + (i + 1), axis, eccentricity, inclination,
+                random.nextDouble() * 360.0, random.nextDouble() * 360.0, random.nextDouble() * 360.0,
+                0.0, 0.0, 0.0, meanMotion, 0.0, 0.0);
+        }
+
+        // ONE VECTORISED EVALUATION FOR THE WHOLE BELT
+        double[] x = new double[count], y = new double[count], z = new double[count];
+        double[] vx = new double[count], vy = new double[count], vz = new double[count];
+        elements.computeStates(AstronomicalCalculator.getSceneEpoch(), x, y, z, vx, vy, vz);
+
+        double[] state = new double[6];
+        for (int i = 0; i < count; i++) {
+            int id = store.addBody(elements.getName(i), sun.getId(), ASTEROID_RADIUS, massEach);
+            state[0] = x[i]; state[1] = y[i]; state[2] = z[i];
+            state[3] = vx[i]; state[4] = vy[i]; state[5] = vz[i];
+            store.setRelativeState(id, state);
+        }
+        System.out.println("Created asteroid belt with " + count + " asteroids");
+    }
+
+    public int getFirstId() { return firstId; }
+    public int getCount() { return count; }
+}
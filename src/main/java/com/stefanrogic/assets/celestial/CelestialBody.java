@@ -0,0 +1,73 @@
+package com.stefanrogic.assets.celestial;
+
+import org.joml.Vector3f;
+import com.stefanrogic.assets.Sphere;
+import com.stefanrogic.core.rendering.AssetManager;
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Base class for all celestial bodies. State vectors, mass and rotation live in the shared BodyStore;
+ * a body only keeps its id plus rendering data (sphere, colour, OpenGL buffers).
+ */
+public abstract class CelestialBody {
+    protected final BodyStore store;
+    protected final int id;
+    protected Sphere sphere;
+    protected Vector3f color;
+    private int VAO, VBO, EBO;
+
+    // REUSED FOR getPosition() SO READING POSITIONS NEVER ALLOCATES
+    private final Vector3f position = new Vector3f();
+
+    protected CelestialBody(BodyStore store, String name, CelestialBody parent, float radius, double massKg) {
+        this.store = store;
+        this.id = store.addBody(name, parent != null ? parent.getId() : BodyStore.NO_PARENT, radius, massKg);
+    }
+
+    /**
+     * Convert a period in Earth days to an angular rate in radians per second
+     */
+    protected static double angularRate(double periodDays) {
+        return (2.0 * Math.PI) / (periodDays * 24.0 * 3600.0);
+    }
+
+    /**
+     * Request models and textures. Called once after the GL context exists; headless runs never call it.
+     * Requests are asynchronous: a body must stay drawable (usually as its procedural sphere) until the
+     * returned futures complete. Bodies drawn as procedural spheres have nothing to load.
+     */
+    public void loadAssets(AssetManager assets) {
+    }
+
+    /**
+     * Return every reference loadAssets() took. Called once at shutdown, before the GL context goes away.
+     */
+    public void releaseAssets(AssetManager assets) {
+    }
+
+    public int getId() { return id; }
+    public String getName() { return store.getName(id); }
+
+    /**
+     * Current position. The returned vector is owned by this body and overwritten on every call.
+     */
+    public Vector3f getPosition() { return store.getPosition(id, position); }
+    public float getRadius() { return (float) store.getRadius(id); }
+    public float getRotationAngle() { return (float) store.getRotationAngle(id); }
+    public float getAxialTilt() { return (float) store.getAxialTilt(id); }
+    public double getMass() { return store.getMass(id); }
+    protected float getOrbitAngle() { return (float) store.getDisplayOrbitAngle(id); }
+
+    public Vector3f getColor() { return color; }
+    public Sphere getSphere() { return sphere; }
+
+    // GETTERS FOR OPENGL BUFFER OBJECTS
+    public int getVAO() { return VAO; }
+    public int getVBO() { return VBO; }
+    public int getEBO() { return EBO; }
+
+    // SETTERS FOR BUFFER OBJECTS (TO BE SET BY RENDERER)
+    public void setVAO(int VAO) { this.VAO = VAO; }
+    public void setVBO(int VBO) { this.VBO = VBO; }
+    public void setEBO(int EBO) { this.EBO = EBO; }
+}
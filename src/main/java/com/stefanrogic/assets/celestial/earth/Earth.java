@@ -2,110 +2,93 @@ package com.stefanrogic.assets.celestial.earth;
 
 import org.joml.Vector3f;
 import com.stefanrogic.core.astronomy.AstronomicalCalculator;
+import com.stefanrogic.core.scene.BodyStore;
 import com.stefanrogic.assets.Sphere;
+import com.stefanrogic.assets.celestial.CelestialBody;
+import com.stefanrogic.assets.celestial.Sun;
+import com.stefanrogic.core.rendering.AssetManager;
 import com.stefanrogic.core.rendering.Model;
-import com.stefanrogic.core.rendering.OBJLoader;
-import com.stefanrogic.core.rendering.TextureLoader;
 
-public class Earth {
-    private Sphere sphere;
-    private Model earthModel;
-    private Vector3f position;
+public class Earth extends CelestialBody {
+    private Model earthModel; // NULL UNTIL LOADED; THE PROCEDURAL SURFACE IS DRAWN MEANWHILE
     private Vector3f oceanColor;
     private Vector3f landColor;
     private Vector3f iceColor;
     private Vector3f mountainColor;
-    private int VAO, VBO, EBO;
-    private boolean useOBJModel = true; // Flag to switch between OBJ and procedural sphere
     private int cloudsTextureId = 0; // Store clouds texture separately
     private int bumpTextureId = 0; // Store bump texture separately
     private int nightLightsTextureId = 0; // Store night lights texture separately
     
     // EARTH DATA (SCALE: 1 UNIT = 10,000 KM)
     private static final float EARTH_RADIUS = 0.637f; // 6,371 KM ACTUAL RADIUS (REALISTIC SCALE)
+    private static final double MASS = 5.972e24; // KG
     private static final float DISTANCE_FROM_SUN = 14960.0f; // 149.6 MILLION KM ACTUAL DISTANCE (1 AU FROM SUN CENTER)
     private static final int SPHERE_DETAIL = 24; // HIGHEST DETAIL FOR HOME PLANET
-    
-    // ORBITAL DATA
-    private static final float ORBITAL_PERIOD = 365.25f; // EARTH'S ORBITAL PERIOD IN EARTH DAYS
-    private float currentAngle; // CURRENT ORBITAL ANGLE IN RADIANS
+    private static final String MODEL_PATH = "models/earth_model.obj";
+    private static final String DIFFUSE_PATH = "textures/Diffuse_2K.png";
+    private static final String CLOUDS_PATH = "textures/Clouds_2K.png";
+    private static final String BUMP_PATH = "textures/Bump_2K.png";
+    private static final String NIGHT_LIGHTS_PATH = "textures/Night_lights_2K.png";
     
     // ROTATION DATA
     private static final float ROTATION_PERIOD = 1.0f; // EARTH'S ROTATION PERIOD IN EARTH DAYS (24 HOURS)
     private static final float AXIAL_TILT = 23.5f; // EARTH'S AXIAL TILT IN DEGREES (CAUSES SEASONS)
-    private float rotationAngle; // CURRENT ROTATION ANGLE IN RADIANS
     
-    public Earth() {
+    public Earth(BodyStore store, Sun sun) {
+        super(store, "EARTH", sun, EARTH_RADIUS, MASS);
         // EARTH'S CURRENT POSITION BASED ON REAL-TIME ASTRONOMICAL DATA
-        this.currentAngle = (float) AstronomicalCalculator.getCurrentOrbitalAngle("EARTH");
-        updatePosition();
+        store.setRelativeState(id, AstronomicalCalculator.getSceneHeliocentricState("EARTH"));
+        store.setRotation(id, angularRate(ROTATION_PERIOD), AXIAL_TILT, false);
+        this.color = new Vector3f(0.15f, 0.35f, 0.65f); // EARTH BLUE WITH ATMOSPHERIC GLOW
         this.oceanColor = new Vector3f(0.02f, 0.15f, 0.6f); // DEEPER BLUE OCEANS
         this.landColor = new Vector3f(0.05f, 0.5f, 0.05f); // RICHER GREEN CONTINENTS
         this.iceColor = new Vector3f(0.95f, 0.98f, 1.0f); // BRIGHT WHITE ICE CAPS
         this.mountainColor = new Vector3f(0.3f, 0.25f, 0.15f); // BROWNISH MOUNTAINS
+    }
+    
+    /**
+     * Request the Earth model and its cloud, bump and night-light layers. Each layer is switched on by
+     * its own future, so the globe appears as soon as the diffuse map is ready and sharpens as the rest land.
+     */
+    @Override
+    public void loadAssets(AssetManager assets) {
+        this.sphere = new Sphere(EARTH_RADIUS, SPHERE_DETAIL, SPHERE_DETAIL);
+        System.out.println("Loading Earth OBJ model...");
+        assets.loadModel(MODEL_PATH, DIFFUSE_PATH).whenComplete((model, error) -> {
+            if (error != null) {
+                System.err.println("Failed to load Earth OBJ model: " + error.getMessage());
+                return; // KEEP THE PROCEDURAL CONTINENTS
+            }
+            this.earthModel = model;
+            System.out.println("Successfully loaded Earth OBJ model with PNG texture");
+        });
         
-        // Load OBJ model if available, otherwise use procedural sphere
-        try {
-            System.out.println("Loading Earth OBJ model...");
-            OBJLoader.ModelData modelData = OBJLoader.loadOBJ("models/earth_model.obj");
-            
-            // Load diffuse texture from PNG file
-            int earthTexture = TextureLoader.loadTextureFromResources("textures/Diffuse_2K.png");
-            System.out.println("Successfully loaded Earth diffuse texture");
-            
-            // Load clouds texture
-            try {
-                cloudsTextureId = TextureLoader.loadTextureFromResources("textures/Clouds_2K.png");
-                System.out.println("Successfully loaded clouds texture");
-            } catch (Exception e) {
-                System.err.println("Failed to load clouds texture: " + e.getMessage());
-                cloudsTextureId = 0;
+        // OPTIONAL LAYERS: A FAILURE ONLY LEAVES THAT LAYER SWITCHED OFF (TEXTURE ID 0)
+        assets.loadTexture(CLOUDS_PATH).whenComplete((texture, error) -> {
+            if (error != null) {
+                System.err.println("Failed to load clouds texture: " + error.getMessage());
+            } else {
+                cloudsTextureId = texture;
             }
-            
-            // Load bump texture
-            try {
-                bumpTextureId = TextureLoader.loadTextureFromResources("textures/Bump_2K.png");
-                System.out.println("Successfully loaded bump texture");
-            } catch (Exception e) {
-                System.err.println("Failed to load bump texture: " + e.getMessage());
-                bumpTextureId = 0;
+        });
+        assets.loadTexture(BUMP_PATH).whenComplete((texture, error) -> {
+            if (error != null) {
+                System.err.println("Failed to load bump texture: " + error.getMessage());
+            } else {
+                bumpTextureId = texture;
             }
-            
-            // Load night lights texture
-            try {
-                nightLightsTextureId = TextureLoader.loadTextureFromResources("textures/Night_lights_2K.png");
-                System.out.println("Successfully loaded night lights texture");
-            } catch (Exception e) {
-                System.err.println("Failed to load night lights texture: " + e.getMessage());
-                nightLightsTextureId = 0;
+        });
+        assets.loadTexture(NIGHT_LIGHTS_PATH).whenComplete((texture, error) -> {
+            if (error != null) {
+                System.err.println("Failed to load night lights texture: " + error.getMessage());
+            } else {
+                nightLightsTextureId = texture;
             }
-            
-            this.earthModel = new Model(modelData, earthTexture);
-            System.out.println("Successfully loaded Earth OBJ model with PNG texture");
-        } catch (Exception e) {
-            System.err.println("Failed to load Earth OBJ model: " + e.getMessage());
-            this.useOBJModel = false;
-            this.sphere = new Sphere(EARTH_RADIUS, SPHERE_DETAIL, SPHERE_DETAIL);
-        }
-        
-        setupBuffers();
-    }
-    
-    private void setupBuffers() {
-        // THIS WILL BE CALLED FROM THE RENDERER TO SET UP OPENGL BUFFERS
-        // WE'LL IMPLEMENT THIS IN THE RENDERER CLASS
+        });
     }
     
     // FOR NOW, WE'LL USE A BLEND OF OCEAN AND LAND COLORS
     // LATER WE CAN IMPLEMENT A MORE COMPLEX SHADER FOR CONTINENTS
-    /**
-     * Get base Earth color with atmospheric effect
-     */
-    public Vector3f getColor() { 
-        // EARTH WITH ATMOSPHERIC BLUE GLOW
-        return new Vector3f(0.15f, 0.35f, 0.65f); // MORE REALISTIC EARTH BLUE
-    }
-    
     /**
      * Get enhanced Earth color that simulates continent/ocean variations
      */
@@ -183,70 +166,25 @@ public class Earth {
     public Vector3f getIceColor() { return iceColor; }
     public Vector3f getMountainColor() { return mountainColor; }
     
-    public Vector3f getPosition() { return position; }
-    public Sphere getSphere() { return sphere; }
     public Model getModel() { return earthModel; }
-    public boolean isUsingOBJModel() { return useOBJModel; }
+    public boolean isUsingOBJModel() { return earthModel != null; }
     public int getCloudsTextureId() { return cloudsTextureId; }
     public int getBumpTextureId() { return bumpTextureId; }
     public int getNightLightsTextureId() { return nightLightsTextureId; }
-    public float getRadius() { return EARTH_RADIUS; }
     public float getDistanceFromSun() { return DISTANCE_FROM_SUN; }
     
-    // GETTERS FOR OPENGL BUFFER OBJECTS
-    public int getVAO() { return VAO; }
-    public int getVBO() { return VBO; }
-    public int getEBO() { return EBO; }
-    
-    // SETTERS FOR BUFFER OBJECTS (TO BE SET BY RENDERER)
-    public void setVAO(int VAO) { this.VAO = VAO; }
-    public void setVBO(int VBO) { this.VBO = VBO; }
-    public void setEBO(int EBO) { this.EBO = EBO; }
-    
-    // UPDATE ORBITAL POSITION AND ROTATION BASED ON TIME
-    public void updateOrbitalPosition(float deltaTime) {
-        // CALCULATE ORBITAL ANGULAR VELOCITY (RADIANS PER SECOND)
-        float orbitalAngularVelocity = (float) (2.0 * Math.PI) / (ORBITAL_PERIOD * 24.0f * 3600.0f); // CONVERT DAYS TO SECONDS
-        
-        // CALCULATE ROTATIONAL ANGULAR VELOCITY (RADIANS PER SECOND)
-        float rotationalAngularVelocity = (float) (2.0 * Math.PI) / (ROTATION_PERIOD * 24.0f * 3600.0f); // CONVERT DAYS TO SECONDS
-        
-        // UPDATE ORBITAL ANGLE
-        currentAngle += orbitalAngularVelocity * deltaTime;
-        
-        // UPDATE ROTATION ANGLE (EARTH ROTATES FAST - 24 HOURS)
-        rotationAngle += rotationalAngularVelocity * deltaTime;
-        
-        // KEEP ANGLES IN 0-2π RANGE
-        if (currentAngle > 2.0 * Math.PI) {
-            currentAngle -= (float) (2.0 * Math.PI);
-        }
-        if (rotationAngle > 2.0 * Math.PI) {
-            rotationAngle -= (float) (2.0 * Math.PI);
-        }
-        
-        updatePosition();
-    }
-    
-    // CALCULATE POSITION FROM CURRENT ANGLE
-    private void updatePosition() {
-        float x = (float) (DISTANCE_FROM_SUN * Math.cos(currentAngle));
-        float z = (float) (DISTANCE_FROM_SUN * Math.sin(currentAngle));
-        this.position = new Vector3f(x, 0.0f, z);
-    }
-    
-    // GETTERS FOR ORBITAL DATA
-    public float getRotationAngle() { return rotationAngle; }
-    
     /**
-     * Get Earth's axial tilt in degrees
+     * Hand the model and all three layers back; the registry deletes them once nothing else uses them
      */
-    public float getAxialTilt() { return AXIAL_TILT; }
-    
-    // CLEANUP METHOD
-    public void cleanup() {
-        if (earthModel != null) {
-            earthModel.cleanup();
-        }
+    @Override
+    public void releaseAssets(AssetManager assets) {
+        assets.releaseModel(MODEL_PATH, DIFFUSE_PATH);
+        assets.releaseTexture(CLOUDS_PATH);
+        assets.releaseTexture(BUMP_PATH);
+        assets.releaseTexture(NIGHT_LIGHTS_PATH);
+        earthModel = null;
+        cloudsTextureId = 0;
+        bumpTextureId = 0;
+        nightLightsTextureId = 0;
     }
 }
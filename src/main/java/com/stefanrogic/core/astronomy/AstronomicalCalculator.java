@@ -1,101 +1,172 @@
 package com.stefanrogic.core.astronomy;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
 
 public class AstronomicalCalculator {
-    
-    // J2000.0 EPOCH (JANUARY 1, 2000, 12:00 TT)
-    private static final LocalDate J2000_EPOCH = LocalDate.of(2000, 1, 1);
-    
-    // ORBITAL ELEMENTS AT J2000.0 EPOCH (SIMPLIFIED)
-    // SOURCE: NASA JPL APPROXIMATE POSITIONS OF THE PLANETS
-    
-    // MERCURY ORBITAL ELEMENTS
-    private static final double MERCURY_MEAN_LONGITUDE = 252.251; // DEGREES AT J2000.0
-    private static final double MERCURY_LONGITUDE_OF_PERIHELION = 77.456; // DEGREES
-    private static final double MERCURY_MEAN_MOTION = 4.09233445; // DEGREES PER DAY
-    
-    // VENUS ORBITAL ELEMENTS
-    private static final double VENUS_MEAN_LONGITUDE = 181.980; // DEGREES AT J2000.0
-    private static final double VENUS_LONGITUDE_OF_PERIHELION = 131.564; // DEGREES
-    private static final double VENUS_MEAN_MOTION = 1.60213034; // DEGREES PER DAY
-    
-    // EARTH ORBITAL ELEMENTS
-    private static final double EARTH_MEAN_LONGITUDE = 100.464; // DEGREES AT J2000.0
-    private static final double EARTH_LONGITUDE_OF_PERIHELION = 102.938; // DEGREES
-    private static final double EARTH_MEAN_MOTION = 0.98560028; // DEGREES PER DAY
-    
-    // MARS ORBITAL ELEMENTS
-    private static final double MARS_MEAN_LONGITUDE = 355.433; // DEGREES AT J2000.0
-    private static final double MARS_LONGITUDE_OF_PERIHELION = 336.041; // DEGREES
-    private static final double MARS_MEAN_MOTION = 0.52403840; // DEGREES PER DAY
-    
-    // JUPITER ORBITAL ELEMENTS
-    private static final double JUPITER_MEAN_LONGITUDE = 34.351; // DEGREES AT J2000.0
-    private static final double JUPITER_LONGITUDE_OF_PERIHELION = 14.331; // DEGREES
-    private static final double JUPITER_MEAN_MOTION = 0.08308529; // DEGREES PER DAY
-    
+
+    // JULIAN DATE OF THE UNIX EPOCH (1970-01-01 00:00 UTC)
+    private static final double UNIX_EPOCH_JULIAN_DATE = 2440587.5;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    // KEPLERIAN ELEMENTS AND RATES PER CENTURY, VALID 1800-2050
+    // SOURCE: NASA JPL APPROXIMATE POSITIONS OF THE PLANETS (STANDISH), TABLE 1
+    // EARTH IS THE EARTH-MOON BARYCENTRE
+    private static final KeplerianEphemeris PLANETS = new KeplerianEphemeris();
+    static {
+        //           NAME         A (AU)       E           I (DEG)       L (DEG)         PERIHELION    NODE
+        PLANETS.add("MERCURY",    0.38709927,  0.20563593,  7.00497902,  252.25032350,   77.45779628,  48.33076593,
+                                  0.00000037,  0.00001906, -0.00594749, 149472.67411175, 0.16047689, -0.12534081);
+        PLANETS.add("VENUS",      0.72333566,  0.00677672,  3.39467605,  181.97909950,  131.60246718,  76.67984255,
+                                  0.00000390, -0.00004107, -0.00078890,  58517.81538729, 0.00268329, -0.27769418);
+        PLANETS.add("EARTH",      1.00000261,  0.01671123, -0.00001531,  100.46457166,  102.93768193,   0.0,
+                                  0.00000562, -0.00004392, -0.01294668,  35999.37244981, 0.32327364,   0.0);
+        PLANETS.add("MARS",       1.52371034,  0.09339410,  1.84969142,   -4.55343205,  -23.94362959,  49.55953891,
+                                  0.00001847,  0.00007882, -0.00813131,  19140.30268499, 0.44441088, -0.29257343);
+        PLANETS.add("JUPITER",    5.20288700,  0.04838624,  1.30439695,   34.39644051,   14.72847983, 100.47390909,
+                                 -0.00011607, -0.00013253, -0.00183714,   3034.74612775, 0.21252668,  0.20469106);
+        PLANETS.add("SATURN",     9.53667594,  0.05386179,  2.48599187,   49.95424423,   92.59887831, 113.66242448,
+                                 -0.00125060, -0.00050991,  0.00193609,   1222.49362201, -0.41897216, -0.28867794);
+        PLANETS.add("URANUS",    19.18916464,  0.04725744,  0.77263783,  313.23810451,  170.95427630,  74.01692503,
+                                 -0.00196176, -0.00004397, -0.00242939,    428.48202785, 0.40805281,  0.04240589);
+        PLANETS.add("NEPTUNE",   30.06992276,  0.00859048,  1.77004347,  -55.12002969,   44.96476227, 131.78422574,
+                                  0.00026291,  0.00005105,  0.00035372,    218.45945325, -0.32241464, -0.00508664);
+    }
+
+    // FITTED CHEBYSHEV TABLE (-Dsolarsystem.ephemeris=FILE); PLANETS IT COVERS ARE READ FROM IT INSIDE ITS DATE RANGE
+    private static final PlanetSource PLANET_SOURCE = new PlanetSource();
+
+    // REPEATED AND SCRUBBED EPOCHS BECOME LOOKUPS (ONE-MINUTE RESOLUTION)
+    private static final int CACHE_CAPACITY = 4096;
+    private static final double CACHE_QUANTUM_DAYS = 1.0 / 1440.0;
+    private static final EphemerisCache PLANET_CACHE = new EphemerisCache(PLANET_SOURCE, CACHE_CAPACITY, CACHE_QUANTUM_DAYS);
+
+    // DATE THE SCENE IS BUILT FOR; DEFAULTS TO THE MOMENT THE APP STARTED
+    private static volatile double sceneEpoch = getCurrentJulianDate();
+
+    static {
+        String tablePath = System.getProperty("solarsystem.ephemeris");
+        if (tablePath != null) {
+            try {
+                setEphemerisTable(ChebyshevEphemeris.open(Path.of(tablePath)));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Failed to load ephemeris table " + tablePath + ", using Keplerian elements: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ephemeris of the eight planets; evaluate all of them in one computeStates() call
+     */
+    public static KeplerianEphemeris getPlanetEphemeris() {
+        return PLANETS;
+    }
+
     /**
-     * CALCULATE CURRENT ORBITAL ANGLE FOR A PLANET BASED ON CURRENT DATE
+     * JULIAN DATE FOR AN INSTANT (UTC; THE ~1 MINUTE TT OFFSET IS BELOW THIS MODEL'S ACCURACY)
      */
-    public static double getCurrentOrbitalAngle(String planetName) {
-        LocalDate currentDate = LocalDate.now();
-        long daysSinceJ2000 = ChronoUnit.DAYS.between(J2000_EPOCH, currentDate);
-        
-        double meanLongitude, longitudeOfPerihelion, meanMotion;
-        
-        switch (planetName.toUpperCase()) {
-            case "MERCURY":
-                meanLongitude = MERCURY_MEAN_LONGITUDE;
-                longitudeOfPerihelion = MERCURY_LONGITUDE_OF_PERIHELION;
-                meanMotion = MERCURY_MEAN_MOTION;
-                break;
-            case "VENUS":
-                meanLongitude = VENUS_MEAN_LONGITUDE;
-                longitudeOfPerihelion = VENUS_LONGITUDE_OF_PERIHELION;
-                meanMotion = VENUS_MEAN_MOTION;
-                break;
-            case "EARTH":
-                meanLongitude = EARTH_MEAN_LONGITUDE;
-                longitudeOfPerihelion = EARTH_LONGITUDE_OF_PERIHELION;
-                meanMotion = EARTH_MEAN_MOTION;
-                break;
-            case "MARS":
-                meanLongitude = MARS_MEAN_LONGITUDE;
-                longitudeOfPerihelion = MARS_LONGITUDE_OF_PERIHELION;
-                meanMotion = MARS_MEAN_MOTION;
-                break;
-            case "JUPITER":
-                meanLongitude = JUPITER_MEAN_LONGITUDE;
-                longitudeOfPerihelion = JUPITER_LONGITUDE_OF_PERIHELION;
-                meanMotion = JUPITER_MEAN_MOTION;
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown planet: " + planetName);
+    public static double julianDate(Instant instant) {
+        return UNIX_EPOCH_JULIAN_DATE + instant.toEpochMilli() / MILLIS_PER_DAY;
+    }
+
+    public static double getCurrentJulianDate() {
+        return julianDate(Instant.now());
+    }
+
+    public static double getSceneEpoch() {
+        return sceneEpoch;
+    }
+
+    /**
+     * Julian date that newly built scenes start at; call before SceneManager.createCelestialObjects()
+     */
+    public static void setSceneEpoch(double julianDate) {
+        sceneEpoch = julianDate;
+    }
+
+    /**
+     * Serve planets from a fitted Chebyshev table where it has them (null to go back to the elements)
+     */
+    public static void setEphemerisTable(ChebyshevEphemeris table) {
+        PLANET_SOURCE.setTable(table);
+        PLANET_CACHE.clear();
+    }
+
+    public static ChebyshevEphemeris getEphemerisTable() {
+        return PLANET_SOURCE.table;
+    }
+
+    /**
+     * Cached view of the planet ephemeris, with hit/miss counters
+     */
+    public static EphemerisCache getEphemerisCache() {
+        return PLANET_CACHE;
+    }
+
+    /**
+     * INDEX OF A PLANET IN THE EPHEMERIS; RESOLVE ONCE AND USE THE INDEX FOR REPEATED LOOKUPS
+     */
+    public static int getPlanetIndex(String planetName) {
+        int index = PLANETS.indexOf(planetName.toUpperCase());
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown planet: " + planetName);
         }
-        
-        // CALCULATE CURRENT MEAN LONGITUDE
-        double currentMeanLongitude = meanLongitude + (meanMotion * daysSinceJ2000);
-        
-        // CALCULATE MEAN ANOMALY (ANGLE FROM PERIHELION)
-        double meanAnomaly = currentMeanLongitude - longitudeOfPerihelion;
-        
-        // NORMALIZE TO 0-360 DEGREES
-        meanAnomaly = normalizeAngle(meanAnomaly);
-        
-        // CONVERT TO RADIANS
-        return Math.toRadians(meanAnomaly);
+        return index;
+    }
+
+    /**
+     * HELIOCENTRIC STATE {x, y, z, vx, vy, vz} OF A PLANET AT A JULIAN DATE, IN SCENE UNITS AND UNITS PER SECOND.
+     * SERVED FROM THE CACHE, SO THE DATE IS ROUNDED TO THE NEAREST MINUTE.
+     */
+    public static double[] getHeliocentricState(int planet, double julianDate, double[] dest) {
+        return PLANET_CACHE.computeState(planet, julianDate, dest);
     }
-    
+
+    public static double[] getHeliocentricState(String planetName, double julianDate, double[] dest) {
+        return getHeliocentricState(getPlanetIndex(planetName), julianDate, dest);
+    }
+
+    /**
+     * HELIOCENTRIC STATE OF A PLANET AT THE SCENE EPOCH
+     */
+    public static double[] getSceneHeliocentricState(String planetName) {
+        return getHeliocentricState(planetName, sceneEpoch, new double[6]);
+    }
+
     /**
-     * NORMALIZE ANGLE TO 0-360 DEGREES
+     * Planet indices of the element table, answered by the Chebyshev table for covered bodies and dates
      */
-    private static double normalizeAngle(double angleDegrees) {
-        angleDegrees = angleDegrees % 360.0;
-        if (angleDegrees < 0) {
-            angleDegrees += 360.0;
+    private static final class PlanetSource implements Ephemeris {
+        private volatile ChebyshevEphemeris table;
+        private volatile int[] tableIndex = new int[0]; // PLANET INDEX -> TABLE INDEX, -1 WHEN NOT IN THE TABLE
+
+        void setTable(ChebyshevEphemeris table) {
+            int[] mapping = new int[PLANETS.size()];
+            for (int p = 0; p < mapping.length; p++) {
+                mapping[p] = table != null ? table.indexOf(PLANETS.getName(p)) : -1;
+            }
+            this.tableIndex = mapping;
+            this.table = table;
+        }
+
+        @Override
+        public double[] computeState(int index, double julianDate, double[] dest) {
+            ChebyshevEphemeris current = table;
+            int[] mapping = tableIndex;
+            if (current != null && index < mapping.length && mapping[index] >= 0 && current.covers(julianDate)) {
+                return current.computeState(mapping[index], julianDate, dest);
+            }
+            return PLANETS.computeState(index, julianDate, dest);
         }
-        return angleDegrees;
+
+        @Override
+        public int size() { return PLANETS.size(); }
+
+        @Override
+        public String getName(int index) { return PLANETS.getName(index); }
+
+        @Override
+        public int indexOf(String name) { return PLANETS.indexOf(name); }
     }
 }
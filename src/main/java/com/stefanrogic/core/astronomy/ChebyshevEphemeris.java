@@ -0,0 +1,230 @@
+package com.stefanrogic.core.astronomy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Precomputed ephemeris in the style of the JPL DE files: each body's heliocentric position is
+ * stored as Chebyshev coefficients over fixed-length time segments, and the file is memory-mapped
+ * rather than read. Finding the segment is one division and evaluating it is a short recurrence,
+ * so any date in the covered range costs O(1) no matter how many centuries the file spans.
+ * Velocities come from the derivative of the same series.
+ *
+ * File layout (little-endian):
+ *   header     MAGIC, VERSION, body count, reserved (4 ints), start JD, end JD (2 doubles)
+ *   directory  per body: name (32 bytes ASCII, zero padded), segment length in days (double),
+ *              segment count (int), coefficients per component (int), data offset (long), reserved (long)
+ *   data       per body, per segment: X, Y, Z coefficient blocks, lowest order first
+ */
+public class ChebyshevEphemeris implements Ephemeris {
+
+    public static final int MAGIC = 0x43484542; // "CHEB"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int NAME_BYTES = 32;
+    public static final int DIRECTORY_ENTRY_BYTES = 64;
+
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    private final MappedByteBuffer data;
+    private final double startJd;
+    private final double endJd;
+    private final String[] names;
+    private final double[] segmentDays;
+    private final int[] segmentCount;
+    private final int[] coefficients;
+    private final long[] dataOffset;
+
+    private ChebyshevEphemeris(MappedByteBuffer data) {
+        this.data = data;
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a Chebyshev ephemeris file (bad magic or version)");
+        }
+        int bodies = data.getInt(8);
+        startJd = data.getDouble(16);
+        endJd = data.getDouble(24);
+        names = new String[bodies];
+        segmentDays = new double[bodies];
+        segmentCount = new int[bodies];
+        coefficients = new int[bodies];
+        dataOffset = new long[bodies];
+        byte[] nameBytes = new byte[NAME_BYTES];
+        for (int b = 0; b < bodies; b++) {
+            int entry = HEADER_BYTES + b * DIRECTORY_ENTRY_BYTES;
+            data.get(entry, nameBytes);
+            int length = 0;
+            while (length < NAME_BYTES && nameBytes[length] != 0) {
+                length++;
+            }
+            names[b] = new String(nameBytes, 0, length, StandardCharsets.US_ASCII);
+            segmentDays[b] = data.getDouble(entry + NAME_BYTES);
+            segmentCount[b] = data.getInt(entry + NAME_BYTES + 8);
+            coefficients[b] = data.getInt(entry + NAME_BYTES + 12);
+            dataOffset[b] = data.getLong(entry + NAME_BYTES + 16);
+        }
+    }
+
+    /**
+     * Map a table file read-only. The mapping stays valid after the channel is closed.
+     */
+    public static ChebyshevEphemeris open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Ephemeris file larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ChebyshevEphemeris table = new ChebyshevEphemeris(mapped);
+            System.out.println("Mapped Chebyshev ephemeris " + path + ": " + table.size() + " bodies, JD "
+                + table.startJd + " to " + table.endJd + " (" + channel.size() / 1024 + " KB)");
+            return table;
+        }
+    }
+
+    /**
+     * Heliocentric state at the given date; dates outside the table are evaluated on the nearest end segment
+     */
+    @Override
+    public double[] computeState(int index, double julianDate, double[] dest) {
+        double length = segmentDays[index];
+        int n = coefficients[index];
+        int segment = (int) Math.floor((julianDate - startJd) / length);
+        segment = Math.max(0, Math.min(segmentCount[index] - 1, segment));
+
+        // MAP THE DATE TO [-1, 1] INSIDE ITS SEGMENT
+        double segmentStart = startJd + segment * length;
+        double x = 2.0 * (julianDate - segmentStart) / length - 1.0;
+        double dxdt = 2.0 / (length * SECONDS_PER_DAY);
+
+        int base = (int) (dataOffset[index] + (long) segment * 3 * n * Double.BYTES);
+        for (int axis = 0; axis < 3; axis++) {
+            int offset = base + axis * n * Double.BYTES;
+            // T_j AND dT_j/dx BY THE THREE-TERM RECURRENCE
+            double t0 = 1.0, t1 = x, d0 = 0.0, d1 = 1.0;
+            double value = data.getDouble(offset);
+            double derivative = 0.0;
+            if (n > 1) {
+                double c1 = data.getDouble(offset + Double.BYTES);
+                value += c1 * t1;
+                derivative += c1 * d1;
+            }
+            for (int j = 2; j < n; j++) {
+                double t2 = 2.0 * x * t1 - t0;
+                double d2 = 2.0 * t1 + 2.0 * x * d1 - d0;
+                double c = data.getDouble(offset + j * Double.BYTES);
+                value += c * t2;
+                derivative += c * d2;
+                t0 = t1; t1 = t2;
+                d0 = d1; d1 = d2;
+            }
+            dest[axis] = value;
+            dest[3 + axis] = derivative * dxdt;
+        }
+        return dest;
+    }
+
+    /**
+     * Whether the date lies inside the fitted range
+     */
+    public boolean covers(double julianDate) {
+        return julianDate >= startJd && julianDate <= endJd;
+    }
+
+    @Override
+    public int size() { return names.length; }
+
+    @Override
+    public String getName(int index) { return names[index]; }
+
+    @Override
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getStartJd() { return startJd; }
+    public double getEndJd() { return endJd; }
+    public double getSegmentDays(int index) { return segmentDays[index]; }
+    public int getCoefficients(int index) { return coefficients[index]; }
+
+    // FITTING
+
+    /**
+     * Chebyshev node k of n on [-1, 1]; k = n - 1 is the earliest, k = 0 the latest
+     */
+    public static double node(int k, int n) {
+        return Math.cos(Math.PI * (k + 0.5) / n);
+    }
+
+    /**
+     * Coefficients of the degree n-1 interpolant through samples taken at node(0..n-1, n)
+     */
+    public static void fit(double[] samples, int n, double[] coefficientsOut) {
+        for (int j = 0; j < n; j++) {
+            double sum = 0.0;
+            for (int k = 0; k < n; k++) {
+                sum += samples[k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+            }
+            coefficientsOut[j] = (j == 0 ? 1.0 : 2.0) * sum / n;
+        }
+    }
+
+    /**
+     * Write the header and directory of a new table and return the data offset of each body.
+     * Segment data is then written with writeSegment(), in any order.
+     */
+    public static long[] writeHeader(FileChannel channel, String[] bodyNames, double startJd, double endJd,
+                                     double[] bodySegmentDays, int[] bodySegmentCount, int[] bodyCoefficients) throws IOException {
+        int bodies = bodyNames.length;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + bodies * DIRECTORY_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(bodies).putInt(0);
+        header.putDouble(startJd).putDouble(endJd);
+
+        long[] offsets = new long[bodies];
+        long offset = header.capacity();
+        for (int b = 0; b < bodies; b++) {
+            byte[] name = bodyNames[b].getBytes(StandardCharsets.US_ASCII);
+            if (name.length >= NAME_BYTES) {
+                throw new IllegalArgumentException("Body name too long for ephemeris table: " + bodyNames[b]);
+            }
+            int entry = HEADER_BYTES + b * DIRECTORY_ENTRY_BYTES;
+            header.put(entry, name);
+            header.putDouble(entry + NAME_BYTES, bodySegmentDays[b]);
+            header.putInt(entry + NAME_BYTES + 8, bodySegmentCount[b]);
+            header.putInt(entry + NAME_BYTES + 12, bodyCoefficients[b]);
+            header.putLong(entry + NAME_BYTES + 16, offset);
+            offsets[b] = offset;
+            offset += (long) bodySegmentCount[b] * 3 * bodyCoefficients[b] * Double.BYTES;
+        }
+        header.position(0);
+        channel.write(header, 0);
+        return offsets;
+    }
+
+    /**
+     * Write one segment's X, Y and Z coefficient blocks at its fixed position in the file
+     */
+    public static void writeSegment(FileChannel channel, ByteBuffer scratch, long bodyOffset, int segment, int n,
+                                    double[] cx, double[] cy, double[] cz) throws IOException {
+        scratch.clear();
+        scratch.order(ByteOrder.LITTLE_ENDIAN);
+        for (int j = 0; j < n; j++) scratch.putDouble(cx[j]);
+        for (int j = 0; j < n; j++) scratch.putDouble(cy[j]);
+        for (int j = 0; j < n; j++) scratch.putDouble(cz[j]);
+        scratch.flip();
+        long position = bodyOffset + (long) segment * 3 * n * Double.BYTES;
+        while (scratch.hasRemaining()) {
+            position += channel.write(scratch, position);
+        }
+    }
+}
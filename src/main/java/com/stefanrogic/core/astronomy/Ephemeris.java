@@ -0,0 +1,19 @@
+package com.stefanrogic.core.astronomy;
+
+/**
+ * Anything that can answer "where is body k at Julian date jd". States are {x, y, z, vx, vy, vz}
+ * in scene units and scene units per second, heliocentric, in scene axes.
+ */
+public interface Ephemeris {
+
+    double[] computeState(int index, double julianDate, double[] dest);
+
+    int size();
+
+    String getName(int index);
+
+    /**
+     * Index of a body by name, or -1 if there is none
+     */
+    int indexOf(String name);
+}
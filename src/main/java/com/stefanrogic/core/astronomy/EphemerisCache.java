@@ -0,0 +1,184 @@
+package com.stefanrogic.core.astronomy;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache in front of another ephemeris, keyed by (body index, quantised Julian date).
+ * Dates are snapped to a grid of quantumDays and the source is evaluated at the grid point, so every
+ * lookup of the same cell returns the same state no matter which exact date filled it.
+ * Eviction uses the Clock (second chance) approximation of LRU: a hit only sets a reference bit,
+ * so lookups never reorder anything. Entries live in flat arrays behind an open-addressed index,
+ * which keeps a hit free of allocation.
+ */
+public class EphemerisCache implements Ephemeris {
+
+    private static final int EMPTY = -1;
+
+    private final Ephemeris source;
+    private final double quantumDays;
+    private final int capacity;
+
+    // ENTRY SLOTS
+    private final int[] slotBody;
+    private final long[] slotEpoch;
+    private final double[] slotState; // 6 DOUBLES PER SLOT
+    private final boolean[] referenced;
+    private int used;
+    private int hand; // CLOCK HAND
+
+    // HASH INDEX: SLOT NUMBERS BY KEY, LINEAR PROBING
+    private final int[] table;
+    private final int mask;
+
+    // METRICS
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity maximum number of cached states
+     * @param quantumDays date resolution of the cache; lookups within the same cell share one entry
+     */
+    public EphemerisCache(Ephemeris source, int capacity, double quantumDays) {
+        if (capacity < 1 || quantumDays <= 0.0) {
+            throw new IllegalArgumentException("Cache needs a positive capacity and quantum: " + capacity + ", " + quantumDays);
+        }
+        this.source = source;
+        this.capacity = capacity;
+        this.quantumDays = quantumDays;
+        this.slotBody = new int[capacity];
+        this.slotEpoch = new long[capacity];
+        this.slotState = new double[capacity * 6];
+        this.referenced = new boolean[capacity];
+
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1; // LOAD FACTOR <= 0.5
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        Arrays.fill(table, EMPTY);
+    }
+
+    @Override
+    public synchronized double[] computeState(int index, double julianDate, double[] dest) {
+        long epoch = Math.round(julianDate / quantumDays);
+        int position = find(index, epoch);
+        if (table[position] != EMPTY) {
+            int slot = table[position];
+            hits++;
+            referenced[slot] = true;
+            System.arraycopy(slotState, slot * 6, dest, 0, 6);
+            return dest;
+        }
+
+        misses++;
+        source.computeState(index, epoch * quantumDays, dest);
+        int slot;
+        if (used < capacity) {
+            slot = used++;
+        } else {
+            slot = evict();
+            position = find(index, epoch); // THE BACKWARD SHIFT MAY HAVE MOVED THE FREE POSITION
+        }
+        slotBody[slot] = index;
+        slotEpoch[slot] = epoch;
+        referenced[slot] = false;
+        System.arraycopy(dest, 0, slotState, slot * 6, 6);
+        table[position] = slot;
+        return dest;
+    }
+
+    /**
+     * Table position holding the key, or the empty position where it would go
+     */
+    private int find(int body, long epoch) {
+        int position = hash(body, epoch) & mask;
+        while (table[position] != EMPTY) {
+            int slot = table[position];
+            if (slotBody[slot] == body && slotEpoch[slot] == epoch) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    private static int hash(int body, long epoch) {
+        long h = epoch * 0x9E3779B97F4A7C15L + body * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Advance the clock hand past recently used slots (clearing their bit) and free the first cold one
+     */
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % capacity;
+        }
+        int victim = hand;
+        hand = (hand + 1) % capacity;
+        remove(find(slotBody[victim], slotEpoch[victim]));
+        evictions++;
+        return victim;
+    }
+
+    /**
+     * Delete a table entry and shift later members of its probe run back so lookups still find them
+     */
+    private void remove(int position) {
+        int hole = position;
+        table[hole] = EMPTY;
+        int next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            int slot = table[next];
+            if (slot == EMPTY) {
+                return;
+            }
+            int home = hash(slotBody[slot], slotEpoch[slot]) & mask;
+            // MOVE THE ENTRY UNLESS ITS HOME LIES CYCLICALLY IN (hole, next]
+            boolean stays = hole <= next ? (home > hole && home <= next) : (home > hole || home <= next);
+            if (!stays) {
+                table[hole] = slot;
+                table[next] = EMPTY;
+                hole = next;
+            }
+        }
+    }
+
+    /**
+     * Drop every entry (e.g. after the source's elements change); metrics are kept
+     */
+    public synchronized void clear() {
+        Arrays.fill(table, EMPTY);
+        used = 0;
+        hand = 0;
+    }
+
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    // METRICS
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized int getSize() { return used; }
+    public int getCapacity() { return capacity; }
+    public double getQuantumDays() { return quantumDays; }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+
+    @Override
+    public int size() { return source.size(); }
+
+    @Override
+    public String getName(int index) { return source.getName(index); }
+
+    @Override
+    public int indexOf(String name) { return source.indexOf(name); }
+}
@@ -0,0 +1,258 @@
+package com.stefanrogic.core.astronomy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analytic two-body ephemeris for many bodies at once. Each body has six osculating elements
+ * (a, e, I, L, longitude of perihelion, longitude of the ascending node) at J2000 plus a linear
+ * rate per Julian century, stored as parallel arrays. computeStates() solves Kepler's equation for
+ * every body and returns positions and velocities for any Julian date in one pass, so jumping to a
+ * date costs one evaluation instead of integrating forward to it.
+ *
+ * Output is heliocentric, in scene units and scene axes: ecliptic X stays X, ecliptic Y becomes
+ * scene Z and ecliptic north becomes scene Y, which keeps prograde motion turning from +X towards +Z
+ * like the rest of the scene.
+ */
+public class KeplerianEphemeris implements Ephemeris {
+
+    public static final double J2000 = 2451545.0; // JULIAN DATE OF 2000-01-01 12:00 TT
+    public static final double DAYS_PER_CENTURY = 36525.0;
+    public static final double KM_PER_AU = 149597870.7;
+    public static final double UNITS_PER_AU = KM_PER_AU / 10000.0; // 1 UNIT = 10,000 KM
+
+    private static final double SECONDS_PER_DAY = 86400.0;
+    private static final double KEPLER_TOLERANCE = 1e-14;
+    private static final int KEPLER_MAX_ITERATIONS = 16;
+    private static final double HIGH_ECCENTRICITY = 0.8; // ABOVE THIS START FROM E = PI
+
+    private int count;
+    private String[] names = new String[8];
+    private final Map<String, Integer> indexByName = new HashMap<>();
+
+    // ELEMENTS AT J2000 (AU, RADIANS) AND THEIR RATES (PER DAY)
+    private double[] a0 = new double[8], e0 = new double[8], i0 = new double[8];
+    private double[] l0 = new double[8], peri0 = new double[8], node0 = new double[8];
+    private double[] aRate = new double[8], eRate = new double[8], iRate = new double[8];
+    private double[] lRate = new double[8], periRate = new double[8], nodeRate = new double[8];
+
+    /**
+     * Add a body from a JPL-style element table.
+     * @param a semi-major axis (AU), e eccentricity, inclination / meanLongitude / perihelionLongitude / nodeLongitude in degrees;
+     *          the rates are per Julian century in the same units
+     * @return index of the body in this ephemeris
+     */
+    public int add(String name,
+                   double a, double e, double inclination, double meanLongitude, double perihelionLongitude, double nodeLongitude,
+                   double aDot, double eDot, double inclinationDot, double meanLongitudeDot, double perihelionDot, double nodeDot) {
+        if (a <= 0.0 || e < 0.0 || e >= 1.0) {
+            throw new IllegalArgumentException("Only bound elliptical orbits are supported: " + name + " (a=" + a + ", e=" + e + ")");
+        }
+        if (count == a0.length) {
+            grow(count * 2);
+        }
+        int index = count++;
+        names[index] = name;
+        indexByName.put(name, index);
+        a0[index] = a;
+        e0[index] = e;
+        i0[index] = Math.toRadians(inclination);
+        l0[index] = Math.toRadians(meanLongitude);
+        peri0[index] = Math.toRadians(perihelionLongitude);
+        node0[index] = Math.toRadians(nodeLongitude);
+        aRate[index] = aDot / DAYS_PER_CENTURY;
+        eRate[index] = eDot / DAYS_PER_CENTURY;
+        iRate[index] = Math.toRadians(inclinationDot) / DAYS_PER_CENTURY;
+        lRate[index] = Math.toRadians(meanLongitudeDot) / DAYS_PER_CENTURY;
+        periRate[index] = Math.toRadians(perihelionDot) / DAYS_PER_CENTURY;
+        nodeRate[index] = Math.toRadians(nodeDot) / DAYS_PER_CENTURY;
+        return index;
+    }
+
+    private void grow(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        a0 = Arrays.copyOf(a0, capacity); e0 = Arrays.copyOf(e0, capacity); i0 = Arrays.copyOf(i0, capacity);
+        l0 = Arrays.copyOf(l0, capacity); peri0 = Arrays.copyOf(peri0, capacity); node0 = Arrays.copyOf(node0, capacity);
+        aRate = Arrays.copyOf(aRate, capacity); eRate = Arrays.copyOf(eRate, capacity); iRate = Arrays.copyOf(iRate, capacity);
+        lRate = Arrays.copyOf(lRate, capacity); periRate = Arrays.copyOf(periRate, capacity); nodeRate = Arrays.copyOf(nodeRate, capacity);
+    }
+
+    /**
+     * Reserve room for bulk adds
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > a0.length) {
+            grow(Math.max(capacity, a0.length * 2));
+        }
+    }
+
+    /**
+     * Positions (scene units) and velocities (scene units per second) of every body at the given Julian date.
+     * The velocity arrays may be null when only positions are needed.
+     */
+    public void computeStates(double julianDate, double[] x, double[] y, double[] z, double[] vx, double[] vy, double[] vz) {
+        computeStates(julianDate, 0, count, x, y, z, vx, vy, vz);
+    }
+
+    /**
+     * Same as computeStates for bodies [from, to); results go to the same indices of the output arrays
+     */
+    public void computeStates(double julianDate, int from, int to,
+                              double[] x, double[] y, double[] z, double[] vx, double[] vy, double[] vz) {
+        double days = julianDate - J2000;
+        double[] state = new double[6];
+        for (int k = from; k < to; k++) {
+            evaluate(k, days, state);
+            x[k] = state[0];
+            y[k] = state[1];
+            z[k] = state[2];
+            if (vx != null) {
+                vx[k] = state[3];
+                vy[k] = state[4];
+                vz[k] = state[5];
+            }
+        }
+    }
+
+    /**
+     * State of one body as {x, y, z, vx, vy, vz} in scene units and scene units per second
+     */
+    @Override
+    public double[] computeState(int index, double julianDate, double[] dest) {
+        evaluate(index, julianDate - J2000, dest);
+        return dest;
+    }
+
+    private void evaluate(int k, double days, double[] out) {
+        double a = a0[k] + aRate[k] * days;
+        double e = e0[k] + eRate[k] * days;
+        double inc = i0[k] + iRate[k] * days;
+        double meanLongitude = l0[k] + lRate[k] * days;
+        double perihelion = peri0[k] + periRate[k] * days;
+        double node = node0[k] + nodeRate[k] * days;
+
+        double argument = perihelion - node; // ARGUMENT OF PERIHELION
+        double eccentricAnomaly = solveKepler(meanLongitude - perihelion, e);
+
+        // POSITION IN THE ORBITAL PLANE (X' TOWARDS PERIHELION)
+        double cosE = Math.cos(eccentricAnomaly), sinE = Math.sin(eccentricAnomaly);
+        double b = Math.sqrt(1.0 - e * e);
+        double px = a * (cosE - e);
+        double py = a * b * sinE;
+
+        // dE/dt FROM KEPLER'S EQUATION WITH THE MEAN MOTION TAKEN FROM THE L RATE
+        double eDot = lRate[k] / SECONDS_PER_DAY / (1.0 - e * cosE);
+        double pvx = -a * sinE * eDot;
+        double pvy = a * b * cosE * eDot;
+
+        // ROTATION INTO THE J2000 ECLIPTIC
+        double cosW = Math.cos(argument), sinW = Math.sin(argument);
+        double cosN = Math.cos(node), sinN = Math.sin(node);
+        double cosI = Math.cos(inc), sinI = Math.sin(inc);
+        double xx = cosW * cosN - sinW * sinN * cosI, xy = -sinW * cosN - cosW * sinN * cosI;
+        double yx = cosW * sinN + sinW * cosN * cosI, yy = -sinW * sinN + cosW * cosN * cosI;
+        double zx = sinW * sinI, zy = cosW * sinI;
+
+        out[0] = (xx * px + xy * py) * UNITS_PER_AU;
+        out[1] = (zx * px + zy * py) * UNITS_PER_AU; // ECLIPTIC NORTH -> SCENE UP
+        out[2] = (yx * px + yy * py) * UNITS_PER_AU; // ECLIPTIC Y -> SCENE Z
+        out[3] = (xx * pvx + xy * pvy) * UNITS_PER_AU;
+        out[4] = (zx * pvx + zy * pvy) * UNITS_PER_AU;
+        out[5] = (yx * pvx + yy * pvy) * UNITS_PER_AU;
+    }
+
+    /**
+     * Solve M = E - e sin E for the eccentric anomaly E using Halley's method (cubic convergence;
+     * falls back to the plain Newton step when the Halley correction is not usable).
+     */
+    public static double solveKepler(double meanAnomaly, double e) {
+        double m = wrapPi(meanAnomaly);
+        double eccentricAnomaly = e < HIGH_ECCENTRICITY ? m + e * Math.sin(m) : (m < 0.0 ? -Math.PI : Math.PI);
+        for (int i = 0; i < KEPLER_MAX_ITERATIONS; i++) {
+            double sinE = e * Math.sin(eccentricAnomaly);
+            double cosE = e * Math.cos(eccentricAnomaly);
+            double f = eccentricAnomaly - sinE - m;
+            double fPrime = 1.0 - cosE;
+            double newton = f / fPrime;
+            double denominator = fPrime - 0.5 * f * sinE / fPrime;
+            double delta = denominator != 0.0 ? f / denominator : newton;
+            eccentricAnomaly -= delta;
+            if (Math.abs(delta) < KEPLER_TOLERANCE) {
+                break;
+            }
+        }
+        return eccentricAnomaly;
+    }
+
+    /**
+     * Shape and orientation of the orbit through a relative state vector, for drawing it: dest receives
+     * {a, e, Px, Py, Pz, Qx, Qy, Qz}, where P points from the focus to periapsis and Q lies in the orbital
+     * plane 90 degrees ahead of it. A point on the orbit is then a (cos E - e) P + a sqrt(1 - e^2) sin E Q.
+     * An unbound state gives e >= 1 and a non-positive a.
+     * @param mu gravitational parameter of the pair, in scene units^3 / s^2
+     */
+    public static double[] orbitFromState(double rx, double ry, double rz, double vx, double vy, double vz, double mu, double[] dest) {
+        double r = Math.sqrt(rx * rx + ry * ry + rz * rz);
+        double speedSquared = vx * vx + vy * vy + vz * vz;
+        double radialSpeed = rx * vx + ry * vy + rz * vz;
+        if (r == 0.0 || mu <= 0.0) {
+            throw new IllegalArgumentException("Orbit needs a non-zero separation and a positive mu");
+        }
+
+        // ECCENTRICITY VECTOR POINTS AT PERIAPSIS
+        double radialTerm = speedSquared - mu / r;
+        double ex = (radialTerm * rx - radialSpeed * vx) / mu;
+        double ey = (radialTerm * ry - radialSpeed * vy) / mu;
+        double ez = (radialTerm * rz - radialSpeed * vz) / mu;
+        double e = Math.sqrt(ex * ex + ey * ey + ez * ez);
+
+        // ANGULAR MOMENTUM GIVES THE PLANE; A CIRCLE HAS NO PERIAPSIS, SO MEASURE FROM THE CURRENT POSITION
+        double hx = ry * vz - rz * vy, hy = rz * vx - rx * vz, hz = rx * vy - ry * vx;
+        double h = Math.sqrt(hx * hx + hy * hy + hz * hz);
+        double px = e > 1e-12 ? ex / e : rx / r;
+        double py = e > 1e-12 ? ey / e : ry / r;
+        double pz = e > 1e-12 ? ez / e : rz / r;
+        hx /= h;
+        hy /= h;
+        hz /= h;
+
+        dest[0] = 1.0 / (2.0 / r - speedSquared / mu);
+        dest[1] = e;
+        dest[2] = px;
+        dest[3] = py;
+        dest[4] = pz;
+        dest[5] = hy * pz - hz * py;
+        dest[6] = hz * px - hx * pz;
+        dest[7] = hx * py - hy * px;
+        return dest;
+    }
+
+    private static double wrapPi(double angle) {
+        angle %= 2.0 * Math.PI;
+        if (angle > Math.PI) {
+            angle -= 2.0 * Math.PI;
+        } else if (angle < -Math.PI) {
+            angle += 2.0 * Math.PI;
+        }
+        return angle;
+    }
+
+    @Override
+    public int size() { return count; }
+
+    @Override
+    public String getName(int index) { return names[index]; }
+
+    @Override
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Semi-major axis at J2000 in scene units
+     */
+    public double getSemiMajorAxis(int index) { return a0[index] * UNITS_PER_AU; }
+    public double getEccentricity(int index) { return e0[index]; }
+}
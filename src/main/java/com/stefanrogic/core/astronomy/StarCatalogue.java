@@ -0,0 +1,152 @@
+package com.stefanrogic.core.astronomy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Background stars in a packed binary made for uploading as-is: the record block of a mapped file is
+ * handed straight to glBufferData, with no parsing or copying on the way.
+ *
+ * File layout (little-endian):
+ *   header   MAGIC, VERSION, star count, record bytes (4 ints), faintest magnitude (float), reserved (3 ints)
+ *   records  per star: unit direction X, Y, Z in scene axes (3 floats), visual magnitude and B-V colour
+ *            index (2 half floats); sorted brightest first, so the stars under a magnitude limit are a prefix
+ *
+ * Files are written by StarCatalogueBuilder from a CSV catalogue.
+ */
+public class StarCatalogue {
+
+    public static final int MAGIC = 0x53544152; // "STAR"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 16;
+    public static final int MAGNITUDE_OFFSET = 12;
+    public static final int COLOR_INDEX_OFFSET = 14;
+
+    // J2000 OBLIQUITY OF THE ECLIPTIC, FOR EQUATORIAL -> SCENE DIRECTIONS
+    private static final double OBLIQUITY = Math.toRadians(23.4392911);
+    private static final double COS_OBLIQUITY = Math.cos(OBLIQUITY);
+    private static final double SIN_OBLIQUITY = Math.sin(OBLIQUITY);
+
+    private final ByteBuffer data;
+    private final int count;
+    private final float faintestMagnitude;
+
+    private StarCatalogue(ByteBuffer data) {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a star catalogue file (bad magic or version)");
+        }
+        if (data.getInt(12) != RECORD_BYTES) {
+            throw new IllegalArgumentException("Unsupported star record size: " + data.getInt(12));
+        }
+        count = data.getInt(8);
+        faintestMagnitude = data.getFloat(16);
+        if ((long) HEADER_BYTES + (long) count * RECORD_BYTES > data.capacity()) {
+            throw new IllegalArgumentException("Star catalogue truncated: " + count + " stars declared");
+        }
+    }
+
+    /**
+     * Map a catalogue file read-only. The mapping stays valid after the channel is closed.
+     */
+    public static StarCatalogue open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Star catalogue larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new StarCatalogue(mapped);
+        }
+    }
+
+    /**
+     * A made-up sky for when no catalogue file is given: random directions, with magnitudes drawn so
+     * that each fainter magnitude has about 3.5 times as many stars, as in the real sky
+     */
+    public static StarCatalogue synthetic(int stars, float faintest, long seed) {
+        Random random = new Random(seed);
+        float[] magnitudes = new float[stars];
+        for (int i = 0; i < stars; i++) {
+            double u = 1.0 - random.nextDouble(); // (0, 1]
+            magnitudes[i] = (float) Math.max(-1.5, faintest + Math.log10(u) / 0.55);
+        }
+        Arrays.sort(magnitudes);
+
+        ByteBuffer data = ByteBuffer.allocateDirect(HEADER_BYTES + stars * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader(data, stars, faintest);
+        for (int i = 0; i < stars; i++) {
+            float cosTheta = 2.0f * random.nextFloat() - 1.0f;
+            float sinTheta = (float) Math.sqrt(1.0f - cosTheta * cosTheta);
+            float phi = random.nextFloat() * 2.0f * (float) Math.PI;
+            float colorIndex = -0.2f + random.nextFloat() * random.nextFloat() * 1.8f; // MOSTLY WHITE, A FEW RED
+            putRecord(data, HEADER_BYTES + i * RECORD_BYTES, sinTheta * (float) Math.cos(phi), cosTheta,
+                sinTheta * (float) Math.sin(phi), magnitudes[i], colorIndex);
+        }
+        return new StarCatalogue(data);
+    }
+
+    static void writeHeader(ByteBuffer buffer, int stars, float faintest) {
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, stars).putInt(12, RECORD_BYTES)
+            .putFloat(16, faintest).putInt(20, 0).putInt(24, 0).putInt(28, 0);
+    }
+
+    static void putRecord(ByteBuffer buffer, int offset, float x, float y, float z, float magnitude, float colorIndex) {
+        buffer.putFloat(offset, x).putFloat(offset + 4, y).putFloat(offset + 8, z)
+            .putShort(offset + MAGNITUDE_OFFSET, Float.floatToFloat16(magnitude))
+            .putShort(offset + COLOR_INDEX_OFFSET, Float.floatToFloat16(colorIndex));
+    }
+
+    /**
+     * Unit direction in scene axes for equatorial J2000 coordinates: rotated onto the ecliptic, whose
+     * north is scene up and whose Y axis is scene Z, like the planets
+     * @param dest receives x, y, z
+     */
+    public static float[] direction(double rightAscension, double declination, float[] dest) {
+        double cosDec = Math.cos(declination);
+        double x = cosDec * Math.cos(rightAscension);
+        double y = cosDec * Math.sin(rightAscension);
+        double z = Math.sin(declination);
+        dest[0] = (float) x;
+        dest[1] = (float) (-y * SIN_OBLIQUITY + z * COS_OBLIQUITY); // ECLIPTIC NORTH
+        dest[2] = (float) (y * COS_OBLIQUITY + z * SIN_OBLIQUITY); // ECLIPTIC Y
+        return dest;
+    }
+
+    /**
+     * The packed records, ready for glBufferData; a view, so the catalogue itself is not touched
+     */
+    public ByteBuffer getRecords() {
+        return data.slice(HEADER_BYTES, count * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public float getMagnitude(int star) {
+        return Float.float16ToFloat(data.getShort(HEADER_BYTES + star * RECORD_BYTES + MAGNITUDE_OFFSET));
+    }
+
+    /**
+     * Number of stars at or brighter than the limit, by binary search over the sorted records
+     */
+    public int countBrighterThan(float magnitudeLimit) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getMagnitude(middle) <= magnitudeLimit) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int size() { return count; }
+    public float getFaintestMagnitude() { return faintestMagnitude; }
+}
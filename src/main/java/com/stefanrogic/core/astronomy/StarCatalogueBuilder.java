@@ -0,0 +1,186 @@
+package com.stefanrogic.core.astronomy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Converts a CSV star catalogue into the StarCatalogue binary, once, so the renderer never parses text.
+ * The CSV needs a header row naming at least the columns ra (hours), dec (degrees) and mag; ci (B-V) is
+ * used when present. That is the layout of the HYG database, whose row for the Sun is skipped.
+ *
+ * Usage: --build-star-catalogue --csv FILE --out FILE [--max-magnitude M]
+ */
+public class StarCatalogueBuilder {
+
+    private static final float DEFAULT_MAX_MAGNITUDE = 8.0f;
+    private static final float DEFAULT_COLOR_INDEX = 0.65f; // SUN-LIKE, FOR STARS WITHOUT A MEASURED B-V
+    private static final float SUN_MAGNITUDE_CUTOFF = -20.0f; // NOTHING BUT THE SUN IS THIS BRIGHT
+
+    private Path csvPath;
+    private Path outputPath;
+    private float maxMagnitude = DEFAULT_MAX_MAGNITUDE;
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if ("--build-star-catalogue".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the command line; unknown flags and missing values are IllegalArgumentExceptions
+     */
+    public static StarCatalogueBuilder fromArgs(String[] args) {
+        StarCatalogueBuilder builder = new StarCatalogueBuilder();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--build-star-catalogue" -> { }
+                case "--csv" -> builder.csvPath = Path.of(value(args, ++i, "--csv"));
+                case "--out" -> builder.outputPath = Path.of(value(args, ++i, "--out"));
+                case "--max-magnitude" -> builder.maxMagnitude = Float.parseFloat(value(args, ++i, "--max-magnitude"));
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (builder.csvPath == null || builder.outputPath == null) {
+            throw new IllegalArgumentException("--build-star-catalogue needs --csv FILE and --out FILE");
+        }
+        return builder;
+    }
+
+    private static String value(String[] args, int index, String flag) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + flag);
+        }
+        return args[index];
+    }
+
+    public void run() {
+        try {
+            build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to convert star catalogue " + csvPath, e);
+        }
+    }
+
+    private void build() throws IOException {
+        long start = System.nanoTime();
+        List<float[]> stars = new ArrayList<>(); // X, Y, Z, MAGNITUDE, COLOUR INDEX
+        int skipped = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Empty star catalogue: " + csvPath);
+            }
+            List<String> columns = Arrays.asList(split(header));
+            int raColumn = requireColumn(columns, "ra");
+            int decColumn = requireColumn(columns, "dec");
+            int magColumn = requireColumn(columns, "mag");
+            int ciColumn = columns.indexOf("ci");
+
+            float[] direction = new float[3];
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = split(line);
+                float magnitude = parse(fields, magColumn, Float.NaN);
+                if (Float.isNaN(magnitude) || magnitude < SUN_MAGNITUDE_CUTOFF || magnitude > maxMagnitude) {
+                    skipped++;
+                    continue;
+                }
+                double ra = Math.toRadians(parse(fields, raColumn, Float.NaN) * 15.0); // HOURS -> DEGREES
+                double dec = Math.toRadians(parse(fields, decColumn, Float.NaN));
+                if (Double.isNaN(ra) || Double.isNaN(dec)) {
+                    skipped++;
+                    continue;
+                }
+                StarCatalogue.direction(ra, dec, direction);
+                float colorIndex = parse(fields, ciColumn, DEFAULT_COLOR_INDEX);
+                stars.add(new float[] { direction[0], direction[1], direction[2], magnitude, colorIndex });
+            }
+        }
+
+        // BRIGHTEST FIRST, SO ANY MAGNITUDE LIMIT SELECTS A PREFIX
+        stars.sort(Comparator.comparingDouble(star -> star[3]));
+        int count = stars.size();
+        ByteBuffer data = ByteBuffer.allocate(StarCatalogue.HEADER_BYTES + count * StarCatalogue.RECORD_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        StarCatalogue.writeHeader(data, count, maxMagnitude);
+        for (int i = 0; i < count; i++) {
+            float[] star = stars.get(i);
+            StarCatalogue.putRecord(data, StarCatalogue.HEADER_BYTES + i * StarCatalogue.RECORD_BYTES,
+                star[0], star[1], star[2], star[3], star[4]);
+        }
+
+        try (FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        System.out.println("Wrote " + count + " stars down to magnitude " + maxMagnitude + " to " + outputPath
+            + " (" + skipped + " rows skipped, " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+
+    private int requireColumn(List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Star catalogue " + csvPath + " has no '" + name + "' column");
+        }
+        return index;
+    }
+
+    private static float parse(String[] fields, int column, float fallback) {
+        if (column < 0 || column >= fields.length || fields[column].isBlank()) {
+            return fallback;
+        }
+        try {
+            return Float.parseFloat(fields[column].trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Split one CSV row on commas outside double quotes, dropping the quotes
+     */
+    private static String[] split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"'); // ESCAPED QUOTE
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
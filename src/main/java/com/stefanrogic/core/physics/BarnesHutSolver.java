@@ -0,0 +1,325 @@
+package com.stefanrogic.core.physics;
+
+import java.util.Arrays;
+
+/**
+ * Barnes–Hut gravity, O(N log N). Massive bodies are sorted into an octree every evaluation;
+ * a distant node whose size / distance is below the opening angle theta is treated as a single
+ * mass at its centre of mass. Nodes live in a pool of parallel arrays that is reused between
+ * evaluations, so rebuilding the tree does not allocate once the pool has grown to fit.
+ * The tree is built on one thread; the read-only walks for separate bodies can then run concurrently.
+ */
+public class BarnesHutSolver implements ForceSolver {
+
+    private static final int MAX_DEPTH = 48; // COINCIDENT BODIES SHARE A LEAF BELOW THIS
+    private static final int LEAF_CAPACITY = 8; // BODIES PER LEAF BEFORE IT IS SPLIT
+    private static final int NO_NODE = -1;
+    private static final int INITIAL_NODES = 1024;
+
+    private final double theta;
+    private final double thetaSquared;
+    private final double softeningSquared;
+
+    // NODE POOL (STRUCTURE OF ARRAYS, NODE 0 IS THE ROOT)
+    private int nodeCount;
+    private double[] centerX, centerY, centerZ, halfSize;
+    private double[] nodeMu, comX, comY, comZ;
+    private int[] firstChild; // INDEX OF 8 CONTIGUOUS CHILDREN, NO_NODE FOR LEAVES
+    private int[] firstBody; // LEAF BODIES AS A LINKED LIST THROUGH nextBody
+    private int[] bodyCount;
+
+    private int[] nextBody = new int[0];
+    private int[] order = new int[0]; // VISITING ORDER: BODIES GROUPED BY LEAF, THEN TEST PARTICLES
+
+    // EACH WORKER THREAD WALKS THE SHARED TREE WITH ITS OWN STACK
+    private final ThreadLocal<int[]> stacks = ThreadLocal.withInitial(() -> new int[MAX_DEPTH * 7 + 8]);
+
+    // INPUTS OF THE CURRENT EVALUATION
+    private double[] x, y, z, mu;
+
+    public BarnesHutSolver() {
+        this(0.5, 0.0);
+    }
+
+    /**
+     * @param theta opening angle; 0 degenerates to direct summation, 0.3-0.7 is typical
+     * @param softening Plummer softening length in scene units
+     */
+    public BarnesHutSolver(double theta, double softening) {
+        if (theta < 0.0) {
+            throw new IllegalArgumentException("Opening angle must not be negative: " + theta);
+        }
+        this.theta = theta;
+        this.thetaSquared = theta * theta;
+        this.softeningSquared = softening * softening;
+        allocateNodes(INITIAL_NODES);
+    }
+
+    private void allocateNodes(int capacity) {
+        centerX = grow(centerX, capacity);
+        centerY = grow(centerY, capacity);
+        centerZ = grow(centerZ, capacity);
+        halfSize = grow(halfSize, capacity);
+        nodeMu = grow(nodeMu, capacity);
+        comX = grow(comX, capacity);
+        comY = grow(comY, capacity);
+        comZ = grow(comZ, capacity);
+        firstChild = grow(firstChild, capacity);
+        firstBody = grow(firstBody, capacity);
+        bodyCount = grow(bodyCount, capacity);
+    }
+
+    private static double[] grow(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    @Override
+    public void prepare(double[] x, double[] y, double[] z, double[] mu, int count) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.mu = mu;
+        buildTree(x, y, z, mu, count);
+
+        // VISIT MASSIVE BODIES LEAF BY LEAF SO NEIGHBOURS SHARE THE SAME HOT PART OF THE TREE
+        if (order.length < count) {
+            order = new int[Math.max(count, order.length * 2)];
+        }
+        int slot = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (firstChild[node] == NO_NODE) {
+                for (int b = firstBody[node]; b != NO_NODE; b = nextBody[b]) {
+                    order[slot++] = b;
+                }
+            }
+        }
+        // TEST PARTICLES ARE NOT IN THE TREE
+        for (int i = 0; i < count; i++) {
+            if (mu[i] == 0.0) {
+                order[slot++] = i;
+            }
+        }
+    }
+
+    @Override
+    public void accelerate(int from, int to, double[] ax, double[] ay, double[] az) {
+        int[] stack = stacks.get();
+        for (int slot = from; slot < to; slot++) {
+            accelerate(order[slot], stack, ax, ay, az);
+        }
+    }
+
+    // TREE CONSTRUCTION
+
+    private void buildTree(double[] x, double[] y, double[] z, double[] mu, int count) {
+        if (nextBody.length < count) {
+            nextBody = new int[Math.max(count, nextBody.length * 2)];
+        }
+
+        // BOUNDING CUBE OF EVERY BODY THAT EXERTS GRAVITY
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (mu[i] == 0.0) {
+                continue;
+            }
+            minX = Math.min(minX, x[i]); maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]); maxY = Math.max(maxY, y[i]);
+            minZ = Math.min(minZ, z[i]); maxZ = Math.max(maxZ, z[i]);
+        }
+
+        nodeCount = 0;
+        int root = newNode();
+        if (minX > maxX) {
+            nodeMu[root] = 0.0; // NO MASSIVE BODIES
+            return;
+        }
+        centerX[root] = 0.5 * (minX + maxX);
+        centerY[root] = 0.5 * (minY + maxY);
+        centerZ[root] = 0.5 * (minZ + maxZ);
+        // PAD SLIGHTLY SO BODIES ON THE MAX FACE STILL FALL INSIDE
+        halfSize[root] = 0.5 * Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)) * 1.0001 + 1e-9;
+
+        for (int i = 0; i < count; i++) {
+            if (mu[i] != 0.0) {
+                insert(root, 0, i, x, y, z);
+            }
+        }
+        computeMassDistribution(x, y, z, mu);
+    }
+
+    private int newNode() {
+        if (nodeCount == centerX.length) {
+            allocateNodes(centerX.length * 2);
+        }
+        int node = nodeCount++;
+        firstChild[node] = NO_NODE;
+        firstBody[node] = NO_NODE;
+        bodyCount[node] = 0;
+        return node;
+    }
+
+    private void insert(int node, int depth, int body, double[] x, double[] y, double[] z) {
+        while (true) {
+            if (firstChild[node] != NO_NODE) {
+                node = firstChild[node] + octant(node, x[body], y[body], z[body]);
+                depth++;
+                continue;
+            }
+            if (bodyCount[node] < LEAF_CAPACITY || depth >= MAX_DEPTH) {
+                nextBody[body] = firstBody[node];
+                firstBody[node] = body;
+                bodyCount[node]++;
+                return;
+            }
+
+            // FULL LEAF: SPLIT IT AND PUSH THE RESIDENT BODIES ONE LEVEL DOWN
+            int resident = firstBody[node];
+            firstBody[node] = NO_NODE;
+            bodyCount[node] = 0;
+            subdivide(node);
+            while (resident != NO_NODE) {
+                int next = nextBody[resident];
+                int child = firstChild[node] + octant(node, x[resident], y[resident], z[resident]);
+                nextBody[resident] = firstBody[child];
+                firstBody[child] = resident;
+                bodyCount[child]++;
+                resident = next;
+            }
+        }
+    }
+
+    private void subdivide(int node) {
+        int first = nodeCount;
+        for (int i = 0; i < 8; i++) {
+            newNode();
+        }
+        // newNode() MAY HAVE GROWN THE ARRAYS, SO READ THE PARENT AFTERWARDS
+        double quarter = 0.5 * halfSize[node];
+        for (int i = 0; i < 8; i++) {
+            int child = first + i;
+            centerX[child] = centerX[node] + ((i & 1) != 0 ? quarter : -quarter);
+            centerY[child] = centerY[node] + ((i & 2) != 0 ? quarter : -quarter);
+            centerZ[child] = centerZ[node] + ((i & 4) != 0 ? quarter : -quarter);
+            halfSize[child] = quarter;
+        }
+        firstChild[node] = first;
+    }
+
+    private int octant(int node, double px, double py, double pz) {
+        int index = 0;
+        if (px >= centerX[node]) index |= 1;
+        if (py >= centerY[node]) index |= 2;
+        if (pz >= centerZ[node]) index |= 4;
+        return index;
+    }
+
+    /**
+     * Children are always allocated after their parent, so walking the pool backwards
+     * visits every child before the node that owns it.
+     */
+    private void computeMassDistribution(double[] x, double[] y, double[] z, double[] mu) {
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            double m = 0.0, mx = 0.0, my = 0.0, mz = 0.0;
+            int child = firstChild[node];
+            if (child == NO_NODE) {
+                for (int b = firstBody[node]; b != NO_NODE; b = nextBody[b]) {
+                    m += mu[b];
+                    mx += mu[b] * x[b];
+                    my += mu[b] * y[b];
+                    mz += mu[b] * z[b];
+                }
+            } else {
+                for (int c = child; c < child + 8; c++) {
+                    double cm = nodeMu[c];
+                    m += cm;
+                    mx += cm * comX[c];
+                    my += cm * comY[c];
+                    mz += cm * comZ[c];
+                }
+            }
+            nodeMu[node] = m;
+            if (m > 0.0) {
+                comX[node] = mx / m;
+                comY[node] = my / m;
+                comZ[node] = mz / m;
+            } else {
+                comX[node] = centerX[node];
+                comY[node] = centerY[node];
+                comZ[node] = centerZ[node];
+            }
+        }
+    }
+
+    // TREE WALK
+
+    private void accelerate(int i, int[] stack, double[] ax, double[] ay, double[] az) {
+        double xi = x[i], yi = y[i], zi = z[i];
+        double sumX = 0.0, sumY = 0.0, sumZ = 0.0;
+
+        if (nodeMu[0] == 0.0) {
+            ax[i] = 0.0;
+            ay[i] = 0.0;
+            az[i] = 0.0;
+            return;
+        }
+        int sp = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int node = stack[--sp];
+            int child = firstChild[node];
+            if (child == NO_NODE) {
+                // LEAF: EXACT INTERACTION WITH EACH RESIDENT BODY
+                for (int b = firstBody[node]; b != NO_NODE; b = nextBody[b]) {
+                    if (b == i) {
+                        continue;
+                    }
+                    double dx = x[b] - xi, dy = y[b] - yi, dz = z[b] - zi;
+                    double r2 = dx * dx + dy * dy + dz * dz + softeningSquared;
+                    double invR = 1.0 / Math.sqrt(r2);
+                    double f = mu[b] * invR * invR * invR;
+                    sumX += f * dx;
+                    sumY += f * dy;
+                    sumZ += f * dz;
+                }
+                continue;
+            }
+            double dx = comX[node] - xi, dy = comY[node] - yi, dz = comZ[node] - zi;
+            double r2 = dx * dx + dy * dy + dz * dz;
+            double half = halfSize[node];
+            double size = 2.0 * half;
+            // A NODE HOLDING THE BODY ITSELF IS ALWAYS OPENED: ABOVE THETA = 1/SQRT(3) ITS CENTRE OF
+            // MASS CAN BE FAR ENOUGH AWAY TO PASS THE TEST, AND THE BODY WOULD PULL ON ITSELF
+            boolean contains = Math.abs(xi - centerX[node]) <= half && Math.abs(yi - centerY[node]) <= half
+                && Math.abs(zi - centerZ[node]) <= half;
+            if (!contains && size * size < thetaSquared * r2) {
+                // FAR ENOUGH AWAY: THE WHOLE NODE ACTS AS ONE POINT MASS
+                r2 += softeningSquared;
+                double invR = 1.0 / Math.sqrt(r2);
+                double f = nodeMu[node] * invR * invR * invR;
+                sumX += f * dx;
+                sumY += f * dy;
+                sumZ += f * dz;
+            } else {
+                for (int c = child; c < child + 8; c++) {
+                    if (nodeMu[c] != 0.0) {
+                        stack[sp++] = c;
+                    }
+                }
+            }
+        }
+        ax[i] = sumX;
+        ay[i] = sumY;
+        az[i] = sumZ;
+    }
+
+    public double getTheta() { return theta; }
+    public int getNodeCount() { return nodeCount; }
+
+    @Override
+    public String getName() { return "Barnes-Hut (theta " + theta + ")"; }
+}
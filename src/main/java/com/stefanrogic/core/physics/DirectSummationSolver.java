@@ -0,0 +1,64 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Exact pairwise gravity, O(N^2). The right choice for the handful of major bodies.
+ * Each body sums its own row in a fixed order rather than sharing pairs through Newton's third law,
+ * which costs twice the arithmetic but lets rows run on any thread with bit-identical results.
+ */
+public class DirectSummationSolver implements ForceSolver {
+
+    private final double softeningSquared;
+
+    // INPUTS OF THE CURRENT EVALUATION
+    private double[] x, y, z, mu;
+    private int count;
+
+    public DirectSummationSolver() {
+        this(0.0);
+    }
+
+    /**
+     * @param softening Plummer softening length in scene units (avoids singular forces in close encounters)
+     */
+    public DirectSummationSolver(double softening) {
+        this.softeningSquared = softening * softening;
+    }
+
+    @Override
+    public void prepare(double[] x, double[] y, double[] z, double[] mu, int count) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.mu = mu;
+        this.count = count;
+    }
+
+    @Override
+    public void accelerate(int from, int to, double[] ax, double[] ay, double[] az) {
+        for (int i = from; i < to; i++) {
+            double xi = x[i], yi = y[i], zi = z[i];
+            double axi = 0.0, ayi = 0.0, azi = 0.0;
+            for (int j = 0; j < count; j++) {
+                double muj = mu[j];
+                if (muj == 0.0 || j == i) {
+                    continue; // TEST PARTICLES EXERT NO GRAVITY
+                }
+                double dx = x[j] - xi;
+                double dy = y[j] - yi;
+                double dz = z[j] - zi;
+                double r2 = dx * dx + dy * dy + dz * dz + softeningSquared;
+                double invR = 1.0 / Math.sqrt(r2);
+                double f = muj * invR * invR * invR;
+                axi += f * dx;
+                ayi += f * dy;
+                azi += f * dz;
+            }
+            ax[i] = axi;
+            ay[i] = ayi;
+            az[i] = azi;
+        }
+    }
+
+    @Override
+    public String getName() { return "Direct summation"; }
+}
@@ -0,0 +1,23 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Computes gravitational accelerations for a set of bodies in two phases: prepare() runs once per
+ * evaluation on one thread, then accelerate() fills disjoint ranges, possibly on several threads at once.
+ * Implementations must not allocate per call once warmed up.
+ */
+public interface ForceSolver {
+
+    /**
+     * Take the positions for this evaluation and build any shared structure (trees, orderings).
+     * Bodies with a zero gravitational parameter are test particles: they feel gravity but exert none.
+     */
+    void prepare(double[] x, double[] y, double[] z, double[] mu, int count);
+
+    /**
+     * Write accelerations for the bodies in slots [from, to) of the solver's visiting order into ax/ay/az.
+     * Every body belongs to exactly one slot, and a body's result must not depend on how the slots are split.
+     */
+    void accelerate(int from, int to, double[] ax, double[] ay, double[] az);
+
+    String getName();
+}
@@ -0,0 +1,16 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Advances an NBodyState through time. Implementations keep any scratch arrays they need
+ * and only reallocate when the body count grows.
+ */
+public interface Integrator {
+
+    /**
+     * Advance the state by exactly dt seconds.
+     * @return the number of internal steps taken (adaptive integrators may subdivide)
+     */
+    int step(NBodyState state, double dt);
+
+    String getName();
+}
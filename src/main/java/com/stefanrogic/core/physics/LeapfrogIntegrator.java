@@ -0,0 +1,58 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Kick-drift-kick leapfrog (velocity Verlet). Second order and symplectic, so orbital energy
+ * errors stay bounded instead of drifting. One force evaluation per step.
+ */
+public class LeapfrogIntegrator implements Integrator {
+
+    // STEP IN PROGRESS, READ BY THE BOUND RANGE ACTIONS
+    private NBodyState state;
+    private double dt, halfDt;
+    private final ParallelExecutor.RangeAction kickDrift = this::kickDrift;
+    private final ParallelExecutor.RangeAction kick = this::kick;
+
+    @Override
+    public int step(NBodyState s, double dt) {
+        if (!s.accelerationsValid) {
+            s.updateAccelerations();
+        }
+        this.state = s;
+        this.dt = dt;
+        this.halfDt = 0.5 * dt;
+
+        s.forEach(kickDrift);
+
+        // NEW ACCELERATIONS ARE REUSED AS THE FIRST HALF KICK OF THE NEXT STEP
+        s.updateAccelerations();
+
+        s.forEach(kick);
+        this.state = null;
+        return 1;
+    }
+
+    // HALF KICK, FULL DRIFT
+    private void kickDrift(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            s.vx[i] += s.ax[i] * halfDt;
+            s.vy[i] += s.ay[i] * halfDt;
+            s.vz[i] += s.az[i] * halfDt;
+            s.x[i] += s.vx[i] * dt;
+            s.y[i] += s.vy[i] * dt;
+            s.z[i] += s.vz[i] * dt;
+        }
+    }
+
+    private void kick(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            s.vx[i] += s.ax[i] * halfDt;
+            s.vy[i] += s.ay[i] * halfDt;
+            s.vz[i] += s.az[i] * halfDt;
+        }
+    }
+
+    @Override
+    public String getName() { return "Leapfrog"; }
+}
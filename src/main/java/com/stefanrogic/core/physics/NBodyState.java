@@ -0,0 +1,114 @@
+package com.stefanrogic.core.physics;
+
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * The arrays an integrator works on: positions and velocities borrowed from the BodyStore,
+ * plus the acceleration buffer, the force solver that fills it and the executor that spreads work over cores.
+ * Fields are public so integrator inner loops read plain arrays.
+ */
+public final class NBodyState {
+
+    public int count;
+    public double[] x, y, z;
+    public double[] vx, vy, vz;
+    public double[] mu;
+
+    // ACCELERATIONS AT THE CURRENT POSITIONS (ONLY MEANINGFUL WHILE accelerationsValid)
+    public double[] ax = new double[0], ay = new double[0], az = new double[0];
+    public boolean accelerationsValid;
+
+    private ForceSolver solver;
+    private ParallelExecutor executor;
+    private long forceEvaluations;
+
+    // OUTPUT OF THE EVALUATION IN PROGRESS, READ BY THE BOUND RANGE ACTION
+    private double[] outX, outY, outZ;
+    private final ParallelExecutor.RangeAction accelerateRange = this::accelerateRange;
+
+    public NBodyState(ForceSolver solver) {
+        this(solver, ParallelExecutor.singleThreaded());
+    }
+
+    public NBodyState(ForceSolver solver, ParallelExecutor executor) {
+        this.solver = solver;
+        this.executor = executor;
+    }
+
+    /**
+     * Re-read the array references from the store. Cheap; called before every advance.
+     */
+    public void bind(BodyStore store) {
+        if (x != store.getPositionX() || count != store.size()) {
+            accelerationsValid = false;
+        }
+        count = store.size();
+        x = store.getPositionX();
+        y = store.getPositionY();
+        z = store.getPositionZ();
+        vx = store.getVelocityX();
+        vy = store.getVelocityY();
+        vz = store.getVelocityZ();
+        mu = store.getGravitationalParameters();
+        if (ax.length < x.length) {
+            ax = new double[x.length];
+            ay = new double[x.length];
+            az = new double[x.length];
+            accelerationsValid = false;
+        }
+    }
+
+    /**
+     * Fill ax/ay/az for the current positions
+     */
+    public void updateAccelerations() {
+        evaluate(x, y, z, ax, ay, az);
+        accelerationsValid = true;
+    }
+
+    /**
+     * Accelerations at arbitrary trial positions (used by multi-stage integrators)
+     */
+    public void evaluate(double[] px, double[] py, double[] pz, double[] outX, double[] outY, double[] outZ) {
+        solver.prepare(px, py, pz, mu, count);
+        this.outX = outX;
+        this.outY = outY;
+        this.outZ = outZ;
+        executor.forEach(count, accelerateRange);
+        this.outX = null;
+        this.outY = null;
+        this.outZ = null;
+        forceEvaluations++;
+    }
+
+    private void accelerateRange(int from, int to) {
+        solver.accelerate(from, to, outX, outY, outZ);
+    }
+
+    /**
+     * Run per-body integrator work over [0, count) on the executor
+     */
+    public void forEach(ParallelExecutor.RangeAction action) {
+        executor.forEach(count, action);
+    }
+
+    /**
+     * Largest per-range result over [0, count); ranges are combined in a fixed order
+     */
+    public double max(ParallelExecutor.RangeSum action) {
+        return executor.max(count, action);
+    }
+
+    public ForceSolver getSolver() { return solver; }
+
+    public void setSolver(ForceSolver solver) {
+        this.solver = solver;
+        accelerationsValid = false;
+    }
+
+    public ParallelExecutor getExecutor() { return executor; }
+
+    public void setExecutor(ParallelExecutor executor) { this.executor = executor; }
+
+    public long getForceEvaluations() { return forceEvaluations; }
+}
@@ -0,0 +1,179 @@
+package com.stefanrogic.core.physics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits body index ranges into chunks and runs them on a work-stealing ForkJoinPool.
+ * Chunk boundaries depend only on the body count, never on the thread count, and reductions
+ * combine per-chunk partials in chunk order, so results are bit-identical whether the work runs
+ * on one thread or thirty-two. Task objects are reused between calls, so steady-state use does not allocate.
+ */
+public final class ParallelExecutor {
+
+    /**
+     * Work on bodies [from, to). Implementations must only write to their own range.
+     */
+    public interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /**
+     * Partial result over bodies [from, to), combined in chunk order
+     */
+    public interface RangeSum {
+        double sum(int from, int to);
+    }
+
+    private static final int MAX_CHUNKS = 256;
+    private static final int MIN_CHUNK_SIZE = 64; // SMALL SCENES STAY ON ONE THREAD
+
+    private final int threads;
+    private final ForkJoinPool pool; // NULL IN SINGLE-THREADED MODE
+
+    // REUSABLE TASKS AND PER-CALL ARGUMENTS
+    private final ChunkTask[] chunks = new ChunkTask[MAX_CHUNKS];
+    private final RootTask root = new RootTask();
+    private final double[] partials = new double[MAX_CHUNKS];
+    private ForkJoinTask<?>[] chunkView; // THE ACTIVE PREFIX OF chunks, REBUILT WHEN THE COUNT CHANGES
+    private int activeChunks;
+    private int chunkSize;
+    private int rangeEnd;
+    private RangeAction action;
+    private RangeSum summand;
+
+    /**
+     * @param threads worker count; 1 runs everything on the calling thread
+     */
+    public ParallelExecutor(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+        for (int i = 0; i < MAX_CHUNKS; i++) {
+            chunks[i] = new ChunkTask(i);
+        }
+    }
+
+    public static ParallelExecutor singleThreaded() {
+        return new ParallelExecutor(1);
+    }
+
+    /**
+     * Run the action over [0, count) in fixed-size chunks
+     */
+    public void forEach(int count, RangeAction rangeAction) {
+        partition(count);
+        this.action = rangeAction;
+        this.summand = null;
+        runChunks();
+        this.action = null;
+    }
+
+    /**
+     * Sum partial results over [0, count); the partials are added in chunk order
+     */
+    public double sum(int count, RangeSum rangeSum) {
+        partition(count);
+        this.action = null;
+        this.summand = rangeSum;
+        runChunks();
+        this.summand = null;
+        double total = 0.0;
+        for (int i = 0; i < activeChunks; i++) {
+            total += partials[i];
+        }
+        return total;
+    }
+
+    /**
+     * Largest partial result over [0, count)
+     */
+    public double max(int count, RangeSum rangeMax) {
+        partition(count);
+        this.action = null;
+        this.summand = rangeMax;
+        runChunks();
+        this.summand = null;
+        double result = 0.0;
+        for (int i = 0; i < activeChunks; i++) {
+            result = Math.max(result, partials[i]);
+        }
+        return result;
+    }
+
+    private void partition(int count) {
+        rangeEnd = count;
+        chunkSize = Math.max(MIN_CHUNK_SIZE, (count + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        activeChunks = count == 0 ? 0 : (count + chunkSize - 1) / chunkSize;
+    }
+
+    private void runChunks() {
+        if (pool == null || activeChunks <= 1) {
+            for (int i = 0; i < activeChunks; i++) {
+                runChunk(i);
+            }
+            return;
+        }
+        root.reinitialize();
+        pool.invoke(root);
+    }
+
+    private void runChunk(int chunk) {
+        int from = chunk * chunkSize;
+        int to = Math.min(rangeEnd, from + chunkSize);
+        if (action != null) {
+            action.run(from, to);
+        } else {
+            partials[chunk] = summand.sum(from, to);
+        }
+    }
+
+    public int getThreads() { return threads; }
+
+    public boolean isParallel() { return pool != null; }
+
+    /**
+     * Stop the worker threads. The executor must not be used afterwards.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < activeChunks; i++) {
+                chunks[i].reinitialize();
+            }
+            // FORK EVERY CHUNK; IDLE WORKERS STEAL WHAT THIS THREAD HAS NOT REACHED YET
+            ForkJoinTask.invokeAll(chunksView());
+        }
+    }
+
+    private ForkJoinTask<?>[] chunksView() {
+        if (chunkView == null || chunkView.length != activeChunks) {
+            chunkView = Arrays.copyOf(chunks, activeChunks, ForkJoinTask[].class);
+        }
+        return chunkView;
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        ChunkTask(int index) {
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            runChunk(index);
+        }
+    }
+}
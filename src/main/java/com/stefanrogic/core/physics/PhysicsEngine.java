@@ -0,0 +1,169 @@
+package com.stefanrogic.core.physics;
+
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Drives N-body gravity over the BodyStore: splits each requested time span into
+ * fixed-size steps for the selected integrator and keeps throughput statistics.
+ * Force evaluation and integration are spread over a ForkJoinPool; with one thread the
+ * results are bit-identical, which is what reproducibility runs should use.
+ */
+public class PhysicsEngine {
+
+    private static final double DEFAULT_MAX_STEP = 60.0; // SECONDS OF SIMULATED TIME PER STEP
+    private static final int MAX_STEPS_PER_ADVANCE = 20000; // DROP TIME RATHER THAN STALL AFTER A LONG HITCH
+    private static final long STATS_WINDOW_NANOS = 1_000_000_000L;
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final BodyStore store;
+    private final NBodyState state;
+    private Integrator integrator;
+    private double maxStep = DEFAULT_MAX_STEP;
+
+    // STATISTICS (WRITTEN BY THE SIMULATION THREAD, READABLE FROM ANY THREAD)
+    private volatile long totalSteps;
+    private volatile double simulatedTime;
+    private long windowStart = System.nanoTime();
+    private long windowSteps;
+    private long windowBusyNanos;
+    private volatile double stepsPerSecond;
+    private volatile double sustainableStepsPerSecond;
+
+    public PhysicsEngine(BodyStore store) {
+        this(store, new YoshidaIntegrator(), new DirectSummationSolver());
+    }
+
+    public PhysicsEngine(BodyStore store, Integrator integrator, ForceSolver solver) {
+        this(store, integrator, solver, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param threads worker threads for force evaluation and integration; 1 keeps everything on the caller
+     */
+    public PhysicsEngine(BodyStore store, Integrator integrator, ForceSolver solver, int threads) {
+        this.store = store;
+        this.integrator = integrator;
+        this.state = new NBodyState(solver, new ParallelExecutor(threads));
+    }
+
+    /**
+     * Advance the simulation by dt seconds in steps no longer than the configured maximum
+     */
+    public void advance(double dt) {
+        if (dt <= 0.0) {
+            return;
+        }
+        state.bind(store);
+
+        int steps = (int) Math.ceil(dt / maxStep);
+        if (steps > MAX_STEPS_PER_ADVANCE) {
+            System.out.println("Physics falling behind, dropping " + (dt - MAX_STEPS_PER_ADVANCE * maxStep) + " s of simulated time");
+            steps = MAX_STEPS_PER_ADVANCE;
+            dt = steps * maxStep;
+        }
+        double h = dt / steps;
+
+        long start = System.nanoTime();
+        long taken = 0;
+        for (int i = 0; i < steps; i++) {
+            taken += integrator.step(state, h);
+        }
+        long end = System.nanoTime();
+
+        totalSteps += taken;
+        simulatedTime += dt;
+        windowSteps += taken;
+        windowBusyNanos += end - start;
+        updateStatistics(end);
+    }
+
+    private void updateStatistics(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < STATS_WINDOW_NANOS) {
+            return;
+        }
+        stepsPerSecond = windowSteps * 1e9 / elapsed;
+        sustainableStepsPerSecond = windowBusyNanos > 0 ? windowSteps * 1e9 / windowBusyNanos : 0.0;
+        windowStart = now;
+        windowSteps = 0;
+        windowBusyNanos = 0;
+    }
+
+    /**
+     * Total kinetic plus potential energy in KG * UNITS^2 / S^2. O(N^2); for diagnostics only.
+     */
+    public double computeTotalEnergy() {
+        state.bind(store);
+        double kinetic = 0.0, potential = 0.0;
+        for (int i = 0; i < state.count; i++) {
+            double v2 = state.vx[i] * state.vx[i] + state.vy[i] * state.vy[i] + state.vz[i] * state.vz[i];
+            double mass = store.getMass(i);
+            kinetic += 0.5 * mass * v2;
+            for (int j = i + 1; j < state.count; j++) {
+                double dx = state.x[j] - state.x[i];
+                double dy = state.y[j] - state.y[i];
+                double dz = state.z[j] - state.z[i];
+                potential -= mass * state.mu[j] / Math.sqrt(dx * dx + dy * dy + dz * dz);
+            }
+        }
+        return kinetic + potential;
+    }
+
+    public Integrator getIntegrator() { return integrator; }
+
+    public void setIntegrator(Integrator integrator) {
+        this.integrator = integrator;
+        state.accelerationsValid = false;
+        System.out.println("Physics integrator: " + integrator.getName());
+    }
+
+    public ForceSolver getForceSolver() { return state.getSolver(); }
+    public void setForceSolver(ForceSolver solver) { state.setSolver(solver); }
+
+    public int getThreads() { return state.getExecutor().getThreads(); }
+
+    /**
+     * Replace the worker pool. Switching to 1 thread gives runs that are reproducible bit for bit.
+     */
+    public void setThreads(int threads) {
+        ParallelExecutor previous = state.getExecutor();
+        if (previous.getThreads() == Math.max(1, threads)) {
+            return;
+        }
+        state.setExecutor(new ParallelExecutor(threads));
+        previous.shutdown();
+        System.out.println("Physics threads: " + getThreads());
+    }
+
+    /**
+     * Stop the worker threads; call once when the simulation is torn down
+     */
+    public void shutdown() {
+        state.getExecutor().shutdown();
+    }
+
+    public double getMaxStep() { return maxStep; }
+
+    public void setMaxStep(double maxStep) {
+        if (maxStep <= 0.0) {
+            throw new IllegalArgumentException("Step size must be positive: " + maxStep);
+        }
+        this.maxStep = maxStep;
+    }
+
+    // STATISTICS GETTERS
+    public long getTotalSteps() { return totalSteps; }
+    public double getSimulatedTime() { return simulatedTime; }
+    public long getForceEvaluations() { return state.getForceEvaluations(); }
+
+    /**
+     * Steps actually taken per wall-clock second over the last measurement window
+     */
+    public double getStepsPerSecond() { return stepsPerSecond; }
+
+    /**
+     * Steps per second of pure integration time, i.e. the rate the engine could sustain if it did nothing else.
+     * Multiply by the step size to get the highest time acceleration the current scene supports.
+     */
+    public double getSustainableStepsPerSecond() { return sustainableStepsPerSecond; }
+}
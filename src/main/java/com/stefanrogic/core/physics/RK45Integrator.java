@@ -0,0 +1,196 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Adaptive Dormand–Prince 5(4) Runge–Kutta. Not symplectic, but the embedded error estimate
+ * lets it shrink the step through close encounters and grow it again afterwards.
+ * Uses first-same-as-last: the final stage's accelerations become the next step's first stage.
+ */
+public class RK45Integrator implements Integrator {
+
+    private static final int STAGES = 7;
+
+    // BUTCHER TABLEAU (ROW s HOLDS THE COEFFICIENTS FOR STAGE s)
+    private static final double[][] A = {
+        {},
+        { 1.0 / 5.0 },
+        { 3.0 / 40.0, 9.0 / 40.0 },
+        { 44.0 / 45.0, -56.0 / 15.0, 32.0 / 9.0 },
+        { 19372.0 / 6561.0, -25360.0 / 2187.0, 64448.0 / 6561.0, -212.0 / 729.0 },
+        { 9017.0 / 3168.0, -355.0 / 33.0, 46732.0 / 5247.0, 49.0 / 176.0, -5103.0 / 18656.0 },
+        { 35.0 / 384.0, 0.0, 500.0 / 1113.0, 125.0 / 192.0, -2187.0 / 6784.0, 11.0 / 84.0 }
+    };
+
+    // DIFFERENCE BETWEEN THE 5TH AND 4TH ORDER WEIGHTS (THE LOCAL ERROR ESTIMATE)
+    private static final double[] E = {
+        71.0 / 57600.0, 0.0, -71.0 / 16695.0, 71.0 / 1920.0, -17253.0 / 339200.0, 22.0 / 525.0, -1.0 / 40.0
+    };
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_SCALE = 0.2;
+    private static final double MAX_SCALE = 5.0;
+    private static final double ABSOLUTE_TOLERANCE = 1e-15;
+
+    private final double tolerance;
+    private double suggestedStep; // CARRIED BETWEEN CALLS, 0 = NOT YET KNOWN
+    private long rejectedSteps;
+
+    // STAGE DERIVATIVES: dPosition = VELOCITY, dVelocity = ACCELERATION
+    private double[][] kx = new double[STAGES][0], ky = new double[STAGES][0], kz = new double[STAGES][0];
+    private double[][] kvx = new double[STAGES][0], kvy = new double[STAGES][0], kvz = new double[STAGES][0];
+    private double[] tx = new double[0], ty = new double[0], tz = new double[0];
+
+    // STEP IN PROGRESS, READ BY THE BOUND RANGE ACTIONS
+    private NBodyState state;
+    private double h;
+    private int stage;
+    private final ParallelExecutor.RangeAction loadFirstStage = this::loadFirstStage;
+    private final ParallelExecutor.RangeAction buildStage = this::buildStage;
+    private final ParallelExecutor.RangeSum estimateError = this::estimateError;
+    private final ParallelExecutor.RangeAction accept = this::accept;
+
+    public RK45Integrator() {
+        this(1e-10);
+    }
+
+    /**
+     * @param tolerance relative error allowed per step
+     */
+    public RK45Integrator(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    private void ensureCapacity(int n) {
+        if (tx.length >= n) {
+            return;
+        }
+        for (int s = 0; s < STAGES; s++) {
+            kx[s] = new double[n]; ky[s] = new double[n]; kz[s] = new double[n];
+            kvx[s] = new double[n]; kvy[s] = new double[n]; kvz[s] = new double[n];
+        }
+        tx = new double[n]; ty = new double[n]; tz = new double[n];
+    }
+
+    @Override
+    public int step(NBodyState s, double dt) {
+        ensureCapacity(s.x.length);
+        this.state = s;
+
+        double elapsed = 0.0;
+        double h = suggestedStep > 0.0 ? Math.min(suggestedStep, dt) : dt;
+        int steps = 0;
+
+        while (elapsed < dt) {
+            boolean last = h >= dt - elapsed;
+            if (last) {
+                h = dt - elapsed;
+            }
+            this.h = h;
+
+            // STAGE 0 IS THE CURRENT STATE
+            if (!s.accelerationsValid) {
+                s.updateAccelerations();
+            }
+            s.forEach(loadFirstStage);
+
+            for (int stage = 1; stage < STAGES; stage++) {
+                this.stage = stage;
+                s.forEach(buildStage);
+                s.evaluate(tx, ty, tz, kvx[stage], kvy[stage], kvz[stage]);
+            }
+
+            double error = s.max(estimateError);
+
+            double scale = error == 0.0 ? MAX_SCALE
+                : Math.max(MIN_SCALE, Math.min(MAX_SCALE, SAFETY * Math.pow(error, -0.2)));
+
+            if (error <= 1.0 || h <= Math.ulp(dt)) {
+                // ACCEPT: COPY THE NEW STATE AND REUSE THE LAST STAGE'S ACCELERATIONS (FSAL)
+                s.forEach(accept);
+                s.accelerationsValid = true;
+                elapsed += h;
+                steps++;
+                // A STEP SHORTENED ONLY TO LAND ON dt SAYS NOTHING ABOUT THE NEXT STEP SIZE
+                if (!last || scale < 1.0) {
+                    suggestedStep = h * scale;
+                }
+                if (last) {
+                    break;
+                }
+            } else {
+                rejectedSteps++;
+            }
+            h *= scale;
+        }
+        this.state = null;
+        return steps;
+    }
+
+    private void loadFirstStage(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            kx[0][i] = s.vx[i]; ky[0][i] = s.vy[i]; kz[0][i] = s.vz[i];
+            kvx[0][i] = s.ax[i]; kvy[0][i] = s.ay[i]; kvz[0][i] = s.az[i];
+        }
+    }
+
+    private void buildStage(int from, int to) {
+        NBodyState s = state;
+        double[] a = A[stage];
+        double[] svx = kx[stage], svy = ky[stage], svz = kz[stage];
+        for (int i = from; i < to; i++) {
+            double px = 0.0, py = 0.0, pz = 0.0;
+            double vx = 0.0, vy = 0.0, vz = 0.0;
+            for (int j = 0; j < stage; j++) {
+                double w = a[j];
+                px += w * kx[j][i]; py += w * ky[j][i]; pz += w * kz[j][i];
+                vx += w * kvx[j][i]; vy += w * kvy[j][i]; vz += w * kvz[j][i];
+            }
+            tx[i] = s.x[i] + h * px;
+            ty[i] = s.y[i] + h * py;
+            tz[i] = s.z[i] + h * pz;
+            svx[i] = s.vx[i] + h * vx;
+            svy[i] = s.vy[i] + h * vy;
+            svz[i] = s.vz[i] + h * vz;
+        }
+    }
+
+    // THE LAST STAGE POSITION (tx) AND VELOCITY (kx[6]) ARE THE 5TH ORDER SOLUTION
+    private double estimateError(int from, int to) {
+        NBodyState s = state;
+        double error = 0.0;
+        for (int i = from; i < to; i++) {
+            double ex = 0.0, ey = 0.0, ez = 0.0;
+            double evx = 0.0, evy = 0.0, evz = 0.0;
+            for (int j = 0; j < STAGES; j++) {
+                double w = E[j];
+                ex += w * kx[j][i]; ey += w * ky[j][i]; ez += w * kz[j][i];
+                evx += w * kvx[j][i]; evy += w * kvy[j][i]; evz += w * kvz[j][i];
+            }
+            error = Math.max(error, scaledError(h * ex, s.x[i], tx[i]));
+            error = Math.max(error, scaledError(h * ey, s.y[i], ty[i]));
+            error = Math.max(error, scaledError(h * ez, s.z[i], tz[i]));
+            error = Math.max(error, scaledError(h * evx, s.vx[i], kx[6][i]));
+            error = Math.max(error, scaledError(h * evy, s.vy[i], ky[6][i]));
+            error = Math.max(error, scaledError(h * evz, s.vz[i], kz[6][i]));
+        }
+        return error;
+    }
+
+    private void accept(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            s.x[i] = tx[i]; s.y[i] = ty[i]; s.z[i] = tz[i];
+            s.vx[i] = kx[6][i]; s.vy[i] = ky[6][i]; s.vz[i] = kz[6][i];
+            s.ax[i] = kvx[6][i]; s.ay[i] = kvy[6][i]; s.az[i] = kvz[6][i];
+        }
+    }
+
+    private double scaledError(double error, double before, double after) {
+        return Math.abs(error) / (ABSOLUTE_TOLERANCE + tolerance * Math.max(Math.abs(before), Math.abs(after)));
+    }
+
+    public long getRejectedSteps() { return rejectedSteps; }
+
+    @Override
+    public String getName() { return "RK45 (Dormand-Prince)"; }
+}
@@ -0,0 +1,67 @@
+package com.stefanrogic.core.physics;
+
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Positions and spin of every body at one simulation tick. Once published by the
+ * simulation thread a snapshot is read-only until it is handed back for reuse.
+ */
+public final class SimulationSnapshot {
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private double time; // SIMULATED SECONDS SINCE START
+    private long tick;
+    private int count;
+    private double[] x = new double[0], y = new double[0], z = new double[0];
+    private double[] rotation = new double[0];
+
+    /**
+     * Copy the simulation state out of the store
+     */
+    void capture(BodyStore store, long tickNumber, double simulatedTime) {
+        count = store.size();
+        if (x.length < count) {
+            x = new double[count];
+            y = new double[count];
+            z = new double[count];
+            rotation = new double[count];
+        }
+        System.arraycopy(store.getPositionX(), 0, x, 0, count);
+        System.arraycopy(store.getPositionY(), 0, y, 0, count);
+        System.arraycopy(store.getPositionZ(), 0, z, 0, count);
+        System.arraycopy(store.getRotationAngles(), 0, rotation, 0, count);
+        tick = tickNumber;
+        time = simulatedTime;
+    }
+
+    /**
+     * Write the state alpha of the way from 'from' to 'to' into the store's display arrays
+     */
+    static void interpolate(SimulationSnapshot from, SimulationSnapshot to, double alpha, BodyStore store) {
+        double[] dx = store.getDisplayPositionX();
+        double[] dy = store.getDisplayPositionY();
+        double[] dz = store.getDisplayPositionZ();
+        double[] dr = store.getDisplayRotationAngles();
+        int n = Math.min(to.count, from.count);
+        for (int i = 0; i < n; i++) {
+            dx[i] = from.x[i] + (to.x[i] - from.x[i]) * alpha;
+            dy[i] = from.y[i] + (to.y[i] - from.y[i]) * alpha;
+            dz[i] = from.z[i] + (to.z[i] - from.z[i]) * alpha;
+
+            // SPIN ANGLES WRAP, SO TURN THE SHORT WAY ROUND
+            double turn = to.rotation[i] - from.rotation[i];
+            if (turn > Math.PI) {
+                turn -= TWO_PI;
+            } else if (turn < -Math.PI) {
+                turn += TWO_PI;
+            }
+            double angle = from.rotation[i] + turn * alpha;
+            dr[i] = angle < 0.0 ? angle + TWO_PI : angle >= TWO_PI ? angle - TWO_PI : angle;
+        }
+    }
+
+    public double getTime() { return time; }
+    public long getTick() { return tick; }
+    public int getCount() { return count; }
+}
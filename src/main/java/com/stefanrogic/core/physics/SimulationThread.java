@@ -0,0 +1,183 @@
+package com.stefanrogic.core.physics;
+
+import java.util.concurrent.locks.LockSupport;
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Runs the physics on its own thread with a fixed timestep, independent of the frame rate.
+ * Wall-clock time times the time acceleration fills an accumulator that is drained in whole ticks;
+ * after each tick the state is copied into a snapshot and published. The render thread blends the
+ * two newest snapshots into the BodyStore's display arrays, so motion stays smooth at any tick rate.
+ * Bodies must not be added to the store while the thread is running.
+ */
+public class SimulationThread {
+
+    private static final double DEFAULT_TICK = 60.0; // SIMULATED SECONDS PER TICK
+    private static final double MAX_BACKLOG_TICKS = 256; // DROP TIME RATHER THAN SPIRAL AFTER A LONG HITCH
+    private static final long PAUSED_POLL_NANOS = 10_000_000L;
+
+    private final PhysicsEngine engine;
+    private final BodyStore store;
+    private final double tickSeconds;
+    private volatile double timeAcceleration;
+    private volatile boolean paused;
+    private volatile boolean running;
+    private Thread thread;
+
+    // SNAPSHOTS: THE RENDER THREAD READS previous/current UNDER THE LOCK, THE SIMULATION FILLS spare
+    private final Object publishLock = new Object();
+    private SimulationSnapshot previous = new SimulationSnapshot();
+    private SimulationSnapshot current = new SimulationSnapshot();
+    private SimulationSnapshot spare = new SimulationSnapshot();
+    private long publishedAt; // NANOTIME OF THE LATEST PUBLISH
+
+    // SIMULATION-THREAD STATE
+    private long tick;
+    private double simulatedTime;
+    private volatile long droppedTicks;
+
+    public SimulationThread(PhysicsEngine engine, BodyStore store, double timeAcceleration) {
+        this(engine, store, timeAcceleration, DEFAULT_TICK);
+    }
+
+    /**
+     * @param tickSeconds simulated seconds advanced per tick
+     */
+    public SimulationThread(PhysicsEngine engine, BodyStore store, double timeAcceleration, double tickSeconds) {
+        if (tickSeconds <= 0.0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickSeconds);
+        }
+        this.engine = engine;
+        this.store = store;
+        this.tickSeconds = tickSeconds;
+        this.timeAcceleration = timeAcceleration;
+
+        // BOTH PUBLISHED SNAPSHOTS START AT THE INITIAL STATE
+        previous.capture(store, 0, 0.0);
+        current.capture(store, 0, 0.0);
+        publishedAt = System.nanoTime();
+        store.syncDisplay();
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("Simulation thread started: " + tickSeconds + " s per tick, "
+            + (timeAcceleration / tickSeconds) + " ticks per second");
+    }
+
+    /**
+     * Stop the loop and wait for the current tick to finish
+     */
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void run() {
+        long last = System.nanoTime();
+        double accumulator = 0.0;
+        while (running) {
+            long now = System.nanoTime();
+            double wallSeconds = (now - last) / 1_000_000_000.0;
+            last = now;
+
+            if (paused) {
+                accumulator = 0.0;
+                LockSupport.parkNanos(PAUSED_POLL_NANOS);
+                continue;
+            }
+
+            double acceleration = timeAcceleration;
+            accumulator += wallSeconds * acceleration;
+            if (accumulator > MAX_BACKLOG_TICKS * tickSeconds) {
+                long dropped = (long) (accumulator / tickSeconds) - 1;
+                droppedTicks += dropped;
+                System.out.println("Simulation falling behind, dropping " + dropped + " ticks");
+                accumulator -= dropped * tickSeconds;
+            }
+
+            try {
+                while (accumulator >= tickSeconds && running && !paused) {
+                    engine.advance(tickSeconds);
+                    store.updateRotation(tickSeconds);
+                    tick++;
+                    simulatedTime += tickSeconds;
+                    publish();
+                    accumulator -= tickSeconds;
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Simulation thread stopped: " + e.getMessage());
+                running = false;
+                throw e;
+            }
+
+            // SLEEP UNTIL THE NEXT TICK IS DUE
+            if (acceleration > 0.0) {
+                long wait = (long) ((tickSeconds - accumulator) / acceleration * 1_000_000_000.0);
+                LockSupport.parkNanos(Math.max(0L, wait));
+            } else {
+                LockSupport.parkNanos(PAUSED_POLL_NANOS);
+            }
+        }
+    }
+
+    private void publish() {
+        spare.capture(store, tick, simulatedTime);
+        synchronized (publishLock) {
+            SimulationSnapshot recycled = previous;
+            previous = current;
+            current = spare;
+            spare = recycled;
+            publishedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Render thread: blend the two newest snapshots into the store's display state.
+     * The blend factor is how far wall-clock time has moved into the current tick, so the
+     * view runs one tick behind the simulation and never has to extrapolate.
+     */
+    public void interpolate() {
+        synchronized (publishLock) {
+            double alpha = 1.0;
+            double acceleration = timeAcceleration;
+            if (!paused && acceleration > 0.0) {
+                double tickNanos = tickSeconds / acceleration * 1_000_000_000.0;
+                alpha = Math.min(1.0, (System.nanoTime() - publishedAt) / tickNanos);
+            }
+            SimulationSnapshot.interpolate(previous, current, alpha, store);
+        }
+    }
+
+    public boolean isRunning() { return running; }
+    public boolean isPaused() { return paused; }
+    public void setPaused(boolean paused) { this.paused = paused; }
+    public double getTimeAcceleration() { return timeAcceleration; }
+    public void setTimeAcceleration(double timeAcceleration) { this.timeAcceleration = Math.max(0.0, timeAcceleration); }
+    public double getTickSeconds() { return tickSeconds; }
+    public long getDroppedTicks() { return droppedTicks; }
+
+    /**
+     * Simulated time of the newest published snapshot
+     */
+    public double getSimulatedTime() {
+        synchronized (publishLock) {
+            return current.getTime();
+        }
+    }
+}
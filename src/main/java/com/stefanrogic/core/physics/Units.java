@@ -0,0 +1,22 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Unit conversions between SI and scene units (1 UNIT = 10,000 KM, TIME IN SECONDS)
+ */
+public final class Units {
+
+    public static final double GRAVITATIONAL_CONSTANT = 6.674e-11; // M^3 / (KG S^2)
+    public static final double METERS_PER_UNIT = 1.0e7; // 10,000 KM
+    public static final double SECONDS_PER_DAY = 86400.0;
+
+    private static final double CUBIC_METERS_PER_CUBIC_UNIT = METERS_PER_UNIT * METERS_PER_UNIT * METERS_PER_UNIT;
+
+    private Units() {}
+
+    /**
+     * G * mass converted to scene units (UNITS^3 / S^2)
+     */
+    public static double gravitationalParameter(double massKg) {
+        return GRAVITATIONAL_CONSTANT * massKg / CUBIC_METERS_PER_CUBIC_UNIT;
+    }
+}
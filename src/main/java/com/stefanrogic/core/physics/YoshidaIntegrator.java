@@ -0,0 +1,62 @@
+package com.stefanrogic.core.physics;
+
+/**
+ * Yoshida's fourth-order symplectic integrator: three leapfrog sub-steps with weights chosen
+ * so the second- and third-order error terms cancel. Three force evaluations per step.
+ */
+public class YoshidaIntegrator implements Integrator {
+
+    private static final double CBRT_2 = Math.cbrt(2.0);
+    private static final double W1 = 1.0 / (2.0 - CBRT_2);
+    private static final double W0 = -CBRT_2 / (2.0 - CBRT_2);
+
+    // DRIFT (C) AND KICK (D) COEFFICIENTS
+    private static final double[] C = { W1 / 2.0, (W0 + W1) / 2.0, (W0 + W1) / 2.0, W1 / 2.0 };
+    private static final double[] D = { W1, W0, W1 };
+
+    // SUB-STEP IN PROGRESS, READ BY THE BOUND RANGE ACTIONS
+    private NBodyState state;
+    private double h;
+    private final ParallelExecutor.RangeAction drift = this::drift;
+    private final ParallelExecutor.RangeAction kick = this::kick;
+
+    @Override
+    public int step(NBodyState s, double dt) {
+        this.state = s;
+        for (int stage = 0; stage < 3; stage++) {
+            h = C[stage] * dt;
+            s.forEach(drift);
+            s.updateAccelerations();
+            h = D[stage] * dt;
+            s.forEach(kick);
+        }
+        h = C[3] * dt;
+        s.forEach(drift);
+        this.state = null;
+
+        // THE FINAL DRIFT MOVED THE BODIES AWAY FROM WHERE ax/ay/az WERE EVALUATED
+        s.accelerationsValid = false;
+        return 1;
+    }
+
+    private void drift(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            s.x[i] += s.vx[i] * h;
+            s.y[i] += s.vy[i] * h;
+            s.z[i] += s.vz[i] * h;
+        }
+    }
+
+    private void kick(int from, int to) {
+        NBodyState s = state;
+        for (int i = from; i < to; i++) {
+            s.vx[i] += s.ax[i] * h;
+            s.vy[i] += s.ay[i] * h;
+            s.vz[i] += s.az[i] * h;
+        }
+    }
+
+    @Override
+    public String getName() { return "Yoshida 4"; }
+}
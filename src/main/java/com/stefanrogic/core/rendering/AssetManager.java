@@ -0,0 +1,193 @@
+package com.stefanrogic.core.rendering;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads meshes and textures in the background. Decoding (mapping the mesh and texture caches, or
+ * building them on a cold start) runs on a small worker pool; the OpenGL half of each asset waits in
+ * a bounded queue that the render thread drains with processUploads() under a per-frame time budget.
+ *
+ * Futures returned here always complete on the render thread, successfully or not, so callbacks may
+ * touch GL state and body fields without synchronisation. Workers block when the upload queue is full,
+ * which caps how many decoded 2K images can sit in memory at once.
+ *
+ * Loaded assets are shared through a ResourceRegistry: each load takes a reference, each release
+ * returns one, and a texture requested by several bodies is decoded and uploaded once.
+ */
+public class AssetManager {
+
+    private static final int WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int UPLOAD_QUEUE_CAPACITY = 8;
+    // -Dsolarsystem.uploadBudgetMs=2 GL UPLOAD TIME SPENT PER FRAME (ONE UPLOAD ALWAYS RUNS)
+    private static final long UPLOAD_BUDGET_NANOS = (long) (Double.parseDouble(System.getProperty("solarsystem.uploadBudgetMs", "2")) * 1_000_000L);
+
+    private final ExecutorService workers;
+    private final BlockingQueue<Runnable> uploads = new ArrayBlockingQueue<>(UPLOAD_QUEUE_CAPACITY);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ResourceRegistry registry = new ResourceRegistry();
+    private long firstRequestNanos;
+
+    public AssetManager() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true); // NEVER KEEPS THE JVM ALIVE AFTER THE WINDOW CLOSES
+            return thread;
+        });
+    }
+
+    /**
+     * Texture id for an image resource, available once decoded and uploaded. Every call takes a
+     * reference that must be returned with releaseTexture(); repeated paths share one texture.
+     */
+    public CompletableFuture<Integer> loadTexture(String resourcePath) {
+        String key = textureKey(resourcePath);
+        return registry.acquire(key, () -> upload(decode(() -> TextureCache.load(resourcePath)), texture -> {
+            int textureId = TextureLoader.upload(texture);
+            long bytes = 0;
+            for (ByteBuffer level : texture.levels) {
+                bytes += level.capacity();
+            }
+            registry.recordBytes(key, bytes);
+            return textureId;
+        }), TextureLoader::deleteTexture);
+    }
+
+    public void releaseTexture(String resourcePath) {
+        registry.release(textureKey(resourcePath));
+    }
+
+    /**
+     * Textured model from a cached mesh and a diffuse image, decoded in parallel. Shared like textures;
+     * return it with releaseModel(). The model holds its own reference to the texture.
+     */
+    public CompletableFuture<Model> loadModel(String meshPath, String texturePath) {
+        String key = modelKey(meshPath, texturePath);
+        return registry.acquire(key, () -> {
+            CompletableFuture<MeshCache.Mesh> mesh = decode(() -> MeshCache.load(meshPath));
+            CompletableFuture<Integer> texture = loadTexture(texturePath);
+            // WAIT FOR BOTH EVEN IF ONE FAILS; THE GL STEP SORTS OUT WHICH
+            CompletableFuture<Void> both = CompletableFuture.allOf(mesh, texture).exceptionally(error -> null);
+            return upload(both, ignored -> {
+                if (mesh.isCompletedExceptionally() || texture.isCompletedExceptionally()) {
+                    releaseTexture(texturePath); // A FAILED MODEL KEEPS NO REFERENCES
+                }
+                MeshCache.Mesh loaded = mesh.join();
+                Model model = new Model(loaded, texture.join());
+                registry.recordBytes(key, loaded.vertices.capacity() + loaded.indices.capacity());
+                return model;
+            });
+        }, model -> {
+            model.cleanup();
+            releaseTexture(texturePath);
+        });
+    }
+
+    public void releaseModel(String meshPath, String texturePath) {
+        registry.release(modelKey(meshPath, texturePath));
+    }
+
+    private static String textureKey(String resourcePath) {
+        return "texture:" + resourcePath;
+    }
+
+    private static String modelKey(String meshPath, String texturePath) {
+        return "model:" + meshPath + "+" + texturePath;
+    }
+
+    public ResourceRegistry getRegistry() { return registry; }
+
+    /**
+     * Run CPU-side work on a loader thread
+     */
+    private <T> CompletableFuture<T> decode(Supplier<T> work) {
+        if (pending.getAndIncrement() == 0) {
+            firstRequestNanos = System.nanoTime();
+        }
+        CompletableFuture<T> decoded = CompletableFuture.supplyAsync(work, workers);
+        decoded.whenComplete((value, error) -> pending.decrementAndGet());
+        return decoded;
+    }
+
+    /**
+     * Queue the GL step for when the decoded value is ready. The returned future completes on the
+     * render thread inside processUploads(), also when decoding failed.
+     */
+    private <T, R> CompletableFuture<R> upload(CompletableFuture<T> decoded, Function<T, R> glStep) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        pending.incrementAndGet();
+        // ENQUEUE FROM A WORKER SO A FULL QUEUE NEVER BLOCKS THE RENDER THREAD
+        decoded.whenCompleteAsync((value, error) -> enqueue(() -> {
+            try {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(glStep.apply(value));
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(unwrap(e));
+            } finally {
+                pending.decrementAndGet();
+            }
+        }), workers);
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void enqueue(Runnable upload) {
+        try {
+            uploads.put(upload);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // SHUTTING DOWN, THE UPLOAD WOULD NEVER RUN ANYWAY
+        }
+    }
+
+    /**
+     * Run queued GL uploads on the render thread until the frame budget is spent. At least one upload
+     * runs per call, so loading always makes progress; an empty queue costs one poll.
+     */
+    public void processUploads() {
+        Runnable upload = uploads.poll();
+        if (upload == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + UPLOAD_BUDGET_NANOS;
+        do {
+            upload.run();
+        } while (System.nanoTime() < deadline && (upload = uploads.poll()) != null);
+        GLState.invalidate(); // UPLOADS BIND TEXTURES AND VAOS DIRECTLY
+
+        if (pending.get() == 0 && uploads.isEmpty()) {
+            System.out.println("All queued assets loaded " + (System.nanoTime() - firstRequestNanos) / 1_000_000 + " ms after the first request");
+        }
+    }
+
+    /**
+     * True while anything is decoding or waiting for upload
+     */
+    public boolean isLoading() {
+        return pending.get() > 0 || !uploads.isEmpty();
+    }
+
+    /**
+     * Stop the loader threads, drop queued uploads and free (and report) resources nobody released.
+     * Call on the render thread while the GL context is still current.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        uploads.clear();
+        registry.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import com.stefanrogic.assets.celestial.AsteroidBelt;
+import com.stefanrogic.core.scene.BodyStore;
+
+/**
+ * Renders the asteroid belt as points using the star shader.
+ * Every frame the culling loop writes the asteroids inside the view frustum, each with its fixed size
+ * and colour, straight into a StreamBuffer region, so off-screen rocks cost neither bandwidth nor
+ * vertex work and the visible ones need no separate upload.
+ */
+public class AsteroidRenderer {
+    
+    // POSITION (3) + SIZE (1) + COLOUR (3), THE STAR SHADER'S LAYOUT
+    private static final int FLOATS_PER_POINT = 7;
+    private static final int STRIDE = FLOATS_PER_POINT * Float.BYTES;
+    
+    private ShaderManager.ShaderPrograms shaders;
+    private BodyStore bodyStore;
+    private AsteroidBelt belt;
+    private int asteroidVAO;
+    private StreamBuffer stream;
+    private float[] attributes; // SIZE + COLOUR PER ASTEROID, IN BELT ORDER
+    
+    public AsteroidRenderer(ShaderManager.ShaderPrograms shaders, BodyStore bodyStore, AsteroidBelt belt) {
+        this.shaders = shaders;
+        this.bodyStore = bodyStore;
+        this.belt = belt;
+    }
+    
+    /**
+     * Create the point stream with room for every asteroid in the belt
+     */
+    public void createAsteroids() {
+        int count = belt.getCount();
+        Random random = new Random(7); // Fixed seed for consistent colours
+        
+        // SIZE (1) + COLOR (3) PER ASTEROID
+        attributes = new float[count * 4];
+        for (int i = 0; i < count; i++) {
+            int index = i * 4;
+            attributes[index] = 1.5f + random.nextFloat() * 1.5f; // 1.5-3 pixels
+            
+            // DUSTY GREY-BROWN ROCK
+            float shade = 0.35f + random.nextFloat() * 0.25f;
+            attributes[index + 1] = shade * 1.1f;
+            attributes[index + 2] = shade;
+            attributes[index + 3] = shade * 0.85f;
+        }
+        
+        stream = new StreamBuffer(GL_ARRAY_BUFFER, Math.max(1, count) * STRIDE);
+        stream.create();
+        asteroidVAO = glGenVertexArrays();
+        glBindVertexArray(asteroidVAO);
+        glBindBuffer(GL_ARRAY_BUFFER, stream.getBuffer());
+        
+        // Position attribute (location 0)
+        glVertexAttribPointer(0, 3, GL_FLOAT, false, STRIDE, 0);
+        glEnableVertexAttribArray(0);
+        
+        // Size attribute (location 1)
+        glVertexAttribPointer(1, 1, GL_FLOAT, false, STRIDE, 3 * Float.BYTES);
+        glEnableVertexAttribArray(1);
+        
+        // Color attribute (location 2)
+        glVertexAttribPointer(2, 3, GL_FLOAT, false, STRIDE, 4 * Float.BYTES);
+        glEnableVertexAttribArray(2);
+        
+        glBindVertexArray(0);
+        
+        System.out.println("Created " + count + " asteroid points" + (stream.isPersistent() ? " (persistently mapped stream)" : ""));
+    }
+    
+    /**
+     * Write the asteroids inside the view frustum into this frame's stream region and draw them
+     */
+    public void renderAsteroids(FrustumCuller culler) {
+        int first = belt.getFirstId();
+        int count = belt.getCount();
+        double[] x = bodyStore.getDisplayPositionX();
+        double[] y = bodyStore.getDisplayPositionY();
+        double[] z = bodyStore.getDisplayPositionZ();
+        FrustumCuller.Counters counters = culler.getAsteroidCounters();
+        
+        FloatBuffer points = stream.beginFloats();
+        for (int i = 0; i < count; i++) {
+            float px = (float) x[first + i], py = (float) y[first + i], pz = (float) z[first + i];
+            if (culler.isPointVisible(px, py, pz, counters)) {
+                points.put(px).put(py).put(pz).put(attributes, i * 4, 4);
+            }
+        }
+        int visible = points.position() / FLOATS_PER_POINT;
+        if (visible == 0) {
+            return;
+        }
+        stream.flush(0, visible * STRIDE);
+        
+        GLState.useProgram(shaders.starShaderProgram);
+        GLState.enable(GL_BLEND);
+        GLState.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLState.enable(GL_PROGRAM_POINT_SIZE);
+        
+        GLState.bindVertexArray(asteroidVAO);
+        glDrawArrays(GL_POINTS, (int) (stream.getRegionOffset() / STRIDE), visible);
+    }
+    
+    /**
+     * Clean up resources
+     */
+    public void cleanup() {
+        if (asteroidVAO != 0) {
+            glDeleteVertexArrays(asteroidVAO);
+        }
+        if (stream != null) {
+            stream.cleanup();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.stefanrogic.core.rendering;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Small software BC1/BC3 (DXT1/DXT5) encoder and decoder for the texture cache. Endpoints are the inset bounding
+ * box of each 4x4 block, taken along whichever box diagonal matches the sign of the colour
+ * covariance. That is fast and close to a principal-axis fit on planet maps.
+ */
+final class BlockCompressor {
+
+    private BlockCompressor() {
+    }
+
+    /**
+     * Compress an RGBA8 image into 8-byte BC1 blocks, or 16-byte BC3 blocks when withAlpha is set.
+     * Blocks overhanging the right or bottom edge repeat the edge texels.
+     */
+    static void compress(ByteBuffer rgba, int width, int height, ByteBuffer target, boolean withAlpha) {
+        int[] block = new int[16 * 4];
+        int[] palette = new int[4 * 3];
+        int out = 0;
+        for (int blockY = 0; blockY < height; blockY += 4) {
+            for (int blockX = 0; blockX < width; blockX += 4) {
+                for (int i = 0; i < 16; i++) {
+                    int x = Math.min(blockX + (i & 3), width - 1);
+                    int y = Math.min(blockY + (i >> 2), height - 1);
+                    int texel = (y * width + x) * 4;
+                    for (int channel = 0; channel < 4; channel++) {
+                        block[i * 4 + channel] = rgba.get(texel + channel) & 0xFF;
+                    }
+                }
+                if (withAlpha) {
+                    encodeAlpha(block, target, out);
+                    out += 8;
+                }
+                encodeColor(block, palette, target, out);
+                out += 8;
+            }
+        }
+    }
+
+    /**
+     * Expand BC1 or BC3 blocks back to RGBA8, for drivers without S3TC support. Texels of blocks
+     * overhanging the right or bottom edge are dropped.
+     */
+    static ByteBuffer decompress(ByteBuffer blocks, int width, int height, boolean withAlpha) {
+        ByteBuffer rgba = ByteBuffer.allocateDirect(width * height * 4);
+        int[] palette = new int[4 * 3];
+        int[] alphas = new int[8];
+        int in = 0;
+        for (int blockY = 0; blockY < height; blockY += 4) {
+            for (int blockX = 0; blockX < width; blockX += 4) {
+                long alphaIndices = 0;
+                if (withAlpha) {
+                    decodeAlphaPalette(blocks.get(in) & 0xFF, blocks.get(in + 1) & 0xFF, alphas);
+                    for (int i = 0; i < 6; i++) {
+                        alphaIndices |= (long) (blocks.get(in + 2 + i) & 0xFF) << (8 * i);
+                    }
+                    in += 8;
+                }
+                int color0 = (blocks.get(in) & 0xFF) | (blocks.get(in + 1) & 0xFF) << 8;
+                int color1 = (blocks.get(in + 2) & 0xFF) | (blocks.get(in + 3) & 0xFF) << 8;
+                int indices = 0;
+                for (int i = 0; i < 4; i++) {
+                    indices |= (blocks.get(in + 4 + i) & 0xFF) << (8 * i);
+                }
+                in += 8;
+
+                expand565(color0, palette, 0);
+                expand565(color1, palette, 3);
+                // BC1 HAS A THREE-COLOUR MODE WHEN color0 <= color1; BC3 COLOUR BLOCKS ALWAYS USE FOUR
+                boolean fourColor = color0 > color1 || withAlpha;
+                for (int c = 0; c < 3; c++) {
+                    palette[6 + c] = fourColor ? (2 * palette[c] + palette[3 + c]) / 3 : (palette[c] + palette[3 + c]) / 2;
+                    palette[9 + c] = fourColor ? (palette[c] + 2 * palette[3 + c]) / 3 : 0;
+                }
+
+                for (int i = 0; i < 16; i++) {
+                    int x = blockX + (i & 3);
+                    int y = blockY + (i >> 2);
+                    if (x >= width || y >= height) {
+                        continue;
+                    }
+                    int p = indices >>> (2 * i) & 3;
+                    int texel = (y * width + x) * 4;
+                    rgba.put(texel, (byte) palette[p * 3]);
+                    rgba.put(texel + 1, (byte) palette[p * 3 + 1]);
+                    rgba.put(texel + 2, (byte) palette[p * 3 + 2]);
+                    rgba.put(texel + 3, (byte) (withAlpha ? alphas[(int) (alphaIndices >>> (3 * i) & 7)] : 255));
+                }
+            }
+        }
+        return rgba;
+    }
+
+    /**
+     * The eight alpha values a BC3 block's 3-bit indices select from
+     */
+    private static void decodeAlphaPalette(int alpha0, int alpha1, int[] out) {
+        out[0] = alpha0;
+        out[1] = alpha1;
+        if (alpha0 > alpha1) {
+            for (int i = 1; i <= 6; i++) {
+                out[1 + i] = ((7 - i) * alpha0 + i * alpha1) / 7;
+            }
+        } else {
+            for (int i = 1; i <= 4; i++) {
+                out[1 + i] = ((5 - i) * alpha0 + i * alpha1) / 5;
+            }
+            out[6] = 0;
+            out[7] = 255;
+        }
+    }
+
+    /**
+     * Colour half of a block: two RGB565 endpoints and sixteen 2-bit palette indices
+     */
+    private static void encodeColor(int[] block, int[] palette, ByteBuffer target, int offset) {
+        int minR = 255, minG = 255, minB = 255, maxR = 0, maxG = 0, maxB = 0;
+        for (int i = 0; i < 16; i++) {
+            int r = block[i * 4], g = block[i * 4 + 1], b = block[i * 4 + 2];
+            minR = Math.min(minR, r); minG = Math.min(minG, g); minB = Math.min(minB, b);
+            maxR = Math.max(maxR, r); maxG = Math.max(maxG, g); maxB = Math.max(maxB, b);
+        }
+        // PULL THE ENDPOINTS IN BY 1/16 OF THE RANGE SO OUTLIERS DO NOT STRETCH THE PALETTE
+        int insetR = (maxR - minR) >> 4, insetG = (maxG - minG) >> 4, insetB = (maxB - minB) >> 4;
+        int highR = maxR - insetR, highG = maxG - insetG, highB = maxB - insetB;
+        int lowR = minR + insetR, lowG = minG + insetG, lowB = minB + insetB;
+
+        // PICK THE BOX DIAGONAL THE COLOURS ACTUALLY LIE ALONG: A CHANNEL THAT FALLS WHILE THE WIDEST
+        // CHANNEL RISES HAS ITS ENDPOINTS SWAPPED
+        int sumR = 0, sumG = 0, sumB = 0;
+        for (int i = 0; i < 16; i++) {
+            sumR += block[i * 4]; sumG += block[i * 4 + 1]; sumB += block[i * 4 + 2];
+        }
+        int widest = maxG - minG >= maxR - minR && maxG - minG >= maxB - minB ? 1 : maxR - minR >= maxB - minB ? 0 : 2;
+        int covarianceR = 0, covarianceG = 0, covarianceB = 0;
+        for (int i = 0; i < 16; i++) {
+            int reference = block[i * 4 + widest] * 16 - (widest == 0 ? sumR : widest == 1 ? sumG : sumB);
+            covarianceR += reference * (block[i * 4] * 16 - sumR);
+            covarianceG += reference * (block[i * 4 + 1] * 16 - sumG);
+            covarianceB += reference * (block[i * 4 + 2] * 16 - sumB);
+        }
+        if (covarianceR < 0) { int swap = highR; highR = lowR; lowR = swap; }
+        if (covarianceG < 0) { int swap = highG; highG = lowG; lowG = swap; }
+        if (covarianceB < 0) { int swap = highB; highB = lowB; lowB = swap; }
+
+        int color0 = to565(highR, highG, highB);
+        int color1 = to565(lowR, lowG, lowB);
+        if (color0 < color1) {
+            int swap = color0; color0 = color1; color1 = swap;
+        }
+
+        int indices = 0;
+        if (color0 != color1) {
+            // FOUR-COLOUR MODE (color0 > color1): ENDPOINTS PLUS TWO THIRDS-POINTS
+            expand565(color0, palette, 0);
+            expand565(color1, palette, 3);
+            for (int c = 0; c < 3; c++) {
+                palette[6 + c] = (2 * palette[c] + palette[3 + c]) / 3;
+                palette[9 + c] = (palette[c] + 2 * palette[3 + c]) / 3;
+            }
+            for (int i = 0; i < 16; i++) {
+                int best = 0, bestDistance = Integer.MAX_VALUE;
+                for (int p = 0; p < 4; p++) {
+                    int dr = block[i * 4] - palette[p * 3], dg = block[i * 4 + 1] - palette[p * 3 + 1], db = block[i * 4 + 2] - palette[p * 3 + 2];
+                    int distance = dr * dr + dg * dg + db * db;
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = p;
+                    }
+                }
+                indices |= best << (2 * i);
+            }
+        }
+        target.put(offset, (byte) color0).put(offset + 1, (byte) (color0 >> 8));
+        target.put(offset + 2, (byte) color1).put(offset + 3, (byte) (color1 >> 8));
+        for (int i = 0; i < 4; i++) {
+            target.put(offset + 4 + i, (byte) (indices >>> (8 * i)));
+        }
+    }
+
+    /**
+     * Alpha half of a BC3 block: two 8-bit endpoints and sixteen 3-bit indices into an 8-step ramp
+     */
+    private static void encodeAlpha(int[] block, ByteBuffer target, int offset) {
+        int min = 255, max = 0;
+        for (int i = 0; i < 16; i++) {
+            min = Math.min(min, block[i * 4 + 3]);
+            max = Math.max(max, block[i * 4 + 3]);
+        }
+        long indices = 0;
+        if (max > min) {
+            // EIGHT-VALUE MODE (alpha0 > alpha1): PALETTE INDEX 0 = max, 1 = min, 2..7 INTERPOLATE
+            for (int i = 0; i < 16; i++) {
+                int alpha = block[i * 4 + 3];
+                int step = Math.round((max - alpha) * 7.0f / (max - min)); // 0 AT max, 7 AT min
+                int index = step == 0 ? 0 : step == 7 ? 1 : step + 1;
+                indices |= (long) index << (3 * i);
+            }
+        }
+        target.put(offset, (byte) max).put(offset + 1, (byte) min);
+        for (int i = 0; i < 6; i++) {
+            target.put(offset + 2 + i, (byte) (indices >>> (8 * i)));
+        }
+    }
+
+    private static int to565(int r, int g, int b) {
+        return ((r * 31 + 127) / 255) << 11 | ((g * 63 + 127) / 255) << 5 | (b * 31 + 127) / 255;
+    }
+
+    private static void expand565(int color, int[] out, int offset) {
+        int r = color >> 11 & 31, g = color >> 5 & 63, b = color & 31;
+        out[offset] = r << 3 | r >> 2;
+        out[offset + 1] = g << 2 | g >> 4;
+        out[offset + 2] = b << 3 | b >> 2;
+    }
+}
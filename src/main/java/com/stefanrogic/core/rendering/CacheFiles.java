@@ -0,0 +1,50 @@
+package com.stefanrogic.core.rendering;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Location and safe writing of derived asset caches (-Dsolarsystem.cacheDir, default ~/.cache/solarsystem).
+ * Files are written to a temporary name and moved into place, so a crash mid-write never leaves a
+ * truncated cache entry that a later run would map.
+ */
+public final class CacheFiles {
+
+    private static final Path ROOT = Path.of(System.getProperty("solarsystem.cacheDir",
+        Path.of(System.getProperty("user.home"), ".cache", "solarsystem").toString()));
+
+    private CacheFiles() {
+    }
+
+    /**
+     * Cache file for a bundled resource, e.g. ("meshes", "models/earth_model.obj", ".mesh")
+     */
+    public static Path forResource(String category, String resourcePath, String extension) {
+        return ROOT.resolve(category).resolve(resourcePath.replace('/', '_').replace('\\', '_') + extension);
+    }
+
+    /**
+     * Write the buffer's remaining bytes to the path atomically, creating parent directories
+     */
+    public static void write(Path path, ByteBuffer contents) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.stefanrogic.core.rendering;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Per-frame visibility tests against bounding spheres. A sphere outside the view frustum is culled; one
+ * inside but smaller on screen than SUB_PIXEL_RADIUS is reported as sub-pixel so the caller can draw a
+ * point-sprite impostor (bodies) or nothing (orbit loops) instead of real geometry.
+ *
+ * Each kind of object counts its results in its own Counters, reset by update() at the start of every
+ * frame. -Dsolarsystem.cullReport=true prints the last frame's counters every REPORT_INTERVAL frames.
+ */
+public class FrustumCuller {
+
+    public static final int OUTSIDE = 0;
+    public static final int SUB_PIXEL = 1;
+    public static final int VISIBLE = 2;
+
+    // BELOW THIS PROJECTED RADIUS A SPHERE COVERS LESS THAN ONE PIXEL
+    private static final float SUB_PIXEL_RADIUS = 0.5f;
+    private static final boolean REPORT = Boolean.getBoolean("solarsystem.cullReport");
+    private static final int REPORT_INTERVAL = 600;
+
+    /**
+     * What one frame's tests decided for one kind of object
+     */
+    public static final class Counters {
+        private final String name;
+        public int visible;
+        public int subPixel;
+        public int outside;
+
+        Counters(String name) {
+            this.name = name;
+        }
+
+        public int tested() { return visible + subPixel + outside; }
+
+        void reset() {
+            visible = 0;
+            subPixel = 0;
+            outside = 0;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + visible + " drawn, " + subPixel + " sub-pixel, " + outside + " outside";
+        }
+    }
+
+    private final FrustumIntersection frustum = new FrustumIntersection();
+    private final Counters bodies = new Counters("bodies");
+    private final Counters orbits = new Counters("orbits");
+    private final Counters asteroids = new Counters("asteroids");
+    private float cameraX, cameraY, cameraZ;
+    private float pixelsPerUnit;
+    private long frames;
+
+    /**
+     * Take this frame's camera and reset the counters
+     * @param pixelsPerUnit viewport height / (2 tan(fov / 2)), the on-screen size of one unit at distance one
+     */
+    public void update(Matrix4f viewProjection, float cameraX, float cameraY, float cameraZ, float pixelsPerUnit) {
+        if (REPORT && ++frames % REPORT_INTERVAL == 0) {
+            System.out.println("Culling: " + bodies + "; " + orbits + "; " + asteroids);
+        }
+        frustum.set(viewProjection); // NORMALISED PLANES, SO testSphere() COMPARES TRUE DISTANCES
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+        this.cameraZ = cameraZ;
+        this.pixelsPerUnit = pixelsPerUnit;
+        bodies.reset();
+        orbits.reset();
+        asteroids.reset();
+    }
+
+    /**
+     * OUTSIDE, SUB_PIXEL or VISIBLE for a bounding sphere, counted in counters
+     */
+    public int classify(float x, float y, float z, float radius, Counters counters) {
+        if (!frustum.testSphere(x, y, z, radius)) {
+            counters.outside++;
+            return OUTSIDE;
+        }
+        if (projectedRadius(x, y, z, radius) < SUB_PIXEL_RADIUS) {
+            counters.subPixel++;
+            return SUB_PIXEL;
+        }
+        counters.visible++;
+        return VISIBLE;
+    }
+
+    public int classify(Vector3f center, float radius, Counters counters) {
+        return classify(center.x, center.y, center.z, radius, counters);
+    }
+
+    /**
+     * Frustum test only, for objects that are points anyway
+     */
+    public boolean isPointVisible(float x, float y, float z, Counters counters) {
+        if (frustum.testPoint(x, y, z)) {
+            counters.visible++;
+            return true;
+        }
+        counters.outside++;
+        return false;
+    }
+
+    /**
+     * Radius in pixels of a sphere seen from the camera; infinite when the camera is inside it
+     */
+    public float projectedRadius(float x, float y, float z, float radius) {
+        float dx = x - cameraX, dy = y - cameraY, dz = z - cameraZ;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return distance <= radius ? Float.POSITIVE_INFINITY : radius / distance * pixelsPerUnit;
+    }
+
+    public float getCameraX() { return cameraX; }
+    public float getCameraY() { return cameraY; }
+    public float getCameraZ() { return cameraZ; }
+    public float getPixelsPerUnit() { return pixelsPerUnit; }
+
+    // THIS FRAME'S RESULTS SO FAR, PER KIND OF OBJECT
+    public Counters getBodyCounters() { return bodies; }
+    public Counters getOrbitCounters() { return orbits; }
+    public Counters getAsteroidCounters() { return asteroids; }
+}
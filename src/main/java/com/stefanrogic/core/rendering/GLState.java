@@ -0,0 +1,351 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.*;
+import static org.lwjgl.opengl.GL32.*;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.joml.Matrix4f;
+import org.lwjgl.system.MemoryStack;
+
+/**
+ * Shadow copy of the GL state the renderers touch while drawing: bound program, VAO, textures and
+ * uniform buffer ranges, the enable bits, depth mask, blend function, polygon mode, line width and every uniform value set through
+ * it. A call that would leave the state unchanged is counted and dropped instead of reaching the driver.
+ *
+ * Render thread only. Draw code says what state it needs rather than restoring what it found, so the
+ * next draw that needs the same state pays nothing. Anything that binds objects behind the tracker's
+ * back (object creation, texture uploads) must be followed by invalidate().
+ *
+ * -Dsolarsystem.glStateReport=true prints issued and skipped calls per frame every REPORT_INTERVAL frames.
+ */
+public final class GLState {
+
+    private static final boolean REPORT = Boolean.getBoolean("solarsystem.glStateReport");
+    private static final int REPORT_INTERVAL = 600;
+
+    private static final int UNKNOWN = -1;
+    private static final int TEXTURE_UNITS = 8;
+    private static final int UNIFORM_BINDINGS = 4;
+    // CAPABILITIES TRACKED BY enable()/disable(); ANY OTHER CAP IS PASSED STRAIGHT THROUGH
+    private static final int[] CAPABILITIES = {GL_DEPTH_TEST, GL_BLEND, GL_CULL_FACE, GL_PROGRAM_POINT_SIZE};
+
+    private static int program = UNKNOWN;
+    private static int vertexArray = UNKNOWN;
+    private static int activeUnit = UNKNOWN;
+    private static final int[] textures = new int[TEXTURE_UNITS];
+    private static final int[] textureTargets = new int[TEXTURE_UNITS];
+    private static final int[] enabled = new int[CAPABILITIES.length]; // 1, 0 OR UNKNOWN
+    private static int depthMask = UNKNOWN;
+    private static int blendSource = UNKNOWN;
+    private static int blendDestination = UNKNOWN;
+    private static int polygonMode = UNKNOWN;
+    private static float lineWidth = Float.NaN;
+    private static final int[] rangeBuffers = new int[UNIFORM_BINDINGS];
+    private static final long[] rangeOffsets = new long[UNIFORM_BINDINGS];
+
+    // LAST VALUE PER UNIFORM LOCATION, ONE TABLE PER PROGRAM ID; MATRICES TAKE 16 FLOATS, EVERYTHING ELSE FEWER
+    private static UniformTable[] uniforms = new UniformTable[16];
+    private static final float[] matrixScratch = new float[16];
+
+    private static int issued;
+    private static int skipped;
+    private static int lastFrameIssued;
+    private static int lastFrameSkipped;
+    private static long frames;
+    private static long intervalIssued;
+    private static long intervalSkipped;
+
+    static {
+        invalidate();
+    }
+
+    private GLState() {
+    }
+
+    /**
+     * Forget everything; the next call of each kind reaches the driver. Use after code that changed
+     * bindings directly. Uniform values survive, since they belong to their program.
+     */
+    public static void invalidate() {
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        activeUnit = UNKNOWN;
+        Arrays.fill(textures, UNKNOWN);
+        Arrays.fill(textureTargets, UNKNOWN);
+        Arrays.fill(enabled, UNKNOWN);
+        depthMask = UNKNOWN;
+        blendSource = UNKNOWN;
+        blendDestination = UNKNOWN;
+        polygonMode = UNKNOWN;
+        lineWidth = Float.NaN;
+        Arrays.fill(rangeBuffers, UNKNOWN);
+    }
+
+    /**
+     * Close the frame's counters, printing the report when enabled
+     */
+    public static void endFrame() {
+        lastFrameIssued = issued;
+        lastFrameSkipped = skipped;
+        intervalIssued += issued;
+        intervalSkipped += skipped;
+        issued = 0;
+        skipped = 0;
+        if (++frames % REPORT_INTERVAL == 0) {
+            if (REPORT) {
+                System.out.println("GL state: " + intervalIssued / REPORT_INTERVAL + " calls issued, "
+                    + intervalSkipped / REPORT_INTERVAL + " skipped per frame");
+            }
+            intervalIssued = 0;
+            intervalSkipped = 0;
+        }
+    }
+
+    public static void useProgram(int id) {
+        if (program == id) {
+            skipped++;
+            return;
+        }
+        program = id;
+        issued++;
+        glUseProgram(id);
+    }
+
+    public static void bindVertexArray(int id) {
+        if (vertexArray == id) {
+            skipped++;
+            return;
+        }
+        vertexArray = id;
+        issued++;
+        glBindVertexArray(id);
+    }
+
+    /**
+     * Bind a 2D texture to a texture unit, switching the active unit only when the binding changes
+     */
+    public static void bindTexture(int unit, int id) {
+        bindTexture(unit, GL_TEXTURE_2D, id);
+    }
+
+    /**
+     * Bind a texture of any target. Only the last target bound on each unit is remembered, so give
+     * each target its own units.
+     */
+    public static void bindTexture(int unit, int target, int id) {
+        if (unit >= TEXTURE_UNITS) {
+            throw new IllegalArgumentException("Texture unit " + unit + " is not tracked (max " + (TEXTURE_UNITS - 1) + ")");
+        }
+        if (textures[unit] == id && textureTargets[unit] == target) {
+            skipped++;
+            return;
+        }
+        if (activeUnit != unit) {
+            activeUnit = unit;
+            issued++;
+            glActiveTexture(GL_TEXTURE0 + unit);
+        }
+        textures[unit] = id;
+        textureTargets[unit] = target;
+        issued++;
+        glBindTexture(target, id);
+    }
+
+    /**
+     * Bind part of a uniform buffer to a block binding point. Every range bound at one binding point
+     * must be the same size, because only the buffer and offset are compared.
+     */
+    public static void bindUniformRange(int binding, int buffer, long offset, long size) {
+        if (rangeBuffers[binding] == buffer && rangeOffsets[binding] == offset) {
+            skipped++;
+            return;
+        }
+        rangeBuffers[binding] = buffer;
+        rangeOffsets[binding] = offset;
+        issued++;
+        glBindBufferRange(GL_UNIFORM_BUFFER, binding, buffer, offset, size);
+    }
+
+    public static void enable(int capability) {
+        setCapability(capability, true);
+    }
+
+    public static void disable(int capability) {
+        setCapability(capability, false);
+    }
+
+    private static void setCapability(int capability, boolean on) {
+        int slot = capabilitySlot(capability);
+        int value = on ? 1 : 0;
+        if (slot >= 0 && enabled[slot] == value) {
+            skipped++;
+            return;
+        }
+        if (slot >= 0) {
+            enabled[slot] = value;
+        }
+        issued++;
+        if (on) {
+            glEnable(capability);
+        } else {
+            glDisable(capability);
+        }
+    }
+
+    private static int capabilitySlot(int capability) {
+        for (int i = 0; i < CAPABILITIES.length; i++) {
+            if (CAPABILITIES[i] == capability) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static void depthMask(boolean write) {
+        int value = write ? 1 : 0;
+        if (depthMask == value) {
+            skipped++;
+            return;
+        }
+        depthMask = value;
+        issued++;
+        glDepthMask(write);
+    }
+
+    public static void blendFunc(int source, int destination) {
+        if (blendSource == source && blendDestination == destination) {
+            skipped++;
+            return;
+        }
+        blendSource = source;
+        blendDestination = destination;
+        issued++;
+        glBlendFunc(source, destination);
+    }
+
+    /**
+     * Polygon mode for both faces, the only way this application sets it
+     */
+    public static void polygonMode(int mode) {
+        if (polygonMode == mode) {
+            skipped++;
+            return;
+        }
+        polygonMode = mode;
+        issued++;
+        glPolygonMode(GL_FRONT_AND_BACK, mode);
+    }
+
+    public static void lineWidth(float width) {
+        if (lineWidth == width) {
+            skipped++;
+            return;
+        }
+        lineWidth = width;
+        issued++;
+        glLineWidth(width);
+    }
+
+    // UNIFORMS: ALWAYS FOR THE PROGRAM LAST PASSED TO useProgram()
+
+    public static void uniform1i(int location, int value) {
+        uniform3f(location, value, 0.0f, 0.0f, false);
+    }
+
+    public static void uniform3f(int location, float x, float y, float z) {
+        uniform3f(location, x, y, z, true);
+    }
+
+    private static void uniform3f(int location, float x, float y, float z, boolean vector) {
+        if (location < 0) {
+            return;
+        }
+        UniformTable table = table();
+        int offset = location * UniformTable.FLOATS;
+        if (table.isKnown(location) && table.values[offset] == x && table.values[offset + 1] == y && table.values[offset + 2] == z) {
+            skipped++;
+            return;
+        }
+        table.ensure(location);
+        table.values[offset] = x;
+        table.values[offset + 1] = y;
+        table.values[offset + 2] = z;
+        table.known[location] = true;
+        issued++;
+        if (vector) {
+            glUniform3f(location, x, y, z);
+        } else {
+            glUniform1i(location, (int) x);
+        }
+    }
+
+    /**
+     * Upload a mat4 uniform through a 64-byte slice of LWJGL's thread-local MemoryStack, unless the
+     * program already holds exactly these values
+     */
+    public static void uniformMatrix4(int location, Matrix4f matrix) {
+        if (location < 0) {
+            return;
+        }
+        matrix.get(matrixScratch);
+        UniformTable table = table();
+        int offset = location * UniformTable.FLOATS;
+        if (table.isKnown(location) && Arrays.equals(table.values, offset, offset + 16, matrixScratch, 0, 16)) {
+            skipped++;
+            return;
+        }
+        table.ensure(location);
+        System.arraycopy(matrixScratch, 0, table.values, offset, 16);
+        table.known[location] = true;
+        issued++;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            FloatBuffer buffer = stack.mallocFloat(16);
+            glUniformMatrix4fv(location, false, buffer.put(0, matrixScratch));
+        }
+    }
+
+    private static UniformTable table() {
+        if (program == UNKNOWN) {
+            throw new IllegalStateException("Uniform set before any program was bound through GLState");
+        }
+        if (program >= uniforms.length) {
+            uniforms = Arrays.copyOf(uniforms, Math.max(program + 1, uniforms.length * 2));
+        }
+        UniformTable table = uniforms[program];
+        if (table == null) {
+            table = new UniformTable();
+            uniforms[program] = table;
+        }
+        return table;
+    }
+
+    /**
+     * Uniform values of one program, indexed by location; grows on first use of a higher location
+     */
+    private static final class UniformTable {
+        static final int FLOATS = 16;
+        float[] values = new float[8 * FLOATS];
+        boolean[] known = new boolean[8];
+
+        boolean isKnown(int location) {
+            return location < known.length && known[location];
+        }
+
+        void ensure(int location) {
+            if (location >= known.length) {
+                int size = Math.max(location + 1, known.length * 2);
+                known = Arrays.copyOf(known, size);
+                values = Arrays.copyOf(values, size * FLOATS);
+            }
+        }
+    }
+
+    // COUNTS FOR THE LAST COMPLETED FRAME
+    public static int getLastFrameIssued() { return lastFrameIssued; }
+    public static int getLastFrameSkipped() { return lastFrameSkipped; }
+}
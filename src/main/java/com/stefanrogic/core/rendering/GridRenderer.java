@@ -7,7 +7,6 @@ import static org.lwjgl.opengl.GL30.*;
 
 import java.nio.FloatBuffer;
 import org.lwjgl.BufferUtils;
-import org.joml.Matrix4f;
 
 /**
  * Handles rendering of the reference grid in the solar system simulation
@@ -16,10 +15,12 @@ public class GridRenderer {
     
     private int gridVAO, gridVBO;
     private ShaderManager.ShaderPrograms shaders;
+    private UniformBlocks uniformBlocks;
     private int vertexCount;
     
-    public GridRenderer(ShaderManager.ShaderPrograms shaders) {
+    public GridRenderer(ShaderManager.ShaderPrograms shaders, UniformBlocks uniformBlocks) {
         this.shaders = shaders;
+        this.uniformBlocks = uniformBlocks;
     }
     
     /**
@@ -83,16 +84,14 @@ public class GridRenderer {
     /**
      * Render the grid if visible
      * 
-     * @param mvpMatrix The model-view-projection matrix
      * @param gridVisible Whether the grid should be rendered
      */
-    public void renderGrid(Matrix4f mvpMatrix, boolean gridVisible) {
+    public void renderGrid(boolean gridVisible) {
         if (gridVisible) {
-            glUseProgram(shaders.gridShaderProgram);
-            FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-            mvpMatrix.get(matrixBuffer);
-            glUniformMatrix4fv(shaders.gridMvpLocation, false, matrixBuffer);
-            glBindVertexArray(gridVAO);
+            GLState.useProgram(shaders.gridShaderProgram);
+            GLState.disable(GL_BLEND);
+            uniformBlocks.bindObject(uniformBlocks.getIdentitySlot()); // GRID LINES ARE ALREADY IN WORLD SPACE
+            GLState.bindVertexArray(gridVAO);
             glDrawArrays(GL_LINES, 0, vertexCount);
         }
     }
@@ -0,0 +1,94 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+
+import java.nio.FloatBuffer;
+import org.joml.Vector3f;
+
+import com.stefanrogic.assets.celestial.CelestialBody;
+
+/**
+ * Stand-ins for bodies smaller than a pixel: one soft point sprite each, drawn with the star shader in a
+ * single glDrawArrays. Keeps distant bodies visible at a fixed size for the cost of one vertex.
+ * Points are written straight into a StreamBuffer region as they are added.
+ */
+public class ImpostorRenderer {
+
+    private static final float POINT_SIZE = 2.0f; // PIXELS
+    // POSITION (3) + SIZE (1) + COLOUR (3), THE STAR SHADER'S LAYOUT
+    private static final int FLOATS_PER_POINT = 7;
+
+    private static final int STRIDE = FLOATS_PER_POINT * Float.BYTES;
+
+    private final ShaderManager.ShaderPrograms shaders;
+    private final StreamBuffer stream;
+    private final int capacity;
+    private int vao;
+    private FloatBuffer points; // THIS FRAME'S STREAM REGION
+    private int count;
+
+    /**
+     * @param capacity most impostors in one frame, at most one per body
+     */
+    public ImpostorRenderer(ShaderManager.ShaderPrograms shaders, int capacity) {
+        this.shaders = shaders;
+        this.capacity = capacity;
+        this.stream = new StreamBuffer(GL_ARRAY_BUFFER, Math.max(1, capacity) * STRIDE);
+    }
+
+    public void create() {
+        stream.create();
+        vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+        glBindBuffer(GL_ARRAY_BUFFER, stream.getBuffer());
+        glVertexAttribPointer(0, 3, GL_FLOAT, false, STRIDE, 0);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(1, 1, GL_FLOAT, false, STRIDE, 3 * Float.BYTES);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(2, 3, GL_FLOAT, false, STRIDE, 4 * Float.BYTES);
+        glEnableVertexAttribArray(2);
+        glBindVertexArray(0);
+    }
+
+    public void begin() {
+        count = 0;
+        points = stream.beginFloats();
+    }
+
+    public void add(CelestialBody body) {
+        if (count == capacity) {
+            throw new IllegalStateException("More than " + capacity + " impostors in one frame");
+        }
+        Vector3f position = body.getPosition();
+        Vector3f color = body.getColor();
+        int o = count++ * FLOATS_PER_POINT;
+        points.put(o, position.x).put(o + 1, position.y).put(o + 2, position.z).put(o + 3, POINT_SIZE)
+            .put(o + 4, color.x).put(o + 5, color.y).put(o + 6, color.z);
+    }
+
+    public void draw() {
+        if (count == 0) {
+            return;
+        }
+        stream.flush(0, count * STRIDE);
+
+        GLState.useProgram(shaders.starShaderProgram);
+        GLState.enable(GL_BLEND);
+        GLState.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLState.enable(GL_PROGRAM_POINT_SIZE);
+
+        GLState.bindVertexArray(vao);
+        glDrawArrays(GL_POINTS, (int) (stream.getRegionOffset() / STRIDE), count);
+    }
+
+    public void cleanup() {
+        if (vao != 0) {
+            glDeleteVertexArrays(vao);
+        }
+        stream.cleanup();
+    }
+}
@@ -0,0 +1,270 @@
+package com.stefanrogic.core.rendering;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary mesh cache for the bundled OBJ models. The first load parses the OBJ and writes a compact
+ * file with interleaved vertices and 16- or 32-bit indices; every later load memory-maps that file and
+ * returns slices of the mapping, which Model hands to glBufferData as they are. Nothing is parsed and
+ * no float[] is built on the cached path.
+ *
+ * File layout (little-endian, 80-byte header):
+ *   int MAGIC, int VERSION, int vertexCount, int indexCount, int indexSize (2 or 4), int reserved,
+ *   float[6] bounds (min x y z, max x y z), long source checksum (CRC32C of the OBJ text),
+ *   long payload checksum (CRC32C of everything after the header),
+ *   long source size, long source last-modified time (millis, 0 when unknown)
+ *   vertices  vertexCount x {position xyz, normal xyz, uv} = 32 bytes each
+ *   indices   indexCount x indexSize bytes
+ *
+ * A warm load only stats the OBJ: while its size and modification time match the header, the source is
+ * not read at all. When they differ the OBJ is read and its checksum decides; a match just updates the
+ * stored size and time in place, a mismatch rebuilds the entry. So does a payload that fails its checksum.
+ */
+public final class MeshCache {
+
+    public static final int MAGIC = 0x4853454D; // "MESH"
+    public static final int VERSION = 2;
+    public static final int HEADER_BYTES = 80;
+    public static final int VERTEX_STRIDE = 32;
+    public static final int POSITION_OFFSET = 0;
+    public static final int NORMAL_OFFSET = 12;
+    public static final int TEXCOORD_OFFSET = 24;
+
+    private MeshCache() {
+    }
+
+    /**
+     * Mesh ready for upload: buffers positioned at zero and limited to their data
+     */
+    public static final class Mesh {
+        public final ByteBuffer vertices;
+        public final ByteBuffer indices;
+        public final int vertexCount;
+        public final int indexCount;
+        public final int indexSize;
+        public final float[] bounds;
+
+        Mesh(ByteBuffer vertices, ByteBuffer indices, int vertexCount, int indexCount, int indexSize, float[] bounds) {
+            this.vertices = vertices;
+            this.indices = indices;
+            this.vertexCount = vertexCount;
+            this.indexCount = indexCount;
+            this.indexSize = indexSize;
+            this.bounds = bounds;
+        }
+    }
+
+    /**
+     * Mesh for an OBJ resource, from the cache when it is current, otherwise parsed and cached
+     */
+    public static Mesh load(String resourcePath) {
+        URL source = MeshCache.class.getClassLoader().getResource(resourcePath);
+        if (source == null) {
+            throw new RuntimeException("Could not find resource: " + resourcePath);
+        }
+        return load(resourcePath, source, CacheFiles.forResource("meshes", resourcePath, ".mesh"));
+    }
+
+    /**
+     * Same as load(String) for an explicit source URL and cache file
+     */
+    static Mesh load(String resourcePath, URL source, Path cacheFile) {
+        long start = System.nanoTime();
+        long[] stamp = sourceStamp(source);
+        byte[] sourceBytes = null;
+        long sourceChecksum = 0;
+
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                ByteBuffer mapped = map(cacheFile);
+                boolean current = stamp[1] != 0 && mapped.getLong(64) == stamp[0] && mapped.getLong(72) == stamp[1];
+                boolean restamp = false;
+                if (!current) {
+                    // TOUCHED, CHECKED OUT AGAIN OR REPACKAGED: ONLY THE CONTENT CAN TELL IF IT CHANGED
+                    sourceBytes = readResource(resourcePath, source);
+                    sourceChecksum = checksum(ByteBuffer.wrap(sourceBytes));
+                    current = mapped.getLong(48) == sourceChecksum;
+                    restamp = current;
+                }
+                if (current) {
+                    Mesh cached = decode(mapped);
+                    if (restamp) {
+                        writeStamp(cacheFile, stamp);
+                    }
+                    System.out.println("Mapped cached mesh " + cacheFile + " (" + cached.vertexCount + " vertices) in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+                    return cached;
+                }
+                System.out.println("Mesh cache for " + resourcePath + " is stale, rebuilding");
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable mesh cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        if (sourceBytes == null) {
+            sourceBytes = readResource(resourcePath, source);
+            sourceChecksum = checksum(ByteBuffer.wrap(sourceBytes));
+        }
+        ByteBuffer encoded = encode(OBJLoader.parse(sourceBytes), sourceChecksum, stamp);
+        try {
+            CacheFiles.write(cacheFile, encoded.duplicate());
+            return decode(map(cacheFile));
+        } catch (IOException e) {
+            System.err.println("Could not write mesh cache " + cacheFile + ", using it from memory: " + e.getMessage());
+        }
+        return decode(encoded);
+    }
+
+    private static byte[] readResource(String resourcePath, URL source) {
+        try (InputStream inputStream = source.openStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Size and last-modified time of a resource without reading it; {0, 0} when neither is available,
+     * which always falls back to comparing checksums
+     */
+    private static long[] sourceStamp(URL source) {
+        try {
+            if ("file".equals(source.getProtocol())) {
+                Path path = Path.of(source.toURI());
+                return new long[] {Files.size(path), Files.getLastModifiedTime(path).toMillis()};
+            }
+            URLConnection connection = source.openConnection();
+            if (connection instanceof JarURLConnection jar) {
+                JarEntry entry = jar.getJarEntry();
+                return new long[] {entry.getSize(), Math.max(0L, entry.getTime())};
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            System.err.println("Could not stat " + source + ": " + e.getMessage());
+        }
+        return new long[] {0L, 0L};
+    }
+
+    /**
+     * Record a new source size and time in an entry whose content is still current. A torn write only
+     * costs one more checksum comparison on the next load.
+     */
+    private static void writeStamp(Path file, long[] stamp) {
+        ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putLong(stamp[0]).putLong(stamp[1]).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, 64 + header.position());
+            }
+        } catch (IOException e) {
+            System.err.println("Could not update mesh cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Map a cache file read-only and check that it is a mesh file of this version
+     */
+    private static ByteBuffer map(Path file) throws IOException {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        checkHeader(mapped);
+        return mapped;
+    }
+
+    private static void checkHeader(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("not a version " + VERSION + " mesh file");
+        }
+    }
+
+    /**
+     * Validate an encoded mesh's sizes and payload checksum and slice it
+     */
+    private static Mesh decode(ByteBuffer buffer) {
+        checkHeader(buffer);
+        int vertexCount = buffer.getInt(8);
+        int indexCount = buffer.getInt(12);
+        int indexSize = buffer.getInt(16);
+        long vertexBytes = (long) vertexCount * VERTEX_STRIDE;
+        long indexBytes = (long) indexCount * indexSize;
+        if ((indexSize != 2 && indexSize != 4) || HEADER_BYTES + vertexBytes + indexBytes != buffer.capacity()) {
+            throw new IllegalArgumentException("mesh file size does not match its header");
+        }
+        if (checksum(buffer.slice(HEADER_BYTES, (int) (vertexBytes + indexBytes))) != buffer.getLong(56)) {
+            throw new IllegalArgumentException("mesh payload checksum mismatch");
+        }
+        float[] bounds = new float[6];
+        for (int i = 0; i < 6; i++) {
+            bounds[i] = buffer.getFloat(24 + i * 4);
+        }
+        ByteBuffer vertices = buffer.slice(HEADER_BYTES, (int) vertexBytes).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer indices = buffer.slice(HEADER_BYTES + (int) vertexBytes, (int) indexBytes).order(ByteOrder.LITTLE_ENDIAN);
+        return new Mesh(vertices, indices, vertexCount, indexCount, indexSize, bounds);
+    }
+
+    /**
+     * Interleave parsed OBJ data into the file format
+     */
+    private static ByteBuffer encode(OBJLoader.ModelData data, long sourceChecksum, long[] stamp) {
+        int vertexCount = data.vertices.length / 3;
+        int indexCount = data.indices.length;
+        int indexSize = vertexCount <= 0x10000 ? 2 : 4;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_BYTES + vertexCount * VERTEX_STRIDE + indexCount * indexSize)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+        float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        buffer.position(HEADER_BYTES);
+        for (int v = 0; v < vertexCount; v++) {
+            for (int c = 0; c < 3; c++) {
+                float value = data.vertices[v * 3 + c];
+                bounds[c] = Math.min(bounds[c], value);
+                bounds[3 + c] = Math.max(bounds[3 + c], value);
+                buffer.putFloat(value);
+            }
+            boolean hasNormal = data.normals.length >= (v + 1) * 3;
+            buffer.putFloat(hasNormal ? data.normals[v * 3] : 0.0f);
+            buffer.putFloat(hasNormal ? data.normals[v * 3 + 1] : 1.0f);
+            buffer.putFloat(hasNormal ? data.normals[v * 3 + 2] : 0.0f);
+            boolean hasTexCoord = data.texCoords.length >= (v + 1) * 2;
+            buffer.putFloat(hasTexCoord ? data.texCoords[v * 2] : 0.0f);
+            buffer.putFloat(hasTexCoord ? data.texCoords[v * 2 + 1] : 0.0f);
+        }
+        for (int index : data.indices) {
+            if (indexSize == 2) {
+                buffer.putShort((short) index);
+            } else {
+                buffer.putInt(index);
+            }
+        }
+
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, vertexCount).putInt(12, indexCount).putInt(16, indexSize).putInt(20, 0);
+        for (int i = 0; i < 6; i++) {
+            buffer.putFloat(24 + i * 4, vertexCount > 0 ? bounds[i] : 0.0f);
+        }
+        buffer.putLong(56, checksum(buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES)));
+        buffer.putLong(48, sourceChecksum);
+        buffer.putLong(64, stamp[0]).putLong(72, stamp[1]);
+        buffer.position(0);
+        return buffer;
+    }
+
+    private static long checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return crc.getValue();
+    }
+}
@@ -15,6 +15,7 @@ public class Model {
     private int normalVBO;
     private int texCoordVBO;
     private int indexCount;
+    private int indexType = GL_UNSIGNED_INT;
     private int textureId;
     
     /**
@@ -75,182 +76,93 @@ public class Model {
     }
     
     /**
-     * Render the model
+     * Create a model from a cached binary mesh. The mesh buffers (usually slices of a memory-mapped
+     * file) go to the driver as they are: one interleaved VBO and a 16- or 32-bit index buffer.
+     * @param mesh The mesh from MeshCache
+     * @param textureId The OpenGL texture ID
      */
-    public void render() {
-        // Ensure we're rendering filled polygons, not wireframes
-        glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-        
-        // Bind texture if available
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, textureId);
-        }
-        
-        // Disable back-face culling for better model rendering
-        glDisable(GL_CULL_FACE);
+    public Model(MeshCache.Mesh mesh, int textureId) {
+        this.indexCount = mesh.indexCount;
+        this.indexType = mesh.indexSize == 2 ? GL_UNSIGNED_SHORT : GL_UNSIGNED_INT;
+        this.textureId = textureId;
         
+        VAO = glGenVertexArrays();
         glBindVertexArray(VAO);
-        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
-        glBindVertexArray(0);
         
-        // Re-enable back-face culling
-        glEnable(GL_CULL_FACE);
+        // ONE BUFFER, THREE ATTRIBUTES AT FIXED OFFSETS INSIDE EACH 32-BYTE VERTEX
+        VBO = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, VBO);
+        glBufferData(GL_ARRAY_BUFFER, mesh.vertices, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 3, GL_FLOAT, false, MeshCache.VERTEX_STRIDE, MeshCache.POSITION_OFFSET);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(1, 3, GL_FLOAT, false, MeshCache.VERTEX_STRIDE, MeshCache.NORMAL_OFFSET);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(2, 2, GL_FLOAT, false, MeshCache.VERTEX_STRIDE, MeshCache.TEXCOORD_OFFSET);
+        glEnableVertexAttribArray(2);
         
-        // Unbind texture
-        if (textureId != 0) {
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
+        EBO = glGenBuffers();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, EBO);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, mesh.indices, GL_STATIC_DRAW);
+        
+        glBindVertexArray(0);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+    }
+    
+    /**
+     * Render the model
+     */
+    public void render() {
+        bindTexture(0, textureId);
+        draw();
     }
     
     /**
      * Render the model with clouds texture
      */
     public void renderWithClouds(int cloudsTextureId) {
-        // Ensure we're rendering filled polygons, not wireframes
-        glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-        
-        // Bind diffuse texture to unit 0
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, textureId);
-        }
-        
-        // Bind clouds texture to unit 1
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, cloudsTextureId);
-        }
-        
-        // Disable back-face culling for better model rendering
-        glDisable(GL_CULL_FACE);
-        
-        glBindVertexArray(VAO);
-        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
-        glBindVertexArray(0);
-        
-        // Re-enable back-face culling
-        glEnable(GL_CULL_FACE);
-        
-        // Unbind textures
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
+        bindTexture(0, textureId);
+        bindTexture(1, cloudsTextureId);
+        draw();
     }
     
     /**
      * Render the model with clouds and bump textures
      */
     public void renderWithBump(int cloudsTextureId, int bumpTextureId) {
-        // Ensure we're rendering filled polygons, not wireframes
-        glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-        
-        // Bind diffuse texture to unit 0
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, textureId);
-        }
-        
-        // Bind clouds texture to unit 1
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, cloudsTextureId);
-        }
-        
-        // Bind bump texture to unit 2
-        if (bumpTextureId != 0) {
-            glActiveTexture(GL_TEXTURE2);
-            glBindTexture(GL_TEXTURE_2D, bumpTextureId);
-        }
-        
-        // Disable back-face culling for better model rendering
-        glDisable(GL_CULL_FACE);
-        
-        glBindVertexArray(VAO);
-        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
-        glBindVertexArray(0);
-        
-        // Re-enable back-face culling
-        glEnable(GL_CULL_FACE);
-        
-        // Unbind textures
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (bumpTextureId != 0) {
-            glActiveTexture(GL_TEXTURE2);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
+        bindTexture(0, textureId);
+        bindTexture(1, cloudsTextureId);
+        bindTexture(2, bumpTextureId);
+        draw();
     }
     
     /**
      * Render the model with clouds, bump, and night lights textures
      */
     public void renderWithNightLights(int cloudsTextureId, int bumpTextureId, int nightLightsTextureId) {
-        // Ensure we're rendering filled polygons, not wireframes
-        glPolygonMode(GL_FRONT_AND_BACK, GL_FILL);
-        
-        // Bind diffuse texture to unit 0
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, textureId);
-        }
-        
-        // Bind clouds texture to unit 1
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, cloudsTextureId);
-        }
-        
-        // Bind bump texture to unit 2
-        if (bumpTextureId != 0) {
-            glActiveTexture(GL_TEXTURE2);
-            glBindTexture(GL_TEXTURE_2D, bumpTextureId);
-        }
-        
-        // Bind night lights texture to unit 3
-        if (nightLightsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE3);
-            glBindTexture(GL_TEXTURE_2D, nightLightsTextureId);
+        bindTexture(0, textureId);
+        bindTexture(1, cloudsTextureId);
+        bindTexture(2, bumpTextureId);
+        bindTexture(3, nightLightsTextureId);
+        draw();
+    }
+    
+    // A MISSING TEXTURE LEAVES THE UNIT ALONE; THE SHADER'S use* FLAG KEEPS IT FROM BEING SAMPLED
+    private static void bindTexture(int unit, int id) {
+        if (id != 0) {
+            GLState.bindTexture(unit, id);
         }
+    }
+    
+    private void draw() {
+        // Ensure we're rendering filled polygons, not wireframes
+        GLState.polygonMode(GL_FILL);
         
-        // Disable back-face culling for better model rendering
-        glDisable(GL_CULL_FACE);
-        
-        glBindVertexArray(VAO);
-        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
-        glBindVertexArray(0);
-        
-        // Re-enable back-face culling
-        glEnable(GL_CULL_FACE);
+        // OBJ FILES DON'T GUARANTEE A CONSISTENT WINDING, SO DRAW BOTH SIDES
+        GLState.disable(GL_CULL_FACE);
         
-        // Unbind textures
-        if (textureId != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (cloudsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE1);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (bumpTextureId != 0) {
-            glActiveTexture(GL_TEXTURE2);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
-        if (nightLightsTextureId != 0) {
-            glActiveTexture(GL_TEXTURE3);
-            glBindTexture(GL_TEXTURE_2D, 0);
-        }
+        GLState.bindVertexArray(VAO);
+        glDrawElements(GL_TRIANGLES, indexCount, indexType, 0);
     }
     
     /**
@@ -1,26 +1,30 @@
 package com.stefanrogic.core.rendering;
 
-import org.joml.Vector3f;
-import org.joml.Vector2f;
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
- * Simple OBJ file loader for loading 3D models
+ * OBJ file loader for loading 3D models.
+ *
+ * The file is read into one byte array and tokenised in place: no line Strings, no split(), no boxed
+ * indices and no vector objects per attribute. Face corners are deduplicated by their (v, vt, vn)
+ * index triple through an open-addressed hash table, so each corner costs O(1) instead of a scan over
+ * every vertex emitted so far. Attributes and output go into growable primitive arrays.
+ *
+ * Supports v, vt, vn and f (triangles, quads and larger convex polygons, fanned into triangles;
+ * negative relative indices). Other statements are skipped. Corners without a texture coordinate
+ * get (0, 0) and, when the file has no normals at all, smooth normals are computed from the faces.
  */
 public class OBJLoader {
-    
+
     public static class ModelData {
         public float[] vertices;
         public int[] indices;
         public float[] normals;
         public float[] texCoords;
-        
+
         public ModelData(float[] vertices, int[] indices, float[] normals, float[] texCoords) {
             this.vertices = vertices;
             this.indices = indices;
@@ -28,283 +32,445 @@ public class OBJLoader {
             this.texCoords = texCoords;
         }
     }
-    
+
     /**
      * Load an OBJ file from the resources directory
      * @param resourcePath Path to the OBJ file in resources (e.g., "models/earth_model.obj")
      * @return ModelData containing vertices, indices, normals, and texture coordinates
      */
     public static ModelData loadOBJ(String resourcePath) {
-        System.out.println("DEBUG: Starting OBJ loading for: " + resourcePath);
-        List<Vector3f> vertices = new ArrayList<>();
-        List<Vector2f> texCoords = new ArrayList<>();
-        List<Vector3f> normals = new ArrayList<>();
-        List<Integer> indices = new ArrayList<>();
-        
-        Map<String, Integer> vertexMap = new HashMap<>();
-        List<Vector3f> finalVertices = new ArrayList<>();
-        List<Vector2f> finalTexCoords = new ArrayList<>();
-        List<Vector3f> finalNormals = new ArrayList<>();
-        
-        try {
-            InputStream inputStream = OBJLoader.class.getClassLoader().getResourceAsStream(resourcePath);
+        long start = System.nanoTime();
+        byte[] data;
+        try (InputStream inputStream = OBJLoader.class.getClassLoader().getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
                 throw new RuntimeException("Could not find resource: " + resourcePath);
             }
-            
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-            String line;
-            
-            while ((line = reader.readLine()) != null) {
-                String[] tokens = line.split("\\s+");
-                
-                if (tokens.length == 0) continue;
-                
-                switch (tokens[0]) {
-                    case "v":
-                        // Vertex position
-                        if (tokens.length >= 4) {
-                            float x = Float.parseFloat(tokens[1]);
-                            float y = Float.parseFloat(tokens[2]);
-                            float z = Float.parseFloat(tokens[3]);
-                            vertices.add(new Vector3f(x, y, z));
-                        }
-                        break;
-                        
-                    case "vt":
-                        // Texture coordinate
-                        if (tokens.length >= 3) {
-                            float u = Float.parseFloat(tokens[1]);
-                            float v = Float.parseFloat(tokens[2]);
-                            float originalV = v;
-                            // Flip V coordinate for proper texture mapping
-                            v = 1.0f - v;
-                            texCoords.add(new Vector2f(u, v));
-                            
-                            // Debug: Log first few texture coordinates
-                            if (texCoords.size() <= 5) {
-                                System.out.println("DEBUG: Texture coord " + texCoords.size() + ": " + u + ", " + originalV + " -> " + v + " (flipped)");
-                            }
-                        }
-                        break;
-                        
-                    case "vn":
-                        // Normal
-                        if (tokens.length >= 4) {
-                            float x = Float.parseFloat(tokens[1]);
-                            float y = Float.parseFloat(tokens[2]);
-                            float z = Float.parseFloat(tokens[3]);
-                            normals.add(new Vector3f(x, y, z));
-                        }
-                        break;
-                        
-                    case "f":
-                        // Face
-                        if (tokens.length >= 4) {
-                            // Handle both triangles and quads
-                            if (tokens.length == 4) {
-                                // Triangle
-                                for (int i = 1; i < tokens.length; i++) {
-                                    String[] vertexData = tokens[i].split("/");
-                                    
-                                    // Parse vertex index
-                                    int vertexIndex = Integer.parseInt(vertexData[0]) - 1;
-                                    Vector3f vertex = vertices.get(vertexIndex);
-                                    
-                                    // Parse texture coordinate index (if present)
-                                    Vector2f texCoord = new Vector2f(0, 0);
-                                    if (vertexData.length > 1 && !vertexData[1].isEmpty()) {
-                                        int texIndex = Integer.parseInt(vertexData[1]) - 1;
-                                        if (texIndex >= 0 && texIndex < texCoords.size()) {
-                                            texCoord = texCoords.get(texIndex);
-                                            // Don't flip V coordinate - use original
-                                        }
-                                    }
-                                    
-                                    // Parse normal index (if present)
-                                    Vector3f normal = new Vector3f(0, 1, 0);
-                                    if (vertexData.length > 2 && !vertexData[2].isEmpty()) {
-                                        int normalIndex = Integer.parseInt(vertexData[2]) - 1;
-                                        if (normalIndex >= 0 && normalIndex < normals.size()) {
-                                            normal = normals.get(normalIndex);
-                                        }
-                                    }
-                                    
-                                    // Find or create vertex index
-                                    int finalIndex = findOrCreateVertex(vertex, texCoord, normal, 
-                                        finalVertices, finalTexCoords, finalNormals);
-                                    indices.add(finalIndex);
-                                }
-                            } else if (tokens.length == 5) {
-                                // Quad - convert to two triangles
-                                int[] quadIndices = new int[4];
-                                
-                                // Parse all 4 vertices of the quad
-                                for (int i = 1; i < tokens.length; i++) {
-                                    String[] vertexData = tokens[i].split("/");
-                                    
-                                    // Parse vertex index
-                                    int vertexIndex = Integer.parseInt(vertexData[0]) - 1;
-                                    Vector3f vertex = vertices.get(vertexIndex);
-                                    
-                                    // Parse texture coordinate index (if present)
-                                    Vector2f texCoord = new Vector2f(0, 0);
-                                    if (vertexData.length > 1 && !vertexData[1].isEmpty()) {
-                                        int texIndex = Integer.parseInt(vertexData[1]) - 1;
-                                        if (texIndex >= 0 && texIndex < texCoords.size()) {
-                                            texCoord = texCoords.get(texIndex);
-                                            // Don't flip V coordinate - use original
-                                        }
-                                    }
-                                    
-                                    // Parse normal index (if present)
-                                    Vector3f normal = new Vector3f(0, 1, 0);
-                                    if (vertexData.length > 2 && !vertexData[2].isEmpty()) {
-                                        int normalIndex = Integer.parseInt(vertexData[2]) - 1;
-                                        if (normalIndex >= 0 && normalIndex < normals.size()) {
-                                            normal = normals.get(normalIndex);
-                                        }
-                                    }
-                                    
-                                    // Find or create vertex index
-                                    int finalIndex = findOrCreateVertex(vertex, texCoord, normal, 
-                                        finalVertices, finalTexCoords, finalNormals);
-                                    quadIndices[i - 1] = finalIndex;
-                                }
-                                
-                                // Create two triangles from the quad
-                                // Triangle 1: v0, v1, v2
-                                indices.add(quadIndices[0]);
-                                indices.add(quadIndices[1]);
-                                indices.add(quadIndices[2]);
-                                
-                                // Triangle 2: v0, v2, v3
-                                indices.add(quadIndices[0]);
-                                indices.add(quadIndices[2]);
-                                indices.add(quadIndices[3]);
-                            }
-                        }
-                        break;
+            data = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading OBJ file: " + resourcePath, e);
+        }
+
+        ModelData model;
+        try {
+            model = parse(data);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error loading OBJ file: " + resourcePath, e);
+        }
+        System.out.println("Loaded " + resourcePath + ": " + model.vertices.length / 3 + " vertices, "
+            + model.indices.length / 3 + " triangles in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return model;
+    }
+
+    /**
+     * Parse OBJ text already in memory
+     */
+    public static ModelData parse(byte[] data) {
+        return new Parser(data).parse();
+    }
+
+    /**
+     * Single-use parser state over one file
+     */
+    private static final class Parser {
+        private static final int NONE = -1;
+        private static final double[] POWERS_OF_TEN = new double[23]; // EXACT AS DOUBLES UP TO 1e22
+        static {
+            POWERS_OF_TEN[0] = 1.0;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+            }
+        }
+
+        private final byte[] buf;
+        private final int end;
+        private int pos;
+        private int line = 1;
+
+        // ATTRIBUTES AS READ FROM THE FILE
+        private final FloatArray positions = new FloatArray(3 * 1024);
+        private final FloatArray texCoords = new FloatArray(2 * 1024);
+        private final FloatArray normals = new FloatArray(3 * 1024);
+
+        // OUTPUT VERTICES, ONE PER UNIQUE (v, vt, vn) TRIPLE
+        private final FloatArray outPositions = new FloatArray(3 * 1024);
+        private final FloatArray outTexCoords = new FloatArray(2 * 1024);
+        private final FloatArray outNormals = new FloatArray(3 * 1024);
+        private final IntArray keys = new IntArray(3 * 1024); // THE TRIPLE EACH OUTPUT VERTEX CAME FROM
+        private final IntArray indices = new IntArray(6 * 1024);
+
+        // HASH INDEX: OUTPUT VERTEX NUMBERS, LINEAR PROBING, KEPT AT MOST HALF FULL
+        private int[] table = new int[2048];
+        private int vertexCount;
+
+        private int[] corners = new int[16]; // OUTPUT INDICES OF THE CURRENT FACE
+
+        Parser(byte[] data) {
+            this.buf = data;
+            this.end = data.length;
+            Arrays.fill(table, NONE);
+        }
+
+        ModelData parse() {
+            while (pos < end) {
+                skipBlanks();
+                if (pos >= end) {
+                    break;
                 }
+                byte c = buf[pos];
+                if (c == 'v' && pos + 1 < end) {
+                    byte next = buf[pos + 1];
+                    if (isBlank(next)) {
+                        pos += 1;
+                        positions.add(readFloat());
+                        positions.add(readFloat());
+                        positions.add(readFloat());
+                    } else if (next == 't' && pos + 2 < end && isBlank(buf[pos + 2])) {
+                        pos += 2;
+                        texCoords.add(readFloat());
+                        texCoords.add(1.0f - readFloat()); // FLIP V FOR OPENGL
+                    } else if (next == 'n' && pos + 2 < end && isBlank(buf[pos + 2])) {
+                        pos += 2;
+                        normals.add(readFloat());
+                        normals.add(readFloat());
+                        normals.add(readFloat());
+                    }
+                } else if (c == 'f' && pos + 1 < end && isBlank(buf[pos + 1])) {
+                    pos += 1;
+                    readFace();
+                }
+                skipLine();
             }
-            
-            reader.close();
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Error loading OBJ file: " + resourcePath, e);
+
+            float[] normalArray = normals.size() == 0
+                ? calculateNormals(outPositions.toArray(), indices.toArray())
+                : outNormals.toArray();
+            return new ModelData(outPositions.toArray(), indices.toArray(), normalArray, outTexCoords.toArray());
+        }
+
+        private void readFace() {
+            int count = 0;
+            while (true) {
+                skipBlanks();
+                if (pos >= end || isLineEnd(buf[pos])) {
+                    break;
+                }
+                int v = resolve(readInt(), positions.size() / 3);
+                int vt = NONE, vn = NONE;
+                if (pos < end && buf[pos] == '/') {
+                    pos++;
+                    if (pos < end && buf[pos] != '/' && !isBlank(buf[pos]) && !isLineEnd(buf[pos])) {
+                        vt = resolve(readInt(), texCoords.size() / 2);
+                    }
+                    if (pos < end && buf[pos] == '/') {
+                        pos++;
+                        vn = resolve(readInt(), normals.size() / 3);
+                    }
+                }
+                if (v < 0 || v >= positions.size() / 3) {
+                    throw new RuntimeException("Vertex index out of range on line " + line);
+                }
+                // BAD TEXTURE AND NORMAL INDICES FALL BACK TO THE DEFAULTS RATHER THAN FAILING THE LOAD
+                if (vt < 0 || vt >= texCoords.size() / 2) vt = NONE;
+                if (vn < 0 || vn >= normals.size() / 3) vn = NONE;
+                if (count == corners.length) {
+                    corners = Arrays.copyOf(corners, count * 2);
+                }
+                corners[count++] = vertexFor(v, vt, vn);
+            }
+            // FAN TRIANGULATION: (0, i, i + 1)
+            for (int i = 1; i + 1 < count; i++) {
+                indices.add(corners[0]);
+                indices.add(corners[i]);
+                indices.add(corners[i + 1]);
+            }
+        }
+
+        /**
+         * OBJ indices are 1-based; negative ones count back from the latest element
+         */
+        private static int resolve(int index, int size) {
+            return index > 0 ? index - 1 : (index < 0 ? size + index : NONE);
+        }
+
+        /**
+         * Output vertex for a (v, vt, vn) triple, created on first sight
+         */
+        private int vertexFor(int v, int vt, int vn) {
+            int mask = table.length - 1;
+            int slot = hash(v, vt, vn) & mask;
+            int[] k = keys.data;
+            while (table[slot] != NONE) {
+                int candidate = table[slot] * 3;
+                if (k[candidate] == v && k[candidate + 1] == vt && k[candidate + 2] == vn) {
+                    return table[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int index = vertexCount++;
+            table[slot] = index;
+            keys.add(v);
+            keys.add(vt);
+            keys.add(vn);
+            float[] p = positions.data;
+            outPositions.add(p[v * 3]);
+            outPositions.add(p[v * 3 + 1]);
+            outPositions.add(p[v * 3 + 2]);
+            if (vt != NONE) {
+                outTexCoords.add(texCoords.data[vt * 2]);
+                outTexCoords.add(texCoords.data[vt * 2 + 1]);
+            } else {
+                outTexCoords.add(0.0f);
+                outTexCoords.add(0.0f);
+            }
+            if (vn != NONE) {
+                float[] n = normals.data;
+                outNormals.add(n[vn * 3]);
+                outNormals.add(n[vn * 3 + 1]);
+                outNormals.add(n[vn * 3 + 2]);
+            } else {
+                outNormals.add(0.0f);
+                outNormals.add(1.0f);
+                outNormals.add(0.0f);
+            }
+            if (vertexCount * 2 > table.length) {
+                rehash();
+            }
+            return index;
+        }
+
+        private void rehash() {
+            int[] grown = new int[table.length * 2];
+            Arrays.fill(grown, NONE);
+            int mask = grown.length - 1;
+            int[] k = keys.data;
+            for (int i = 0; i < vertexCount; i++) {
+                int slot = hash(k[i * 3], k[i * 3 + 1], k[i * 3 + 2]) & mask;
+                while (grown[slot] != NONE) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = i;
+            }
+            table = grown;
+        }
+
+        private static int hash(int v, int vt, int vn) {
+            int h = v * 0x9E3779B1 + vt * 0x85EBCA77 + vn * 0xC2B2AE3D;
+            return h ^ (h >>> 15);
         }
-        
-        // Convert to arrays
-        float[] vertexArray = new float[finalVertices.size() * 3];
-        float[] texCoordArray = new float[finalTexCoords.size() * 2];
-        float[] normalArray = new float[finalNormals.size() * 3];
-        int[] indexArray = new int[indices.size()];
-        
-        for (int i = 0; i < finalVertices.size(); i++) {
-            Vector3f vertex = finalVertices.get(i);
-            vertexArray[i * 3] = vertex.x;
-            vertexArray[i * 3 + 1] = vertex.y;
-            vertexArray[i * 3 + 2] = vertex.z;
+
+        // TOKENISER
+
+        private static boolean isBlank(byte c) {
+            return c == ' ' || c == '\t';
         }
-        
-        for (int i = 0; i < finalTexCoords.size(); i++) {
-            Vector2f texCoord = finalTexCoords.get(i);
-            texCoordArray[i * 2] = texCoord.x;
-            texCoordArray[i * 2 + 1] = texCoord.y;
+
+        private static boolean isLineEnd(byte c) {
+            return c == '\n' || c == '\r';
         }
-        
-        for (int i = 0; i < finalNormals.size(); i++) {
-            Vector3f normal = finalNormals.get(i);
-            normalArray[i * 3] = normal.x;
-            normalArray[i * 3 + 1] = normal.y;
-            normalArray[i * 3 + 2] = normal.z;
+
+        private void skipBlanks() {
+            while (pos < end && isBlank(buf[pos])) {
+                pos++;
+            }
+        }
+
+        private void skipLine() {
+            while (pos < end && buf[pos] != '\n') {
+                pos++;
+            }
+            if (pos < end) {
+                pos++;
+                line++;
+            }
         }
-        
-        for (int i = 0; i < indices.size(); i++) {
-            indexArray[i] = indices.get(i);
+
+        private int readInt() {
+            skipBlanks();
+            boolean negative = false;
+            if (pos < end && (buf[pos] == '-' || buf[pos] == '+')) {
+                negative = buf[pos] == '-';
+                pos++;
+            }
+            int start = pos;
+            int value = 0;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                value = value * 10 + (buf[pos] - '0');
+                pos++;
+            }
+            if (pos == start) {
+                throw new RuntimeException("Expected an index on line " + line);
+            }
+            return negative ? -value : value;
         }
-        
-        // If no normals were provided, calculate them
-        if (finalNormals.isEmpty()) {
-            normalArray = calculateNormals(vertexArray, indexArray);
+
+        /**
+         * Decimal float straight from the bytes. Up to 18 significant digits and a power of ten up to 22
+         * are computed exactly in double arithmetic; anything else falls back to Float.parseFloat.
+         */
+        private float readFloat() {
+            skipBlanks();
+            int start = pos;
+            boolean negative = false;
+            if (pos < end && (buf[pos] == '-' || buf[pos] == '+')) {
+                negative = buf[pos] == '-';
+                pos++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (buf[pos] - '0');
+                    if (mantissa != 0) digits++;
+                } else {
+                    exponent++;
+                }
+                any = true;
+                pos++;
+            }
+            if (pos < end && buf[pos] == '.') {
+                pos++;
+                while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (buf[pos] - '0');
+                        if (mantissa != 0) digits++;
+                        exponent--;
+                    }
+                    any = true;
+                    pos++;
+                }
+            }
+            if (pos < end && (buf[pos] == 'e' || buf[pos] == 'E')) {
+                pos++;
+                boolean negativeExponent = false;
+                if (pos < end && (buf[pos] == '-' || buf[pos] == '+')) {
+                    negativeExponent = buf[pos] == '-';
+                    pos++;
+                }
+                int e = 0;
+                while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                    e = Math.min(e * 10 + (buf[pos] - '0'), 100_000);
+                    pos++;
+                }
+                exponent += negativeExponent ? -e : e;
+            }
+            if (!any || (pos < end && !isBlank(buf[pos]) && !isLineEnd(buf[pos]))) {
+                return slowFloat(start);
+            }
+
+            double value;
+            if (mantissa == 0) {
+                value = 0.0;
+            } else if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+                value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            } else {
+                return slowFloat(start);
+            }
+            return (float) (negative ? -value : value);
+        }
+
+        private float slowFloat(int start) {
+            pos = start;
+            while (pos < end && !isBlank(buf[pos]) && !isLineEnd(buf[pos])) {
+                pos++;
+            }
+            String token = new String(buf, start, pos - start, StandardCharsets.US_ASCII);
+            try {
+                return Float.parseFloat(token);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Bad number '" + token + "' on line " + line, e);
+            }
         }
-        
-        return new ModelData(vertexArray, indexArray, normalArray, texCoordArray);
     }
-    
-    private static int findOrCreateVertex(Vector3f vertex, Vector2f texCoord, Vector3f normal,
-                                        List<Vector3f> vertices, List<Vector2f> texCoords, List<Vector3f> normals) {
-        // Look for existing vertex
-        for (int i = 0; i < vertices.size(); i++) {
-            Vector3f existingVertex = vertices.get(i);
-            Vector2f existingTexCoord = texCoords.get(i);
-            Vector3f existingNormal = normals.get(i);
-            
-            if (existingVertex.equals(vertex) && existingTexCoord.equals(texCoord) && existingNormal.equals(normal)) {
-                return i;
+
+    /**
+     * Growable float array
+     */
+    private static final class FloatArray {
+        float[] data;
+        private int size;
+
+        FloatArray(int capacity) {
+            data = new float[capacity];
+        }
+
+        void add(float value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
             }
+            data[size++] = value;
         }
-        
-        // Create new vertex
-        vertices.add(new Vector3f(vertex));
-        texCoords.add(new Vector2f(texCoord));
-        normals.add(new Vector3f(normal));
-        
-        return vertices.size() - 1;
+
+        int size() { return size; }
+        float[] toArray() { return Arrays.copyOf(data, size); }
     }
-    
+
+    /**
+     * Growable int array
+     */
+    private static final class IntArray {
+        int[] data;
+        private int size;
+
+        IntArray(int capacity) {
+            data = new int[capacity];
+        }
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int size() { return size; }
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+
     /**
      * Calculate normals for a mesh if they weren't provided in the OBJ file
      */
     private static float[] calculateNormals(float[] vertices, int[] indices) {
         float[] normals = new float[vertices.length];
-        
-        // Initialize normals to zero
-        for (int i = 0; i < normals.length; i++) {
-            normals[i] = 0.0f;
-        }
-        
+
         // Calculate face normals and accumulate vertex normals
         for (int i = 0; i < indices.length; i += 3) {
             int i0 = indices[i] * 3;
             int i1 = indices[i + 1] * 3;
             int i2 = indices[i + 2] * 3;
-            
-            // Get vertices
-            Vector3f v0 = new Vector3f(vertices[i0], vertices[i0 + 1], vertices[i0 + 2]);
-            Vector3f v1 = new Vector3f(vertices[i1], vertices[i1 + 1], vertices[i1 + 2]);
-            Vector3f v2 = new Vector3f(vertices[i2], vertices[i2 + 1], vertices[i2 + 2]);
-            
-            // Calculate face normal
-            Vector3f edge1 = new Vector3f(v1).sub(v0);
-            Vector3f edge2 = new Vector3f(v2).sub(v0);
-            Vector3f faceNormal = new Vector3f(edge1).cross(edge2).normalize();
-            
+
+            // EDGES FROM VERTEX 0
+            float e1x = vertices[i1] - vertices[i0], e1y = vertices[i1 + 1] - vertices[i0 + 1], e1z = vertices[i1 + 2] - vertices[i0 + 2];
+            float e2x = vertices[i2] - vertices[i0], e2y = vertices[i2 + 1] - vertices[i0 + 1], e2z = vertices[i2 + 2] - vertices[i0 + 2];
+
+            // FACE NORMAL = e1 x e2, NORMALISED
+            float nx = e1y * e2z - e1z * e2y;
+            float ny = e1z * e2x - e1x * e2z;
+            float nz = e1x * e2y - e1y * e2x;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length == 0.0f) {
+                continue; // DEGENERATE TRIANGLE
+            }
+            nx /= length; ny /= length; nz /= length;
+
             // Accumulate normals for each vertex
-            normals[i0] += faceNormal.x;
-            normals[i0 + 1] += faceNormal.y;
-            normals[i0 + 2] += faceNormal.z;
-            
-            normals[i1] += faceNormal.x;
-            normals[i1 + 1] += faceNormal.y;
-            normals[i1 + 2] += faceNormal.z;
-            
-            normals[i2] += faceNormal.x;
-            normals[i2 + 1] += faceNormal.y;
-            normals[i2 + 2] += faceNormal.z;
+            normals[i0] += nx; normals[i0 + 1] += ny; normals[i0 + 2] += nz;
+            normals[i1] += nx; normals[i1 + 1] += ny; normals[i1 + 2] += nz;
+            normals[i2] += nx; normals[i2 + 1] += ny; normals[i2 + 2] += nz;
         }
-        
+
         // Normalize the accumulated normals
         for (int i = 0; i < normals.length; i += 3) {
-            Vector3f normal = new Vector3f(normals[i], normals[i + 1], normals[i + 2]);
-            if (normal.length() > 0) {
-                normal.normalize();
-                normals[i] = normal.x;
-                normals[i + 1] = normal.y;
-                normals[i + 2] = normal.z;
+            float length = (float) Math.sqrt(normals[i] * normals[i] + normals[i + 1] * normals[i + 1] + normals[i + 2] * normals[i + 2]);
+            if (length > 0) {
+                normals[i] /= length;
+                normals[i + 1] /= length;
+                normals[i + 2] /= length;
             }
         }
-        
+
         return normals;
     }
 }
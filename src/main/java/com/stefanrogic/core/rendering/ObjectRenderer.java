@@ -17,6 +17,7 @@ import com.stefanrogic.assets.*;
 import com.stefanrogic.assets.celestial.*;
 import com.stefanrogic.assets.celestial.earth.*;
 import com.stefanrogic.assets.celestial.mars.*;
+import com.stefanrogic.assets.celestial.jupiter.*;
 
 /**
  * Manages OpenGL buffer creation and setup for all celestial objects
@@ -34,26 +35,17 @@ public class ObjectRenderer {
      */
     public void initializeBuffers() {
         createSunBuffers();
-        createMercuryBuffers();
-        createVenusBuffers();
         createEarthBuffers();
         createMoonBuffers();
-        createMarsBuffers();
-        createPhobosBuffers();
-        createDeimosBuffers();
-        
-        // INITIALIZE JUPITER MOON BUFFERS
-        createIoBuffers();
-        createEuropaBuffers();
-        createGanymedeBuffers();
-        createCallistoBuffers();
+        // PLAIN LIT SPHERES (MERCURY, VENUS, MARS, JUPITER'S PLACEHOLDER, THE SMALL MOONS) SHARE
+        // THE INSTANCED MESHES IN SphereInstancer AND HAVE NO BUFFERS OF THEIR OWN
     }
     
     private void createSunBuffers() {
         Sun sun = sceneManager.getSun();
         
-        // Skip buffer creation if Sun is using OBJ model
-        if (sun.isUsingOBJModel()) {
+        // THE SPHERE IS THE PLACEHOLDER DRAWN UNTIL THE OBJ MODEL HAS LOADED
+        if (sun.getSphere() == null) {
             return;
         }
         
@@ -87,25 +79,11 @@ public class ObjectRenderer {
         glBindVertexArray(0);
     }
     
-    private void createMercuryBuffers() {
-        Mercury mercury = sceneManager.getMercury();
-        createPlanetBuffers(mercury, mercury.getSphere());
-    }
-    
-    private void createVenusBuffers() {
-        Venus venus = sceneManager.getVenus();
-        createPlanetBuffers(venus, venus.getSphere());
-    }
-    
     private void createEarthBuffers() {
         Earth earth = sceneManager.getEarth();
         
-        if (earth.isUsingOBJModel()) {
-            // OBJ model is already loaded with buffers in Earth constructor
-            System.out.println("Using OBJ model for Earth rendering");
-        } else {
-            // Fall back to procedural sphere
-            System.out.println("Using procedural sphere for Earth rendering");
+        // PROCEDURAL SURFACE SHOWS UNTIL THE OBJ MODEL ARRIVES (AND FOREVER IF IT FAILS TO LOAD)
+        if (earth.getSphere() != null) {
             createEarthBuffersWithSurface(earth);
         }
     }
@@ -115,147 +93,24 @@ public class ObjectRenderer {
         createMoonBuffersWithCraters(moon);
     }
     
-    private void createMarsBuffers() {
-        Mars mars = sceneManager.getMars();
-        createPlanetBuffers(mars, mars.getSphere());
-    }
-    
-    private void createPhobosBuffers() {
-        Phobos phobos = sceneManager.getPhobos();
-        createPlanetBuffers(phobos, phobos.getSphere());
-    }
-    
-    private void createDeimosBuffers() {
-        Deimos deimos = sceneManager.getDeimos();
-        createPlanetBuffers(deimos, deimos.getSphere());
-    }
-    
-    /**
-     * Generic method to create buffers for any celestial object with lighting support
-     */
-    private void createPlanetBuffers(Object planet, Sphere sphere) {
-        // CREATE VAO, VBO, EBO
-        int VAO = glGenVertexArrays();
-        int VBO = glGenBuffers();
-        int EBO = glGenBuffers();
-        
-        // Set buffers using reflection to handle different object types
-        setPlanetBuffers(planet, VAO, VBO, EBO);
-        
-        glBindVertexArray(VAO);
-        
-        // UPLOAD VERTEX DATA
-        glBindBuffer(GL_ARRAY_BUFFER, VBO);
-        FloatBuffer vertexBuffer = BufferUtils.createFloatBuffer(sphere.getVertices().length);
-        vertexBuffer.put(sphere.getVertices()).flip();
-        glBufferData(GL_ARRAY_BUFFER, vertexBuffer, GL_STATIC_DRAW);
-        
-        // UPLOAD INDEX DATA
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, EBO);
-        IntBuffer indexBuffer = BufferUtils.createIntBuffer(sphere.getIndices().length);
-        indexBuffer.put(sphere.getIndices()).flip();
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, indexBuffer, GL_STATIC_DRAW);
-        
-        // POSITION ATTRIBUTE (LOCATION = 0)
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 8 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        // NORMAL ATTRIBUTE (LOCATION = 1) - FOR LIGHTING
-        glVertexAttribPointer(1, 3, GL_FLOAT, false, 8 * Float.BYTES, 3 * Float.BYTES);
-        glEnableVertexAttribArray(1);
-        
-        // TEXTURE COORDINATE ATTRIBUTE (LOCATION = 2)
-        glVertexAttribPointer(2, 2, GL_FLOAT, false, 8 * Float.BYTES, 6 * Float.BYTES);
-        glEnableVertexAttribArray(2);
-        
-        glBindVertexArray(0);
-    }
-    
-    /**
-     * Set VAO, VBO, EBO for different planet types using method calls
-     */
-    private void setPlanetBuffers(Object planet, int VAO, int VBO, int EBO) {
-        if (planet instanceof Mercury mercury) {
-            mercury.setVAO(VAO);
-            mercury.setVBO(VBO);
-            mercury.setEBO(EBO);
-        } else if (planet instanceof Venus venus) {
-            venus.setVAO(VAO);
-            venus.setVBO(VBO);
-            venus.setEBO(EBO);
-        } else if (planet instanceof Earth earth) {
-            earth.setVAO(VAO);
-            earth.setVBO(VBO);
-            earth.setEBO(EBO);
-        } else if (planet instanceof Moon moon) {
-            moon.setVAO(VAO);
-            moon.setVBO(VBO);
-            moon.setEBO(EBO);
-        } else if (planet instanceof Mars mars) {
-            mars.setVAO(VAO);
-            mars.setVBO(VBO);
-            mars.setEBO(EBO);
-        } else if (planet instanceof Phobos phobos) {
-            phobos.setVAO(VAO);
-            phobos.setVBO(VBO);
-            phobos.setEBO(EBO);
-        } else if (planet instanceof Deimos deimos) {
-            deimos.setVAO(VAO);
-            deimos.setVBO(VBO);
-            deimos.setEBO(EBO);
-        }
-    }
-    
     /**
      * Clean up all OpenGL resources
      */
     public void cleanup() {
         // Clean up celestial object buffers
         cleanupObjectBuffers(sceneManager.getSun());
-        cleanupObjectBuffers(sceneManager.getMercury());
-        cleanupObjectBuffers(sceneManager.getVenus());
         cleanupObjectBuffers(sceneManager.getEarth());
         cleanupObjectBuffers(sceneManager.getMoon());
-        cleanupObjectBuffers(sceneManager.getMars());
-        cleanupObjectBuffers(sceneManager.getPhobos());
-        cleanupObjectBuffers(sceneManager.getDeimos());
     }
     
-    private void cleanupObjectBuffers(Object object) {
+    private void cleanupObjectBuffers(CelestialBody object) {
+        if (object == null || object.getVAO() == 0) {
+            return; // NO PROCEDURAL BUFFERS (OBJ MODEL OR NOT CREATED)
+        }
         try {
-            if (object instanceof Sun sun) {
-                glDeleteVertexArrays(sun.getVAO());
-                glDeleteBuffers(sun.getVBO());
-                glDeleteBuffers(sun.getEBO());
-            } else if (object instanceof Mercury mercury) {
-                glDeleteVertexArrays(mercury.getVAO());
-                glDeleteBuffers(mercury.getVBO());
-                glDeleteBuffers(mercury.getEBO());
-            } else if (object instanceof Venus venus) {
-                glDeleteVertexArrays(venus.getVAO());
-                glDeleteBuffers(venus.getVBO());
-                glDeleteBuffers(venus.getEBO());
-            } else if (object instanceof Earth earth) {
-                glDeleteVertexArrays(earth.getVAO());
-                glDeleteBuffers(earth.getVBO());
-                glDeleteBuffers(earth.getEBO());
-            } else if (object instanceof Moon moon) {
-                glDeleteVertexArrays(moon.getVAO());
-                glDeleteBuffers(moon.getVBO());
-                glDeleteBuffers(moon.getEBO());
-            } else if (object instanceof Mars mars) {
-                glDeleteVertexArrays(mars.getVAO());
-                glDeleteBuffers(mars.getVBO());
-                glDeleteBuffers(mars.getEBO());
-            } else if (object instanceof Phobos phobos) {
-                glDeleteVertexArrays(phobos.getVAO());
-                glDeleteBuffers(phobos.getVBO());
-                glDeleteBuffers(phobos.getEBO());
-            } else if (object instanceof Deimos deimos) {
-                glDeleteVertexArrays(deimos.getVAO());
-                glDeleteBuffers(deimos.getVBO());
-                glDeleteBuffers(deimos.getEBO());
-            }
+            glDeleteVertexArrays(object.getVAO());
+            glDeleteBuffers(object.getVBO());
+            glDeleteBuffers(object.getEBO());
         } catch (Exception e) {
             // Ignore cleanup errors - buffers may already be deleted
         }
@@ -596,78 +451,6 @@ public class ObjectRenderer {
         );
     }
     
-    private void createIoBuffers() {
-        com.stefanrogic.assets.celestial.jupiter.Io io = sceneManager.getIo();
-        if (io != null) {
-            createGenericMoonBuffers(io);
-        }
-    }
-    
-    private void createEuropaBuffers() {
-        com.stefanrogic.assets.celestial.jupiter.Europa europa = sceneManager.getEuropa();
-        if (europa != null) {
-            createGenericMoonBuffers(europa);
-        }
-    }
-    
-    private void createGanymedeBuffers() {
-        com.stefanrogic.assets.celestial.jupiter.Ganymede ganymede = sceneManager.getGanymede();
-        if (ganymede != null) {
-            createGenericMoonBuffers(ganymede);
-        }
-    }
-    
-    private void createCallistoBuffers() {
-        com.stefanrogic.assets.celestial.jupiter.Callisto callisto = sceneManager.getCallisto();
-        if (callisto != null) {
-            createGenericMoonBuffers(callisto);
-        }
-    }
-    
-    private void createGenericMoonBuffers(Object moon) {
-        try {
-            // Use reflection to access methods
-            Object sphere = moon.getClass().getMethod("getSphere").invoke(moon);
-            float[] vertices = (float[]) sphere.getClass().getMethod("getVertices").invoke(sphere);
-            int[] indices = (int[]) sphere.getClass().getMethod("getIndices").invoke(sphere);
-            
-            // CREATE VAO, VBO, EBO
-            int VAO = glGenVertexArrays();
-            int VBO = glGenBuffers();
-            int EBO = glGenBuffers();
-            
-            moon.getClass().getMethod("setVAO", int.class).invoke(moon, VAO);
-            
-            glBindVertexArray(VAO);
-            
-            // UPLOAD VERTEX DATA
-            glBindBuffer(GL_ARRAY_BUFFER, VBO);
-            FloatBuffer vertexBuffer = BufferUtils.createFloatBuffer(vertices.length);
-            vertexBuffer.put(vertices).flip();
-            glBufferData(GL_ARRAY_BUFFER, vertexBuffer, GL_STATIC_DRAW);
-            
-            // UPLOAD INDEX DATA
-            glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, EBO);
-            IntBuffer indexBuffer = BufferUtils.createIntBuffer(indices.length);
-            indexBuffer.put(indices).flip();
-            glBufferData(GL_ELEMENT_ARRAY_BUFFER, indexBuffer, GL_STATIC_DRAW);
-            
-            // SETUP VERTEX ATTRIBUTES (POSITION, NORMAL, TEXTURE_COORDS)
-            glVertexAttribPointer(0, 3, GL_FLOAT, false, 8 * Float.BYTES, 0);
-            glEnableVertexAttribArray(0);
-            
-            glVertexAttribPointer(1, 3, GL_FLOAT, false, 8 * Float.BYTES, 3 * Float.BYTES);
-            glEnableVertexAttribArray(1);
-            
-            glVertexAttribPointer(2, 2, GL_FLOAT, false, 8 * Float.BYTES, 6 * Float.BYTES);
-            glEnableVertexAttribArray(2);
-            
-            glBindVertexArray(0);
-        } catch (Exception e) {
-            System.err.println("Error creating moon buffers: " + e.getMessage());
-        }
-    }
-    
     /**
      * Convert ArrayList<Float> to float array
      */
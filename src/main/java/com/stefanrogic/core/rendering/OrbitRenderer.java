@@ -1,444 +1,301 @@
 package com.stefanrogic.core.rendering;
 
+import com.stefanrogic.assets.celestial.CelestialBody;
+import com.stefanrogic.core.scene.BodyStore;
 import com.stefanrogic.core.scene.SceneManager;
 
 import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL14.*;
 import static org.lwjgl.opengl.GL15.*;
 import static org.lwjgl.opengl.GL20.*;
 import static org.lwjgl.opengl.GL30.*;
 
 import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import org.lwjgl.BufferUtils;
 import org.joml.Matrix4f;
+import org.joml.Vector3f;
 
 /**
- * Manages orbital path creation and rendering
+ * Draws the orbit of every body that has a parent, as the ellipse its starting state vector gives
+ * (osculating elements about the parent, so eccentricity and inclination are real).
+ *
+ * All orbits live in one static vertex buffer. Each orbit is stored as a pyramid of line loops of
+ * 16, 32, ... 1024 points spaced evenly in eccentric anomaly, and every frame it picks the coarsest
+ * loop whose chords stay within -Dsolarsystem.orbitErrorPx (default 0.5) pixels of the true ellipse.
+ * Orbits around the same parent share one translation, so each parent costs one object slot and one
+ * glMultiDrawArrays, however many orbits it has.
  */
 public class OrbitRenderer {
-    
+
+    private static final int COARSEST_SEGMENTS = 16;
+    private static final int LEVELS = 7; // 16 TO 1024 SEGMENTS
+    private static final int VERTICES_PER_ORBIT = COARSEST_SEGMENTS * ((1 << LEVELS) - 1);
+    private static final float MAX_ERROR_PIXELS = Float.parseFloat(System.getProperty("solarsystem.orbitErrorPx", "0.5"));
+
+    // A PLANET'S OWN ORBIT IS HIDDEN WHEN THE CAMERA IS WITHIN THIS MANY OF ITS RADII, WHERE THE LINE WOULD CUT THROUGH IT
+    private static final float HIDE_RADII = 150.0f;
+
+    // 1 - cos(PI / SEGMENTS) PER LEVEL: CHORD SAGITTA ON A UNIT CIRCLE
+    private static final float[] SAGITTA = new float[LEVELS];
+    static {
+        for (int level = 0; level < LEVELS; level++) {
+            SAGITTA[level] = (float) (1.0 - Math.cos(Math.PI / (COARSEST_SEGMENTS << level)));
+        }
+    }
+
     private SceneManager sceneManager;
     private ShaderManager.ShaderPrograms shaders;
-    
-    // ORBIT VAOs AND VBOs
-    private int mercuryOrbitVAO, mercuryOrbitVBO;
-    private int venusOrbitVAO, venusOrbitVBO;
-    private int earthOrbitVAO, earthOrbitVBO;
-    private int moonOrbitVAO, moonOrbitVBO;
-    private int marsOrbitVAO, marsOrbitVBO;
-    private int phobosOrbitVAO, phobosOrbitVBO;
-    private int deimosOrbitVAO, deimosOrbitVBO;
-    private int jupiterOrbitVAO, jupiterOrbitVBO;
-    
-    // JUPITER MOON ORBITS
-    private int ioOrbitVAO, ioOrbitVBO;
-    private int europaOrbitVAO, europaOrbitVBO;
-    private int ganymedeOrbitVAO, ganymedeOrbitVBO;
-    private int callistoOrbitVAO, callistoOrbitVBO;
-    
-    private static final int ORBIT_SEGMENTS = 128;
-    
-    public OrbitRenderer(SceneManager sceneManager, ShaderManager.ShaderPrograms shaders) {
+    private UniformBlocks uniformBlocks;
+
+    private int orbitVAO;
+    private int orbitVBO;
+
+    // PER ORBIT, SORTED BY PARENT
+    private int orbitCount;
+    private int[] bodyIds;
+    private int[] firstVertex; // START OF THE COARSEST LOOP; LEVEL k STARTS COARSEST_SEGMENTS * (2^k - 1) LATER
+    private boolean[] hideNearBody;
+    private float[] apoapsis; // BOUNDING RADIUS ABOUT THE PARENT
+    private float[] semiMajorAxis;
+    private float[] curvatureRadius; // LARGEST ON THE ELLIPSE, a^2 / b
+    private float[] centre; // ELLIPSE CENTRE RELATIVE TO THE PARENT, 3 PER ORBIT
+    private float[] normal; // ORBIT PLANE NORMAL, 3 PER ORBIT
+
+    // PER PARENT
+    private int groupCount;
+    private int[] groupParents;
+    private int[] groupStarts; // FIRST ORBIT OF EACH GROUP, PLUS ONE PAST THE LAST
+    private int[] groupSlots; // THIS FRAME'S OBJECT SLOT, -1 WHEN NOTHING IN THE GROUP IS DRAWN
+
+    private boolean[] visible; // THIS FRAME'S CULL RESULT PER ORBIT
+    private IntBuffer firsts;
+    private IntBuffer counts;
+    private final Vector3f parentPosition = new Vector3f();
+    private final Vector3f bodyPosition = new Vector3f();
+    private final Matrix4f groupModel = new Matrix4f();
+    private long verticesDrawn;
+
+    public OrbitRenderer(SceneManager sceneManager, ShaderManager.ShaderPrograms shaders, UniformBlocks uniformBlocks) {
         this.sceneManager = sceneManager;
         this.shaders = shaders;
+        this.uniformBlocks = uniformBlocks;
     }
-    
+
     /**
-     * Create all orbital paths
+     * Build every orbit's loops into the shared buffer. Reads the simulation state, so call it before
+     * the simulation thread starts.
      */
     public void createOrbits() {
-        createMercuryOrbit();
-        createVenusOrbit();
-        createEarthOrbit();
-        createMoonOrbit();
-        createMarsOrbit();
-        createPhobosOrbit();
-        createDeimosOrbit();
-        createJupiterOrbit();
-        
-        // CREATE JUPITER MOON ORBITS
-        createIoOrbit();
-        createEuropaOrbit();
-        createGanymedeOrbit();
-        createCallistoOrbit();
-    }
-    
-    private void createMercuryOrbit() {
-        float mercuryDistance = sceneManager.getMercury().getDistanceFromSun();
-        mercuryOrbitVAO = createCircularOrbit(mercuryDistance);
-        mercuryOrbitVBO = getCurrentVBO(); // Get the VBO that was just created
-    }
-    
-    private void createVenusOrbit() {
-        float venusDistance = sceneManager.getVenus().getDistanceFromSun();
-        venusOrbitVAO = createCircularOrbit(venusDistance);
-        venusOrbitVBO = getCurrentVBO();
-    }
-    
-    private void createEarthOrbit() {
-        float earthDistance = sceneManager.getEarth().getDistanceFromSun();
-        earthOrbitVAO = createCircularOrbit(earthDistance);
-        earthOrbitVBO = getCurrentVBO();
-    }
-    
-    private void createMoonOrbit() {
-        float moonDistance = sceneManager.getMoon().getDistanceFromEarth();
-        moonOrbitVAO = createCircularOrbit(moonDistance);
-        moonOrbitVBO = getCurrentVBO();
-    }
-    
-    private void createMarsOrbit() {
-        float marsDistance = sceneManager.getMars().getDistanceFromSun();
-        marsOrbitVAO = createCircularOrbit(marsDistance);
-        marsOrbitVBO = getCurrentVBO();
-    }
-    
-    private void createPhobosOrbit() {
-        float phobosDistance = sceneManager.getPhobos().getDistanceFromMars();
-        phobosOrbitVAO = createCircularOrbit(phobosDistance);
-        phobosOrbitVBO = getCurrentVBO();
-    }
-    
-    private void createDeimosOrbit() {
-        float deimosDistance = sceneManager.getDeimos().getDistanceFromMars();
-        deimosOrbitVAO = createCircularOrbit(deimosDistance);
-        deimosOrbitVBO = getCurrentVBO();
-    }
-    
-    /**
-     * Create a circular orbit with given radius
-     */
-    private int createCircularOrbit(float radius) {
-        java.util.List<Float> orbitVertices = new java.util.ArrayList<>();
-        
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            float x = (float) (radius * Math.cos(angle));
-            float z = (float) (radius * Math.sin(angle));
-            float y = 0.0f; // ORBIT ON XZ PLANE
-            
-            orbitVertices.add(x);
-            orbitVertices.add(y);
-            orbitVertices.add(z);
+        BodyStore store = store();
+        List<CelestialBody> orbiting = new ArrayList<>();
+        for (CelestialBody body : sceneManager.getCelestialBodies()) {
+            if (store.getParent(body.getId()) != BodyStore.NO_PARENT) {
+                orbiting.add(body);
+            }
         }
-        
-        // CONVERT TO ARRAY
-        float[] orbitArray = new float[orbitVertices.size()];
-        for (int i = 0; i < orbitVertices.size(); i++) {
-            orbitArray[i] = orbitVertices.get(i);
+        orbiting.sort(Comparator.comparingInt(body -> store.getParent(body.getId())));
+
+        allocate(orbiting.size());
+        FloatBuffer vertices = BufferUtils.createFloatBuffer(orbiting.size() * VERTICES_PER_ORBIT * 3);
+        double[] orbit = new double[8];
+        int previousParent = BodyStore.NO_PARENT;
+        for (CelestialBody body : orbiting) {
+            int id = body.getId();
+            int parent = store.getParent(id);
+            store.getOsculatingOrbit(id, orbit);
+            if (orbit[1] >= 1.0) {
+                System.out.println("Skipping orbit of " + body.getName() + ": not bound to its parent (e = " + orbit[1] + ")");
+                continue;
+            }
+            if (parent != previousParent) {
+                groupParents[groupCount] = parent;
+                groupStarts[groupCount++] = orbitCount;
+                previousParent = parent;
+            }
+            addOrbit(id, store.getParent(parent) == BodyStore.NO_PARENT, orbit, vertices);
         }
-        
-        int VAO = glGenVertexArrays();
-        int VBO = glGenBuffers();
-        
-        glBindVertexArray(VAO);
-        glBindBuffer(GL_ARRAY_BUFFER, VBO);
-        
-        FloatBuffer orbitBuffer = BufferUtils.createFloatBuffer(orbitArray.length);
-        orbitBuffer.put(orbitArray).flip();
-        glBufferData(GL_ARRAY_BUFFER, orbitBuffer, GL_STATIC_DRAW);
-        
+        groupStarts[groupCount] = orbitCount;
+        vertices.flip();
+
+        orbitVAO = glGenVertexArrays();
+        orbitVBO = glGenBuffers();
+        glBindVertexArray(orbitVAO);
+        glBindBuffer(GL_ARRAY_BUFFER, orbitVBO);
+        glBufferData(GL_ARRAY_BUFFER, vertices, GL_STATIC_DRAW);
         glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
         glEnableVertexAttribArray(0);
-        
         glBindVertexArray(0);
-        
-        // Store the VBO for cleanup later
-        currentVBO = VBO;
-        
-        return VAO;
+
+        System.out.println("Created " + orbitCount + " orbits around " + groupCount + " parents (" + vertices.limit() / 3 + " vertices)");
     }
-    
-    private int currentVBO; // Helper to track the last created VBO
-    private int getCurrentVBO() {
-        return currentVBO;
+
+    private void allocate(int capacity) {
+        bodyIds = new int[capacity];
+        firstVertex = new int[capacity];
+        hideNearBody = new boolean[capacity];
+        apoapsis = new float[capacity];
+        semiMajorAxis = new float[capacity];
+        curvatureRadius = new float[capacity];
+        centre = new float[capacity * 3];
+        normal = new float[capacity * 3];
+        visible = new boolean[capacity];
+        groupParents = new int[capacity];
+        groupStarts = new int[capacity + 1];
+        groupSlots = new int[capacity];
+        firsts = BufferUtils.createIntBuffer(Math.max(1, capacity));
+        counts = BufferUtils.createIntBuffer(Math.max(1, capacity));
     }
-    
+
     /**
-     * Render all orbital paths with distance-based visibility for planets
+     * Record one orbit and append its loops, relative to the parent
+     * @param orbit {a, e, P, Q} as returned by BodyStore.getOsculatingOrbit()
      */
-    public void renderOrbits(Matrix4f mvpMatrix, float cameraX, float cameraY, float cameraZ) {
-        glUseProgram(shaders.gridShaderProgram); // USE SAME SHADER AS GRID FOR THIN LINES
-        
-        // Set line width for better visibility
-        glLineWidth(2.0f);
-        
-        FloatBuffer orbitMatrixBuffer = BufferUtils.createFloatBuffer(16);
-        mvpMatrix.get(orbitMatrixBuffer);
-        glUniformMatrix4fv(shaders.gridMvpLocation, false, orbitMatrixBuffer);
-        
-        // DISTANCE THRESHOLD FOR HIDING PLANET ORBITS (ADJUST AS NEEDED)
-        float orbitHideDistance = 100.0f;
-        
-        // RENDER MERCURY ORBIT (HIDE WHEN CLOSE)
-        if (getDistanceToPoint(cameraX, cameraY, cameraZ, sceneManager.getMercury().getPosition()) > orbitHideDistance) {
-            glBindVertexArray(mercuryOrbitVAO);
-            glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
-        }
-        
-        // RENDER VENUS ORBIT (HIDE WHEN CLOSE)
-        if (getDistanceToPoint(cameraX, cameraY, cameraZ, sceneManager.getVenus().getPosition()) > orbitHideDistance) {
-            glBindVertexArray(venusOrbitVAO);
-            glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
-        }
-        
-        // RENDER EARTH ORBIT (HIDE WHEN CLOSE)
-        if (getDistanceToPoint(cameraX, cameraY, cameraZ, sceneManager.getEarth().getPosition()) > orbitHideDistance) {
-            glBindVertexArray(earthOrbitVAO);
-            glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
-        }
-        
-        // RENDER MOON ORBIT (ALWAYS VISIBLE - NOT AFFECTED BY DISTANCE)
-        renderRelativeOrbit(moonOrbitVAO, sceneManager.getEarth().getPosition(), mvpMatrix);
-        
-        // RESET MATRIX FOR MARS ORBIT (SINCE renderRelativeOrbit MODIFIED THE UNIFORM)
-        mvpMatrix.get(orbitMatrixBuffer);
-        glUniformMatrix4fv(shaders.gridMvpLocation, false, orbitMatrixBuffer);
-        
-        // RENDER MARS ORBIT (HIDE WHEN CLOSE)
-        if (getDistanceToPoint(cameraX, cameraY, cameraZ, sceneManager.getMars().getPosition()) > orbitHideDistance) {
-            glBindVertexArray(marsOrbitVAO);
-            glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
-        }
-        
-        // RENDER PHOBOS ORBIT (ALWAYS VISIBLE - NOT AFFECTED BY DISTANCE)
-        renderRelativeOrbit(phobosOrbitVAO, sceneManager.getMars().getPosition(), mvpMatrix);
-        
-        // RENDER DEIMOS ORBIT (ALWAYS VISIBLE - NOT AFFECTED BY DISTANCE)
-        renderRelativeOrbit(deimosOrbitVAO, sceneManager.getMars().getPosition(), mvpMatrix);
-        
-        // RESET MATRIX FOR JUPITER ORBIT (SINCE renderRelativeOrbit MODIFIED THE UNIFORM)
-        mvpMatrix.get(orbitMatrixBuffer);
-        glUniformMatrix4fv(shaders.gridMvpLocation, false, orbitMatrixBuffer);
-        
-        // RENDER JUPITER ORBIT (HIDE WHEN CLOSE - LARGER HIDE DISTANCE DUE TO JUPITER'S SIZE)
-        float jupiterHideDistance = 1000.0f; // Much larger hide distance for Jupiter
-        if (getDistanceToPoint(cameraX, cameraY, cameraZ, sceneManager.getJupiter().getPosition()) > jupiterHideDistance) {
-            glBindVertexArray(jupiterOrbitVAO);
-            glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
+    private void addOrbit(int bodyId, boolean heliocentric, double[] orbit, FloatBuffer vertices) {
+        double a = orbit[0], e = orbit[1];
+        double b = a * Math.sqrt(1.0 - e * e);
+        double px = orbit[2], py = orbit[3], pz = orbit[4];
+        double qx = orbit[5], qy = orbit[6], qz = orbit[7];
+
+        int index = orbitCount++;
+        bodyIds[index] = bodyId;
+        firstVertex[index] = vertices.position() / 3;
+        hideNearBody[index] = heliocentric;
+        apoapsis[index] = (float) (a * (1.0 + e));
+        semiMajorAxis[index] = (float) a;
+        curvatureRadius[index] = (float) (a * a / b);
+        centre[index * 3] = (float) (-a * e * px);
+        centre[index * 3 + 1] = (float) (-a * e * py);
+        centre[index * 3 + 2] = (float) (-a * e * pz);
+        normal[index * 3] = (float) (py * qz - pz * qy);
+        normal[index * 3 + 1] = (float) (pz * qx - px * qz);
+        normal[index * 3 + 2] = (float) (px * qy - py * qx);
+
+        for (int level = 0; level < LEVELS; level++) {
+            int segments = COARSEST_SEGMENTS << level;
+            for (int i = 0; i < segments; i++) {
+                double anomaly = 2.0 * Math.PI * i / segments; // ECCENTRIC ANOMALY
+                double along = a * (Math.cos(anomaly) - e);
+                double across = b * Math.sin(anomaly);
+                vertices.put((float) (along * px + across * qx))
+                    .put((float) (along * py + across * qy))
+                    .put((float) (along * pz + across * qz));
+            }
         }
-        
-        // RENDER JUPITER MOON ORBITS (ALWAYS VISIBLE - NOT AFFECTED BY DISTANCE)
-        renderRelativeOrbit(ioOrbitVAO, sceneManager.getJupiter().getPosition(), mvpMatrix);
-        renderRelativeOrbit(europaOrbitVAO, sceneManager.getJupiter().getPosition(), mvpMatrix);
-        renderRelativeOrbit(ganymedeOrbitVAO, sceneManager.getJupiter().getPosition(), mvpMatrix);
-        renderRelativeOrbit(callistoOrbitVAO, sceneManager.getJupiter().getPosition(), mvpMatrix);
     }
-    
-    /**
-     * Render an orbit relative to a parent object's position
-     */
-    private void renderRelativeOrbit(int orbitVAO, org.joml.Vector3f parentPosition, Matrix4f mvpMatrix) {
-        Matrix4f orbitModel = new Matrix4f();
-        orbitModel.translate(parentPosition); // TRANSLATE ORBIT TO PARENT'S POSITION
-        Matrix4f orbitMVP = new Matrix4f(mvpMatrix);
-        orbitMVP.mul(orbitModel); // CORRECT ORDER: MVP * Model
-        
-        FloatBuffer orbitMatrixBuffer = BufferUtils.createFloatBuffer(16);
-        orbitMVP.get(orbitMatrixBuffer);
-        glUniformMatrix4fv(shaders.gridMvpLocation, false, orbitMatrixBuffer);
-        
-        glBindVertexArray(orbitVAO);
-        glDrawArrays(GL_LINE_LOOP, 0, ORBIT_SEGMENTS + 1);
-    }
-    
+
     /**
-     * Create Jupiter's orbit around the Sun
+     * Render every orbit that is in view, bigger than a pixel and not hidden by the camera being at its
+     * body; one multi-draw per parent
      */
-    private void createJupiterOrbit() {
-        // Jupiter's distance from Sun: 778.5 million km (77850 units in our scale)
-        float jupiterDistance = sceneManager.getJupiter().getDistanceFromSun();
-        
-        float[] jupiterOrbitVertices = new float[(ORBIT_SEGMENTS + 1) * 3];
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            jupiterOrbitVertices[i * 3] = jupiterDistance * (float) Math.cos(angle);
-            jupiterOrbitVertices[i * 3 + 1] = 0.0f;
-            jupiterOrbitVertices[i * 3 + 2] = jupiterDistance * (float) Math.sin(angle);
+    public void renderOrbits(float cameraX, float cameraY, float cameraZ, FrustumCuller culler) {
+        BodyStore store = store();
+        FrustumCuller.Counters counters = culler.getOrbitCounters();
+
+        // CULL FIRST AND PUSH EVERY GROUP'S TRANSLATION, SO THEY UPLOAD TOGETHER
+        for (int group = 0; group < groupCount; group++) {
+            store.getPosition(groupParents[group], parentPosition);
+            groupSlots[group] = -1;
+            for (int orbit = groupStarts[group]; orbit < groupStarts[group + 1]; orbit++) {
+                visible[orbit] = isOrbitVisible(orbit, culler, counters, cameraX, cameraY, cameraZ);
+                if (visible[orbit] && groupSlots[group] < 0) {
+                    groupSlots[group] = uniformBlocks.push(groupModel.translation(parentPosition));
+                }
+            }
         }
-        
-        jupiterOrbitVAO = glGenVertexArrays();
-        jupiterOrbitVBO = glGenBuffers();
-        
-        glBindVertexArray(jupiterOrbitVAO);
-        glBindBuffer(GL_ARRAY_BUFFER, jupiterOrbitVBO);
-        
-        FloatBuffer jupiterOrbitBuffer = BufferUtils.createFloatBuffer(jupiterOrbitVertices.length);
-        jupiterOrbitBuffer.put(jupiterOrbitVertices).flip();
-        glBufferData(GL_ARRAY_BUFFER, jupiterOrbitBuffer, GL_STATIC_DRAW);
-        
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        glBindVertexArray(0);
-    }
-    
-    /**
-     * Create Io's orbit around Jupiter
-     */
-    private void createIoOrbit() {
-        // Io's distance from Jupiter: 421,600 km (42.16 units in our scale)
-        // Scale up by 10x for better visibility when viewing Jupiter
-        float ioDistance = 42.16f * 10.0f;
-        
-        float[] ioOrbitVertices = new float[(ORBIT_SEGMENTS + 1) * 3];
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            ioOrbitVertices[i * 3] = ioDistance * (float) Math.cos(angle);
-            ioOrbitVertices[i * 3 + 1] = 0.0f;
-            ioOrbitVertices[i * 3 + 2] = ioDistance * (float) Math.sin(angle);
+
+        GLState.useProgram(shaders.gridShaderProgram); // USE SAME SHADER AS GRID FOR THIN LINES
+        GLState.disable(GL_BLEND);
+        GLState.lineWidth(2.0f);
+        GLState.bindVertexArray(orbitVAO);
+
+        verticesDrawn = 0;
+        for (int group = 0; group < groupCount; group++) {
+            if (groupSlots[group] < 0) {
+                continue;
+            }
+            store.getPosition(groupParents[group], parentPosition);
+            firsts.clear();
+            counts.clear();
+            for (int orbit = groupStarts[group]; orbit < groupStarts[group + 1]; orbit++) {
+                if (visible[orbit]) {
+                    int level = selectLevel(orbit, culler, cameraX, cameraY, cameraZ);
+                    firsts.put(firstVertex[orbit] + COARSEST_SEGMENTS * ((1 << level) - 1));
+                    counts.put(COARSEST_SEGMENTS << level);
+                    verticesDrawn += COARSEST_SEGMENTS << level;
+                }
+            }
+            firsts.flip();
+            counts.flip();
+            uniformBlocks.bindObject(groupSlots[group]);
+            glMultiDrawArrays(GL_LINE_LOOP, firsts, counts);
         }
-        
-        ioOrbitVAO = glGenVertexArrays();
-        ioOrbitVBO = glGenBuffers();
-        
-        glBindVertexArray(ioOrbitVAO);
-        glBindBuffer(GL_ARRAY_BUFFER, ioOrbitVBO);
-        
-        FloatBuffer ioOrbitBuffer = BufferUtils.createFloatBuffer(ioOrbitVertices.length);
-        ioOrbitBuffer.put(ioOrbitVertices).flip();
-        glBufferData(GL_ARRAY_BUFFER, ioOrbitBuffer, GL_STATIC_DRAW);
-        
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        glBindVertexArray(0);
     }
-    
+
     /**
-     * Create Europa's orbit around Jupiter
+     * Frustum and pixel test on the orbit's bounding sphere, plus the hide-near-body rule; expects
+     * parentPosition to hold the parent's position
      */
-    private void createEuropaOrbit() {
-        // Europa's distance from Jupiter: 670,900 km (67.09 units in our scale)
-        // Scale up by 10x for better visibility when viewing Jupiter
-        float europaDistance = 67.09f * 10.0f;
-        
-        float[] europaOrbitVertices = new float[(ORBIT_SEGMENTS + 1) * 3];
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            europaOrbitVertices[i * 3] = europaDistance * (float) Math.cos(angle);
-            europaOrbitVertices[i * 3 + 1] = 0.0f;
-            europaOrbitVertices[i * 3 + 2] = europaDistance * (float) Math.sin(angle);
+    private boolean isOrbitVisible(int orbit, FrustumCuller culler, FrustumCuller.Counters counters,
+                                   float cameraX, float cameraY, float cameraZ) {
+        if (hideNearBody[orbit]) {
+            store().getPosition(bodyIds[orbit], bodyPosition);
+            float dx = cameraX - bodyPosition.x, dy = cameraY - bodyPosition.y, dz = cameraZ - bodyPosition.z;
+            float hideDistance = HIDE_RADII * (float) store().getRadius(bodyIds[orbit]);
+            if (dx * dx + dy * dy + dz * dz < hideDistance * hideDistance) {
+                return false;
+            }
         }
-        
-        europaOrbitVAO = glGenVertexArrays();
-        europaOrbitVBO = glGenBuffers();
-        
-        glBindVertexArray(europaOrbitVAO);
-        glBindBuffer(GL_ARRAY_BUFFER, europaOrbitVBO);
-        
-        FloatBuffer europaOrbitBuffer = BufferUtils.createFloatBuffer(europaOrbitVertices.length);
-        europaOrbitBuffer.put(europaOrbitVertices).flip();
-        glBufferData(GL_ARRAY_BUFFER, europaOrbitBuffer, GL_STATIC_DRAW);
-        
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        glBindVertexArray(0);
+        return culler.classify(parentPosition, apoapsis[orbit], counters) == FrustumCuller.VISIBLE;
     }
-    
+
     /**
-     * Create Ganymede's orbit around Jupiter
+     * Coarsest level whose worst chord, seen from the nearest point of the orbit, is within the pixel
+     * limit. The distance is taken to the circle of radius a about the ellipse centre, less a e to cover
+     * how far the ellipse strays from that circle. Expects parentPosition to hold the parent's position.
      */
-    private void createGanymedeOrbit() {
-        // Ganymede's distance from Jupiter: 1,070,400 km (107.04 units in our scale)
-        // Scale up by 10x for better visibility when viewing Jupiter
-        float ganymedeDistance = 107.04f * 10.0f;
-        
-        float[] ganymedeOrbitVertices = new float[(ORBIT_SEGMENTS + 1) * 3];
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            ganymedeOrbitVertices[i * 3] = ganymedeDistance * (float) Math.cos(angle);
-            ganymedeOrbitVertices[i * 3 + 1] = 0.0f;
-            ganymedeOrbitVertices[i * 3 + 2] = ganymedeDistance * (float) Math.sin(angle);
+    private int selectLevel(int orbit, FrustumCuller culler, float cameraX, float cameraY, float cameraZ) {
+        int o = orbit * 3;
+        float dx = cameraX - parentPosition.x - centre[o];
+        float dy = cameraY - parentPosition.y - centre[o + 1];
+        float dz = cameraZ - parentPosition.z - centre[o + 2];
+        float height = dx * normal[o] + dy * normal[o + 1] + dz * normal[o + 2];
+        float inPlaneX = dx - height * normal[o], inPlaneY = dy - height * normal[o + 1], inPlaneZ = dz - height * normal[o + 2];
+        float inPlane = (float) Math.sqrt(inPlaneX * inPlaneX + inPlaneY * inPlaneY + inPlaneZ * inPlaneZ);
+        float a = semiMajorAxis[orbit];
+        float slack = apoapsis[orbit] - a; // a e
+        float ringDistance = (float) Math.sqrt(height * height + (inPlane - a) * (inPlane - a)) - slack;
+        if (ringDistance <= 0.0f) {
+            return LEVELS - 1;
         }
-        
-        ganymedeOrbitVAO = glGenVertexArrays();
-        ganymedeOrbitVBO = glGenBuffers();
-        
-        glBindVertexArray(ganymedeOrbitVAO);
-        glBindBuffer(GL_ARRAY_BUFFER, ganymedeOrbitVBO);
-        
-        FloatBuffer ganymedeOrbitBuffer = BufferUtils.createFloatBuffer(ganymedeOrbitVertices.length);
-        ganymedeOrbitBuffer.put(ganymedeOrbitVertices).flip();
-        glBufferData(GL_ARRAY_BUFFER, ganymedeOrbitBuffer, GL_STATIC_DRAW);
-        
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        glBindVertexArray(0);
+        float pixelsPerRadius = curvatureRadius[orbit] * culler.getPixelsPerUnit() / ringDistance;
+        for (int level = 0; level < LEVELS; level++) {
+            if (SAGITTA[level] * pixelsPerRadius <= MAX_ERROR_PIXELS) {
+                return level;
+            }
+        }
+        return LEVELS - 1;
     }
-    
+
+    private BodyStore store() {
+        return sceneManager.getBodyStore();
+    }
+
     /**
-     * Create Callisto's orbit around Jupiter
+     * Orbit vertices submitted by the last renderOrbits() call
      */
-    private void createCallistoOrbit() {
-        // Callisto's distance from Jupiter: 1,882,000 km (188.2 units in our scale)
-        // Scale up by 10x for better visibility when viewing Jupiter
-        float callistoDistance = 188.2f * 10.0f;
-        
-        float[] callistoOrbitVertices = new float[(ORBIT_SEGMENTS + 1) * 3];
-        for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-            float angle = (float) (2.0 * Math.PI * i / ORBIT_SEGMENTS);
-            callistoOrbitVertices[i * 3] = callistoDistance * (float) Math.cos(angle);
-            callistoOrbitVertices[i * 3 + 1] = 0.0f;
-            callistoOrbitVertices[i * 3 + 2] = callistoDistance * (float) Math.sin(angle);
-        }
-        
-        callistoOrbitVAO = glGenVertexArrays();
-        callistoOrbitVBO = glGenBuffers();
-        
-        glBindVertexArray(callistoOrbitVAO);
-        glBindBuffer(GL_ARRAY_BUFFER, callistoOrbitVBO);
-        
-        FloatBuffer callistoOrbitBuffer = BufferUtils.createFloatBuffer(callistoOrbitVertices.length);
-        callistoOrbitBuffer.put(callistoOrbitVertices).flip();
-        glBufferData(GL_ARRAY_BUFFER, callistoOrbitBuffer, GL_STATIC_DRAW);
-        
-        glVertexAttribPointer(0, 3, GL_FLOAT, false, 3 * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
-        
-        glBindVertexArray(0);
-    }
-    
+    public long getVerticesDrawn() { return verticesDrawn; }
+
     /**
      * Clean up all orbital rendering resources
      */
     public void cleanup() {
-        glDeleteVertexArrays(mercuryOrbitVAO);
-        glDeleteBuffers(mercuryOrbitVBO);
-        glDeleteVertexArrays(venusOrbitVAO);
-        glDeleteBuffers(venusOrbitVBO);
-        glDeleteVertexArrays(earthOrbitVAO);
-        glDeleteBuffers(earthOrbitVBO);
-        glDeleteVertexArrays(moonOrbitVAO);
-        glDeleteBuffers(moonOrbitVBO);
-        glDeleteVertexArrays(marsOrbitVAO);
-        glDeleteBuffers(marsOrbitVBO);
-        glDeleteVertexArrays(phobosOrbitVAO);
-        glDeleteBuffers(phobosOrbitVBO);
-        glDeleteVertexArrays(deimosOrbitVAO);
-        glDeleteBuffers(deimosOrbitVBO);
-        
-        // Clean up Jupiter and its moon orbits
-        glDeleteVertexArrays(jupiterOrbitVAO);
-        glDeleteBuffers(jupiterOrbitVBO);
-        glDeleteVertexArrays(ioOrbitVAO);
-        glDeleteBuffers(ioOrbitVBO);
-        glDeleteVertexArrays(europaOrbitVAO);
-        glDeleteBuffers(europaOrbitVBO);
-        glDeleteVertexArrays(ganymedeOrbitVAO);
-        glDeleteBuffers(ganymedeOrbitVBO);
-        glDeleteVertexArrays(callistoOrbitVAO);
-        glDeleteBuffers(callistoOrbitVBO);
-    }
-    
-    /**
-     * Calculate distance from camera to a point
-     */
-    private float getDistanceToPoint(float cameraX, float cameraY, float cameraZ, org.joml.Vector3f point) {
-        float deltaX = cameraX - point.x;
-        float deltaY = cameraY - point.y;
-        float deltaZ = cameraZ - point.z;
-        return (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ);
+        if (orbitVAO != 0) {
+            glDeleteVertexArrays(orbitVAO);
+            glDeleteBuffers(orbitVBO);
+        }
     }
 }
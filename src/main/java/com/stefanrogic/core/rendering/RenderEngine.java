@@ -1,23 +1,15 @@
 package com.stefanrogic.core.rendering;
 
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL30.*;
 
-import java.nio.FloatBuffer;
-import org.lwjgl.BufferUtils;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
-import com.stefanrogic.assets.celestial.Mercury;
-import com.stefanrogic.assets.celestial.Venus;
+import com.stefanrogic.assets.celestial.CelestialBody;
 import com.stefanrogic.assets.celestial.Sun;
 import com.stefanrogic.assets.celestial.jupiter.Jupiter;
 import com.stefanrogic.assets.celestial.earth.Earth;
 import com.stefanrogic.assets.celestial.earth.Moon;
-import com.stefanrogic.assets.celestial.mars.Mars;
-import com.stefanrogic.assets.celestial.mars.Phobos;
-import com.stefanrogic.assets.celestial.mars.Deimos;
 import com.stefanrogic.core.scene.SceneManager;
 import com.stefanrogic.core.input.Camera;
 
@@ -26,18 +18,61 @@ import com.stefanrogic.core.input.Camera;
  */
 public class RenderEngine {
     
+    private static final float FIELD_OF_VIEW_DEGREES = 55.0f;
+    
     private SceneManager sceneManager;
     private ShaderManager.ShaderPrograms shaders;
     private Camera camera;
     private GridRenderer gridRenderer;
     private StarRenderer starRenderer;
+    private AsteroidRenderer asteroidRenderer; // NULL WHEN THE SCENE HAS NO ASTEROID BELT
+    private SphereInstancer sphereInstancer;
+    private final FrustumCuller culler = new FrustumCuller();
+    private ImpostorRenderer impostorRenderer; // SUB-PIXEL BODIES AS POINT SPRITES
+    private final TrailRenderer trailRenderer;
+    private final UniformBlocks uniformBlocks;
+    private final long startNanos = System.nanoTime(); // ZERO OF THE SHADERS' time
+    
+    // FRAME ARENA: EVERY MATRIX A FRAME NEEDS IS ALLOCATED ONCE AND OVERWRITTEN EACH FRAME
+    private final Matrix4f projection = new Matrix4f();
+    private final Matrix4f view = new Matrix4f();
+    private final Matrix4f viewProjection = new Matrix4f();
+    private final Matrix4f[] modelMatrices; // ONE PER NAMED BODY, INDEXED BY BODY ID
+    private final Vector3f lookTarget = new Vector3f();
     
     public RenderEngine(SceneManager sceneManager, ShaderManager.ShaderPrograms shaders, Camera camera) {
         this.sceneManager = sceneManager;
         this.shaders = shaders;
         this.camera = camera;
-        this.gridRenderer = new GridRenderer(shaders);
+        this.modelMatrices = new Matrix4f[sceneManager.getCelestialBodies().size()];
+        for (int i = 0; i < modelMatrices.length; i++) {
+            modelMatrices[i] = new Matrix4f();
+        }
+        // AT MOST ONE OBJECT SLOT PER BODY AND ONE PER ORBIT LOOP, PLUS THE SHARED IDENTITY SLOT
+        this.uniformBlocks = new UniformBlocks(2 * modelMatrices.length + 1);
+        this.gridRenderer = new GridRenderer(shaders, uniformBlocks);
         this.starRenderer = new StarRenderer(shaders);
+        this.sphereInstancer = new SphereInstancer(shaders, sceneManager.getCelestialBodies().size());
+        this.impostorRenderer = new ImpostorRenderer(shaders, modelMatrices.length);
+        this.trailRenderer = new TrailRenderer(sceneManager, shaders);
+        if (sceneManager.getAsteroidBelt() != null) {
+            this.asteroidRenderer = new AsteroidRenderer(shaders, sceneManager.getBodyStore(), sceneManager.getAsteroidBelt());
+        }
+    }
+    
+    /**
+     * Allocate the frame and object uniform buffers every scene shader reads
+     */
+    public void createUniformBlocks() {
+        uniformBlocks.create();
+    }
+    
+    /**
+     * Build the shared sphere meshes the instanced planet pass draws from, and the impostor point buffer
+     */
+    public void createSphereInstancer() {
+        sphereInstancer.create();
+        impostorRenderer.create();
     }
     
     /**
@@ -54,290 +89,185 @@ public class RenderEngine {
         starRenderer.createStars();
     }
     
+    /**
+     * Initialize the asteroid belt points through AsteroidRenderer
+     */
+    public void createAsteroids() {
+        if (asteroidRenderer != null) {
+            asteroidRenderer.createAsteroids();
+        }
+    }
+    
+    /**
+     * Allocate the trail ring and its buffer textures
+     */
+    public void createTrails() {
+        trailRenderer.create();
+    }
+    
     /**
      * Render the grid if visible
      */
-    public void renderGrid(Matrix4f mvpMatrix, boolean gridVisible) {
-        gridRenderer.renderGrid(mvpMatrix, gridVisible);
+    public void renderGrid(boolean gridVisible) {
+        gridRenderer.renderGrid(gridVisible);
     }
     
     /**
      * Render the star field in the background
      */
-    public void renderStars(Matrix4f mvpMatrix) {
+    public void renderStars() {
         // Render stars first so they appear behind everything
-        starRenderer.renderStars(mvpMatrix);
+        starRenderer.renderStars();
     }
     
     /**
-     * Render all celestial objects
+     * Record this frame's trail sample and draw the fading trails
      */
-    public void renderCelestialObjects(Matrix4f projection, Matrix4f view, int windowWidth, int windowHeight) {
-        // RENDER SUN
-        renderSun(projection, view);
-        
-        // RENDER PLANETS
-        renderMercury(projection, view);
-        renderVenus(projection, view);
-        renderEarth(projection, view);
-        renderMoon(projection, view);
-        renderMars(projection, view);
-        renderPhobos(projection, view);
-        renderDeimos(projection, view);
-        renderJupiter(projection, view);
-        
-        // RENDER JUPITER'S MOONS
-        renderIo(projection, view);
-        renderEuropa(projection, view);
-        renderGanymede(projection, view);
-        renderCallisto(projection, view);
+    public void renderTrails() {
+        trailRenderer.update();
+        trailRenderer.render();
     }
     
-    private void renderSun(Matrix4f projection, Matrix4f view) {
-        Sun sun = sceneManager.getSun();
-        
-        if (sun.isUsingOBJModel()) {
-            renderSunWithOBJModel(sun, projection, view);
-        } else {
-            renderSunWithProcedural(sun, projection, view);
+    /**
+     * Render the asteroid belt, if the scene has one
+     */
+    public void renderAsteroids() {
+        if (asteroidRenderer != null) {
+            asteroidRenderer.renderAsteroids(culler);
         }
     }
     
     /**
-     * Render Sun with OBJ model
+     * Render all celestial objects. Bodies outside the view frustum are skipped; bodies under a pixel
+     * across are drawn as impostor points after everything else.
      */
-    private void renderSunWithOBJModel(Sun sun, Matrix4f projection, Matrix4f view) {
-        // Use sun shader program
-        glUseProgram(shaders.sunShaderProgram);
-        
-        // Set MVP matrix
-        Matrix4f mvp = new Matrix4f();
-        Matrix4f sunModel = new Matrix4f();
-        sunModel.rotateY(sun.getRotationAngle()); // ROTATE AROUND Y-AXIS
-        
-        // Scale the Sun model to match its actual radius
-        // Sun OBJ model has radius of about 20,000 units, but we want 69.6 units
-        float scale = sun.getRadius() / 20000.0f; // Scale from OBJ model size to intended size
-        sunModel.scale(scale);
+    public void renderCelestialObjects() {
+        impostorRenderer.begin();
+        GLState.disable(GL_BLEND); // SOLID BODIES; THE POINT PASSES BEFORE THIS LEAVE BLENDING ON
         
-        mvp.mul(projection).mul(view).mul(sunModel);
-        
-        // Set uniforms
-        int mvpLoc = glGetUniformLocation(shaders.sunShaderProgram, "mvpMatrix");
-        glUniformMatrix4fv(mvpLoc, false, mvp.get(new float[16]));
-        
-        int sunColorLoc = glGetUniformLocation(shaders.sunShaderProgram, "sunColor");
-        glUniform3f(sunColorLoc, sun.getColor().x, sun.getColor().y, sun.getColor().z);
+        // PUSH EVERY INDIVIDUALLY DRAWN BODY FIRST, SO THEIR OBJECT DATA GOES UP IN A SINGLE UPLOAD
+        Sun sun = sceneManager.getSun();
+        Earth earth = sceneManager.getEarth();
+        Moon moon = sceneManager.getMoon();
+        Jupiter jupiter = sceneManager.getJupiter();
+        int sunSlot = isDrawable(sun) ? pushSun(sun) : -1;
+        int earthSlot = isDrawable(earth) ? pushEarth(earth) : -1;
+        int moonSlot = isDrawable(moon) ? pushMoon(moon) : -1;
+        int jupiterSlot = jupiter.isUsingOBJModel() && isDrawable(jupiter) ? pushJupiter(jupiter) : -1;
         
-        // Bind the Sun's texture
-        if (sun.getSunModel() != null && sun.getSunModel().getTextureId() != 0) {
-            glActiveTexture(GL_TEXTURE0);
-            glBindTexture(GL_TEXTURE_2D, sun.getSunModel().getTextureId());
-            int texLoc = glGetUniformLocation(shaders.sunShaderProgram, "diffuseTexture");
-            glUniform1i(texLoc, 0);
+        // RENDER SUN
+        if (sunSlot >= 0) {
+            renderSun(sun, sunSlot);
         }
         
-        // Render the OBJ model
-        if (sun.getSunModel() != null) {
-            sun.getSunModel().render();
+        // RENDER TEXTURED AND SURFACE-COLOURED BODIES
+        if (earthSlot >= 0) {
+            renderEarth(earth, earthSlot);
+        }
+        if (moonSlot >= 0) {
+            renderSurface(moon.getVAO(), moon.getSphere().getIndices().length, moonSlot);
+        }
+        if (jupiterSlot >= 0) {
+            renderJupiterWithOBJModel(jupiter, jupiterSlot);
         }
-    }
-    
-    /**
-     * Render Sun with procedural sphere (fallback)
-     */
-    private void renderSunWithProcedural(Sun sun, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.sunShaderProgram);
-        
-        // CREATE SUN TRANSFORMATION MATRIX WITH ROTATION
-        Matrix4f sunModel = new Matrix4f();
-        sunModel.rotateY(sun.getRotationAngle()); // ROTATE AROUND Y-AXIS
-        
-        Matrix4f sunMVP = new Matrix4f();
-        projection.mul(view, sunMVP);
-        sunMVP.mul(sunModel);
         
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        sunMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.sunMvpLocation, false, matrixBuffer);
-        glUniform3f(shaders.sunColorLocation, sun.getColor().x, sun.getColor().y, sun.getColor().z);
+        // EVERY PLAIN LIT SPHERE (INCLUDING JUPITER UNTIL ITS MODEL ARRIVES) GOES OUT IN ONE INSTANCED BATCH
+        sphereInstancer.begin(camera.getX(), camera.getY(), camera.getZ(), culler.getPixelsPerUnit());
+        addIfDrawable(sceneManager.getMercury());
+        addIfDrawable(sceneManager.getVenus());
+        addIfDrawable(sceneManager.getMars());
+        addIfDrawable(sceneManager.getPhobos());
+        addIfDrawable(sceneManager.getDeimos());
+        if (!jupiter.isUsingOBJModel()) {
+            addIfDrawable(jupiter);
+        }
+        addIfDrawable(sceneManager.getIo());
+        addIfDrawable(sceneManager.getEuropa());
+        addIfDrawable(sceneManager.getGanymede());
+        addIfDrawable(sceneManager.getCallisto());
+        sphereInstancer.draw();
         
-        glBindVertexArray(sun.getVAO());
-        glDrawElements(GL_TRIANGLES, sun.getSphere().getIndices().length, GL_UNSIGNED_INT, 0);
+        impostorRenderer.draw();
     }
     
-    private void renderMercury(Matrix4f projection, Matrix4f view) {
-        renderPlanet(sceneManager.getMercury(), projection, view);
-    }
-    
-    private void renderVenus(Matrix4f projection, Matrix4f view) {
-        renderPlanet(sceneManager.getVenus(), projection, view);
-    }
-    
-    private void renderEarth(Matrix4f projection, Matrix4f view) {
-        Earth earth = sceneManager.getEarth();
-        
-        if (earth.isUsingOBJModel()) {
-            renderEarthWithOBJModel(earth, projection, view);
-        } else {
-            renderEarthWithSurface(earth, projection, view);
+    private void addIfDrawable(CelestialBody body) {
+        if (body != null && isDrawable(body)) {
+            sphereInstancer.add(body);
         }
     }
     
-    private void renderMoon(Matrix4f projection, Matrix4f view) {
-        renderMoonWithCraters(sceneManager.getMoon(), projection, view);
-    }
-    
-    private void renderMars(Matrix4f projection, Matrix4f view) {
-        renderPlanet(sceneManager.getMars(), projection, view);
-    }
-    
-    private void renderPhobos(Matrix4f projection, Matrix4f view) {
-        renderPlanet(sceneManager.getPhobos(), projection, view);
-    }
-    
-    private void renderDeimos(Matrix4f projection, Matrix4f view) {
-        renderPlanet(sceneManager.getDeimos(), projection, view);
+    /**
+     * True when the body needs real geometry this frame; a sub-pixel body is queued as an impostor instead
+     */
+    private boolean isDrawable(CelestialBody body) {
+        switch (culler.classify(body.getPosition(), body.getRadius(), culler.getBodyCounters())) {
+            case FrustumCuller.VISIBLE:
+                return true;
+            case FrustumCuller.SUB_PIXEL:
+                impostorRenderer.add(body);
+                return false;
+            default:
+                return false;
+        }
     }
     
-    private void renderJupiter(Matrix4f projection, Matrix4f view) {
-        Jupiter jupiter = sceneManager.getJupiter();
+    private int pushSun(Sun sun) {
+        Matrix4f sunModel = modelMatrix(sun);
+        sunModel.translate(sun.getPosition()); // SUN ORBITS THE BARYCENTRE
+        sunModel.rotateY(sun.getRotationAngle()); // ROTATE AROUND Y-AXIS
         
-        if (jupiter.isUsingOBJModel()) {
-            renderJupiterWithOBJModel(jupiter, projection, view);
-        } else {
-            renderPlanet(jupiter, projection, view);
+        int textures = 0;
+        if (sun.isUsingOBJModel()) {
+            // Scale the Sun model to match its actual radius
+            // Sun OBJ model has radius of about 20,000 units, but we want 69.6 units
+            float scale = sun.getRadius() / 20000.0f; // Scale from OBJ model size to intended size
+            sunModel.scale(scale);
+            if (sun.getSunModel() != null && sun.getSunModel().getTextureId() != 0) {
+                textures = UniformBlocks.DIFFUSE;
+            }
         }
+        return uniformBlocks.push(sunModel, sun.getColor(), textures);
     }
     
-    /**
-     * Generic planet rendering with lighting
-     */
-    private void renderPlanet(Object planet, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.planetShaderProgram); // USE PLANET LIGHTING SHADER
-        
-        Vector3f position = getPlanetPosition(planet);
-        Vector3f color = getPlanetColor(planet);
-        float rotationAngle = getPlanetRotationAngle(planet);
-        float axialTilt = getPlanetAxialTilt(planet);
-        int vao = getPlanetVAO(planet);
-        int indexCount = getPlanetIndexCount(planet);
-        
+    private int pushEarth(Earth earth) {
         // CREATE TRANSFORMATION MATRIX
-        Matrix4f planetModel = new Matrix4f();
-        planetModel.translate(position);
+        Matrix4f earthModel = modelMatrix(earth);
+        earthModel.translate(earth.getPosition());
+        earthModel.rotateY(earth.getRotationAngle());
         
-        // Apply axial tilt (rotation around X-axis) if planet has one
-        if (axialTilt != 0.0f) {
-            planetModel.rotateX((float) Math.toRadians(axialTilt));
+        int textures = 0;
+        if (earth.isUsingOBJModel()) {
+            // Scale the model to match Earth's radius (OBJ model is about 5x too large)
+            float scale = earth.getRadius() / 3.2f; // Approximate radius of OBJ model is 3.2
+            earthModel.scale(scale);
+            
+            // TELL THE SHADER WHICH TEXTURE LAYERS ARE BOUND
+            if (earth.getModel().getTextureId() != 0) textures |= UniformBlocks.DIFFUSE;
+            if (earth.getCloudsTextureId() != 0) textures |= UniformBlocks.CLOUDS;
+            if (earth.getBumpTextureId() != 0) textures |= UniformBlocks.BUMP;
+            if (earth.getNightLightsTextureId() != 0) textures |= UniformBlocks.NIGHT_LIGHTS;
         }
-        
-        // Apply planet's rotation around Y-axis
-        planetModel.rotateY(rotationAngle);
-        
-        Matrix4f planetMVP = new Matrix4f();
-        projection.mul(view, planetMVP);
-        planetMVP.mul(planetModel);
-        
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        planetMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.planetMvpLocation, false, matrixBuffer);
-        
-        // PASS MODEL MATRIX FOR WORLD-SPACE LIGHTING CALCULATIONS
-        FloatBuffer modelBuffer = BufferUtils.createFloatBuffer(16);
-        planetModel.get(modelBuffer);
-        glUniformMatrix4fv(shaders.planetModelLocation, false, modelBuffer);
-        
-        glUniform3f(shaders.planetColorLocation, color.x, color.y, color.z);
-        glUniform3f(shaders.planetSunPosLocation, 0.0f, 0.0f, 0.0f); // SUN IS AT ORIGIN
-        
-        // SET TEXTURE UNIFORMS - DISABLE ALL TEXTURES FOR PROCEDURAL PLANETS
-        glUniform1i(shaders.planetUseTextureLocation, 0); // Don't use textures
-        glUniform1i(shaders.planetUseCloudsLocation, 0); // Don't use clouds
-        glUniform1i(shaders.planetUseBumpLocation, 0); // Don't use bump maps
-        glUniform1i(shaders.planetUseNightLightsLocation, 0); // Don't use night lights
-
-        glBindVertexArray(vao);
-        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
+        return uniformBlocks.push(earthModel, earth.getColor(), textures);
     }
     
-    /**
-     * Render Earth using OBJ model
-     */
-    private void renderEarthWithOBJModel(Earth earth, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.planetShaderProgram); // USE PLANET SHADER FOR OBJ MODELS
-        
-        Vector3f position = earth.getPosition();
-        float rotationAngle = earth.getRotationAngle();
-        
+    private int pushMoon(Moon moon) {
         // CREATE TRANSFORMATION MATRIX
-        Matrix4f earthModel = new Matrix4f();
-        earthModel.translate(position);
-        earthModel.rotateY(rotationAngle);
-        
-        // Scale the model to match Earth's radius (OBJ model is about 5x too large)
-        float scale = earth.getRadius() / 3.2f; // Approximate radius of OBJ model is 3.2
-        earthModel.scale(scale);
-        
-        Matrix4f earthMVP = new Matrix4f();
-        projection.mul(view, earthMVP);
-        earthMVP.mul(earthModel);
-        
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        earthMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.planetMvpLocation, false, matrixBuffer);
-        
-        // PASS MODEL MATRIX FOR WORLD-SPACE LIGHTING CALCULATIONS
-        FloatBuffer modelBuffer = BufferUtils.createFloatBuffer(16);
-        earthModel.get(modelBuffer);
-        glUniformMatrix4fv(shaders.planetModelLocation, false, modelBuffer);
-        
-        // SET EARTH COLOR
-        Vector3f earthColor = earth.getColor();
-        glUniform3f(shaders.planetColorLocation, earthColor.x, earthColor.y, earthColor.z);
-        
-        // SET SUN POSITION FOR LIGHTING
-        glUniform3f(shaders.planetSunPosLocation, 0.0f, 0.0f, 0.0f);
-        
-        // SET TEXTURE UNIFORMS
-        glUniform1i(shaders.planetDiffuseTextureLocation, 0); // Texture unit 0
-        glUniform1i(shaders.planetUseTextureLocation, earth.getModel().getTextureId() != 0 ? 1 : 0);
-        
-        // SET CLOUDS TEXTURE UNIFORMS
-        glUniform1i(shaders.planetCloudsTextureLocation, 1); // Texture unit 1
-        glUniform1i(shaders.planetUseCloudsLocation, earth.getCloudsTextureId() != 0 ? 1 : 0);
-        
-        // SET BUMP TEXTURE UNIFORMS
-        glUniform1i(shaders.planetBumpTextureLocation, 2); // Texture unit 2
-        glUniform1i(shaders.planetUseBumpLocation, earth.getBumpTextureId() != 0 ? 1 : 0);
-        
-        // SET NIGHT LIGHTS TEXTURE UNIFORMS
-        glUniform1i(shaders.planetNightLightsTextureLocation, 3); // Texture unit 3
-        glUniform1i(shaders.planetUseNightLightsLocation, earth.getNightLightsTextureId() != 0 ? 1 : 0);
-        
-        // RENDER THE OBJ MODEL WITH ALL TEXTURES
-        earth.getModel().renderWithNightLights(earth.getCloudsTextureId(), earth.getBumpTextureId(), earth.getNightLightsTextureId());
+        Matrix4f moonModel = modelMatrix(moon);
+        moonModel.translate(moon.getPosition());
+        moonModel.rotateY(moon.getRotationAngle());
+        return uniformBlocks.push(moonModel, moon.getColor(), 0);
     }
     
-    /**
-     * Specialized Jupiter rendering with OBJ model
-     */
-    private void renderJupiterWithOBJModel(Jupiter jupiter, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.planetShaderProgram); // USE PLANET LIGHTING SHADER
-        
-        Vector3f position = jupiter.getPosition();
-        float rotationAngle = jupiter.getRotationAngle();
-        float axialTilt = jupiter.getAxialTilt();
-        
+    private int pushJupiter(Jupiter jupiter) {
         // CREATE TRANSFORMATION MATRIX
-        Matrix4f jupiterModel = new Matrix4f();
-        jupiterModel.translate(position);
+        Matrix4f jupiterModel = modelMatrix(jupiter);
+        jupiterModel.translate(jupiter.getPosition());
         
         // Apply axial tilt (rotation around X-axis)
-        jupiterModel.rotateX((float) Math.toRadians(axialTilt));
+        jupiterModel.rotateX((float) Math.toRadians(jupiter.getAxialTilt()));
         
         // Apply Jupiter's rotation around Y-axis first
-        jupiterModel.rotateY(rotationAngle);
+        jupiterModel.rotateY(jupiter.getRotationAngle());
         
         // Fix the OBJ model's pole orientation (model file has wrong pole direction)
         jupiterModel.rotateX((float) Math.toRadians(90.0f)); // Correct the pole orientation
@@ -347,262 +277,74 @@ public class RenderEngine {
         float scale = jupiter.getRadius() / 487.0f; // Scale from OBJ model size to intended size
         jupiterModel.scale(scale);
         
-        Matrix4f jupiterMVP = new Matrix4f();
-        projection.mul(view, jupiterMVP);
-        jupiterMVP.mul(jupiterModel);
-        
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        jupiterMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.planetMvpLocation, false, matrixBuffer);
-        
-        // PASS MODEL MATRIX FOR WORLD-SPACE LIGHTING CALCULATIONS
-        FloatBuffer modelBuffer = BufferUtils.createFloatBuffer(16);
-        jupiterModel.get(modelBuffer);
-        glUniformMatrix4fv(shaders.planetModelLocation, false, modelBuffer);
-        
-        // SET JUPITER COLOR
-        Vector3f jupiterColor = jupiter.getColor();
-        glUniform3f(shaders.planetColorLocation, jupiterColor.x, jupiterColor.y, jupiterColor.z);
-        
-        // SET SUN POSITION FOR LIGHTING
-        glUniform3f(shaders.planetSunPosLocation, 0.0f, 0.0f, 0.0f);
-        
-        // SET TEXTURE UNIFORMS
-        glUniform1i(shaders.planetDiffuseTextureLocation, 0); // Texture unit 0
-        glUniform1i(shaders.planetUseTextureLocation, jupiter.getModel().getTextureId() != 0 ? 1 : 0);
-        
-        // SET CLOUDS TEXTURE UNIFORMS (Jupiter doesn't have clouds texture)
-        glUniform1i(shaders.planetCloudsTextureLocation, 1); // Texture unit 1
-        glUniform1i(shaders.planetUseCloudsLocation, 0); // Disable clouds for Jupiter
-        
-        // SET BUMP TEXTURE UNIFORMS (Jupiter doesn't have bump texture)
-        glUniform1i(shaders.planetBumpTextureLocation, 2); // Texture unit 2
-        glUniform1i(shaders.planetUseBumpLocation, 0); // Disable bump for Jupiter
-        
-        // SET NIGHT LIGHTS TEXTURE UNIFORMS (Jupiter doesn't have night lights)
-        glUniform1i(shaders.planetNightLightsTextureLocation, 3); // Texture unit 3
-        glUniform1i(shaders.planetUseNightLightsLocation, 0); // Disable night lights for Jupiter
-        
-        // RENDER THE OBJ MODEL WITH JUST THE DIFFUSE TEXTURE
-        jupiter.getModel().render(); // Use simple render method for Jupiter
+        // ONLY THE DIFFUSE TEXTURE: NO CLOUDS, BUMP OR NIGHT LIGHTS FOR JUPITER
+        int textures = jupiter.getModel().getTextureId() != 0 ? UniformBlocks.DIFFUSE : 0;
+        return uniformBlocks.push(jupiterModel, jupiter.getColor(), textures);
     }
     
-    /**
-     * Specialized Earth rendering with surface features (continents, oceans, ice caps)
-     */
-    private void renderEarthWithSurface(Earth earth, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.surfaceShaderProgram); // USE SURFACE SHADER WITH VERTEX COLORS
-        
-        Vector3f position = earth.getPosition();
-        float rotationAngle = earth.getRotationAngle();
-        
-        // CREATE TRANSFORMATION MATRIX
-        Matrix4f earthModel = new Matrix4f();
-        earthModel.translate(position);
-        earthModel.rotateY(rotationAngle);
-        
-        Matrix4f earthMVP = new Matrix4f();
-        projection.mul(view, earthMVP);
-        earthMVP.mul(earthModel);
-        
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        earthMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.surfaceMvpLocation, false, matrixBuffer);
-        
-        // PASS MODEL MATRIX FOR WORLD-SPACE LIGHTING CALCULATIONS
-        FloatBuffer modelBuffer = BufferUtils.createFloatBuffer(16);
-        earthModel.get(modelBuffer);
-        glUniformMatrix4fv(shaders.surfaceModelLocation, false, modelBuffer);
+    private void renderSun(Sun sun, int slot) {
+        GLState.useProgram(shaders.sunShaderProgram);
+        uniformBlocks.bindObject(slot);
         
-        glUniform3f(shaders.surfaceSunPosLocation, 0.0f, 0.0f, 0.0f);
-        
-        glBindVertexArray(earth.getVAO());
-        glDrawElements(GL_TRIANGLES, earth.getSphere().getIndices().length, GL_UNSIGNED_INT, 0);
+        if (!sun.isUsingOBJModel()) {
+            // PROCEDURAL SPHERE (FALLBACK)
+            GLState.disable(GL_CULL_FACE); // UV SPHERES ARE WOUND CLOCKWISE SEEN FROM OUTSIDE
+            GLState.bindVertexArray(sun.getVAO());
+            glDrawElements(GL_TRIANGLES, sun.getSphere().getIndices().length, GL_UNSIGNED_INT, 0);
+        } else if (sun.getSunModel() != null) {
+            // Render the OBJ model; it binds its own texture to unit 0
+            sun.getSunModel().render();
+        }
+    }
+    
+    private void renderEarth(Earth earth, int slot) {
+        if (earth.isUsingOBJModel()) {
+            GLState.useProgram(shaders.planetShaderProgram); // USE PLANET SHADER FOR OBJ MODELS
+            uniformBlocks.bindObject(slot);
+            
+            // RENDER THE OBJ MODEL WITH ALL TEXTURES
+            earth.getModel().renderWithNightLights(earth.getCloudsTextureId(), earth.getBumpTextureId(), earth.getNightLightsTextureId());
+        } else {
+            // SURFACE FEATURES (CONTINENTS, OCEANS, ICE CAPS) FROM VERTEX COLOURS
+            renderSurface(earth.getVAO(), earth.getSphere().getIndices().length, slot);
+        }
     }
     
     /**
-     * Specialized Moon rendering with crater patterns
+     * Specialized Jupiter rendering with OBJ model
      */
-    private void renderMoonWithCraters(Moon moon, Matrix4f projection, Matrix4f view) {
-        glUseProgram(shaders.surfaceShaderProgram); // USE SURFACE SHADER WITH VERTEX COLORS
-        
-        Vector3f position = moon.getPosition();
-        float rotationAngle = moon.getRotationAngle();
-        
-        // CREATE TRANSFORMATION MATRIX
-        Matrix4f moonModel = new Matrix4f();
-        moonModel.translate(position);
-        moonModel.rotateY(rotationAngle);
-        
-        Matrix4f moonMVP = new Matrix4f();
-        projection.mul(view, moonMVP);
-        moonMVP.mul(moonModel);
+    private void renderJupiterWithOBJModel(Jupiter jupiter, int slot) {
+        GLState.useProgram(shaders.planetShaderProgram); // USE PLANET LIGHTING SHADER
+        uniformBlocks.bindObject(slot);
         
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        moonMVP.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.surfaceMvpLocation, false, matrixBuffer);
-        
-        // PASS MODEL MATRIX FOR WORLD-SPACE LIGHTING CALCULATIONS
-        FloatBuffer modelBuffer = BufferUtils.createFloatBuffer(16);
-        moonModel.get(modelBuffer);
-        glUniformMatrix4fv(shaders.surfaceModelLocation, false, modelBuffer);
-        
-        glUniform3f(shaders.surfaceSunPosLocation, 0.0f, 0.0f, 0.0f);
-        
-        glBindVertexArray(moon.getVAO());
-        glDrawElements(GL_TRIANGLES, moon.getSphere().getIndices().length, GL_UNSIGNED_INT, 0);
+        // RENDER THE OBJ MODEL WITH JUST THE DIFFUSE TEXTURE
+        jupiter.getModel().render(); // Use simple render method for Jupiter
     }
-
+    
     /**
-     * Helper methods to extract planet properties using pattern matching
+     * Procedural sphere with per-vertex surface colours (Earth fallback, Moon craters)
      */
-    private Vector3f getPlanetPosition(Object planet) {
-        return switch (planet) {
-            case Mercury mercury -> mercury.getPosition();
-            case Venus venus -> venus.getPosition();
-            case Earth earth -> earth.getPosition();
-            case Moon moon -> moon.getPosition();
-            case Mars mars -> mars.getPosition();
-            case Phobos phobos -> phobos.getPosition();
-            case Deimos deimos -> deimos.getPosition();
-            default -> new Vector3f(0, 0, 0);
-        };
-    }
-    
-    private Vector3f getPlanetColor(Object planet) {
-        return switch (planet) {
-            case Mercury mercury -> mercury.getColor();
-            case Venus venus -> venus.getColor();
-            case Earth earth -> earth.getColor();
-            case Moon moon -> moon.getColor();
-            case Mars mars -> mars.getColor();
-            case Phobos phobos -> phobos.getColor();
-            case Deimos deimos -> deimos.getColor();
-            default -> new Vector3f(1, 1, 1);
-        };
-    }
-    
-    private float getPlanetRotationAngle(Object planet) {
-        return switch (planet) {
-            case Mercury mercury -> mercury.getRotationAngle();
-            case Venus venus -> venus.getRotationAngle();
-            case Earth earth -> earth.getRotationAngle();
-            case Moon moon -> moon.getRotationAngle();
-            case Mars mars -> mars.getRotationAngle();
-            case Phobos phobos -> phobos.getRotationAngle();
-            case Deimos deimos -> deimos.getRotationAngle();
-            default -> 0.0f;
-        };
-    }
-
-    private float getPlanetAxialTilt(Object planet) {
-        return switch (planet) {
-            case Jupiter jupiter -> jupiter.getAxialTilt();
-            case Earth earth -> earth.getAxialTilt();
-            case Mars mars -> mars.getAxialTilt();
-            case Venus venus -> venus.getAxialTilt();
-            // Add other planets here when they have axial tilt implemented
-            default -> 0.0f; // No axial tilt for planets that don't have it implemented yet
-        };
-    }
-    
-    private int getPlanetVAO(Object planet) {
-        return switch (planet) {
-            case Mercury mercury -> mercury.getVAO();
-            case Venus venus -> venus.getVAO();
-            case Earth earth -> earth.getVAO();
-            case Moon moon -> moon.getVAO();
-            case Mars mars -> mars.getVAO();
-            case Phobos phobos -> phobos.getVAO();
-            case Deimos deimos -> deimos.getVAO();
-            default -> 0;
-        };
-    }
-    
-    private int getPlanetIndexCount(Object planet) {
-        return switch (planet) {
-            case Mercury mercury -> mercury.getSphere().getIndices().length;
-            case Venus venus -> venus.getSphere().getIndices().length;
-            case Earth earth -> earth.getSphere().getIndices().length;
-            case Moon moon -> moon.getSphere().getIndices().length;
-            case Mars mars -> mars.getSphere().getIndices().length;
-            case Phobos phobos -> phobos.getSphere().getIndices().length;
-            case Deimos deimos -> deimos.getSphere().getIndices().length;
-            default -> 0;
-        };
+    private void renderSurface(int vao, int indexCount, int slot) {
+        GLState.useProgram(shaders.surfaceShaderProgram); // USE SURFACE SHADER WITH VERTEX COLORS
+        uniformBlocks.bindObject(slot);
+        
+        GLState.disable(GL_CULL_FACE); // UV SPHERES ARE WOUND CLOCKWISE SEEN FROM OUTSIDE
+        GLState.bindVertexArray(vao);
+        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
     }
     
     /**
-     * Create MVP matrix with camera parameters
+     * Model matrix slot for a body, reset to identity
      */
-    public Matrix4f createMVPMatrix(int width, int height) {
-        Matrix4f projection = new Matrix4f();
-        projection.perspective((float) Math.toRadians(55.0f), (float) width / height, 1.0f, 500000.0f);
-        
-        // CALCULATE LOOK-AT TARGET BASED ON CAMERA MODE
-        float lookX, lookY, lookZ;
-        
-        // GET CAMERA PARAMETERS
-        float cameraX = camera.getX();
-        float cameraY = camera.getY(); 
-        float cameraZ = camera.getZ();
-        float cameraPitch = camera.getPitch();
-        float cameraYaw = camera.getYaw();
-        
-        if (camera.isTrackingEnabled() && !"NONE".equals(camera.getTrackedObject())) {
-            // WHEN TRACKING, ALWAYS LOOK AT THE TRACKED OBJECT
-            Vector3f targetPosition = new Vector3f();
-            switch (camera.getTrackedObject()) {
-                case "SUN":
-                    targetPosition.set(0, 0, 0);
-                    break;
-                case "MERCURY":
-                    targetPosition.set(sceneManager.getMercury().getPosition());
-                    break;
-                case "VENUS":
-                    targetPosition.set(sceneManager.getVenus().getPosition());
-                    break;
-                case "EARTH":
-                    targetPosition.set(sceneManager.getEarth().getPosition());
-                    break;
-                case "MARS":
-                    targetPosition.set(sceneManager.getMars().getPosition());
-                    break;
-                case "JUPITER":
-                    targetPosition.set(sceneManager.getJupiter().getPosition());
-                    break;
-                default:
-                    targetPosition.set(0, 0, 0);
-            }
-            lookX = targetPosition.x;
-            lookY = targetPosition.y;
-            lookZ = targetPosition.z;
-        } else {
-            // FREE CAMERA MODE - CALCULATE LOOK-AT TARGET BASED ON CAMERA ROTATION (FPS STYLE)
-            float radPitch = (float) Math.toRadians(cameraPitch);
-            float radYaw = (float) Math.toRadians(cameraYaw);
-            
-            // MATCH THE COORDINATE SYSTEM USED IN CAMERA MOVEMENT
-            lookX = cameraX + (float) Math.cos(radPitch) * (float) Math.sin(radYaw);
-            lookY = cameraY + (float) Math.sin(radPitch);
-            lookZ = cameraZ + (float) Math.cos(radPitch) * (float) Math.cos(radYaw);
-        }
-        
-        Matrix4f view = new Matrix4f();
-        view.lookAt(cameraX, cameraY, cameraZ, lookX, lookY, lookZ, 0.0f, 1.0f, 0.0f);
-        
-        Matrix4f mvp = new Matrix4f();
-        projection.mul(view, mvp);
-        
-        return mvp;
+    private Matrix4f modelMatrix(CelestialBody body) {
+        return modelMatrices[body.getId()].identity();
     }
     
     /**
-     * Get separate projection and view matrices
+     * Recompute projection, view and their product for this frame; read them back with the getters below
      */
-    public Matrix4f[] getProjectionAndView(int width, int height) {
-        Matrix4f projection = new Matrix4f();
-        projection.perspective((float) Math.toRadians(55.0f), (float) width / height, 1.0f, 500000.0f);
+    public void updateCameraMatrices(int width, int height) {
+        projection.setPerspective((float) Math.toRadians(FIELD_OF_VIEW_DEGREES), (float) width / height, 1.0f, 500000.0f);
         
         // CALCULATE LOOK-AT TARGET BASED ON CAMERA MODE
         float lookX, lookY, lookZ;
@@ -616,10 +358,10 @@ public class RenderEngine {
         
         if (camera.isTrackingEnabled() && !"NONE".equals(camera.getTrackedObject())) {
             // WHEN TRACKING, ALWAYS LOOK AT THE TRACKED OBJECT
-            Vector3f targetPosition = new Vector3f();
+            Vector3f targetPosition = lookTarget;
             switch (camera.getTrackedObject()) {
                 case "SUN":
-                    targetPosition.set(0, 0, 0);
+                    targetPosition.set(sceneManager.getSun().getPosition());
                     break;
                 case "MERCURY":
                     targetPosition.set(sceneManager.getMercury().getPosition());
@@ -653,56 +395,46 @@ public class RenderEngine {
             lookZ = cameraZ + (float) Math.cos(radPitch) * (float) Math.cos(radYaw);
         }
         
-        Matrix4f view = new Matrix4f();
-        view.lookAt(cameraX, cameraY, cameraZ, lookX, lookY, lookZ, 0.0f, 1.0f, 0.0f);
+        view.setLookAt(cameraX, cameraY, cameraZ, lookX, lookY, lookZ, 0.0f, 1.0f, 0.0f);
+        projection.mul(view, viewProjection);
         
-        return new Matrix4f[]{projection, view};
+        float pixelsPerUnit = height / (2.0f * (float) Math.tan(Math.toRadians(FIELD_OF_VIEW_DEGREES) / 2.0));
+        culler.update(viewProjection, cameraX, cameraY, cameraZ, pixelsPerUnit);
+        uniformBlocks.beginFrame(view, projection, viewProjection, sceneManager.getSun().getPosition(),
+            (System.nanoTime() - startNanos) / 1e9f);
     }
     
-    /**
-     * Render Jupiter's moon Io
-     */
-    private void renderIo(Matrix4f projection, Matrix4f view) {
-        com.stefanrogic.assets.celestial.jupiter.Io io = sceneManager.getIo();
-        if (io != null) {
-            renderPlanet(io, projection, view);
-        }
-    }
+    // CAMERA MATRICES FROM THE LAST updateCameraMatrices() CALL; OWNED BY THIS ENGINE, DO NOT MODIFY
+    public Matrix4f getProjection() { return projection; }
+    public Matrix4f getView() { return view; }
+    public Matrix4f getViewProjection() { return viewProjection; }
     
     /**
-     * Render Jupiter's moon Europa
+     * Instanced sphere pass, for its LOD and triangle metrics
      */
-    private void renderEuropa(Matrix4f projection, Matrix4f view) {
-        com.stefanrogic.assets.celestial.jupiter.Europa europa = sceneManager.getEuropa();
-        if (europa != null) {
-            renderPlanet(europa, projection, view);
-        }
-    }
+    public SphereInstancer getSphereInstancer() { return sphereInstancer; }
     
     /**
-     * Render Jupiter's moon Ganymede
+     * This frame's visibility tests, shared with the orbit and asteroid passes
      */
-    private void renderGanymede(Matrix4f projection, Matrix4f view) {
-        com.stefanrogic.assets.celestial.jupiter.Ganymede ganymede = sceneManager.getGanymede();
-        if (ganymede != null) {
-            renderPlanet(ganymede, projection, view);
-        }
-    }
+    public FrustumCuller getCuller() { return culler; }
     
     /**
-     * Render Jupiter's moon Callisto
+     * Shared camera and per-object uniform buffers, for passes outside this engine
      */
-    private void renderCallisto(Matrix4f projection, Matrix4f view) {
-        com.stefanrogic.assets.celestial.jupiter.Callisto callisto = sceneManager.getCallisto();
-        if (callisto != null) {
-            renderPlanet(callisto, projection, view);
-        }
-    }
+    public UniformBlocks getUniformBlocks() { return uniformBlocks; }
     
     /**
      * Clean up rendering resources
      */
     public void cleanup() {
         gridRenderer.cleanup();
+        sphereInstancer.cleanup();
+        impostorRenderer.cleanup();
+        trailRenderer.cleanup();
+        uniformBlocks.cleanup();
+        if (asteroidRenderer != null) {
+            asteroidRenderer.cleanup();
+        }
     }
 }
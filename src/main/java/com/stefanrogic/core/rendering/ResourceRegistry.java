@@ -0,0 +1,122 @@
+package com.stefanrogic.core.rendering;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reference-counted GPU resources keyed by what they were loaded from ("texture:textures/x.png").
+ * The first acquire of a key starts the load; later acquires share the same handle and only bump the
+ * count. The last release destroys the handle (or, if it is still loading, destroys it on arrival).
+ * Resident bytes are recorded as uploads land, and shutdown() reports whatever owners never released.
+ *
+ * Render thread only, like the GL handles it tracks.
+ */
+public class ResourceRegistry {
+
+    private static final class Entry<T> {
+        final String key;
+        final CompletableFuture<T> handle;
+        final Consumer<T> destroyer;
+        int references;
+        long bytes;
+
+        Entry(String key, CompletableFuture<T> handle, Consumer<T> destroyer) {
+            this.key = key;
+            this.handle = handle;
+            this.destroyer = destroyer;
+        }
+
+        void destroy() {
+            handle.thenAccept(destroyer); // A FAILED LOAD HAS NOTHING TO DESTROY
+        }
+    }
+
+    private final Map<String, Entry<?>> entries = new LinkedHashMap<>(); // INSERTION ORDER KEEPS REPORTS STABLE
+
+    /**
+     * Take a reference to the resource under key, loading it with loader if nobody holds it yet
+     * @param destroyer frees the handle once the last reference is released
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> acquire(String key, Supplier<CompletableFuture<T>> loader, Consumer<T> destroyer) {
+        Entry<T> entry = (Entry<T>) entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key, loader.get(), destroyer);
+            entries.put(key, entry);
+        }
+        entry.references++;
+        return entry.handle;
+    }
+
+    /**
+     * Drop one reference; the last one destroys the resource
+     */
+    public void release(String key) {
+        Entry<?> entry = entries.get(key);
+        if (entry == null) {
+            System.err.println("Released resource that is not held: " + key);
+            return;
+        }
+        if (--entry.references == 0) {
+            entries.remove(key);
+            entry.destroy();
+        }
+    }
+
+    /**
+     * Record GPU memory used by a loaded resource; ignored if it was released while loading
+     */
+    public void recordBytes(String key, long bytes) {
+        Entry<?> entry = entries.get(key);
+        if (entry != null) {
+            entry.bytes = bytes;
+        }
+    }
+
+    public int getReferenceCount(String key) {
+        Entry<?> entry = entries.get(key);
+        return entry != null ? entry.references : 0;
+    }
+
+    public int getResourceCount() { return entries.size(); }
+
+    public long getResidentBytes() {
+        long total = 0;
+        for (Entry<?> entry : entries.values()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Report every resource still referenced (each one is a missing release) and free it anyway
+     */
+    public void shutdown() {
+        if (entries.isEmpty()) {
+            System.out.println("Resource registry: all GPU resources released");
+            return;
+        }
+        System.err.println("Resource registry: " + entries.size() + " resource(s) never released, "
+            + formatBytes(getResidentBytes()) + " resident");
+        List<Entry<?>> leaked = new ArrayList<>(entries.values());
+        for (Entry<?> entry : leaked) {
+            System.err.println("  LEAK " + entry.key + " (" + entry.references + " reference(s), " + formatBytes(entry.bytes) + ")");
+        }
+        // NEWEST FIRST: A MODEL IS DESTROYED BEFORE THE TEXTURE IT HOLDS A REFERENCE TO
+        for (int i = leaked.size() - 1; i >= 0; i--) {
+            Entry<?> entry = leaked.get(i);
+            if (entries.remove(entry.key, entry)) {
+                entry.destroy();
+            }
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes >= 1 << 20 ? String.format("%.1f MB", bytes / (double) (1 << 20)) : (bytes >> 10) + " KB";
+    }
+}
@@ -31,29 +31,24 @@ public class ShaderManager {
         public int gridShaderProgram;
         public int sunShaderProgram;
         public int planetShaderProgram;
+        public int planetInstancedShaderProgram; // UNTEXTURED SPHERES, ONE DRAW PER DETAIL LEVEL
         public int surfaceShaderProgram; // NEW SHADER FOR SURFACE VARIATIONS
         public int starShaderProgram; // NEW SHADER FOR STAR FIELD
+        public int skyShaderProgram; // CATALOGUE STARS: DIRECTION, MAGNITUDE AND B-V STRAIGHT FROM THE FILE
         public int uiShaderProgram;
+        public int trailShaderProgram; // BODY TRAILS, READ FROM BUFFER TEXTURES BY VERTEX ID
         
-        public int gridMvpLocation;
-        public int sunMvpLocation, sunColorLocation;
-        public int planetMvpLocation, planetColorLocation, planetSunPosLocation, planetModelLocation;
-        public int planetDiffuseTextureLocation, planetUseTextureLocation;
-        public int planetCloudsTextureLocation, planetUseCloudsLocation;
-        public int planetBumpTextureLocation, planetUseBumpLocation;
-        public int planetNightLightsTextureLocation, planetUseNightLightsLocation;
-        public int surfaceMvpLocation, surfaceModelLocation, surfaceSunPosLocation; // NEW LOCATIONS
-        public int starMvpLocation; // NEW LOCATION FOR STAR SHADER
+        // CAMERA, LIGHTING AND PER-OBJECT DATA COME FROM THE UniformBlocks BUFFERS; THE UI AND TRAIL RING HAVE THEIR OWN
         public int uiMvpLocation, uiColorLocation;
+        public int trailCapacityLocation, trailCountLocation, trailHeadLocation, trailFilledLocation;
+        public int skyMagnitudeLimitLocation;
         
         public ShaderPrograms() {
             // GRID SHADER
-            String gridVertexShader = """
-                #version 330 core
+            String gridVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + UniformBlocks.OBJECT_BLOCK + """
                 layout (location = 0) in vec3 aPos;
-                uniform mat4 mvpMatrix;
                 void main() {
-                    gl_Position = mvpMatrix * vec4(aPos, 1.0);
+                    gl_Position = viewProjection * model * vec4(aPos, 1.0);
                 }
                 """;
             
@@ -66,28 +61,23 @@ public class ShaderManager {
                 """;
             
             // SUN SHADER - NO LIGHTING, JUST EMISSIVE GLOW WITH TEXTURE
-            String sunVertexShader = """
-                #version 330 core
+            String sunVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + UniformBlocks.OBJECT_BLOCK + """
                 layout (location = 0) in vec3 aPos;
                 layout (location = 1) in vec3 aNormal;
                 layout (location = 2) in vec2 aTexCoord;
                 
-                uniform mat4 mvpMatrix;
-                
                 out vec2 TexCoord;
                 
                 void main() {
-                    gl_Position = mvpMatrix * vec4(aPos, 1.0);
+                    gl_Position = viewProjection * model * vec4(aPos, 1.0);
                     TexCoord = aTexCoord;
                 }
                 """;
             
-            String sunFragmentShader = """
-                #version 330 core
+            String sunFragmentShader = "#version 330 core\n" + UniformBlocks.OBJECT_BLOCK + """
                 in vec2 TexCoord;
                 out vec4 FragColor;
                 
-                uniform vec3 sunColor;
                 uniform sampler2D diffuseTexture;
                 
                 void main() {
@@ -95,21 +85,16 @@ public class ShaderManager {
                     vec4 texColor = texture(diffuseTexture, TexCoord);
                     
                     // Combine with sun color and make it bright (emissive)
-                    FragColor = vec4(texColor.rgb * sunColor * 1.5, 1.0);
+                    FragColor = vec4(texColor.rgb * color.rgb * 1.5, 1.0);
                 }
                 """;
             
             // PLANET LIGHTING SHADER - RECEIVES LIGHT FROM SUN
-            String planetVertexShader = """
-                #version 330 core
+            String planetVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + UniformBlocks.OBJECT_BLOCK + """
                 layout (location = 0) in vec3 aPos;
                 layout (location = 1) in vec3 aNormal;
                 layout (location = 2) in vec2 aTexCoord;
                 
-                uniform mat4 mvpMatrix;
-                uniform mat4 modelMatrix;
-                uniform vec3 sunPosition;
-                
                 out vec3 fragPos;
                 out vec3 normal;
                 out vec3 sunDir;
@@ -117,11 +102,11 @@ public class ShaderManager {
                 
                 void main() {
                     // TRANSFORM VERTEX TO WORLD SPACE
-                    vec4 worldPos = modelMatrix * vec4(aPos, 1.0);
+                    vec4 worldPos = model * vec4(aPos, 1.0);
                     fragPos = worldPos.xyz;
                     
                     // TRANSFORM NORMAL TO WORLD SPACE (FOR PROPER LIGHTING)
-                    normal = normalize(mat3(modelMatrix) * aNormal);
+                    normal = normalize(mat3(model) * aNormal);
                     
                     // CALCULATE SUN DIRECTION IN WORLD SPACE
                     // Sun is at origin (0,0,0), planet is at its orbital position
@@ -130,26 +115,25 @@ public class ShaderManager {
                     // PASS TEXTURE COORDINATES TO FRAGMENT SHADER
                     texCoord = aTexCoord;
                     
-                    gl_Position = mvpMatrix * vec4(aPos, 1.0);
+                    gl_Position = viewProjection * worldPos;
                 }
                 """;
             
-            String planetFragmentShader = """
-                #version 330 core
+            String planetFragmentShader = "#version 330 core\n" + UniformBlocks.OBJECT_BLOCK + """
                 in vec3 fragPos;
                 in vec3 normal;
                 in vec3 sunDir;
                 in vec2 texCoord;
                 
-                uniform vec3 planetColor;
                 uniform sampler2D diffuseTexture;
                 uniform sampler2D cloudsTexture;
                 uniform sampler2D bumpTexture;
                 uniform sampler2D nightLightsTexture;
-                uniform bool useTexture;
-                uniform bool useClouds;
-                uniform bool useBump;
-                uniform bool useNightLights;
+                
+                #define useTexture (textures.x != 0)
+                #define useClouds (textures.y != 0)
+                #define useBump (textures.z != 0)
+                #define useNightLights (textures.w != 0)
                 
                 out vec4 FragColor;
                 
@@ -199,7 +183,7 @@ public class ShaderManager {
                         // Blend between night lights and day texture
                         baseColor = mix(nightColor, dayColor, dayNightTransition);
                     } else {
-                        baseColor = planetColor;
+                        baseColor = color.rgb;
                     }
                     
                     // APPLY LIGHTING TO BASE COLOR
@@ -234,18 +218,50 @@ public class ShaderManager {
                 }
                 """;
             
-            // SURFACE SHADER - FOR EARTH AND MOON WITH VERTEX COLORS
-            String surfaceVertexShader = """
+            // INSTANCED PLANET SHADER - SAME LIGHTING AS ABOVE, MODEL MATRIX AND COLOUR COME PER INSTANCE
+            String planetInstancedVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + """
+                layout (location = 0) in vec3 aPos;
+                layout (location = 1) in vec3 aNormal;
+                layout (location = 3) in mat4 aModel;
+                layout (location = 7) in vec3 aColor;
+
+                out vec3 normal;
+                out vec3 sunDir;
+                out vec3 planetColor;
+
+                void main() {
+                    vec4 worldPos = aModel * vec4(aPos, 1.0);
+
+                    // THE MODEL MATRIX ONLY SCALES UNIFORMLY, SO mat3(aModel) KEEPS NORMALS PERPENDICULAR
+                    normal = normalize(mat3(aModel) * aNormal);
+                    sunDir = normalize(sunPosition - worldPos.xyz);
+                    planetColor = aColor;
+
+                    gl_Position = viewProjection * worldPos;
+                }
+                """;
+            
+            String planetInstancedFragmentShader = """
                 #version 330 core
+                in vec3 normal;
+                in vec3 sunDir;
+                in vec3 planetColor;
+
+                out vec4 FragColor;
+
+                void main() {
+                    float diffuse = max(dot(normalize(normal), sunDir), 0.0);
+                    FragColor = vec4(planetColor * (0.18 + diffuse * 0.82), 1.0);
+                }
+                """;
+            
+            // SURFACE SHADER - FOR EARTH AND MOON WITH VERTEX COLORS
+            String surfaceVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + UniformBlocks.OBJECT_BLOCK + """
                 layout (location = 0) in vec3 aPos;
                 layout (location = 1) in vec3 aNormal;
                 layout (location = 2) in vec2 aTexCoord;
                 layout (location = 3) in vec3 aSurfaceColor;
                 
-                uniform mat4 mvpMatrix;
-                uniform mat4 modelMatrix;
-                uniform vec3 sunPosition;
-                
                 out vec3 fragPos;
                 out vec3 normal;
                 out vec3 sunDir;
@@ -253,11 +269,11 @@ public class ShaderManager {
                 
                 void main() {
                     // TRANSFORM VERTEX TO WORLD SPACE
-                    vec4 worldPos = modelMatrix * vec4(aPos, 1.0);
+                    vec4 worldPos = model * vec4(aPos, 1.0);
                     fragPos = worldPos.xyz;
                     
                     // TRANSFORM NORMAL TO WORLD SPACE
-                    normal = normalize(mat3(modelMatrix) * aNormal);
+                    normal = normalize(mat3(model) * aNormal);
                     
                     // CALCULATE SUN DIRECTION
                     sunDir = normalize(sunPosition - fragPos);
@@ -265,7 +281,7 @@ public class ShaderManager {
                     // PASS SURFACE COLOR TO FRAGMENT SHADER
                     surfaceColor = aSurfaceColor;
                     
-                    gl_Position = mvpMatrix * vec4(aPos, 1.0);
+                    gl_Position = viewProjection * worldPos;
                 }
                 """;
             
@@ -318,18 +334,15 @@ public class ShaderManager {
                 """;
             
             // STAR SHADER - FOR DISTANT STAR FIELD
-            String starVertexShader = """
-                #version 330 core
+            String starVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + """
                 layout (location = 0) in vec3 aPos;
                 layout (location = 1) in float aSize;
                 layout (location = 2) in vec3 aColor;
                 
-                uniform mat4 mvpMatrix;
-                
                 out vec3 starColor;
                 
                 void main() {
-                    gl_Position = mvpMatrix * vec4(aPos, 1.0);
+                    gl_Position = viewProjection * vec4(aPos, 1.0);
                     gl_PointSize = aSize;
                     starColor = aColor;
                 }
@@ -355,36 +368,115 @@ public class ShaderManager {
                 }
                 """;
             
+            // SKY SHADER - CATALOGUE STARS AT INFINITY, SIZED AND COLOURED FROM MAGNITUDE AND B-V
+            String skyVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + """
+                layout (location = 0) in vec3 aDirection;
+                layout (location = 1) in float aMagnitude;
+                layout (location = 2) in float aColorIndex;
+
+                uniform float magnitudeLimit;
+
+                out vec3 starColor;
+
+                void main() {
+                    float excess = magnitudeLimit - aMagnitude; // HOW FAR ABOVE THE LIMIT, IN MAGNITUDES
+                    if (excess < 0.0) {
+                        // TOO FAINT: PLACE OUTSIDE THE CLIP VOLUME SO THE POINT IS DROPPED
+                        gl_Position = vec4(2.0, 2.0, 2.0, 1.0);
+                        gl_PointSize = 1.0;
+                        starColor = vec3(0.0);
+                        return;
+                    }
+
+                    // ROTATION ONLY: THE STARS DO NOT MOVE WITH THE CAMERA. Z = W PUTS THEM ON THE FAR PLANE
+                    vec4 clip = projection * vec4(mat3(view) * aDirection, 0.0);
+                    gl_Position = clip.xyww;
+                    gl_PointSize = clamp(1.5 + 0.6 * excess, 1.5, 9.0);
+
+                    // B-V: BLUE-WHITE (-0.3) THROUGH WHITE AND YELLOW TO ORANGE-RED (2.0)
+                    vec3 color = mix(vec3(0.65, 0.75, 1.0), vec3(1.0), smoothstep(-0.3, 0.3, aColorIndex));
+                    color = mix(color, vec3(1.0, 0.9, 0.7), smoothstep(0.3, 0.9, aColorIndex));
+                    color = mix(color, vec3(1.0, 0.6, 0.4), smoothstep(0.9, 2.0, aColorIndex));
+                    starColor = color * clamp(0.35 + 0.15 * excess, 0.35, 1.0);
+                }
+                """;
+            
+            // TRAIL SHADER - NO VERTEX ATTRIBUTES; EACH VERTEX FINDS ITS SAMPLE IN THE RING FROM gl_VertexID
+            String trailVertexShader = "#version 330 core\n" + UniformBlocks.FRAME_BLOCK + """
+                uniform samplerBuffer trailSamples; // RING SLOT-MAJOR: SLOT * trailCount + TRAIL
+                uniform samplerBuffer trailColors;
+                uniform int trailCapacity;
+                uniform int trailCount;
+                uniform int trailHead; // SLOT OF THE NEWEST SAMPLE
+                uniform int trailFilled; // SAMPLES HELD SO FAR, UP TO trailCapacity
+
+                out vec4 fadeColor;
+
+                void main() {
+                    // EACH TRAIL IS DRAWN FROM FIRST = TRAIL * trailCapacity, NEWEST SAMPLE FIRST
+                    int trail = gl_VertexID / trailCapacity;
+                    int age = gl_VertexID - trail * trailCapacity;
+                    int slot = (trailHead - age + trailCapacity) % trailCapacity;
+                    vec3 position = texelFetch(trailSamples, slot * trailCount + trail).xyz;
+
+                    // FADE OUT TOWARDS THE OLDEST SAMPLE
+                    float fade = 1.0 - float(age) / float(max(trailFilled, 1));
+                    fadeColor = vec4(texelFetch(trailColors, trail).rgb, fade * fade);
+                    gl_Position = viewProjection * vec4(position, 1.0);
+                }
+                """;
+            
+            String trailFragmentShader = """
+                #version 330 core
+                in vec4 fadeColor;
+                out vec4 FragColor;
+                void main() {
+                    FragColor = fadeColor;
+                }
+                """;
+            
             // Compile all shaders
             gridShaderProgram = createShaderProgram(gridVertexShader, gridFragmentShader);
             sunShaderProgram = createShaderProgram(sunVertexShader, sunFragmentShader);
             planetShaderProgram = createShaderProgram(planetVertexShader, planetFragmentShader);
+            planetInstancedShaderProgram = createShaderProgram(planetInstancedVertexShader, planetInstancedFragmentShader);
             surfaceShaderProgram = createShaderProgram(surfaceVertexShader, surfaceFragmentShader);
             starShaderProgram = createShaderProgram(starVertexShader, starFragmentShader);
+            skyShaderProgram = createShaderProgram(skyVertexShader, starFragmentShader);
             uiShaderProgram = createShaderProgram(uiVertexShader, uiFragmentShader);
+            trailShaderProgram = createShaderProgram(trailVertexShader, trailFragmentShader);
+            
+            // Point the shared uniform blocks at their binding points
+            UniformBlocks.bindBlocks(gridShaderProgram);
+            UniformBlocks.bindBlocks(sunShaderProgram);
+            UniformBlocks.bindBlocks(planetShaderProgram);
+            UniformBlocks.bindBlocks(planetInstancedShaderProgram);
+            UniformBlocks.bindBlocks(surfaceShaderProgram);
+            UniformBlocks.bindBlocks(starShaderProgram);
+            UniformBlocks.bindBlocks(skyShaderProgram);
+            UniformBlocks.bindBlocks(trailShaderProgram);
+            
+            // Samplers read fixed texture units (the ones Model binds), so they are set once here
+            glUseProgram(sunShaderProgram);
+            glUniform1i(glGetUniformLocation(sunShaderProgram, "diffuseTexture"), 0);
+            glUseProgram(planetShaderProgram);
+            glUniform1i(glGetUniformLocation(planetShaderProgram, "diffuseTexture"), 0);
+            glUniform1i(glGetUniformLocation(planetShaderProgram, "cloudsTexture"), 1);
+            glUniform1i(glGetUniformLocation(planetShaderProgram, "bumpTexture"), 2);
+            glUniform1i(glGetUniformLocation(planetShaderProgram, "nightLightsTexture"), 3);
+            glUseProgram(trailShaderProgram);
+            glUniform1i(glGetUniformLocation(trailShaderProgram, "trailSamples"), TrailRenderer.SAMPLE_UNIT);
+            glUniform1i(glGetUniformLocation(trailShaderProgram, "trailColors"), TrailRenderer.COLOR_UNIT);
+            glUseProgram(0);
             
             // Get uniform locations
-            gridMvpLocation = glGetUniformLocation(gridShaderProgram, "mvpMatrix");
-            sunMvpLocation = glGetUniformLocation(sunShaderProgram, "mvpMatrix");
-            sunColorLocation = glGetUniformLocation(sunShaderProgram, "sunColor");
-            planetMvpLocation = glGetUniformLocation(planetShaderProgram, "mvpMatrix");
-            planetColorLocation = glGetUniformLocation(planetShaderProgram, "planetColor");
-            planetSunPosLocation = glGetUniformLocation(planetShaderProgram, "sunPosition");
-            planetModelLocation = glGetUniformLocation(planetShaderProgram, "modelMatrix");
-            planetDiffuseTextureLocation = glGetUniformLocation(planetShaderProgram, "diffuseTexture");
-            planetUseTextureLocation = glGetUniformLocation(planetShaderProgram, "useTexture");
-            planetCloudsTextureLocation = glGetUniformLocation(planetShaderProgram, "cloudsTexture");
-            planetUseCloudsLocation = glGetUniformLocation(planetShaderProgram, "useClouds");
-            planetBumpTextureLocation = glGetUniformLocation(planetShaderProgram, "bumpTexture");
-            planetUseBumpLocation = glGetUniformLocation(planetShaderProgram, "useBump");
-            planetNightLightsTextureLocation = glGetUniformLocation(planetShaderProgram, "nightLightsTexture");
-            planetUseNightLightsLocation = glGetUniformLocation(planetShaderProgram, "useNightLights");
-            surfaceMvpLocation = glGetUniformLocation(surfaceShaderProgram, "mvpMatrix");
-            surfaceModelLocation = glGetUniformLocation(surfaceShaderProgram, "modelMatrix");
-            surfaceSunPosLocation = glGetUniformLocation(surfaceShaderProgram, "sunPosition");
-            starMvpLocation = glGetUniformLocation(starShaderProgram, "mvpMatrix");
             uiMvpLocation = glGetUniformLocation(uiShaderProgram, "mvpMatrix");
             uiColorLocation = glGetUniformLocation(uiShaderProgram, "uiColor");
+            trailCapacityLocation = glGetUniformLocation(trailShaderProgram, "trailCapacity");
+            trailCountLocation = glGetUniformLocation(trailShaderProgram, "trailCount");
+            trailHeadLocation = glGetUniformLocation(trailShaderProgram, "trailHead");
+            trailFilledLocation = glGetUniformLocation(trailShaderProgram, "trailFilled");
+            skyMagnitudeLimitLocation = glGetUniformLocation(skyShaderProgram, "magnitudeLimit");
         }
     }
     
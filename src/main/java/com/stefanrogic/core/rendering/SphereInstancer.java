@@ -0,0 +1,312 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.*;
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import org.lwjgl.BufferUtils;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import com.stefanrogic.assets.SphereMesh;
+import com.stefanrogic.assets.celestial.CelestialBody;
+
+/**
+ * Draws every untextured, lit sphere body with instancing. A pyramid of unit icospheres is shared by
+ * all bodies; each body contributes an instance (model matrix with position, axial tilt, spin and radius
+ * baked in, plus its colour), and each detail level in use costs one glDrawElementsInstanced.
+ *
+ * The level is picked per body per frame from screen-space error: the gap between a true sphere and
+ * its facets, projected to pixels, must stay under -Dsolarsystem.lodErrorPx (default 0.5). A body
+ * only drops to a coarser level once that level would be well under the limit, so a body hovering
+ * near a threshold keeps its mesh instead of switching every frame.
+ *
+ * Per frame: begin(), add() every body, then draw(). Instances are sorted into per-level CPU lists that
+ * are reused and only grow; draw() copies them back to back into one StreamBuffer region and points
+ * each level's instance attributes at its run.
+ * -Dsolarsystem.lodReport=true prints triangle and vertex counts every REPORT_INTERVAL frames.
+ */
+public class SphereInstancer {
+
+    // ICOSPHERE SUBDIVISIONS PER LEVEL, COARSEST FIRST: 20 TO 20480 TRIANGLES
+    static final int[] DETAIL_LEVELS = {0, 1, 2, 3, 4, 5};
+
+    private static final float MAX_ERROR_PIXELS = Float.parseFloat(System.getProperty("solarsystem.lodErrorPx", "0.5"));
+    // A COARSER LEVEL IS TAKEN ONLY WHEN ITS ERROR IS BELOW THIS FRACTION OF THE LIMIT
+    private static final float HYSTERESIS = 0.5f;
+    private static final boolean REPORT = Boolean.getBoolean("solarsystem.lodReport");
+    private static final int REPORT_INTERVAL = 600;
+
+    // MAT4 MODEL (LOCATIONS 3-6) + VEC3 COLOUR (LOCATION 7), PADDED TO A 16-BYTE MULTIPLE
+    private static final int INSTANCE_FLOATS = 20;
+    private static final int INSTANCE_STRIDE = INSTANCE_FLOATS * Float.BYTES;
+    private static final int MODEL_LOCATION = 3;
+    private static final int COLOR_LOCATION = 7;
+
+    private final ShaderManager.ShaderPrograms shaders;
+    private final int[] meshVAOs = new int[DETAIL_LEVELS.length];
+    private final int[] meshVBOs = new int[DETAIL_LEVELS.length];
+    private final int[] meshEBOs = new int[DETAIL_LEVELS.length];
+    private final int[] indexCounts = new int[DETAIL_LEVELS.length];
+    private final int[] vertexCounts = new int[DETAIL_LEVELS.length];
+    private final float[] facetError = new float[DETAIL_LEVELS.length]; // MAX GAP TO THE TRUE SPHERE, IN RADII
+    private final StreamBuffer instanceStream;
+    private final FloatBuffer[] instanceData = new FloatBuffer[DETAIL_LEVELS.length];
+    private final int[] instanceCounts = new int[DETAIL_LEVELS.length];
+    private final int[] bodyLevels; // LEVEL EACH BODY DREW WITH LAST FRAME, -1 BEFORE ITS FIRST
+    private final Matrix4f model = new Matrix4f();
+
+    private float cameraX, cameraY, cameraZ;
+    private float pixelsPerUnit; // PROJECTED SIZE OF ONE UNIT AT DISTANCE ONE
+
+    // LAST FRAME'S METRICS
+    private int drawCalls;
+    private long trianglesDrawn;
+    private long verticesDrawn;
+    private long frames;
+    private long intervalTriangles;
+    private long intervalVertices;
+
+    /**
+     * @param bodyCount number of body ids the instancer keeps LOD state for
+     */
+    public SphereInstancer(ShaderManager.ShaderPrograms shaders, int bodyCount) {
+        this.shaders = shaders;
+        this.bodyLevels = new int[bodyCount];
+        this.instanceStream = new StreamBuffer(GL_ARRAY_BUFFER, Math.max(1, bodyCount) * INSTANCE_STRIDE);
+        Arrays.fill(bodyLevels, -1);
+    }
+
+    /**
+     * Build the mesh pyramid and its instance buffers
+     */
+    public void create() {
+        instanceStream.create();
+        long totalTriangles = 0;
+        for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+            SphereMesh unitSphere = SphereMesh.icosphere(DETAIL_LEVELS[level]);
+            indexCounts[level] = unitSphere.getIndices().length;
+            vertexCounts[level] = unitSphere.getVertexCount();
+            facetError[level] = SphereMesh.maxFacetError(unitSphere.getVertices(), unitSphere.getIndices(), SphereMesh.FLOATS_PER_VERTEX);
+            totalTriangles += indexCounts[level] / 3;
+
+            meshVAOs[level] = glGenVertexArrays();
+            meshVBOs[level] = glGenBuffers();
+            meshEBOs[level] = glGenBuffers();
+            instanceData[level] = BufferUtils.createFloatBuffer(4 * INSTANCE_FLOATS);
+
+            glBindVertexArray(meshVAOs[level]);
+
+            glBindBuffer(GL_ARRAY_BUFFER, meshVBOs[level]);
+            FloatBuffer vertexBuffer = BufferUtils.createFloatBuffer(unitSphere.getVertices().length);
+            vertexBuffer.put(unitSphere.getVertices()).flip();
+            glBufferData(GL_ARRAY_BUFFER, vertexBuffer, GL_STATIC_DRAW);
+
+            glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, meshEBOs[level]);
+            IntBuffer indexBuffer = BufferUtils.createIntBuffer(indexCounts[level]);
+            indexBuffer.put(unitSphere.getIndices()).flip();
+            glBufferData(GL_ELEMENT_ARRAY_BUFFER, indexBuffer, GL_STATIC_DRAW);
+
+            // POSITION AND NORMAL (LOCATIONS 0 AND 1); ON A UNIT SPHERE THEY ARE THE SAME VECTOR
+            int stride = SphereMesh.FLOATS_PER_VERTEX * Float.BYTES;
+            glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, 0);
+            glEnableVertexAttribArray(0);
+            glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, 3 * Float.BYTES);
+            glEnableVertexAttribArray(1);
+
+            // PER-INSTANCE MODEL MATRIX, ONE COLUMN PER LOCATION, AND COLOUR; RE-POINTED EVERY DRAW
+            pointInstances(0L);
+            for (int column = 0; column < 4; column++) {
+                glEnableVertexAttribArray(MODEL_LOCATION + column);
+                glVertexAttribDivisor(MODEL_LOCATION + column, 1);
+            }
+            glEnableVertexAttribArray(COLOR_LOCATION);
+            glVertexAttribDivisor(COLOR_LOCATION, 1);
+
+            glBindVertexArray(0);
+        }
+        System.out.println("Created sphere LOD pyramid: " + DETAIL_LEVELS.length + " levels, " + totalTriangles + " triangles");
+    }
+
+    /**
+     * Start collecting this frame's instances
+     * @param pixelsPerUnit viewport height / (2 tan(fov / 2)), the on-screen size of one unit at distance one
+     */
+    public void begin(float cameraX, float cameraY, float cameraZ, float pixelsPerUnit) {
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+        this.cameraZ = cameraZ;
+        this.pixelsPerUnit = pixelsPerUnit;
+        for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+            instanceCounts[level] = 0;
+            instanceData[level].clear();
+        }
+    }
+
+    /**
+     * Queue a body at the level its projected size calls for
+     */
+    public void add(CelestialBody body) {
+        Vector3f position = body.getPosition();
+        float radius = body.getRadius();
+        int level = selectLevel(body.getId(), position, radius);
+
+        model.translation(position);
+        if (body.getAxialTilt() != 0.0f) {
+            model.rotateX((float) Math.toRadians(body.getAxialTilt()));
+        }
+        model.rotateY(body.getRotationAngle());
+        model.scale(radius);
+
+        FloatBuffer data = reserve(level);
+        int offset = instanceCounts[level]++ * INSTANCE_FLOATS;
+        model.get(offset, data);
+        Vector3f color = body.getColor();
+        data.put(offset + 16, color.x).put(offset + 17, color.y).put(offset + 18, color.z).put(offset + 19, 0.0f);
+    }
+
+    /**
+     * Level for a body this frame, kept between the coarsest level that meets the error limit and the
+     * coarsest one that beats it by the hysteresis margin
+     */
+    private int selectLevel(int bodyId, Vector3f position, float radius) {
+        float dx = position.x - cameraX, dy = position.y - cameraY, dz = position.z - cameraZ;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        int finest = DETAIL_LEVELS.length - 1;
+        if (distance <= radius) {
+            return bodyLevels[bodyId] = finest; // CAMERA INSIDE OR ON THE SURFACE
+        }
+        float projectedRadius = radius / distance * pixelsPerUnit;
+
+        int required = finest;
+        int relaxed = finest;
+        for (int level = finest; level >= 0; level--) {
+            float error = projectedRadius * facetError[level];
+            if (error <= MAX_ERROR_PIXELS) {
+                required = level;
+            }
+            if (error <= MAX_ERROR_PIXELS * HYSTERESIS) {
+                relaxed = level;
+            }
+        }
+        int current = bodyLevels[bodyId];
+        int level = current < 0 ? required : Math.max(required, Math.min(current, relaxed));
+        return bodyLevels[bodyId] = level;
+    }
+
+    /**
+     * Upload the queued instances and draw them, one call per detail level that has any. Camera and
+     * Sun position come from the frame uniform block.
+     */
+    public void draw() {
+        GLState.useProgram(shaders.planetInstancedShaderProgram);
+        GLState.disable(GL_BLEND);
+        GLState.enable(GL_CULL_FACE); // ICOSPHERES ARE WOUND COUNTER-CLOCKWISE FROM OUTSIDE
+
+        // EVERY LEVEL'S INSTANCES, BACK TO BACK IN THIS FRAME'S REGION
+        FloatBuffer instances = instanceStream.beginFloats();
+        for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+            FloatBuffer data = instanceData[level];
+            data.limit(instanceCounts[level] * INSTANCE_FLOATS).position(0);
+            instances.put(data);
+        }
+        instanceStream.flush(0, instances.position() * Float.BYTES);
+
+        drawCalls = 0;
+        trianglesDrawn = 0;
+        verticesDrawn = 0;
+        long offset = instanceStream.getRegionOffset();
+        for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+            int count = instanceCounts[level];
+            if (count == 0) {
+                continue;
+            }
+            GLState.bindVertexArray(meshVAOs[level]);
+            pointInstances(offset);
+            offset += (long) count * INSTANCE_STRIDE;
+            glDrawElementsInstanced(GL_TRIANGLES, indexCounts[level], GL_UNSIGNED_INT, 0, count);
+
+            drawCalls++;
+            trianglesDrawn += (long) count * indexCounts[level] / 3;
+            verticesDrawn += (long) count * vertexCounts[level];
+        }
+        report();
+    }
+
+    private void report() {
+        frames++;
+        intervalTriangles += trianglesDrawn;
+        intervalVertices += verticesDrawn;
+        if (frames % REPORT_INTERVAL != 0) {
+            return;
+        }
+        if (REPORT) {
+            StringBuilder levels = new StringBuilder();
+            for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+                if (instanceCounts[level] > 0) {
+                    levels.append(' ').append(indexCounts[level] / 3).append('x').append(instanceCounts[level]);
+                }
+            }
+            System.out.println("Sphere LOD: " + (intervalTriangles / REPORT_INTERVAL) + " triangles/frame, "
+                + (intervalVertices / REPORT_INTERVAL) + " vertices/frame, " + drawCalls + " draws, levels" + levels);
+        }
+        intervalTriangles = 0;
+        intervalVertices = 0;
+    }
+
+    /**
+     * Point the bound VAO's instance attributes at a run of instances in the stream; without base
+     * instance (GL 4.2) this is how a 3.3 context starts an instanced draw part way into a buffer
+     */
+    private void pointInstances(long byteOffset) {
+        glBindBuffer(GL_ARRAY_BUFFER, instanceStream.getBuffer());
+        for (int column = 0; column < 4; column++) {
+            glVertexAttribPointer(MODEL_LOCATION + column, 4, GL_FLOAT, false, INSTANCE_STRIDE, byteOffset + (long) column * 4 * Float.BYTES);
+        }
+        glVertexAttribPointer(COLOR_LOCATION, 3, GL_FLOAT, false, INSTANCE_STRIDE, byteOffset + 16 * Float.BYTES);
+    }
+
+    /**
+     * Staging list for a level with room for one more instance, doubled when full
+     */
+    private FloatBuffer reserve(int level) {
+        FloatBuffer data = instanceData[level];
+        int needed = (instanceCounts[level] + 1) * INSTANCE_FLOATS;
+        if (needed > data.capacity()) {
+            FloatBuffer grown = BufferUtils.createFloatBuffer(data.capacity() * 2);
+            grown.put(0, data, 0, instanceCounts[level] * INSTANCE_FLOATS);
+            instanceData[level] = data = grown;
+        }
+        return data;
+    }
+
+    // METRICS FROM THE LAST draw() CALL
+    public int getDrawCalls() { return drawCalls; }
+    public long getTrianglesDrawn() { return trianglesDrawn; }
+    public long getVerticesDrawn() { return verticesDrawn; }
+
+    /**
+     * Triangles in the mesh a body was last drawn with, or 0 if it has not been drawn
+     */
+    public int getTriangles(int bodyId) {
+        int level = bodyLevels[bodyId];
+        return level < 0 ? 0 : indexCounts[level] / 3;
+    }
+
+    public void cleanup() {
+        for (int level = 0; level < DETAIL_LEVELS.length; level++) {
+            if (meshVAOs[level] != 0) {
+                glDeleteVertexArrays(meshVAOs[level]);
+                glDeleteBuffers(meshVBOs[level]);
+                glDeleteBuffers(meshEBOs[level]);
+            }
+        }
+        instanceStream.cleanup();
+    }
+}
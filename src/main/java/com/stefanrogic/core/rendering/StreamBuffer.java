@@ -0,0 +1,184 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.opengl.GL44.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+/**
+ * A buffer object for data rewritten every frame, split into REGIONS equal regions used round-robin.
+ *
+ * When the context has buffer storage (GL 4.4 or ARB_buffer_storage) the whole buffer is mapped once,
+ * persistent and coherent, and begin() hands out the next region's mapped memory directly: writing
+ * the frame's data is the upload. A fence placed when a region is left guards it until the GPU has
+ * finished with it, which with three regions is almost never waited on.
+ *
+ * On a plain 3.3 context begin() hands out a CPU staging buffer instead, flush() copies what was
+ * written with glBufferSubData, and each frame starts by orphaning the storage.
+ *
+ * Either way the caller writes through the buffer begin() returns, calls flush() for the bytes the GPU
+ * must see, and adds getRegionOffset() to every offset it draws or binds from. Render thread only;
+ * -Dsolarsystem.noPersistentMapping=true forces the fallback.
+ */
+public class StreamBuffer {
+
+    public static final int REGIONS = 3;
+
+    private static final boolean FORCE_FALLBACK = Boolean.getBoolean("solarsystem.noPersistentMapping");
+    private static final int MAP_FLAGS = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+    private static final long FENCE_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final int target;
+    private final int regionSize;
+    private final ByteBuffer[] regions = new ByteBuffer[REGIONS]; // MAPPED SLICES, OR ONE STAGING BUFFER
+    private final FloatBuffer[] floatViews = new FloatBuffer[REGIONS];
+    private final long[] fences = new long[REGIONS];
+    private boolean persistent;
+    private int buffer;
+    private int region = -1; // NONE UNTIL THE FIRST begin()
+
+    /**
+     * @param target binding target the buffer is created and flushed through
+     * @param regionSize bytes one frame may write; callers needing aligned region offsets pass a multiple of the alignment
+     */
+    public StreamBuffer(int target, int regionSize) {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Stream region size must be positive: " + regionSize);
+        }
+        this.target = target;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * True when this context can map buffers persistently
+     */
+    public static boolean isPersistentMappingSupported() {
+        GLCapabilities caps = GL.getCapabilities();
+        return !FORCE_FALLBACK && (caps.OpenGL44 || caps.GL_ARB_buffer_storage);
+    }
+
+    public void create() {
+        persistent = isPersistentMappingSupported();
+        buffer = glGenBuffers();
+        glBindBuffer(target, buffer);
+        if (persistent) {
+            long size = (long) regionSize * REGIONS;
+            glBufferStorage(target, size, MAP_FLAGS);
+            ByteBuffer mapped = glMapBufferRange(target, 0, size, MAP_FLAGS);
+            if (mapped == null) {
+                throw new IllegalStateException("Could not map stream buffer of " + size + " bytes");
+            }
+            for (int i = 0; i < REGIONS; i++) {
+                regions[i] = mapped.slice(i * regionSize, regionSize).order(ByteOrder.nativeOrder());
+                floatViews[i] = regions[i].asFloatBuffer();
+            }
+        } else {
+            glBufferData(target, regionSize, GL_STREAM_DRAW);
+            ByteBuffer staging = BufferUtils.createByteBuffer(regionSize);
+            FloatBuffer stagingFloats = staging.asFloatBuffer();
+            for (int i = 0; i < REGIONS; i++) {
+                regions[i] = staging;
+                floatViews[i] = stagingFloats;
+            }
+        }
+        glBindBuffer(target, 0);
+    }
+
+    /**
+     * Move to the next region and return it for writing, position 0 and limit the region size.
+     * The region's previous contents are undefined.
+     */
+    public ByteBuffer begin() {
+        if (persistent) {
+            if (region >= 0) {
+                // EVERYTHING ISSUED SO FAR MAY READ THE REGION WE ARE LEAVING
+                fences[region] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+            }
+            region = (region + 1) % REGIONS;
+            waitForRegion(region);
+        } else {
+            // ORPHAN: DRAWS STILL READING LAST FRAME'S DATA KEEP THE OLD STORAGE
+            region = (region + 1) % REGIONS;
+            glBindBuffer(target, buffer);
+            glBufferData(target, regionSize, GL_STREAM_DRAW);
+            glBindBuffer(target, 0);
+        }
+        return regions[region].clear();
+    }
+
+    /**
+     * Float view of the current region, for callers writing floats only
+     */
+    public FloatBuffer beginFloats() {
+        begin();
+        return floatViews[region].clear();
+    }
+
+    private void waitForRegion(int index) {
+        long fence = fences[index];
+        if (fence == 0) {
+            return;
+        }
+        int status = glClientWaitSync(fence, 0, 0);
+        if (status == GL_TIMEOUT_EXPIRED) {
+            // FLUSH ONCE SO THE FENCE IS GUARANTEED TO SIGNAL, THEN BLOCK
+            status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+        }
+        glDeleteSync(fence);
+        fences[index] = 0;
+        if (status == GL_WAIT_FAILED) {
+            throw new IllegalStateException("Waiting for a stream buffer fence failed");
+        }
+    }
+
+    /**
+     * Make bytes [from, to) of the current region visible to the GPU. Free when mapped coherently.
+     */
+    public void flush(int from, int to) {
+        if (persistent || to <= from) {
+            return;
+        }
+        ByteBuffer staging = regions[region];
+        staging.limit(to).position(from);
+        glBindBuffer(target, buffer);
+        glBufferSubData(target, from, staging);
+        glBindBuffer(target, 0);
+        staging.clear();
+    }
+
+    /**
+     * Byte offset of the current region in the buffer; add it to every draw or bind offset
+     */
+    public long getRegionOffset() {
+        return persistent ? (long) region * regionSize : 0L;
+    }
+
+    public int getBuffer() { return buffer; }
+    public int getRegionSize() { return regionSize; }
+    public boolean isPersistent() { return persistent; }
+
+    public void cleanup() {
+        for (int i = 0; i < REGIONS; i++) {
+            if (fences[i] != 0) {
+                glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+        }
+        if (buffer != 0) {
+            if (persistent) {
+                glBindBuffer(target, buffer);
+                glUnmapBuffer(target);
+                glBindBuffer(target, 0);
+            }
+            glDeleteBuffers(buffer);
+            buffer = 0;
+        }
+    }
+}
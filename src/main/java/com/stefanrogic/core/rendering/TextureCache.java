@@ -0,0 +1,255 @@
+package com.stefanrogic.core.rendering;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk cache of decoded textures with their full mip chain. A cold load decodes the image with STB,
+ * builds every mip level with a 2x2 box filter (optionally block-compressing each level) and writes
+ * the result; a warm load maps the file and returns one buffer slice per level, so startup neither
+ * decodes PNG/JPG nor asks the GPU to generate mipmaps.
+ *
+ * -Dsolarsystem.textureCompression=bc stores BC1 (opaque images) or BC3 (images with alpha) instead of
+ * raw RGBA8, an eighth or a quarter of the size at some loss of quality. Both variants are cached
+ * under different names, so switching the flag never reads the wrong format.
+ *
+ * File layout (little-endian, 48-byte header):
+ *   int MAGIC, int VERSION, int format, int width, int height, int levels,
+ *   long source checksum (CRC32C of the image file), long payload checksum (CRC32C after the header),
+ *   long reserved
+ *   levels 0..levels-1 back to back, sizes implied by format and dimensions
+ */
+public final class TextureCache {
+
+    public static final int MAGIC = 0x43584554; // "TEXC"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 48;
+
+    public static final int FORMAT_RGBA8 = 0;
+    public static final int FORMAT_BC1 = 1;
+    public static final int FORMAT_BC3 = 2;
+
+    private static final boolean COMPRESS = "bc".equalsIgnoreCase(System.getProperty("solarsystem.textureCompression", "rgba"));
+
+    private TextureCache() {
+    }
+
+    /**
+     * A mip chain ready for upload; level buffers are usually slices of a mapped file
+     */
+    public static final class Texture {
+        public final String resourcePath;
+        public final int format;
+        public final int width;
+        public final int height;
+        public final ByteBuffer[] levels;
+
+        Texture(String resourcePath, int format, int width, int height, ByteBuffer[] levels) {
+            this.resourcePath = resourcePath;
+            this.format = format;
+            this.width = width;
+            this.height = height;
+            this.levels = levels;
+        }
+
+        public boolean isCompressed() { return format != FORMAT_RGBA8; }
+        public int levelWidth(int level) { return Math.max(1, width >> level); }
+        public int levelHeight(int level) { return Math.max(1, height >> level); }
+    }
+
+    /**
+     * Mip chain for an image resource, from the cache when current, otherwise decoded and cached. Any thread.
+     */
+    public static Texture load(String resourcePath) {
+        long start = System.nanoTime();
+        byte[] source = readResource(resourcePath);
+        long sourceChecksum = checksum(ByteBuffer.wrap(source));
+        Path cacheFile = CacheFiles.forResource("textures", resourcePath, COMPRESS ? ".bc.tex" : ".rgba.tex");
+
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                Texture cached = map(resourcePath, cacheFile, sourceChecksum);
+                if (cached != null) {
+                    System.out.println("Mapped cached texture " + cacheFile + " (" + cached.width + "x" + cached.height + ", "
+                        + cached.levels.length + " levels) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                    return cached;
+                }
+                System.out.println("Texture cache for " + resourcePath + " is stale, rebuilding");
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable texture cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        ByteBuffer encoded;
+        TextureLoader.DecodedImage image = TextureLoader.decode(resourcePath, source);
+        try {
+            encoded = encode(image, sourceChecksum);
+        } finally {
+            image.free();
+        }
+        try {
+            CacheFiles.write(cacheFile, encoded.duplicate());
+            Texture texture = map(resourcePath, cacheFile, sourceChecksum);
+            if (texture != null) {
+                System.out.println("Built texture cache " + cacheFile + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                return texture;
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write texture cache " + cacheFile + ", using it from memory: " + e.getMessage());
+        }
+        return decode(resourcePath, encoded, sourceChecksum);
+    }
+
+    private static byte[] readResource(String resourcePath) {
+        try (InputStream inputStream = TextureCache.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                throw new RuntimeException("Resource not found: " + resourcePath);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + resourcePath, e);
+        }
+    }
+
+    private static Texture map(String resourcePath, Path file, long sourceChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(resourcePath, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), sourceChecksum);
+        }
+    }
+
+    /**
+     * Validate a cache file and slice out its levels; null when it belongs to a different source image
+     */
+    private static Texture decode(String resourcePath, ByteBuffer buffer, long sourceChecksum) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("not a version " + VERSION + " texture cache file");
+        }
+        if (buffer.getLong(24) != sourceChecksum) {
+            return null;
+        }
+        int format = buffer.getInt(8);
+        int width = buffer.getInt(12);
+        int height = buffer.getInt(16);
+        int levelCount = buffer.getInt(20);
+        if (format < FORMAT_RGBA8 || format > FORMAT_BC3 || width <= 0 || height <= 0 || levelCount != levelCount(width, height)) {
+            throw new IllegalArgumentException("corrupt texture cache header");
+        }
+        long payload = 0;
+        for (int level = 0; level < levelCount; level++) {
+            payload += levelBytes(format, Math.max(1, width >> level), Math.max(1, height >> level));
+        }
+        if (HEADER_BYTES + payload != buffer.capacity()) {
+            throw new IllegalArgumentException("texture cache size does not match its header");
+        }
+        if (checksum(buffer.slice(HEADER_BYTES, (int) payload)) != buffer.getLong(32)) {
+            throw new IllegalArgumentException("texture cache payload checksum mismatch");
+        }
+
+        ByteBuffer[] levels = new ByteBuffer[levelCount];
+        int offset = HEADER_BYTES;
+        for (int level = 0; level < levelCount; level++) {
+            int size = levelBytes(format, Math.max(1, width >> level), Math.max(1, height >> level));
+            levels[level] = buffer.slice(offset, size).order(ByteOrder.LITTLE_ENDIAN);
+            offset += size;
+        }
+        return new Texture(resourcePath, format, width, height, levels);
+    }
+
+    /**
+     * Build the mip chain of a decoded image and lay it out in the file format
+     */
+    private static ByteBuffer encode(TextureLoader.DecodedImage image, long sourceChecksum) {
+        int width = image.width;
+        int height = image.height;
+        int levelCount = levelCount(width, height);
+        int format = COMPRESS ? (hasAlpha(image.pixels) ? FORMAT_BC3 : FORMAT_BC1) : FORMAT_RGBA8;
+
+        long payload = 0;
+        for (int level = 0; level < levelCount; level++) {
+            payload += levelBytes(format, Math.max(1, width >> level), Math.max(1, height >> level));
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) (HEADER_BYTES + payload)).order(ByteOrder.LITTLE_ENDIAN);
+
+        // EACH LEVEL IS FILTERED FROM THE UNCOMPRESSED LEVEL ABOVE, NEVER FROM A COMPRESSED ONE
+        ByteBuffer rgba = image.pixels;
+        int offset = HEADER_BYTES;
+        for (int level = 0; level < levelCount; level++) {
+            int w = Math.max(1, width >> level);
+            int h = Math.max(1, height >> level);
+            if (level > 0) {
+                rgba = downsample(rgba, Math.max(1, width >> (level - 1)), Math.max(1, height >> (level - 1)), w, h);
+            }
+            ByteBuffer target = buffer.slice(offset, levelBytes(format, w, h));
+            switch (format) {
+                case FORMAT_BC1 -> BlockCompressor.compress(rgba, w, h, target, false);
+                case FORMAT_BC3 -> BlockCompressor.compress(rgba, w, h, target, true);
+                default -> target.put(0, rgba, 0, w * h * 4);
+            }
+            offset += target.capacity();
+        }
+
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, format).putInt(12, width).putInt(16, height).putInt(20, levelCount);
+        buffer.putLong(24, sourceChecksum);
+        buffer.putLong(32, checksum(buffer.slice(HEADER_BYTES, (int) payload)));
+        buffer.putLong(40, 0L);
+        return buffer;
+    }
+
+    /**
+     * 2x2 box filter, the same filter glGenerateMipmap uses in practice. Odd edges reuse the last texel.
+     */
+    static ByteBuffer downsample(ByteBuffer source, int sourceWidth, int sourceHeight, int width, int height) {
+        ByteBuffer target = ByteBuffer.allocateDirect(width * height * 4);
+        for (int y = 0; y < height; y++) {
+            int row0 = Math.min(2 * y, sourceHeight - 1) * sourceWidth;
+            int row1 = Math.min(2 * y + 1, sourceHeight - 1) * sourceWidth;
+            for (int x = 0; x < width; x++) {
+                int col0 = Math.min(2 * x, sourceWidth - 1);
+                int col1 = Math.min(2 * x + 1, sourceWidth - 1);
+                int a = (row0 + col0) * 4, b = (row0 + col1) * 4, c = (row1 + col0) * 4, d = (row1 + col1) * 4;
+                int out = (y * width + x) * 4;
+                for (int channel = 0; channel < 4; channel++) {
+                    int sum = (source.get(a + channel) & 0xFF) + (source.get(b + channel) & 0xFF)
+                        + (source.get(c + channel) & 0xFF) + (source.get(d + channel) & 0xFF);
+                    target.put(out + channel, (byte) ((sum + 2) >> 2)); // ROUND TO NEAREST
+                }
+            }
+        }
+        return target;
+    }
+
+    private static boolean hasAlpha(ByteBuffer rgba) {
+        for (int i = 3; i < rgba.capacity(); i += 4) {
+            if (rgba.get(i) != (byte) 0xFF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int levelCount(int width, int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+    }
+
+    static int levelBytes(int format, int width, int height) {
+        if (format == FORMAT_RGBA8) {
+            return width * height * 4;
+        }
+        int blocks = ((width + 3) / 4) * ((height + 3) / 4);
+        return blocks * (format == FORMAT_BC1 ? 8 : 16);
+    }
+
+    private static long checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return crc.getValue();
+    }
+}
@@ -1,124 +1,121 @@
 package com.stefanrogic.core.rendering;
 
 import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
 import org.lwjgl.stb.STBImage;
 import org.lwjgl.system.MemoryStack;
+import static org.lwjgl.opengl.EXTTextureCompressionS3TC.*;
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL12.*;
+import static org.lwjgl.opengl.GL13.*;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 
 /**
- * Texture loader for PNG files using STB Image
+ * Texture loader for PNG and JPG files using STB Image, backed by TextureCache
  */
 public class TextureLoader {
     
     /**
-     * Load a PNG texture from the resources directory
+     * RGBA8 pixels decoded by STB. The pixel buffer is native memory; call free() when done with it.
+     */
+    public static final class DecodedImage {
+        public final String resourcePath;
+        public final int width;
+        public final int height;
+        public final ByteBuffer pixels;
+        
+        DecodedImage(String resourcePath, int width, int height, ByteBuffer pixels) {
+            this.resourcePath = resourcePath;
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+        
+        public void free() {
+            STBImage.stbi_image_free(pixels);
+        }
+    }
+    
+    /**
+     * Load a PNG texture from the resources directory, through the decoded-texture cache
      * @param resourcePath Path to the PNG file in resources (e.g., "textures/earth.png")
      * @return OpenGL texture ID
      */
     public static int loadTextureFromResources(String resourcePath) {
-        ByteBuffer imageBuffer;
-        int width, height;
-        
+        return upload(TextureCache.load(resourcePath));
+    }
+    
+    /**
+     * Decode image file bytes to RGBA8. Touches no OpenGL state, so it is safe on any thread.
+     * @param resourcePath Name used in log and error messages
+     * @param imageBytes Contents of the PNG or JPG file
+     */
+    public static DecodedImage decode(String resourcePath, byte[] imageBytes) {
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer w = stack.mallocInt(1);
             IntBuffer h = stack.mallocInt(1);
             IntBuffer channels = stack.mallocInt(1);
             
-            // Load from resources using class loader
-            try (var inputStream = TextureLoader.class.getClassLoader().getResourceAsStream(resourcePath)) {
-                if (inputStream == null) {
-                    throw new RuntimeException("Resource not found: " + resourcePath);
-                }
-                
-                // Read all bytes from input stream
-                byte[] imageBytes = inputStream.readAllBytes();
-                ByteBuffer imageData = BufferUtils.createByteBuffer(imageBytes.length);
-                imageData.put(imageBytes);
-                imageData.flip();
-                
-                // Load image data with STB
-                imageBuffer = STBImage.stbi_load_from_memory(imageData, w, h, channels, 4);
-                if (imageBuffer == null) {
-                    throw new RuntimeException("Failed to load texture: " + resourcePath + " - " + STBImage.stbi_failure_reason());
-                }
-                
-                width = w.get();
-                height = h.get();
-                
-                System.out.println("Loaded texture from resources: " + resourcePath + " (" + width + "x" + height + ")");
-                
-            } catch (Exception e) {
-                throw new RuntimeException("Error loading texture from resources: " + resourcePath, e);
+            ByteBuffer imageData = BufferUtils.createByteBuffer(imageBytes.length);
+            imageData.put(imageBytes);
+            imageData.flip();
+            
+            // Load image data with STB
+            ByteBuffer imageBuffer = STBImage.stbi_load_from_memory(imageData, w, h, channels, 4);
+            if (imageBuffer == null) {
+                throw new RuntimeException("Failed to load texture: " + resourcePath + " - " + STBImage.stbi_failure_reason());
             }
+            
+            System.out.println("Decoded texture " + resourcePath + " (" + w.get(0) + "x" + h.get(0) + ")");
+            return new DecodedImage(resourcePath, w.get(0), h.get(0), imageBuffer);
         }
-        
-        // Create OpenGL texture
-        int textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
-        
-        // Set texture parameters
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR_MIPMAP_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
-        
-        // Upload texture data
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, imageBuffer);
-        
-        // Generate mipmaps
-        glGenerateMipmap(GL_TEXTURE_2D);
-        
-        // Free STB image memory
-        STBImage.stbi_image_free(imageBuffer);
-        
-        glBindTexture(GL_TEXTURE_2D, 0);
-        
-        return textureId;
     }
     
     /**
-     * Load Earth diffuse texture
+     * Create a texture from a prebuilt mip chain. Every level is uploaded as stored, so the driver
+     * never has to generate mipmaps. BC levels are expanded to RGBA8 first when the context lacks
+     * EXT_texture_compression_s3tc. GL thread only.
      * @return OpenGL texture ID
      */
-    public static int createEarthTexture() {
-        // Try to load the diffuse texture from resources
-        try {
-            return loadTextureFromResources("textures/Diffuse_2K.png");
-        } catch (Exception e) {
-            System.err.println("Failed to load Earth diffuse texture: " + e.getMessage());
-            return createFallbackTexture();
-        }
-    }
-    
-    /**
-     * Create a simple fallback texture if PNG loading fails
-     */
-    private static int createFallbackTexture() {
-        // Create a simple 2x2 blue texture as fallback
-        ByteBuffer buffer = BufferUtils.createByteBuffer(2 * 2 * 4);
-        
-        // Blue color (RGBA)
-        for (int i = 0; i < 4; i++) {
-            buffer.put((byte) 0x1e);  // R
-            buffer.put((byte) 0x3a);  // G
-            buffer.put((byte) 0x5f);  // B
-            buffer.put((byte) 0xff);  // A
+    public static int upload(TextureCache.Texture texture) {
+        // S3TC IS AN EXTENSION, NOT CORE: WITHOUT IT THE COMPRESSED FORMATS ARE GL_INVALID_ENUM
+        boolean compressed = texture.isCompressed() && GL.getCapabilities().GL_EXT_texture_compression_s3tc;
+        if (texture.isCompressed() && !compressed) {
+            System.out.println("S3TC not supported, expanding " + texture.resourcePath + " to RGBA");
         }
-        buffer.flip();
         
+        // Create OpenGL texture
         int textureId = glGenTextures();
         glBindTexture(GL_TEXTURE_2D, textureId);
         
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        // Set texture parameters
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR_MIPMAP_LINEAR);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, texture.levels.length - 1);
         
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 2, 2, 0, GL_RGBA, GL_UNSIGNED_BYTE, buffer);
+        // Upload every level
+        int internalFormat = switch (texture.format) {
+            case TextureCache.FORMAT_BC1 -> GL_COMPRESSED_RGB_S3TC_DXT1_EXT;
+            case TextureCache.FORMAT_BC3 -> GL_COMPRESSED_RGBA_S3TC_DXT5_EXT;
+            default -> GL_RGBA;
+        };
+        for (int level = 0; level < texture.levels.length; level++) {
+            int width = texture.levelWidth(level);
+            int height = texture.levelHeight(level);
+            if (compressed) {
+                glCompressedTexImage2D(GL_TEXTURE_2D, level, internalFormat, width, height, 0, texture.levels[level]);
+            } else if (texture.isCompressed()) {
+                ByteBuffer pixels = BlockCompressor.decompress(texture.levels[level], width, height,
+                    texture.format == TextureCache.FORMAT_BC3);
+                glTexImage2D(GL_TEXTURE_2D, level, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+            } else {
+                glTexImage2D(GL_TEXTURE_2D, level, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, texture.levels[level]);
+            }
+        }
         
         glBindTexture(GL_TEXTURE_2D, 0);
         
@@ -0,0 +1,195 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL14.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL31.*;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import org.lwjgl.BufferUtils;
+import org.joml.Vector3f;
+
+import com.stefanrogic.assets.celestial.AsteroidBelt;
+import com.stefanrogic.assets.celestial.CelestialBody;
+import com.stefanrogic.core.physics.SimulationThread;
+import com.stefanrogic.core.scene.BodyStore;
+import com.stefanrogic.core.scene.SceneManager;
+
+/**
+ * Fading path history behind every body, kept on the GPU as one ring of samples.
+ *
+ * The ring is stored slot-major: slot s holds one position per trail, so a frame writes a single
+ * contiguous run of trail count * 16 bytes, whatever the trail length. The newest slot follows the
+ * bodies every frame; once -Dsolarsystem.trailInterval simulated seconds have passed it is kept and
+ * the next slot becomes the newest. The trail shader reads the ring through a buffer texture and
+ * works out each vertex's sample from gl_VertexID, so every trail is one range of a single
+ * glMultiDrawArrays.
+ *
+ * -Dsolarsystem.trailLength sets the samples per trail and -Dsolarsystem.asteroidTrails=true adds
+ * the asteroid belt.
+ */
+public class TrailRenderer {
+
+    // TEXTURE UNITS THE TRAIL SHADER'S BUFFER SAMPLERS READ; NOTHING ELSE BINDS THESE
+    public static final int SAMPLE_UNIT = 6;
+    public static final int COLOR_UNIT = 7;
+
+    private static final int CAPACITY = Integer.getInteger("solarsystem.trailLength", 512);
+    private static final double INTERVAL = Double.parseDouble(System.getProperty("solarsystem.trailInterval", "10800")); // SECONDS
+    private static final boolean ASTEROID_TRAILS = Boolean.getBoolean("solarsystem.asteroidTrails");
+    private static final Vector3f ASTEROID_COLOR = new Vector3f(0.45f, 0.4f, 0.35f);
+    private static final int SAMPLE_BYTES = 4 * Float.BYTES; // RGBA32F TEXEL, W UNUSED
+
+    private final SceneManager sceneManager;
+    private final ShaderManager.ShaderPrograms shaders;
+    private int[] trailBodies; // BODY ID PER TRAIL
+    private int trailCount;
+
+    private int vao; // EMPTY: THE SHADER HAS NO ATTRIBUTES
+    private int sampleBuffer;
+    private int sampleTexture;
+    private int colorBuffer;
+    private int colorTexture;
+    private FloatBuffer newest; // ONE SLOT, REWRITTEN EVERY FRAME
+    private IntBuffer firsts;
+    private IntBuffer counts;
+
+    private int head;
+    private int filled;
+    private double lastTime = Double.NaN;
+    private double lastSampleTime;
+
+    public TrailRenderer(SceneManager sceneManager, ShaderManager.ShaderPrograms shaders) {
+        if (CAPACITY < 2) {
+            throw new IllegalArgumentException("solarsystem.trailLength must be at least 2: " + CAPACITY);
+        }
+        this.sceneManager = sceneManager;
+        this.shaders = shaders;
+    }
+
+    public void create() {
+        AsteroidBelt belt = ASTEROID_TRAILS ? sceneManager.getAsteroidBelt() : null;
+        int bodies = sceneManager.getCelestialBodies().size();
+        trailCount = bodies + (belt != null ? belt.getCount() : 0);
+        trailBodies = new int[trailCount];
+        FloatBuffer colors = BufferUtils.createFloatBuffer(trailCount * 4);
+        for (int i = 0; i < bodies; i++) {
+            CelestialBody body = sceneManager.getCelestialBodies().get(i);
+            trailBodies[i] = body.getId();
+            Vector3f color = body.getColor();
+            colors.put(color.x).put(color.y).put(color.z).put(1.0f);
+        }
+        for (int i = bodies; i < trailCount; i++) {
+            trailBodies[i] = belt.getFirstId() + i - bodies;
+            colors.put(ASTEROID_COLOR.x).put(ASTEROID_COLOR.y).put(ASTEROID_COLOR.z).put(1.0f);
+        }
+        colors.flip();
+
+        newest = BufferUtils.createFloatBuffer(trailCount * 4);
+        firsts = BufferUtils.createIntBuffer(trailCount);
+        counts = BufferUtils.createIntBuffer(trailCount);
+        for (int i = 0; i < trailCount; i++) {
+            firsts.put(i, i * CAPACITY);
+        }
+
+        sampleBuffer = glGenBuffers();
+        glBindBuffer(GL_TEXTURE_BUFFER, sampleBuffer);
+        glBufferData(GL_TEXTURE_BUFFER, (long) CAPACITY * trailCount * SAMPLE_BYTES, GL_DYNAMIC_DRAW);
+        colorBuffer = glGenBuffers();
+        glBindBuffer(GL_TEXTURE_BUFFER, colorBuffer);
+        glBufferData(GL_TEXTURE_BUFFER, colors, GL_STATIC_DRAW);
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+
+        sampleTexture = glGenTextures();
+        glBindTexture(GL_TEXTURE_BUFFER, sampleTexture);
+        glTexBuffer(GL_TEXTURE_BUFFER, GL_RGBA32F, sampleBuffer);
+        colorTexture = glGenTextures();
+        glBindTexture(GL_TEXTURE_BUFFER, colorTexture);
+        glTexBuffer(GL_TEXTURE_BUFFER, GL_RGBA32F, colorBuffer);
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+
+        vao = glGenVertexArrays();
+        System.out.println("Created " + trailCount + " trails of " + CAPACITY + " samples ("
+            + (long) CAPACITY * trailCount * SAMPLE_BYTES / 1024 + " KB)");
+    }
+
+    /**
+     * Write the bodies' current positions into the newest slot, keeping it and moving on once the
+     * sampling interval has passed. Nothing is written while simulated time stands still.
+     */
+    public void update() {
+        SimulationThread simulation = sceneManager.getSimulation();
+        double time = simulation != null ? simulation.getSimulatedTime() : 0.0;
+        if (time == lastTime) {
+            return;
+        }
+        if (Double.isNaN(lastTime) || time < lastTime) {
+            // FIRST FRAME, OR TIME WENT BACKWARDS: START OVER FROM HERE
+            head = 0;
+            filled = 1;
+            lastSampleTime = time;
+        } else if (time - lastSampleTime >= INTERVAL) {
+            head = (head + 1) % CAPACITY;
+            filled = Math.min(filled + 1, CAPACITY);
+            lastSampleTime = time;
+        }
+        lastTime = time;
+
+        BodyStore store = sceneManager.getBodyStore();
+        double[] x = store.getDisplayPositionX();
+        double[] y = store.getDisplayPositionY();
+        double[] z = store.getDisplayPositionZ();
+        newest.clear();
+        for (int i = 0; i < trailCount; i++) {
+            int id = trailBodies[i];
+            newest.put((float) x[id]).put((float) y[id]).put((float) z[id]).put(0.0f);
+        }
+        newest.flip();
+        glBindBuffer(GL_TEXTURE_BUFFER, sampleBuffer);
+        glBufferSubData(GL_TEXTURE_BUFFER, (long) head * trailCount * SAMPLE_BYTES, newest);
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+    }
+
+    /**
+     * Draw every trail as a fading line strip, newest end at the body
+     */
+    public void render() {
+        if (filled < 2) {
+            return;
+        }
+        counts.clear();
+        for (int i = 0; i < trailCount; i++) {
+            counts.put(filled);
+        }
+        counts.flip();
+        firsts.clear();
+
+        GLState.useProgram(shaders.trailShaderProgram);
+        GLState.enable(GL_BLEND);
+        GLState.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLState.depthMask(false); // FADED TAILS MUST NOT HIDE WHAT IS BEHIND THEM
+        GLState.lineWidth(1.5f);
+        GLState.uniform1i(shaders.trailCapacityLocation, CAPACITY);
+        GLState.uniform1i(shaders.trailCountLocation, trailCount);
+        GLState.uniform1i(shaders.trailHeadLocation, head);
+        GLState.uniform1i(shaders.trailFilledLocation, filled);
+        GLState.bindTexture(SAMPLE_UNIT, GL_TEXTURE_BUFFER, sampleTexture);
+        GLState.bindTexture(COLOR_UNIT, GL_TEXTURE_BUFFER, colorTexture);
+
+        GLState.bindVertexArray(vao);
+        glMultiDrawArrays(GL_LINE_STRIP, firsts, counts);
+        GLState.depthMask(true);
+    }
+
+    public void cleanup() {
+        if (vao != 0) {
+            glDeleteVertexArrays(vao);
+            glDeleteTextures(sampleTexture);
+            glDeleteTextures(colorTexture);
+            glDeleteBuffers(sampleBuffer);
+            glDeleteBuffers(colorBuffer);
+        }
+    }
+}
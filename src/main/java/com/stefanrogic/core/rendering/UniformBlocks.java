@@ -0,0 +1,180 @@
+package com.stefanrogic.core.rendering;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL31.*;
+
+import java.nio.ByteBuffer;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * The two std140 uniform blocks the scene shaders share, both written into one StreamBuffer.
+ *
+ * FrameData (binding 0) holds the camera matrices, the Sun's position and the time. beginFrame()
+ * writes it at the head of the frame's stream region, where it stays bound for the whole frame.
+ *
+ * ObjectData (binding 1) holds one object's model matrix, colour and texture flags. Objects are
+ * pushed into aligned slots after the frame data. Before drawing, an object only rebinds its range.
+ * Everything pushed since the last flush becomes visible in one go, the first time one of those
+ * slots is bound: free with a persistently mapped stream, one glBufferSubData without.
+ */
+public class UniformBlocks {
+
+    public static final int FRAME_BINDING = 0;
+    public static final int OBJECT_BINDING = 1;
+
+    // GLSL DECLARATIONS, PASTED INTO EVERY SHADER THAT READS THE BLOCKS
+    public static final String FRAME_BLOCK = """
+        layout (std140) uniform FrameData {
+            mat4 view;
+            mat4 projection;
+            mat4 viewProjection;
+            vec3 sunPosition;
+            float time;
+        };
+        """;
+    public static final String OBJECT_BLOCK = """
+        layout (std140) uniform ObjectData {
+            mat4 model;
+            vec4 color;
+            ivec4 textures; // DIFFUSE, CLOUDS, BUMP, NIGHT LIGHTS; NON-ZERO WHEN BOUND
+        };
+        """;
+
+    // std140 OFFSETS
+    private static final int FRAME_SIZE = 208;
+    private static final int VIEW_OFFSET = 0;
+    private static final int PROJECTION_OFFSET = 64;
+    private static final int VIEW_PROJECTION_OFFSET = 128;
+    private static final int SUN_POSITION_OFFSET = 192;
+    private static final int TIME_OFFSET = 204;
+    private static final int OBJECT_SIZE = 96;
+    private static final int MODEL_OFFSET = 0;
+    private static final int COLOR_OFFSET = 64;
+    private static final int TEXTURES_OFFSET = 80;
+
+    // TEXTURE FLAG BITS FOR push()
+    public static final int DIFFUSE = 1;
+    public static final int CLOUDS = 2;
+    public static final int BUMP = 4;
+    public static final int NIGHT_LIGHTS = 8;
+
+    private static final Vector3f WHITE = new Vector3f(1.0f);
+    private static final Matrix4f IDENTITY = new Matrix4f();
+
+    private final int objectCapacity;
+    private StreamBuffer stream;
+    private ByteBuffer data; // THIS FRAME'S REGION
+    private int objectsStart; // FRAME_SIZE ROUNDED UP TO GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT
+    private int slotSize; // OBJECT_SIZE ROUNDED UP THE SAME WAY
+    private int used; // SLOTS PUSHED THIS FRAME
+    private int uploaded; // SLOTS ALREADY FLUSHED
+    private int identitySlot;
+
+    /**
+     * @param objectCapacity most objects pushed in one frame
+     */
+    public UniformBlocks(int objectCapacity) {
+        this.objectCapacity = objectCapacity;
+    }
+
+    public void create() {
+        int alignment = glGetInteger(GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT);
+        objectsStart = align(FRAME_SIZE, alignment);
+        slotSize = align(OBJECT_SIZE, alignment);
+        stream = new StreamBuffer(GL_UNIFORM_BUFFER, objectsStart + objectCapacity * slotSize);
+        stream.create();
+    }
+
+    private static int align(int size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Point a program's blocks at the shared binding points; programs without a block are left alone
+     */
+    public static void bindBlocks(int program) {
+        int frame = glGetUniformBlockIndex(program, "FrameData");
+        if (frame != GL_INVALID_INDEX) {
+            glUniformBlockBinding(program, frame, FRAME_BINDING);
+        }
+        int object = glGetUniformBlockIndex(program, "ObjectData");
+        if (object != GL_INVALID_INDEX) {
+            glUniformBlockBinding(program, object, OBJECT_BINDING);
+        }
+    }
+
+    /**
+     * Write this frame's camera and lighting into a fresh stream region, and start its object slots
+     * with the identity transform
+     */
+    public void beginFrame(Matrix4f view, Matrix4f projection, Matrix4f viewProjection, Vector3f sunPosition, float time) {
+        data = stream.begin();
+        view.get(VIEW_OFFSET, data);
+        projection.get(PROJECTION_OFFSET, data);
+        viewProjection.get(VIEW_PROJECTION_OFFSET, data);
+        sunPosition.get(SUN_POSITION_OFFSET, data);
+        data.putFloat(TIME_OFFSET, time);
+        stream.flush(0, FRAME_SIZE);
+        GLState.bindUniformRange(FRAME_BINDING, stream.getBuffer(), stream.getRegionOffset(), FRAME_SIZE);
+
+        used = 0;
+        uploaded = 0;
+        identitySlot = push(IDENTITY);
+    }
+
+    /**
+     * Queue a transform alone, white and untextured
+     */
+    public int push(Matrix4f model) {
+        return push(model, WHITE, 0);
+    }
+
+    /**
+     * Queue one object's data
+     * @param textures DIFFUSE | CLOUDS | BUMP | NIGHT_LIGHTS for the textures its draw binds
+     * @return the slot to pass to bindObject()
+     */
+    public int push(Matrix4f model, Vector3f color, int textures) {
+        if (used == objectCapacity) {
+            throw new IllegalStateException("More than " + objectCapacity + " objects pushed in one frame");
+        }
+        int offset = slotOffset(used);
+        model.get(offset + MODEL_OFFSET, data);
+        data.putFloat(offset + COLOR_OFFSET, color.x)
+            .putFloat(offset + COLOR_OFFSET + 4, color.y)
+            .putFloat(offset + COLOR_OFFSET + 8, color.z)
+            .putFloat(offset + COLOR_OFFSET + 12, 1.0f);
+        for (int i = 0; i < 4; i++) {
+            data.putInt(offset + TEXTURES_OFFSET + i * 4, (textures >> i) & 1);
+        }
+        return used++;
+    }
+
+    /**
+     * Make a pushed slot the ObjectData the next draw reads
+     */
+    public void bindObject(int slot) {
+        if (slot >= uploaded) {
+            // ONE FLUSH FOR EVERYTHING PUSHED SINCE THE LAST ONE
+            stream.flush(slotOffset(uploaded), slotOffset(used));
+            uploaded = used;
+        }
+        GLState.bindUniformRange(OBJECT_BINDING, stream.getBuffer(), stream.getRegionOffset() + slotOffset(slot), OBJECT_SIZE);
+    }
+
+    private int slotOffset(int slot) {
+        return objectsStart + slot * slotSize;
+    }
+
+    /**
+     * Slot with the identity transform, for geometry already in world space
+     */
+    public int getIdentitySlot() { return identitySlot; }
+
+    public void cleanup() {
+        if (stream != null) {
+            stream.cleanup();
+        }
+    }
+}
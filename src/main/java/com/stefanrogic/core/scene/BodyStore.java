@@ -0,0 +1,345 @@
+package com.stefanrogic.core.scene;
+
+import java.util.Arrays;
+import org.joml.Vector3f;
+import com.stefanrogic.core.astronomy.KeplerianEphemeris;
+import com.stefanrogic.core.physics.Units;
+
+/**
+ * Structure-of-arrays storage for every body in the scene.
+ * Bodies are addressed by an integer id; the celestial classes are thin views over these arrays.
+ * Arrays may be reallocated when bodies are added, so callers must not cache them across addBody() calls.
+ * The state vectors belong to the simulation; renderers read a separate display copy (position and spin)
+ * that the simulation thread's snapshots are interpolated into, so the two threads never share arrays.
+ */
+public class BodyStore {
+
+    public static final int NO_PARENT = -1;
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int count;
+    private int capacity;
+
+    // IDENTITY AND HIERARCHY
+    private String[] names;
+    private int[] parents;
+
+    // STATE VECTORS (SCENE UNITS: 1 UNIT = 10,000 KM, TIME IN SECONDS)
+    private double[] positionX, positionY, positionZ;
+    private double[] velocityX, velocityY, velocityZ;
+
+    // GRAVITY
+    private double[] mass; // KG
+    private double[] gravitationalParameter; // G * MASS IN UNITS^3 / S^2
+
+    // ROTATION STATE
+    private double[] rotationAngle; // RADIANS
+    private double[] rotationRate; // RADIANS PER SECOND
+    private double[] axialTilt; // DEGREES
+    private boolean[] tidallyLocked;
+
+    // PHYSICAL DATA
+    private double[] radius;
+
+    // DISPLAY STATE (RENDER THREAD ONLY)
+    private double[] displayX, displayY, displayZ;
+    private double[] displayRotation;
+
+    public BodyStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public BodyStore(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    private void allocate(int newCapacity) {
+        names = names == null ? new String[newCapacity] : Arrays.copyOf(names, newCapacity);
+        parents = grow(parents, newCapacity);
+        positionX = grow(positionX, newCapacity);
+        positionY = grow(positionY, newCapacity);
+        positionZ = grow(positionZ, newCapacity);
+        velocityX = grow(velocityX, newCapacity);
+        velocityY = grow(velocityY, newCapacity);
+        velocityZ = grow(velocityZ, newCapacity);
+        mass = grow(mass, newCapacity);
+        gravitationalParameter = grow(gravitationalParameter, newCapacity);
+        rotationAngle = grow(rotationAngle, newCapacity);
+        rotationRate = grow(rotationRate, newCapacity);
+        axialTilt = grow(axialTilt, newCapacity);
+        tidallyLocked = tidallyLocked == null ? new boolean[newCapacity] : Arrays.copyOf(tidallyLocked, newCapacity);
+        radius = grow(radius, newCapacity);
+        displayX = grow(displayX, newCapacity);
+        displayY = grow(displayY, newCapacity);
+        displayZ = grow(displayZ, newCapacity);
+        displayRotation = grow(displayRotation, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static double[] grow(double[] array, int newCapacity) {
+        return array == null ? new double[newCapacity] : Arrays.copyOf(array, newCapacity);
+    }
+
+    private static int[] grow(int[] array, int newCapacity) {
+        return array == null ? new int[newCapacity] : Arrays.copyOf(array, newCapacity);
+    }
+
+    /**
+     * Reserve room for at least the given number of bodies so bulk adds do not reallocate repeatedly
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            allocate(Math.max(minCapacity, capacity * 2));
+        }
+    }
+
+    /**
+     * Register a new body and return its id. Parents must be added before their children.
+     */
+    public int addBody(String name, int parentId, double bodyRadius, double massKg) {
+        if (parentId != NO_PARENT && (parentId < 0 || parentId >= count)) {
+            throw new IllegalArgumentException("Parent must be added before child: " + name);
+        }
+        ensureCapacity(count + 1);
+        int id = count++;
+        names[id] = name;
+        parents[id] = parentId;
+        radius[id] = bodyRadius;
+        mass[id] = massKg;
+        gravitationalParameter[id] = Units.gravitationalParameter(massKg);
+        if (parentId != NO_PARENT) {
+            positionX[id] = positionX[parentId];
+            positionY[id] = positionY[parentId];
+            positionZ[id] = positionZ[parentId];
+            velocityX[id] = velocityX[parentId];
+            velocityY[id] = velocityY[parentId];
+            velocityZ[id] = velocityZ[parentId];
+        }
+        return id;
+    }
+
+    /**
+     * Place a body on a circular orbit in the XZ plane around its parent.
+     * The orbital speed follows from the parent's and the body's own mass.
+     */
+    public void setCircularOrbit(int id, double distance, double startAngle) {
+        setCircularOrbit(id, distance, startAngle, 0.0, 0.0);
+    }
+
+    /**
+     * Circular orbit tilted by inclination (radians) about the line of nodes, which lies at
+     * ascendingNode (radians) from the X axis in the XZ plane
+     */
+    public void setCircularOrbit(int id, double distance, double startAngle, double inclination, double ascendingNode) {
+        int parent = parents[id];
+        double baseX = 0.0, baseY = 0.0, baseZ = 0.0;
+        double baseVX = 0.0, baseVY = 0.0, baseVZ = 0.0;
+        double mu = gravitationalParameter[id];
+        if (parent != NO_PARENT) {
+            baseX = positionX[parent];
+            baseY = positionY[parent];
+            baseZ = positionZ[parent];
+            baseVX = velocityX[parent];
+            baseVY = velocityY[parent];
+            baseVZ = velocityZ[parent];
+            mu += gravitationalParameter[parent];
+        }
+        double cos = Math.cos(startAngle);
+        double sin = Math.sin(startAngle);
+        double speed = distance > 0.0 ? Math.sqrt(mu / distance) : 0.0;
+
+        // POSITION AND VELOCITY IN THE ORBITAL PLANE, THEN TILTED ABOUT X AND TURNED ABOUT Y
+        double cosI = Math.cos(inclination), sinI = Math.sin(inclination);
+        double cosN = Math.cos(ascendingNode), sinN = Math.sin(ascendingNode);
+        double px = distance * cos, pz = distance * sin;
+        double vx = -speed * sin, vz = speed * cos;
+
+        double tiltedPY = -pz * sinI, tiltedPZ = pz * cosI;
+        double tiltedVY = -vz * sinI, tiltedVZ = vz * cosI;
+
+        positionX[id] = baseX + px * cosN - tiltedPZ * sinN;
+        positionY[id] = baseY + tiltedPY;
+        positionZ[id] = baseZ + px * sinN + tiltedPZ * cosN;
+        velocityX[id] = baseVX + vx * cosN - tiltedVZ * sinN;
+        velocityY[id] = baseVY + tiltedVY;
+        velocityZ[id] = baseVZ + vx * sinN + tiltedVZ * cosN;
+    }
+
+    /**
+     * Set position and velocity relative to the parent from a {x, y, z, vx, vy, vz} state vector
+     */
+    public void setRelativeState(int id, double[] state) {
+        int parent = parents[id];
+        double baseX = 0.0, baseY = 0.0, baseZ = 0.0;
+        double baseVX = 0.0, baseVY = 0.0, baseVZ = 0.0;
+        if (parent != NO_PARENT) {
+            baseX = positionX[parent];
+            baseY = positionY[parent];
+            baseZ = positionZ[parent];
+            baseVX = velocityX[parent];
+            baseVY = velocityY[parent];
+            baseVZ = velocityZ[parent];
+        }
+        positionX[id] = baseX + state[0];
+        positionY[id] = baseY + state[1];
+        positionZ[id] = baseZ + state[2];
+        velocityX[id] = baseVX + state[3];
+        velocityY[id] = baseVY + state[4];
+        velocityZ[id] = baseVZ + state[5];
+    }
+
+    /**
+     * Set spin parameters. Tidally locked bodies always face their parent.
+     */
+    public void setRotation(int id, double angularRate, double tiltDegrees, boolean locked) {
+        rotationRate[id] = angularRate;
+        axialTilt[id] = tiltDegrees;
+        tidallyLocked[id] = locked;
+        rotationAngle[id] = locked ? getOrbitAngle(id) : 0.0;
+    }
+
+    /**
+     * Shift positions and velocities so the centre of mass sits at the origin and does not drift
+     */
+    public void centreOnBarycentre() {
+        double totalMass = 0.0;
+        double cx = 0.0, cy = 0.0, cz = 0.0;
+        double px = 0.0, py = 0.0, pz = 0.0;
+        for (int i = 0; i < count; i++) {
+            double m = mass[i];
+            totalMass += m;
+            cx += m * positionX[i];
+            cy += m * positionY[i];
+            cz += m * positionZ[i];
+            px += m * velocityX[i];
+            py += m * velocityY[i];
+            pz += m * velocityZ[i];
+        }
+        if (totalMass == 0.0) {
+            return;
+        }
+        cx /= totalMass; cy /= totalMass; cz /= totalMass;
+        px /= totalMass; py /= totalMass; pz /= totalMass;
+        for (int i = 0; i < count; i++) {
+            positionX[i] -= cx;
+            positionY[i] -= cy;
+            positionZ[i] -= cz;
+            velocityX[i] -= px;
+            velocityY[i] -= py;
+            velocityZ[i] -= pz;
+        }
+    }
+
+    /**
+     * Advance every body's spin. Tidally locked bodies are turned to face their parent,
+     * so call this after the physics engine has moved the bodies.
+     */
+    public void updateRotation(double deltaTime) {
+        for (int i = 0; i < count; i++) {
+            if (tidallyLocked[i]) {
+                rotationAngle[i] = getOrbitAngle(i);
+            } else if (rotationRate[i] != 0.0) {
+                rotationAngle[i] = wrapAngle(rotationAngle[i] + rotationRate[i] * deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Copy the simulation state straight into the display state (used before a simulation thread runs)
+     */
+    public void syncDisplay() {
+        System.arraycopy(positionX, 0, displayX, 0, count);
+        System.arraycopy(positionY, 0, displayY, 0, count);
+        System.arraycopy(positionZ, 0, displayZ, 0, count);
+        System.arraycopy(rotationAngle, 0, displayRotation, 0, count);
+    }
+
+    private static double wrapAngle(double angle) {
+        angle %= TWO_PI;
+        return angle < 0.0 ? angle + TWO_PI : angle;
+    }
+
+    // QUERIES
+    public int size() { return count; }
+    public int capacity() { return capacity; }
+    public String getName(int id) { return names[id]; }
+    public int getParent(int id) { return parents[id]; }
+    public double getRadius(int id) { return radius[id]; }
+    public double getMass(int id) { return mass[id]; }
+    public double getRotationAngle(int id) { return displayRotation[id]; }
+    public double getAxialTilt(int id) { return axialTilt[id]; }
+
+    /**
+     * Angle of the body around its parent in the XZ plane (radians, 0 = +X), derived from the simulation state
+     */
+    public double getOrbitAngle(int id) {
+        return orbitAngle(id, positionX, positionZ);
+    }
+
+    /**
+     * Same angle derived from the display state, for render-side effects
+     */
+    public double getDisplayOrbitAngle(int id) {
+        return orbitAngle(id, displayX, displayZ);
+    }
+
+    private double orbitAngle(int id, double[] xs, double[] zs) {
+        int parent = parents[id];
+        double dx = xs[id], dz = zs[id];
+        if (parent != NO_PARENT) {
+            dx -= xs[parent];
+            dz -= zs[parent];
+        }
+        return wrapAngle(Math.atan2(dz, dx));
+    }
+
+    /**
+     * Osculating orbit of a body about its parent from the simulation state, in the layout of
+     * KeplerianEphemeris.orbitFromState(). Read it before the simulation thread starts.
+     */
+    public double[] getOsculatingOrbit(int id, double[] dest) {
+        int parent = parents[id];
+        if (parent == NO_PARENT) {
+            throw new IllegalArgumentException(names[id] + " has no parent to orbit");
+        }
+        return KeplerianEphemeris.orbitFromState(
+            positionX[id] - positionX[parent], positionY[id] - positionY[parent], positionZ[id] - positionZ[parent],
+            velocityX[id] - velocityX[parent], velocityY[id] - velocityY[parent], velocityZ[id] - velocityZ[parent],
+            gravitationalParameter[parent] + gravitationalParameter[id], dest);
+    }
+
+    /**
+     * Find a body id by name, or NO_PARENT if there is none
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < count; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return NO_PARENT;
+    }
+
+    /**
+     * Copy a body's display position into dest without allocating
+     */
+    public Vector3f getPosition(int id, Vector3f dest) {
+        return dest.set((float) displayX[id], (float) displayY[id], (float) displayZ[id]);
+    }
+
+    // RAW ARRAYS FOR BULK PROCESSING (VALID UNTIL THE NEXT addBody CALL)
+    public double[] getPositionX() { return positionX; }
+    public double[] getPositionY() { return positionY; }
+    public double[] getPositionZ() { return positionZ; }
+    public double[] getVelocityX() { return velocityX; }
+    public double[] getVelocityY() { return velocityY; }
+    public double[] getVelocityZ() { return velocityZ; }
+    public double[] getGravitationalParameters() { return gravitationalParameter; }
+    public double[] getRotationAngles() { return rotationAngle; }
+    public double[] getDisplayPositionX() { return displayX; }
+    public double[] getDisplayPositionY() { return displayY; }
+    public double[] getDisplayPositionZ() { return displayZ; }
+    public double[] getDisplayRotationAngles() { return displayRotation; }
+}
@@ -0,0 +1,267 @@
+package com.stefanrogic.core.scene;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.PriorityQueue;
+import com.stefanrogic.core.astronomy.AstronomicalCalculator;
+import com.stefanrogic.core.astronomy.ChebyshevEphemeris;
+import com.stefanrogic.core.physics.PhysicsEngine;
+import com.stefanrogic.core.physics.Units;
+
+/**
+ * Fits a ChebyshevEphemeris file from the simulator's own N-body integration.
+ * The scene is built at the start date and integrated forward once; the engine stops exactly at every
+ * Chebyshev node of every body's segments, records heliocentric positions there and writes each segment
+ * as soon as its last node is reached, so memory use does not grow with the length of the range.
+ *
+ * Each body gets its own segment length: a fraction of its orbital period, or of the period of any moon
+ * heavy enough to make it wobble. The Sun is the origin of the table and is not stored.
+ *
+ * Usage: --build-ephemeris --out FILE [--start-jd JD] [--years N] [--coefficients K] [--segments-per-orbit S] [--dt SECONDS]
+ */
+public class EphemerisTableBuilder {
+
+    private static final double DEFAULT_YEARS = 10.0;
+    private static final int DEFAULT_COEFFICIENTS = 12;
+    private static final int DEFAULT_SEGMENTS_PER_ORBIT = 8;
+    private static final double WOBBLE_MASS_RATIO = 1e-5; // LIGHTER MOONS MOVE THEIR PLANET BY LESS THAN THE FIT ERROR
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private Path outputPath;
+    private double startJd = Double.NaN;
+    private double years = DEFAULT_YEARS;
+    private int coefficients = DEFAULT_COEFFICIENTS;
+    private int segmentsPerOrbit = DEFAULT_SEGMENTS_PER_ORBIT;
+    private double maxStep = -1.0;
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if ("--build-ephemeris".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the command line; unknown flags and missing values are IllegalArgumentExceptions
+     */
+    public static EphemerisTableBuilder fromArgs(String[] args) {
+        EphemerisTableBuilder builder = new EphemerisTableBuilder();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--build-ephemeris" -> { }
+                case "--out" -> builder.outputPath = Path.of(value(args, ++i, "--out"));
+                case "--start-jd" -> builder.startJd = Double.parseDouble(value(args, ++i, "--start-jd"));
+                case "--years" -> builder.years = Double.parseDouble(value(args, ++i, "--years"));
+                case "--coefficients" -> builder.coefficients = Integer.parseInt(value(args, ++i, "--coefficients"));
+                case "--segments-per-orbit" -> builder.segmentsPerOrbit = Integer.parseInt(value(args, ++i, "--segments-per-orbit"));
+                case "--dt" -> builder.maxStep = Double.parseDouble(value(args, ++i, "--dt"));
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (builder.outputPath == null) {
+            throw new IllegalArgumentException("--build-ephemeris needs --out FILE");
+        }
+        if (builder.years <= 0.0 || builder.coefficients < 2 || builder.segmentsPerOrbit < 1) {
+            throw new IllegalArgumentException("Need --years > 0, --coefficients >= 2 and --segments-per-orbit >= 1");
+        }
+        return builder;
+    }
+
+    private static String value(String[] args, int index, String flag) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + flag);
+        }
+        return args[index];
+    }
+
+    public void run() {
+        try {
+            build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ephemeris table " + outputPath, e);
+        }
+    }
+
+    private void build() throws IOException {
+        if (!Double.isNaN(startJd)) {
+            AstronomicalCalculator.setSceneEpoch(startJd);
+        }
+        double epoch = AstronomicalCalculator.getSceneEpoch();
+        double days = years * DAYS_PER_YEAR;
+
+        SceneManager sceneManager = new SceneManager();
+        sceneManager.createCelestialObjects();
+        BodyStore store = sceneManager.getBodyStore();
+        PhysicsEngine engine = sceneManager.getPhysicsEngine();
+        if (maxStep > 0.0) {
+            engine.setMaxStep(maxStep);
+        }
+        int sun = store.indexOf("SUN");
+
+        // EVERY NAMED BODY EXCEPT THE ORIGIN (ASTEROIDS ARE NOT WORTH A TABLE)
+        int named = sceneManager.getAsteroidBelt() != null ? sceneManager.getAsteroidBelt().getFirstId() : store.size();
+        int bodies = named - 1;
+        int[] ids = new int[bodies];
+        String[] names = new String[bodies];
+        double[] segmentDays = new double[bodies];
+        int[] segmentCount = new int[bodies];
+        int[] coefficientCount = new int[bodies];
+        for (int b = 0, id = 0; id < named; id++) {
+            if (id == sun) {
+                continue;
+            }
+            ids[b] = id;
+            names[b] = store.getName(id);
+            segmentDays[b] = shortestPeriodDays(store, id) / segmentsPerOrbit;
+            segmentCount[b] = (int) Math.ceil(days / segmentDays[b]);
+            coefficientCount[b] = coefficients;
+            b++;
+        }
+
+        long totalSegments = 0;
+        for (int b = 0; b < bodies; b++) {
+            totalSegments += segmentCount[b];
+        }
+        System.out.println("Fitting " + bodies + " bodies over " + years + " years from JD " + epoch + ": "
+            + totalSegments + " segments of " + coefficients + " coefficients");
+
+        try (FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] offsets = ChebyshevEphemeris.writeHeader(channel, names, epoch, epoch + days,
+                segmentDays, segmentCount, coefficientCount);
+            integrateAndFit(channel, store, engine, sun, ids, segmentDays, segmentCount, offsets, totalSegments);
+            System.out.println("Wrote " + outputPath + " (" + channel.size() / 1024 + " KB)");
+        } finally {
+            sceneManager.cleanup();
+        }
+    }
+
+    /**
+     * Step the engine from node to node in time order and fit each segment once its samples are in
+     */
+    private void integrateAndFit(FileChannel channel, BodyStore store, PhysicsEngine engine, int sun, int[] ids,
+                                 double[] segmentDays, int[] segmentCount, long[] offsets, long total) throws IOException {
+        int n = coefficients;
+        PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> Double.compare(a.nextTime, b.nextTime));
+        for (int b = 0; b < ids.length; b++) {
+            Cursor cursor = new Cursor(b, n, segmentDays[b] * Units.SECONDS_PER_DAY);
+            cursor.nextTime = cursor.nodeTime();
+            queue.add(cursor);
+        }
+
+        double[] cx = new double[n], cy = new double[n], cz = new double[n];
+        ByteBuffer scratch = ByteBuffer.allocate(3 * n * Double.BYTES);
+        double[] x = store.getPositionX(), y = store.getPositionY(), z = store.getPositionZ();
+        double time = 0.0;
+        double chunk = engine.getMaxStep() * 1000.0; // KEEP EACH advance() WELL UNDER THE ENGINE'S STEP CAP
+        long written = 0, progressMark = 0;
+        long start = System.nanoTime();
+
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            while (time < cursor.nextTime) {
+                double remaining = cursor.nextTime - time;
+                if (remaining <= chunk) {
+                    engine.advance(remaining);
+                    time = cursor.nextTime;
+                } else {
+                    engine.advance(chunk);
+                    time += chunk;
+                }
+            }
+
+            int id = ids[cursor.body];
+            cursor.sampleX[cursor.node] = x[id] - x[sun];
+            cursor.sampleY[cursor.node] = y[id] - y[sun];
+            cursor.sampleZ[cursor.node] = z[id] - z[sun];
+
+            if (cursor.node > 0) {
+                cursor.node--; // NODES RUN FROM k = n - 1 (EARLIEST) DOWN TO k = 0
+            } else {
+                ChebyshevEphemeris.fit(cursor.sampleX, n, cx);
+                ChebyshevEphemeris.fit(cursor.sampleY, n, cy);
+                ChebyshevEphemeris.fit(cursor.sampleZ, n, cz);
+                ChebyshevEphemeris.writeSegment(channel, scratch, offsets[cursor.body], cursor.segment, n, cx, cy, cz);
+                written++;
+                if (++cursor.segment == segmentCount[cursor.body]) {
+                    continue; // BODY DONE
+                }
+                cursor.node = n - 1;
+            }
+            cursor.nextTime = cursor.nodeTime();
+            queue.add(cursor);
+
+            if (written * 10 / total > progressMark) {
+                progressMark = written * 10 / total;
+                System.out.println("Fitted " + written + "/" + total + " segments (" + (progressMark * 10) + "%)");
+            }
+        }
+        System.out.println("Integrated " + (time / Units.SECONDS_PER_DAY) + " days in " + (System.nanoTime() - start) / 1e9
+            + " s (" + engine.getTotalSteps() + " steps)");
+    }
+
+    /**
+     * Orbital period around the parent, shortened to the period of any moon heavy enough to pull the body around
+     */
+    private static double shortestPeriodDays(BodyStore store, int id) {
+        double period = orbitalPeriodDays(store, id);
+        for (int moon = 0; moon < store.size(); moon++) {
+            if (store.getParent(moon) == id && store.getMass(moon) > WOBBLE_MASS_RATIO * store.getMass(id)) {
+                period = Math.min(period, orbitalPeriodDays(store, moon));
+            }
+        }
+        return period;
+    }
+
+    private static double orbitalPeriodDays(BodyStore store, int id) {
+        int parent = store.getParent(id);
+        double[] mu = store.getGravitationalParameters();
+        double dx = store.getPositionX()[id] - store.getPositionX()[parent];
+        double dy = store.getPositionY()[id] - store.getPositionY()[parent];
+        double dz = store.getPositionZ()[id] - store.getPositionZ()[parent];
+        double dvx = store.getVelocityX()[id] - store.getVelocityX()[parent];
+        double dvy = store.getVelocityY()[id] - store.getVelocityY()[parent];
+        double dvz = store.getVelocityZ()[id] - store.getVelocityZ()[parent];
+        double r = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        double mu2 = mu[id] + mu[parent];
+        double a = 1.0 / (2.0 / r - (dvx * dvx + dvy * dvy + dvz * dvz) / mu2); // VIS-VIVA
+        if (!(a > 0.0)) {
+            throw new IllegalArgumentException("Body is not on a bound orbit: " + store.getName(id));
+        }
+        return 2.0 * Math.PI * Math.sqrt(a * a * a / mu2) / Units.SECONDS_PER_DAY;
+    }
+
+    /**
+     * Fitting progress of one body: current segment, next node and the samples collected so far
+     */
+    private static final class Cursor {
+        final int body;
+        final int n;
+        final double segmentSeconds;
+        final double[] sampleX, sampleY, sampleZ;
+        int segment;
+        int node;
+        double nextTime;
+
+        Cursor(int body, int n, double segmentSeconds) {
+            this.body = body;
+            this.n = n;
+            this.segmentSeconds = segmentSeconds;
+            this.sampleX = new double[n];
+            this.sampleY = new double[n];
+            this.sampleZ = new double[n];
+            this.node = n - 1;
+        }
+
+        double nodeTime() {
+            double x = ChebyshevEphemeris.node(node, n);
+            return (segment + 0.5 * (x + 1.0)) * segmentSeconds;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.stefanrogic.core.scene;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import com.stefanrogic.core.physics.PhysicsEngine;
+import com.stefanrogic.core.physics.Units;
+
+/**
+ * Batch propagation without GLFW or OpenGL, for machines with no display.
+ * Builds the same scene as the windowed app, integrates a fixed number of steps on the calling
+ * thread and streams every body's state vector as CSV (kilometres and km/s, barycentric frame).
+ *
+ * Usage: --headless --steps N --dt SECONDS [--every K] [--out FILE] [--asteroids]
+ * With no --out the CSV goes to standard output and all log messages are sent to standard error.
+ */
+public class HeadlessSimulation {
+
+    private static final int ENERGY_CHECK_LIMIT = 5000; // ENERGY IS O(N^2), SKIP IT FOR HUGE SCENES
+    private static final double KM_PER_UNIT = Units.METERS_PER_UNIT / 1000.0;
+
+    private long steps = -1;
+    private double dt = -1.0;
+    private long every = 1;
+    private String outputPath;
+    private boolean includeAsteroids;
+
+    /**
+     * Parse the command line; throws IllegalArgumentException for anything it does not understand
+     */
+    public static HeadlessSimulation fromArgs(String[] args) {
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--headless" -> { }
+                case "--steps" -> simulation.steps = Long.parseLong(value(args, ++i, "--steps"));
+                case "--dt" -> simulation.dt = Double.parseDouble(value(args, ++i, "--dt"));
+                case "--every" -> simulation.every = Long.parseLong(value(args, ++i, "--every"));
+                case "--out" -> simulation.outputPath = value(args, ++i, "--out");
+                case "--asteroids" -> simulation.includeAsteroids = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (simulation.steps < 0 || simulation.dt <= 0.0) {
+            throw new IllegalArgumentException("Headless mode needs --steps N (N >= 0) and --dt SECONDS (> 0)");
+        }
+        if (simulation.every < 1) {
+            throw new IllegalArgumentException("--every must be at least 1");
+        }
+        return simulation;
+    }
+
+    private static String value(String[] args, int index, String flag) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + flag);
+        }
+        return args[index];
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if ("--headless".equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void run() {
+        // KEEP STANDARD OUTPUT CLEAN FOR DATA: EVERYTHING ELSE PRINTS TO STANDARD ERROR
+        PrintStream dataStream = System.out;
+        System.setOut(System.err);
+        try (BufferedWriter out = openOutput(dataStream)) {
+            propagate(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write simulation output", e);
+        } finally {
+            System.setOut(dataStream);
+        }
+    }
+
+    private BufferedWriter openOutput(PrintStream dataStream) throws IOException {
+        OutputStream stream = outputPath != null ? new FileOutputStream(outputPath) : new NonClosingStream(dataStream);
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.US_ASCII), 1 << 16);
+    }
+
+    private void propagate(BufferedWriter out) throws IOException {
+        SceneManager sceneManager = new SceneManager();
+        sceneManager.createCelestialObjects(); // NO loadAssets(): THAT IS THE ONLY PART THAT TOUCHES OPENGL
+        BodyStore store = sceneManager.getBodyStore();
+        PhysicsEngine engine = sceneManager.getPhysicsEngine();
+        engine.setMaxStep(dt); // ONE INTEGRATOR STEP PER REQUESTED STEP
+
+        int streamed = store.size();
+        if (!includeAsteroids && sceneManager.getAsteroidBelt() != null) {
+            streamed = sceneManager.getAsteroidBelt().getFirstId();
+        }
+        boolean checkEnergy = store.size() <= ENERGY_CHECK_LIMIT;
+        double initialEnergy = checkEnergy ? engine.computeTotalEnergy() : 0.0;
+
+        System.out.println("Headless run: " + steps + " steps of " + dt + " s (" + (steps * dt / Units.SECONDS_PER_DAY / 365.25)
+            + " years), streaming " + streamed + " bodies every " + every + " steps");
+
+        StringBuilder line = new StringBuilder(160);
+        out.write("time_s,body,x_km,y_km,z_km,vx_km_s,vy_km_s,vz_km_s\n");
+        writeState(out, line, store, streamed, 0.0);
+
+        long start = System.nanoTime();
+        long progressInterval = Math.max(1, steps / 10);
+        for (long step = 1; step <= steps; step++) {
+            engine.advance(dt);
+            if (step % every == 0 || step == steps) {
+                writeState(out, line, store, streamed, step * dt);
+            }
+            if (step % progressInterval == 0) {
+                System.out.println("Step " + step + "/" + steps + " (" + (100 * step / steps) + "%)");
+            }
+        }
+        store.updateRotation(steps * dt);
+        out.flush();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("Finished in " + seconds + " s (" + (steps / Math.max(seconds, 1e-9)) + " steps/s, "
+            + engine.getForceEvaluations() + " force evaluations)");
+        if (checkEnergy) {
+            double finalEnergy = engine.computeTotalEnergy();
+            System.out.println("Relative energy error: " + Math.abs((finalEnergy - initialEnergy) / initialEnergy));
+        }
+        sceneManager.cleanup();
+    }
+
+    private static void writeState(BufferedWriter out, StringBuilder line, BodyStore store, int count, double time) throws IOException {
+        double[] x = store.getPositionX(), y = store.getPositionY(), z = store.getPositionZ();
+        double[] vx = store.getVelocityX(), vy = store.getVelocityY(), vz = store.getVelocityZ();
+        for (int i = 0; i < count; i++) {
+            line.setLength(0);
+            line.append(time).append(',').append(store.getName(i)).append(',')
+                .append(x[i] * KM_PER_UNIT).append(',').append(y[i] * KM_PER_UNIT).append(',').append(z[i] * KM_PER_UNIT).append(',')
+                .append(vx[i] * KM_PER_UNIT).append(',').append(vy[i] * KM_PER_UNIT).append(',').append(vz[i] * KM_PER_UNIT).append('\n');
+            out.append(line);
+        }
+    }
+
+    /**
+     * Lets the writer be closed without closing the process's standard output
+     */
+    private static final class NonClosingStream extends OutputStream {
+        private final OutputStream target;
+
+        NonClosingStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException { target.write(b); }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException { target.write(b, off, len); }
+
+        @Override
+        public void flush() throws IOException { target.flush(); }
+
+        @Override
+        public void close() throws IOException { target.flush(); }
+    }
+}
@@ -4,6 +4,16 @@ import com.stefanrogic.assets.celestial.*;
 import com.stefanrogic.assets.celestial.earth.*;
 import com.stefanrogic.assets.celestial.mars.*;
 import com.stefanrogic.assets.celestial.jupiter.Jupiter;
+import com.stefanrogic.core.physics.BarnesHutSolver;
+import com.stefanrogic.core.physics.DirectSummationSolver;
+import com.stefanrogic.core.physics.LeapfrogIntegrator;
+import com.stefanrogic.core.physics.PhysicsEngine;
+import com.stefanrogic.core.physics.SimulationThread;
+import com.stefanrogic.core.physics.YoshidaIntegrator;
+import com.stefanrogic.core.rendering.AssetManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import org.joml.Vector3f;
 
 /**
@@ -11,6 +21,11 @@ import org.joml.Vector3f;
  */
 public class SceneManager {
     
+    // STRUCTURE-OF-ARRAYS STATE SHARED BY EVERY BODY
+    private final BodyStore bodyStore = new BodyStore();
+    private PhysicsEngine physicsEngine;
+    private SimulationThread simulation; // FIXED-TIMESTEP PHYSICS, DECOUPLED FROM THE FRAME RATE
+    
     // SUN AND PLANETS
     private Sun sun;
     private Mercury mercury;
@@ -21,9 +36,18 @@ public class SceneManager {
     private Phobos phobos;
     private Deimos deimos;
     private Jupiter jupiter;
+    private AsteroidBelt asteroidBelt; // ONLY CREATED WHEN ASTEROID_COUNT > 0
+    private final List<CelestialBody> bodies = new ArrayList<>(); // EVERY NAMED BODY, IN STORE ORDER
+    
+    // ASTEROID BELT SETTINGS (-Dsolarsystem.asteroids=100000 -Dsolarsystem.theta=0.5)
+    private static final int ASTEROID_COUNT = Integer.getInteger("solarsystem.asteroids", 0);
+    private static final double BARNES_HUT_THETA = Double.parseDouble(System.getProperty("solarsystem.theta", "0.5"));
+    private static final long ASTEROID_SEED = 1801L; // YEAR CERES WAS DISCOVERED
+
+    // PHYSICS WORKER THREADS (-Dsolarsystem.threads=1 FOR BIT-REPRODUCIBLE SINGLE-THREADED RUNS)
+    private static final int PHYSICS_THREADS = Integer.getInteger("solarsystem.threads", PhysicsEngine.DEFAULT_THREADS);
     
-    // TIME TRACKING FOR ORBITAL MOTION
-    private long lastTime;
+    // TIME ACCELERATION FOR ORBITAL MOTION
     // private static final float TIME_ACCELERATION = 1.0f; // REAL TIME - NO ACCELERATION
     private static final float TIME_ACCELERATION = 10000.0f; // 10000x ACCELERATION FOR FASTER MOTION
     
@@ -31,11 +55,12 @@ public class SceneManager {
     private boolean orbitalMotionPaused = false;
     
     public SceneManager() {
-        // INITIALIZE TIME TRACKING FOR ORBITAL MOTION
-        lastTime = System.nanoTime();
     }
     
     // Getters
+    public BodyStore getBodyStore() { return bodyStore; }
+    public PhysicsEngine getPhysicsEngine() { return physicsEngine; }
+    public SimulationThread getSimulation() { return simulation; }
     public Sun getSun() { return sun; }
     public Mercury getMercury() { return mercury; }
     public Venus getVenus() { return venus; }
@@ -45,6 +70,8 @@ public class SceneManager {
     public Phobos getPhobos() { return phobos; }
     public Deimos getDeimos() { return deimos; }
     public Jupiter getJupiter() { return jupiter; }
+    public AsteroidBelt getAsteroidBelt() { return asteroidBelt; }
+    public List<CelestialBody> getCelestialBodies() { return bodies; }
     
     // Jupiter's moons
     public com.stefanrogic.assets.celestial.jupiter.Io getIo() { return jupiter != null ? jupiter.getIo() : null; }
@@ -56,22 +83,42 @@ public class SceneManager {
     
     public void setOrbitalMotionPaused(boolean paused) {
         this.orbitalMotionPaused = paused;
-        if (!paused) {
-            // RESET TIME TRACKING WHEN RESUMING TO AVOID JUMPS
-            lastTime = System.nanoTime();
+        if (simulation != null) {
+            // THE SIMULATION THREAD DISCARDS ACCUMULATED TIME WHILE PAUSED, SO RESUMING DOES NOT JUMP
+            simulation.setPaused(paused);
         }
     }
     
     public void createCelestialObjects() {
-        sun = new Sun();
-        mercury = new Mercury();
-        venus = new Venus();
-        earth = new Earth();
-        mars = new Mars(); 
-        jupiter = new Jupiter();
-        moon = new Moon(earth); // CREATE MOON AFTER EARTH
-        phobos = new Phobos(mars); // CREATE PHOBOS AFTER MARS
-        deimos = new Deimos(mars); // CREATE DEIMOS AFTER MARS
+        sun = new Sun(bodyStore);
+        mercury = new Mercury(bodyStore, sun);
+        venus = new Venus(bodyStore, sun);
+        earth = new Earth(bodyStore, sun);
+        mars = new Mars(bodyStore, sun); 
+        jupiter = new Jupiter(bodyStore, sun);
+        moon = new Moon(bodyStore, earth); // CREATE MOON AFTER EARTH
+        phobos = new Phobos(bodyStore, mars); // CREATE PHOBOS AFTER MARS
+        deimos = new Deimos(bodyStore, mars); // CREATE DEIMOS AFTER MARS
+        if (ASTEROID_COUNT > 0) {
+            asteroidBelt = new AsteroidBelt(bodyStore, sun, ASTEROID_COUNT, ASTEROID_SEED);
+        }
+        bodies.addAll(List.of(sun, mercury, venus, earth, mars, jupiter,
+            jupiter.getIo(), jupiter.getEuropa(), jupiter.getGanymede(), jupiter.getCallisto(),
+            moon, phobos, deimos));
+        bodies.sort(Comparator.comparingInt(CelestialBody::getId));
+        
+        // INTEGRATE IN THE CENTRE-OF-MASS FRAME SO THE SYSTEM AS A WHOLE DOES NOT DRIFT
+        bodyStore.centreOnBarycentre();
+        bodyStore.updateRotation(0.0);
+        bodyStore.syncDisplay();
+        if (asteroidBelt != null) {
+            // PAIRWISE GRAVITY IS O(N^2); LARGE SCENES USE THE OCTREE AND ONE FORCE EVALUATION PER STEP
+            physicsEngine = new PhysicsEngine(bodyStore, new LeapfrogIntegrator(), new BarnesHutSolver(BARNES_HUT_THETA, 0.0), PHYSICS_THREADS);
+        } else {
+            physicsEngine = new PhysicsEngine(bodyStore, new YoshidaIntegrator(), new DirectSummationSolver(), PHYSICS_THREADS);
+        }
+        System.out.println("Physics: " + physicsEngine.getIntegrator().getName() + ", " + physicsEngine.getForceSolver().getName()
+            + ", " + physicsEngine.getThreads() + " thread(s)");
         
         // DEBUG: PRINT PLANETARY POSITIONS AT STARTUP
         System.out.println("=== PLANETARY POSITIONS ===");
@@ -84,40 +131,58 @@ public class SceneManager {
         System.out.println("========================");
     }
     
+    /**
+     * Start loading models and textures for every body. Uploads happen later on the render thread
+     * through the asset manager, so headless runs (no GL context) skip this.
+     */
+    public void loadAssets(AssetManager assets) {
+        for (CelestialBody body : bodies) {
+            body.loadAssets(assets);
+        }
+    }
+    
+    /**
+     * Give back every asset reference taken by loadAssets(); the asset manager reports anything left over
+     */
+    public void releaseAssets(AssetManager assets) {
+        for (CelestialBody body : bodies) {
+            body.releaseAssets(assets);
+        }
+    }
+    
+    /**
+     * Start integrating on the simulation thread. Call once, after createCelestialObjects().
+     */
+    public void startSimulation() {
+        simulation = new SimulationThread(physicsEngine, bodyStore, TIME_ACCELERATION);
+        simulation.setPaused(orbitalMotionPaused);
+        simulation.start();
+    }
+    
+    /**
+     * Called once per frame: bring the display positions up to date with the simulation thread
+     */
     public void updateOrbitalMotion() {
-        if (!orbitalMotionPaused) {
-            // CALCULATE DELTA TIME
-            long currentTime = System.nanoTime();
-            double deltaTimeSeconds = (currentTime - lastTime) / 1_000_000_000.0; // CONVERT TO SECONDS
-            lastTime = currentTime;
-            
-            // APPLY TIME ACCELERATION
-            deltaTimeSeconds *= TIME_ACCELERATION;
-            
-            // UPDATE PLANETARY POSITIONS BASED ON THEIR ORBITAL PERIODS
-            mercury.updateOrbitalPosition((float) deltaTimeSeconds);
-            venus.updateOrbitalPosition((float) deltaTimeSeconds);
-            earth.updateOrbitalPosition((float) deltaTimeSeconds);
-            
-            // UPDATE MOON ORBIT AROUND EARTH (MOON ORBITS EARTH, NOT SUN)
-            moon.updateOrbitalPosition((float) deltaTimeSeconds);
-            
-            // UPDATE MARS ORBIT
-            mars.updateOrbitalPosition((float) deltaTimeSeconds);
-            
-            // UPDATE JUPITER ORBIT
-            jupiter.updateOrbit((float) deltaTimeSeconds);
-            jupiter.updateRotation((float) deltaTimeSeconds);
-            
-            // UPDATE MARS MOONS ORBIT AROUND MARS
-            phobos.updateOrbitalPosition((float) deltaTimeSeconds);
-            deimos.updateOrbitalPosition((float) deltaTimeSeconds);
+        if (simulation != null) {
+            simulation.interpolate();
+        }
+    }
+    
+    /**
+     * Stop the simulation thread and the physics workers
+     */
+    public void cleanup() {
+        if (simulation != null) {
+            simulation.stop();
+        }
+        if (physicsEngine != null) {
+            physicsEngine.shutdown();
         }
     }
     
     // Convenience methods for camera tracking
     public Vector3f getSunPosition() {
-        return new Vector3f(0, 0, 0); // Sun is at origin
+        return sun.getPosition(); // Sun wobbles slightly around the barycentre
     }
     
     public Vector3f getMercuryPosition() {
@@ -1,6 +1,7 @@
 package com.stefanrogic.core.ui;
 
 import com.stefanrogic.core.rendering.ShaderManager;
+import com.stefanrogic.core.rendering.GLState;
 import com.stefanrogic.core.input.Camera;
 import com.stefanrogic.core.scene.SceneManager;
 import com.stefanrogic.core.window.Window;
@@ -44,6 +45,10 @@ public class UIManager {
     // FULLSCREEN BUTTON VAO
     private int fullscreenButtonVAO, fullscreenButtonVBO;
     
+    // REUSED EVERY FRAME: UI PROJECTION AND THE STAGING BUFFER FOR THE MOVING FULLSCREEN QUADS
+    private final Matrix4f orthoMatrix = new Matrix4f();
+    private final FloatBuffer quadBuffer = BufferUtils.createFloatBuffer(8);
+    
     // UI BUTTON COORDINATES - GRID BUTTON
     public static final float BUTTON_X = 20.0f;
     public static final float BUTTON_Y = 20.0f;
@@ -380,56 +385,53 @@ public class UIManager {
      */
     public void renderUI(int windowWidth, int windowHeight) {
         // DISABLE DEPTH TESTING FOR 2D UI
-        glDisable(GL_DEPTH_TEST);
+        GLState.disable(GL_DEPTH_TEST);
         
         // ENABLE BLENDING FOR TRANSPARENCY
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLState.enable(GL_BLEND);
+        GLState.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
         
         // CREATE ORTHOGRAPHIC PROJECTION FOR 2D UI
-        Matrix4f orthoMatrix = new Matrix4f();
-        orthoMatrix.ortho(0, windowWidth, 0, windowHeight, -1, 1);
+        orthoMatrix.setOrtho(0, windowWidth, 0, windowHeight, -1, 1);
         
         // RENDER BUTTON
-        glUseProgram(shaders.uiShaderProgram);
-        FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
-        orthoMatrix.get(matrixBuffer);
-        glUniformMatrix4fv(shaders.uiMvpLocation, false, matrixBuffer);
+        GLState.useProgram(shaders.uiShaderProgram);
+        GLState.uniformMatrix4(shaders.uiMvpLocation, orthoMatrix);
         
         // SET BUTTON COLOR (GREEN IF GRID ON, RED IF GRID OFF)
         if (gridVisible) {
-            glUniform3f(shaders.uiColorLocation, 0.2f, 0.8f, 0.2f); // GREEN
+            GLState.uniform3f(shaders.uiColorLocation, 0.2f, 0.8f, 0.2f); // GREEN
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.8f, 0.2f, 0.2f); // RED
+            GLState.uniform3f(shaders.uiColorLocation, 0.8f, 0.2f, 0.2f); // RED
         }
         
-        glBindVertexArray(uiVAO);
+        GLState.bindVertexArray(uiVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4); // DRAW BUTTON AS QUAD
         
         // RENDER GRID ICON
-        glUniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f); // WHITE ICON
-        glBindVertexArray(textVAO);
+        GLState.uniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f); // WHITE ICON
+        GLState.bindVertexArray(textVAO);
         glDrawArrays(GL_TRIANGLES, 0, 54); // 9 SQUARES * 6 VERTICES = 54 VERTICES
         
         // RENDER PAUSE BUTTON
         if (sceneManager.isOrbitalMotionPaused()) {
-            glUniform3f(shaders.uiColorLocation, 0.8f, 0.2f, 0.2f); // RED WHEN PAUSED
+            GLState.uniform3f(shaders.uiColorLocation, 0.8f, 0.2f, 0.2f); // RED WHEN PAUSED
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.2f, 0.8f, 0.2f); // GREEN WHEN PLAYING
+            GLState.uniform3f(shaders.uiColorLocation, 0.2f, 0.8f, 0.2f); // GREEN WHEN PLAYING
         }
         
-        glBindVertexArray(pauseButtonVAO);
+        GLState.bindVertexArray(pauseButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4); // DRAW PAUSE BUTTON AS QUAD
         
         // RENDER PAUSE/PLAY ICON
-        glUniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f); // WHITE ICON
+        GLState.uniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f); // WHITE ICON
         if (sceneManager.isOrbitalMotionPaused()) {
             // SHOW PLAY ICON WHEN PAUSED
-            glBindVertexArray(playIconVAO);
+            GLState.bindVertexArray(playIconVAO);
             glDrawArrays(GL_TRIANGLES, 0, 3); // TRIANGLE WITH 3 VERTICES
         } else {
             // SHOW PAUSE ICON WHEN PLAYING
-            glBindVertexArray(pauseIconVAO);
+            GLState.bindVertexArray(pauseIconVAO);
             glDrawArrays(GL_TRIANGLES, 0, 12); // 2 BARS * 6 VERTICES = 12 VERTICES
         }
         
@@ -443,63 +445,62 @@ public class UIManager {
         notificationManager.renderNotifications(windowWidth, windowHeight);
         
         // RE-ENABLE DEPTH TESTING
-        glEnable(GL_DEPTH_TEST);
-        glDisable(GL_BLEND);
+        GLState.enable(GL_DEPTH_TEST);
     }
     
     private void renderTrackingButtons() {
         // SUN BUTTON
         if ("SUN".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 1.0f, 0.8f, 0.2f); // GOLD WHEN TRACKING SUN
+            GLState.uniform3f(shaders.uiColorLocation, 1.0f, 0.8f, 0.2f); // GOLD WHEN TRACKING SUN
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(sunButtonVAO);
+        GLState.bindVertexArray(sunButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // MERCURY BUTTON
         if ("MERCURY".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 0.7f, 0.7f, 0.7f); // LIGHT GRAY WHEN TRACKING MERCURY
+            GLState.uniform3f(shaders.uiColorLocation, 0.7f, 0.7f, 0.7f); // LIGHT GRAY WHEN TRACKING MERCURY
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(mercuryButtonVAO);
+        GLState.bindVertexArray(mercuryButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // VENUS BUTTON
         if ("VENUS".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 1.0f, 0.6f, 0.0f); // ORANGE WHEN TRACKING VENUS
+            GLState.uniform3f(shaders.uiColorLocation, 1.0f, 0.6f, 0.0f); // ORANGE WHEN TRACKING VENUS
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(venusButtonVAO);
+        GLState.bindVertexArray(venusButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // EARTH BUTTON
         if ("EARTH".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 0.2f, 0.6f, 1.0f); // BLUE WHEN TRACKING EARTH
+            GLState.uniform3f(shaders.uiColorLocation, 0.2f, 0.6f, 1.0f); // BLUE WHEN TRACKING EARTH
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(earthButtonVAO);
+        GLState.bindVertexArray(earthButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // MARS BUTTON
         if ("MARS".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 1.0f, 0.5f, 0.0f); // ORANGE WHEN TRACKING MARS
+            GLState.uniform3f(shaders.uiColorLocation, 1.0f, 0.5f, 0.0f); // ORANGE WHEN TRACKING MARS
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(marsButtonVAO);
+        GLState.bindVertexArray(marsButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // JUPITER BUTTON
         if ("JUPITER".equals(camera.getTrackedObject())) {
-            glUniform3f(shaders.uiColorLocation, 0.8f, 0.7f, 0.4f); // BROWNISH WHEN TRACKING JUPITER
+            GLState.uniform3f(shaders.uiColorLocation, 0.8f, 0.7f, 0.4f); // BROWNISH WHEN TRACKING JUPITER
         } else {
-            glUniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
+            GLState.uniform3f(shaders.uiColorLocation, 0.3f, 0.3f, 0.3f); // GRAY WHEN NOT TRACKING
         }
-        glBindVertexArray(jupiterButtonVAO);
+        GLState.bindVertexArray(jupiterButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
     }
     
@@ -508,25 +509,15 @@ public class UIManager {
         float buttonX = windowWidth - FULLSCREEN_BUTTON_WIDTH - FULLSCREEN_BUTTON_MARGIN;
         float buttonY = windowHeight - FULLSCREEN_BUTTON_HEIGHT - FULLSCREEN_BUTTON_MARGIN;
         
-        // Update the button position dynamically
-        float[] fullscreenButtonVertices = {
-            buttonX, buttonY,                                      // BOTTOM LEFT
-            buttonX + FULLSCREEN_BUTTON_WIDTH, buttonY,           // BOTTOM RIGHT
-            buttonX + FULLSCREEN_BUTTON_WIDTH, buttonY + FULLSCREEN_BUTTON_HEIGHT,  // TOP RIGHT
-            buttonX, buttonY + FULLSCREEN_BUTTON_HEIGHT           // TOP LEFT
-        };
-        
         // Update the buffer with new position
         glBindBuffer(GL_ARRAY_BUFFER, fullscreenButtonVBO);
-        FloatBuffer fullscreenVertexBuffer = BufferUtils.createFloatBuffer(fullscreenButtonVertices.length);
-        fullscreenVertexBuffer.put(fullscreenButtonVertices).flip();
-        glBufferSubData(GL_ARRAY_BUFFER, 0, fullscreenVertexBuffer);
+        uploadQuad(buttonX, buttonY, buttonX + FULLSCREEN_BUTTON_WIDTH, buttonY + FULLSCREEN_BUTTON_HEIGHT);
         
         // Set transparent gray color
-        glUniform3f(shaders.uiColorLocation, 0.5f, 0.5f, 0.5f); // TRANSPARENT GRAY
+        GLState.uniform3f(shaders.uiColorLocation, 0.5f, 0.5f, 0.5f); // TRANSPARENT GRAY
         
         // Render button background
-        glBindVertexArray(fullscreenButtonVAO);
+        GLState.bindVertexArray(fullscreenButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
         // Render fullscreen icon (simple squares pattern)
@@ -539,40 +530,35 @@ public class UIManager {
         float squareSize = (buttonWidth - iconMargin * 3) / 2;
         
         // Set icon color to white for visibility
-        glUniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f);
-        
-        // Top-left square
-        float[] square1 = {
-            buttonX + iconMargin, buttonY + iconMargin,
-            buttonX + iconMargin + squareSize, buttonY + iconMargin,
-            buttonX + iconMargin + squareSize, buttonY + iconMargin + squareSize,
-            buttonX + iconMargin, buttonY + iconMargin + squareSize
-        };
-        
-        // Bottom-right square
-        float[] square2 = {
-            buttonX + iconMargin * 2 + squareSize, buttonY + iconMargin * 2 + squareSize,
-            buttonX + buttonWidth - iconMargin, buttonY + iconMargin * 2 + squareSize,
-            buttonX + buttonWidth - iconMargin, buttonY + buttonHeight - iconMargin,
-            buttonX + iconMargin * 2 + squareSize, buttonY + buttonHeight - iconMargin
-        };
+        GLState.uniform3f(shaders.uiColorLocation, 1.0f, 1.0f, 1.0f);
         
-        // Render first square
+        // Render first square (top-left)
         glBindBuffer(GL_ARRAY_BUFFER, fullscreenButtonVBO);
-        FloatBuffer square1Buffer = BufferUtils.createFloatBuffer(square1.length);
-        square1Buffer.put(square1).flip();
-        glBufferSubData(GL_ARRAY_BUFFER, 0, square1Buffer);
-        glBindVertexArray(fullscreenButtonVAO);
+        uploadQuad(buttonX + iconMargin, buttonY + iconMargin,
+                   buttonX + iconMargin + squareSize, buttonY + iconMargin + squareSize);
+        GLState.bindVertexArray(fullscreenButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
         
-        // Render second square
-        FloatBuffer square2Buffer = BufferUtils.createFloatBuffer(square2.length);
-        square2Buffer.put(square2).flip();
-        glBufferSubData(GL_ARRAY_BUFFER, 0, square2Buffer);
-        glBindVertexArray(fullscreenButtonVAO);
+        // Render second square (bottom-right)
+        uploadQuad(buttonX + iconMargin * 2 + squareSize, buttonY + iconMargin * 2 + squareSize,
+                   buttonX + buttonWidth - iconMargin, buttonY + buttonHeight - iconMargin);
+        GLState.bindVertexArray(fullscreenButtonVAO);
         glDrawArrays(GL_TRIANGLE_FAN, 0, 4);
     }
     
+    /**
+     * Write an axis-aligned quad (bottom left, bottom right, top right, top left) into the bound VBO
+     */
+    private void uploadQuad(float left, float bottom, float right, float top) {
+        quadBuffer.clear();
+        quadBuffer.put(left).put(bottom)
+                  .put(right).put(bottom)
+                  .put(right).put(top)
+                  .put(left).put(top)
+                  .flip();
+        glBufferSubData(GL_ARRAY_BUFFER, 0, quadBuffer);
+    }
+    
     // Getters for state
     public boolean isGridVisible() {
         return gridVisible;
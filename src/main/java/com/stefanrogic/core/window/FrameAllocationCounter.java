@@ -0,0 +1,74 @@
+package com.stefanrogic.core.window;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap bytes allocated by the render thread per frame, using HotSpot's per-thread
+ * allocation counter. A steady-state frame should report zero; anything else is garbage the
+ * collector will eventually have to stop the frame loop for.
+ *
+ * With -Dsolarsystem.allocationReport=true it prints a summary every REPORT_INTERVAL frames. Frames
+ * that handle input may allocate (callbacks log and build strings); idle frames should not.
+ */
+public class FrameAllocationCounter {
+
+    private static final boolean REPORT = Boolean.getBoolean("solarsystem.allocationReport");
+    private static final int REPORT_INTERVAL = 600; // ABOUT 10 SECONDS AT 60 HZ
+    private static final int WARM_UP_FRAMES = 120; // FIRST FRAMES LOAD CLASSES AND FILL CACHES
+
+    private final com.sun.management.ThreadMXBean threads;
+    private long frameStart;
+    private long frames;
+    private long lastFrameBytes;
+    private long intervalBytes;
+    private long intervalAllocatingFrames;
+    private long maxFrameBytes;
+
+    public FrameAllocationCounter() {
+        com.sun.management.ThreadMXBean bean = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported()) {
+            hotspot.setThreadAllocatedMemoryEnabled(true);
+            bean = hotspot;
+        } else {
+            System.out.println("Per-thread allocation counters not available, frame allocation tracking disabled");
+        }
+        this.threads = bean;
+    }
+
+    public void beginFrame() {
+        if (threads != null) {
+            frameStart = threads.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    public void endFrame() {
+        if (threads == null) {
+            return;
+        }
+        lastFrameBytes = threads.getCurrentThreadAllocatedBytes() - frameStart;
+        frames++;
+        if (frames <= WARM_UP_FRAMES) {
+            return;
+        }
+
+        intervalBytes += lastFrameBytes;
+        maxFrameBytes = Math.max(maxFrameBytes, lastFrameBytes);
+        if (lastFrameBytes > 0) {
+            intervalAllocatingFrames++;
+        }
+        if ((frames - WARM_UP_FRAMES) % REPORT_INTERVAL == 0) {
+            if (REPORT) {
+                System.out.println("Frame allocations: " + (intervalBytes / REPORT_INTERVAL) + " bytes/frame average, "
+                    + maxFrameBytes + " max, " + intervalAllocatingFrames + "/" + REPORT_INTERVAL + " frames allocating");
+            }
+            intervalBytes = 0;
+            intervalAllocatingFrames = 0;
+            maxFrameBytes = 0;
+        }
+    }
+
+    // LAST MEASUREMENT, FOR OVERLAYS AND TESTS
+    public long getLastFrameBytes() { return lastFrameBytes; }
+    public long getFrames() { return frames; }
+}
@@ -3,13 +3,14 @@ package com.stefanrogic.core.window;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.glfw.GLFW.*;
 
-import org.joml.Matrix4f;
 import org.joml.Vector3f;
 import org.lwjgl.glfw.GLFWVidMode;
 
 import com.stefanrogic.core.input.InputHandler;
 import com.stefanrogic.core.input.Camera;
 import com.stefanrogic.core.scene.SceneManager;
+import com.stefanrogic.core.rendering.AssetManager;
+import com.stefanrogic.core.rendering.GLState;
 import com.stefanrogic.core.rendering.ShaderManager;
 import com.stefanrogic.core.rendering.RenderEngine;
 import com.stefanrogic.core.rendering.OrbitRenderer;
@@ -22,6 +23,7 @@ public class Window implements InputHandler.InputEventHandler {
     private final Camera camera;
     private final InputHandler inputHandler;
     private final SceneManager sceneManager;
+    private final AssetManager assetManager = new AssetManager();
     
     // Window management state
     private boolean isFullscreen = true;
@@ -35,6 +37,12 @@ public class Window implements InputHandler.InputEventHandler {
     private OrbitRenderer orbitRenderer; 
     private UIManager uiManager;
     private RenderEngine renderEngine;
+    
+    // PER-FRAME SCRATCH, REUSED SO THE STEADY-STATE FRAME ALLOCATES NOTHING
+    private final int[] width = new int[1];
+    private final int[] height = new int[1];
+    private final Vector3f trackedTarget = new Vector3f();
+    private final FrameAllocationCounter allocationCounter = new FrameAllocationCounter();
 
     public Window(long windowHandle) {
         this.windowHandle = windowHandle;
@@ -47,30 +55,41 @@ public class Window implements InputHandler.InputEventHandler {
         // Initialize OpenGL capabilities after context is current
         org.lwjgl.opengl.GL.createCapabilities();
         
-        // CREATE CELESTIAL OBJECTS FIRST
+        // CREATE CELESTIAL OBJECTS FIRST, THEN START LOADING MODELS AND TEXTURES IN THE BACKGROUND
         sceneManager.createCelestialObjects();
+        sceneManager.loadAssets(assetManager);
         
         // NOW WE CAN CREATE SHADERS AND COMPONENTS
         this.shaders = new ShaderManager().createShaders();
         
         // INITIALIZE NEW COMPONENTS
         this.objectRenderer = new ObjectRenderer(sceneManager);
-        this.orbitRenderer = new OrbitRenderer(sceneManager, shaders);
-        this.uiManager = new UIManager(shaders, camera, sceneManager, this);
         this.renderEngine = new RenderEngine(sceneManager, shaders, camera);
+        this.orbitRenderer = new OrbitRenderer(sceneManager, shaders, renderEngine.getUniformBlocks());
+        this.uiManager = new UIManager(shaders, camera, sceneManager, this);
         
         glEnable(GL_DEPTH_TEST);
         glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
         
         // INITIALIZE COMPONENTS
         objectRenderer.initializeBuffers();
+        renderEngine.createUniformBlocks();
+        renderEngine.createSphereInstancer();
         renderEngine.createGrid();
         renderEngine.createStars();
+        renderEngine.createAsteroids();
         orbitRenderer.createOrbits();
+        renderEngine.createTrails();
         uiManager.createUI();
         
+        // EVERYTHING ABOVE BOUND OBJECTS DIRECTLY, SO THE STATE TRACKER STARTS FROM SCRATCH
+        GLState.invalidate();
+        
         // SETUP INPUT CALLBACKS
         inputHandler.setupCallbacks(this);
+        
+        // START PHYSICS LAST SO LOADING TIME IS NOT COUNTED AS SIMULATION BACKLOG
+        sceneManager.startSimulation();
     }
 
     // Interface implementations for InputHandler.InputEventHandler
@@ -159,10 +178,10 @@ public class Window implements InputHandler.InputEventHandler {
             return null;
         }
         
-        Vector3f targetPosition = new Vector3f();
+        Vector3f targetPosition = trackedTarget;
         switch (camera.getTrackedObject()) {
             case "SUN":
-                targetPosition.set(0, 0, 0);
+                targetPosition.set(sceneManager.getSun().getPosition());
                 break;
             case "MERCURY":
                 targetPosition.set(sceneManager.getMercury().getPosition());
@@ -186,7 +205,7 @@ public class Window implements InputHandler.InputEventHandler {
     }
 
     private void updateOrbitalMotion() {
-        // Delegate orbital motion updates to SceneManager
+        // PHYSICS RUNS ON ITS OWN THREAD; THIS ONLY INTERPOLATES THE LATEST SNAPSHOTS FOR DRAWING
         sceneManager.updateOrbitalMotion();
     }
 
@@ -195,14 +214,14 @@ public class Window implements InputHandler.InputEventHandler {
             return;
         }
         
-        Vector3f targetPosition = new Vector3f();
+        Vector3f targetPosition = trackedTarget;
         float viewingDistance = 2000.0f; // DEFAULT VIEWING DISTANCE
         
         // GET TARGET POSITION AND APPROPRIATE VIEWING DISTANCE
         // CALCULATE VIEWING DISTANCE BASED ON PLANET RADIUS FOR CONSISTENT APPARENT SIZE
         switch (camera.getTrackedObject()) {
             case "SUN":
-                targetPosition.set(0, 0, 0); // SUN IS AT ORIGIN
+                targetPosition.set(sceneManager.getSun().getPosition()); // SUN ORBITS THE BARYCENTRE
                 viewingDistance = 69.6f * 15.0f; // 15x SUN RADIUS - good viewing distance
                 break;
             case "MERCURY":
@@ -248,6 +267,8 @@ public class Window implements InputHandler.InputEventHandler {
     }
 
     public void update() {
+        allocationCounter.beginFrame();
+        
         // UPDATE CAMERA MOVEMENT BASED ON PRESSED KEYS
         updateCameraMovement();
         updateCameraTracking();
@@ -255,44 +276,56 @@ public class Window implements InputHandler.InputEventHandler {
         // UPDATE ORBITAL POSITIONS BASED ON TIME
         updateOrbitalMotion();
         
+        // UPLOAD WHATEVER THE LOADER THREADS HAVE DECODED, WITHIN THE FRAME BUDGET
+        assetManager.processUploads();
+        
         glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
         
-        int[] width = new int[1];
-        int[] height = new int[1];
         glfwGetWindowSize(windowHandle, width, height);
         glViewport(0, 0, width[0], height[0]);
         
-        // CREATE MATRICES
-        Matrix4f mvpMatrix = renderEngine.createMVPMatrix(width[0], height[0]);
-        Matrix4f[] projectionAndView = renderEngine.getProjectionAndView(width[0], height[0]);
-        Matrix4f projection = projectionAndView[0];
-        Matrix4f view = projectionAndView[1];
+        // UPDATE THE CAMERA MATRICES AND THE FRAME UNIFORM BLOCK (REUSED EVERY FRAME, NOTHING IS ALLOCATED)
+        renderEngine.updateCameraMatrices(width[0], height[0]);
         
         // RENDER GRID (IF VISIBLE)
-        renderEngine.renderGrid(mvpMatrix, uiManager.isGridVisible());
+        renderEngine.renderGrid(uiManager.isGridVisible());
         
         // RENDER STAR FIELD (BACKGROUND)
-        renderEngine.renderStars(mvpMatrix);
+        renderEngine.renderStars();
         
         // RENDER ORBITAL PATHS (WITH DISTANCE-BASED VISIBILITY)
-        orbitRenderer.renderOrbits(mvpMatrix, camera.getX(), camera.getY(), camera.getZ());
+        orbitRenderer.renderOrbits(camera.getX(), camera.getY(), camera.getZ(), renderEngine.getCuller());
+        
+        // RENDER BODY TRAILS
+        renderEngine.renderTrails();
+        
+        // RENDER ASTEROID BELT (IF ENABLED)
+        renderEngine.renderAsteroids();
         
         // RENDER CELESTIAL OBJECTS
-        renderEngine.renderCelestialObjects(projection, view, width[0], height[0]);
+        renderEngine.renderCelestialObjects();
         
         // RENDER UI (2D OVERLAY)
         uiManager.renderUI(width[0], height[0]);
         
         glfwSwapBuffers(windowHandle);
         glfwPollEvents();
+        
+        GLState.endFrame();
+        allocationCounter.endFrame();
     }
 
     public void destroy() {
+        // RELEASE BODY ASSETS FIRST SO THE REGISTRY ONLY REPORTS GENUINE LEAKS
+        sceneManager.releaseAssets(assetManager);
+        assetManager.shutdown();
+        
         // CLEANUP COMPONENTS
         objectRenderer.cleanup();
         orbitRenderer.cleanup();
         uiManager.cleanup();
         renderEngine.cleanup();
+        sceneManager.cleanup();
         
         glfwDestroyWindow(windowHandle);
         glfwTerminate();
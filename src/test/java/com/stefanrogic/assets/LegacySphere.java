@@ -0,0 +1,62 @@
+package com.stefanrogic.assets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The boxed List<Float> UV sphere generator Sphere used before the rewrite, kept as the baseline the
+ * current one is checked and timed against
+ */
+final class LegacySphere {
+
+    private LegacySphere() {
+    }
+
+    /**
+     * @return {vertices, indices} of a unit sphere with segments latitude and longitude segments
+     */
+    static Object[] generate(int segments) {
+        List<Float> vertexList = new ArrayList<>();
+        List<Integer> indexList = new ArrayList<>();
+        for (int lat = 0; lat <= segments; lat++) {
+            float theta = (float) (lat * Math.PI / segments);
+            float sinTheta = (float) Math.sin(theta);
+            float cosTheta = (float) Math.cos(theta);
+            for (int lon = 0; lon <= segments; lon++) {
+                float phi = (float) (lon * 2 * Math.PI / segments);
+                float x = (float) Math.cos(phi) * sinTheta;
+                float y = cosTheta;
+                float z = (float) Math.sin(phi) * sinTheta;
+                vertexList.add(x * 1.0f);
+                vertexList.add(y * 1.0f);
+                vertexList.add(z * 1.0f);
+                vertexList.add(x);
+                vertexList.add(y);
+                vertexList.add(z);
+                vertexList.add((float) lon / segments);
+                vertexList.add((float) lat / segments);
+            }
+        }
+        for (int lat = 0; lat < segments; lat++) {
+            for (int lon = 0; lon < segments; lon++) {
+                int first = lat * (segments + 1) + lon;
+                int second = first + segments + 1;
+                indexList.add(first);
+                indexList.add(second);
+                indexList.add(first + 1);
+                indexList.add(second);
+                indexList.add(second + 1);
+                indexList.add(first + 1);
+            }
+        }
+        float[] vertices = new float[vertexList.size()];
+        for (int i = 0; i < vertexList.size(); i++) {
+            vertices[i] = vertexList.get(i);
+        }
+        int[] indices = new int[indexList.size()];
+        for (int i = 0; i < indexList.size(); i++) {
+            indices[i] = indexList.get(i);
+        }
+        return new Object[] {vertices, indices};
+    }
+}
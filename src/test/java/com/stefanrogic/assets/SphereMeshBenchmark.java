@@ -0,0 +1,101 @@
+package com.stefanrogic.assets;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the UV Sphere with the icosphere and cube-sphere generators. Runs without OpenGL.
+ *
+ * For each UV sphere detail it finds the coarsest icosphere and cube sphere whose facets sit no further
+ * from the true sphere (SphereMesh.maxFacetError), then prints triangle and vertex counts, that error and
+ * the average cache miss ratio (ACMR, FIFO cache of 16) for each. A second table times generation,
+ * including the boxed List<Float> UV generator Sphere used before (LegacySphere), and reports heap
+ * bytes allocated per mesh. The properties it prints are asserted by SphereMeshTest.
+ *
+ * Not a test (surefire skips it); run from the test classpath:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.stefanrogic.assets.SphereMeshBenchmark
+ */
+public final class SphereMeshBenchmark {
+
+    private static final int[] UV_DETAILS = {16, 32, 64, 128};
+    private static final int FIFO_CACHE = 16;
+    private static final long WARM_UP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+    private static final int MIN_MEASURED = 5;
+
+    private SphereMeshBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%-18s %10s %10s %12s %8s%n", "mesh", "triangles", "vertices", "max error", "ACMR");
+        List<String> timed = new ArrayList<>();
+        for (int detail : UV_DETAILS) {
+            Sphere uv = new Sphere(1.0f, detail, detail);
+            float target = SphereMesh.maxFacetError(uv.getVertices(), uv.getIndices(), SphereMesh.FLOATS_PER_VERTEX);
+
+            int subdivisions = 0;
+            while (error(SphereMesh.icosphere(subdivisions)) > target) {
+                subdivisions++;
+            }
+            int low = 1, high = 512; // COARSEST CUBE SPHERE THAT MEETS THE TARGET
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (error(SphereMesh.cubeSphere(mid)) <= target) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            SphereMesh ico = SphereMesh.icosphere(subdivisions);
+            SphereMesh cube = SphereMesh.cubeSphere(low);
+
+            print("uv " + detail, uv.getIndices().length / 3, uv.getVertices().length / 8, target, uv.getIndices());
+            print("icosphere " + subdivisions, ico.getTriangleCount(), ico.getVertexCount(), error(ico), ico.getIndices());
+            print("cube " + low, cube.getTriangleCount(), cube.getVertexCount(), error(cube), cube.getIndices());
+            System.out.println();
+
+            int icoSubdivisions = subdivisions;
+            int cubeSegments = low;
+            timed.add(row(threads, "uv " + detail + " (boxed)", () -> LegacySphere.generate(detail)));
+            timed.add(row(threads, "uv " + detail, () -> new Sphere(1.0f, detail, detail)));
+            timed.add(row(threads, "icosphere " + icoSubdivisions, () -> SphereMesh.icosphere(icoSubdivisions)));
+            timed.add(row(threads, "cube " + cubeSegments, () -> SphereMesh.cubeSphere(cubeSegments)));
+        }
+
+        System.out.printf("%-22s %12s %12s %14s%n", "generator", "mean ms/op", "best ms/op", "alloc KB/op");
+        timed.forEach(System.out::println);
+    }
+
+    private static void print(String name, int triangles, int vertices, float error, int[] indices) {
+        System.out.printf("%-18s %10d %10d %12.6f %8.3f%n", name, triangles, vertices, error,
+            SphereMesh.averageCacheMissRatio(indices, FIFO_CACHE));
+    }
+
+    private static float error(SphereMesh mesh) {
+        return SphereMesh.maxFacetError(mesh.getVertices(), mesh.getIndices(), SphereMesh.FLOATS_PER_VERTEX);
+    }
+
+    private static String row(com.sun.management.ThreadMXBean threads, String name, Supplier<Object> operation) {
+        long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+        while (System.nanoTime() < warmUpEnd) {
+            operation.get();
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long measureStart = System.nanoTime();
+        long best = Long.MAX_VALUE;
+        int runs = 0;
+        while (runs < MIN_MEASURED || System.nanoTime() - measureStart < MEASURE_NANOS) {
+            long start = System.nanoTime();
+            operation.get();
+            best = Math.min(best, System.nanoTime() - start);
+            runs++;
+        }
+        long total = System.nanoTime() - measureStart;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return String.format("%-22s %12.3f %12.3f %14.1f", name, total / 1e6 / runs, best / 1e6, allocated / 1024.0 / runs);
+    }
+}
@@ -0,0 +1,131 @@
+package com.stefanrogic.assets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class SphereMeshTest {
+
+    private static final int[] UV_DETAILS = {16, 32, 64, 128};
+
+    @Test
+    void uvSphereMatchesBoxedGenerator() {
+        for (int detail : UV_DETAILS) {
+            Sphere current = new Sphere(1.0f, detail, detail);
+            Object[] legacy = LegacySphere.generate(detail);
+            assertArrayEquals((float[]) legacy[0], current.getVertices(), "uv " + detail + " vertices");
+            assertArrayEquals((int[]) legacy[1], current.getIndices(), "uv " + detail + " indices");
+        }
+    }
+
+    @Test
+    void icosphereNeedsFewerTrianglesThanUvSphereForSameError() {
+        for (int detail : UV_DETAILS) {
+            Sphere uv = new Sphere(1.0f, detail, detail);
+            float target = SphereMesh.maxFacetError(uv.getVertices(), uv.getIndices(), SphereMesh.FLOATS_PER_VERTEX);
+            int subdivisions = 0;
+            while (error(SphereMesh.icosphere(subdivisions)) > target) {
+                subdivisions++;
+            }
+            SphereMesh ico = SphereMesh.icosphere(subdivisions);
+            assertTrue(ico.getTriangleCount() < uv.getIndices().length / 3,
+                "uv " + detail + ": icosphere " + subdivisions + " has " + ico.getTriangleCount() + " triangles");
+        }
+    }
+
+    @Test
+    void generatorsProduceDocumentedCounts() {
+        for (int s = 0; s <= 4; s++) {
+            SphereMesh ico = SphereMesh.icosphere(s);
+            assertEquals(10 * (1 << (2 * s)) + 2, ico.getVertexCount());
+            assertEquals(20 * (1 << (2 * s)), ico.getTriangleCount());
+        }
+        for (int n = 1; n <= 16; n *= 2) {
+            SphereMesh cube = SphereMesh.cubeSphere(n);
+            assertEquals(6 * (n + 1) * (n + 1), cube.getVertexCount());
+            assertEquals(12 * n * n, cube.getTriangleCount());
+        }
+    }
+
+    @Test
+    void verticesLieOnUnitSphereAndTrianglesFaceOutward() {
+        for (SphereMesh mesh : new SphereMesh[] {SphereMesh.icosphere(3), SphereMesh.cubeSphere(8)}) {
+            float[] v = mesh.getVertices();
+            for (int i = 0; i < mesh.getVertexCount(); i++) {
+                int o = i * SphereMesh.FLOATS_PER_VERTEX;
+                assertEquals(1.0, Math.sqrt(v[o] * v[o] + v[o + 1] * v[o + 1] + v[o + 2] * v[o + 2]), 1e-5);
+            }
+            int[] indices = mesh.getIndices();
+            for (int t = 0; t < indices.length; t += 3) {
+                assertTrue(outward(v, SphereMesh.FLOATS_PER_VERTEX, indices[t], indices[t + 1], indices[t + 2]) > 0.0f,
+                    "triangle " + t / 3 + " winds inward");
+            }
+        }
+    }
+
+    @Test
+    void cacheOrderingKeepsTriangleSetAndLowersMisses() {
+        // THE UV SPHERE'S ROW-BY-ROW ORDER IS A GOOD WORST CASE: EVERY ROW EVICTS THE ONE BEFORE IT
+        Sphere uv = new Sphere(1.0f, 64, 64);
+        int[] input = uv.getIndices();
+        int vertexCount = uv.getVertices().length / 8;
+        int[] ordered = VertexCacheOptimizer.optimize(input, vertexCount);
+
+        assertArrayEquals(canonicalTriangles(input), canonicalTriangles(ordered));
+        assertTrue(SphereMesh.averageCacheMissRatio(ordered, 16) < SphereMesh.averageCacheMissRatio(input, 16));
+    }
+
+    @Test
+    void finishedMeshesUseEveryVertexInFirstUseOrder() {
+        for (SphereMesh mesh : new SphereMesh[] {SphereMesh.icosphere(3), SphereMesh.cubeSphere(8)}) {
+            int next = 0;
+            for (int index : mesh.getIndices()) {
+                assertTrue(index <= next, "vertex " + index + " used before vertex " + next);
+                if (index == next) {
+                    next++;
+                }
+            }
+            assertEquals(mesh.getVertexCount(), next);
+        }
+    }
+
+    @Test
+    void outOfRangeDetailIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SphereMesh.icosphere(8));
+        assertThrows(IllegalArgumentException.class, () -> SphereMesh.cubeSphere(0));
+    }
+
+    private static float error(SphereMesh mesh) {
+        return SphereMesh.maxFacetError(mesh.getVertices(), mesh.getIndices(), SphereMesh.FLOATS_PER_VERTEX);
+    }
+
+    private static float outward(float[] v, int stride, int a, int b, int c) {
+        a *= stride;
+        b *= stride;
+        c *= stride;
+        float ux = v[b] - v[a], uy = v[b + 1] - v[a + 1], uz = v[b + 2] - v[a + 2];
+        float wx = v[c] - v[a], wy = v[c + 1] - v[a + 1], wz = v[c + 2] - v[a + 2];
+        return (uy * wz - uz * wy) * v[a] + (uz * wx - ux * wz) * v[a + 1] + (ux * wy - uy * wx) * v[a + 2];
+    }
+
+    /**
+     * Each triangle rotated to start at its smallest index (keeping the winding), packed into a long
+     * and sorted, so two index lists compare equal exactly when they hold the same triangles
+     */
+    private static long[] canonicalTriangles(int[] indices) {
+        long[] triangles = new long[indices.length / 3];
+        for (int t = 0; t < triangles.length; t++) {
+            int a = indices[t * 3], b = indices[t * 3 + 1], c = indices[t * 3 + 2];
+            while (a > b || a > c) {
+                int swap = a;
+                a = b;
+                b = c;
+                c = swap;
+            }
+            triangles[t] = ((long) a << 42) | ((long) b << 21) | c;
+        }
+        Arrays.sort(triangles);
+        return triangles;
+    }
+}
@@ -0,0 +1,123 @@
+package com.stefanrogic.core.astronomy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChebyshevEphemerisTest {
+
+    private static final double KM_PER_UNIT = 10000.0;
+    private static final int COEFFICIENTS = 12;
+    private static final double DAYS = 2 * 365.25;
+
+    @Test
+    void fitReproducesPolynomialsExactly() {
+        // A CUBIC IS REPRESENTED EXACTLY BY ANY INTERPOLANT OF DEGREE >= 3
+        int n = 6;
+        double[] samples = new double[n];
+        for (int k = 0; k < n; k++) {
+            double x = ChebyshevEphemeris.node(k, n);
+            samples[k] = 2.0 - x + 3.0 * x * x * x;
+        }
+        double[] coefficients = new double[n];
+        ChebyshevEphemeris.fit(samples, n, coefficients);
+        // 3x^3 = 0.75 T3 + 2.25 T1
+        double[] expected = {2.0, 1.25, 0.0, 0.75, 0.0, 0.0};
+        assertArrayEquals(expected, coefficients, 1e-12);
+    }
+
+    @Test
+    void mappedTableReproducesKeplerianOrbits(@TempDir Path directory) throws IOException {
+        KeplerianEphemeris source = planets();
+        double start = KeplerianEphemeris.J2000;
+        ChebyshevEphemeris table = ChebyshevEphemeris.open(writeTable(directory.resolve("kepler.cheb"), source, start));
+        assertEquals(source.size(), table.size());
+        assertTrue(table.covers(start) && table.covers(start + DAYS) && !table.covers(start - 1.0));
+
+        Random random = new Random(5);
+        double[] expected = new double[6], actual = new double[6];
+        for (int i = 0; i < 2000; i++) {
+            int body = random.nextInt(source.size());
+            double jd = start + random.nextDouble() * DAYS;
+            source.computeState(body, jd, expected);
+            table.computeState(table.indexOf(source.getName(body)), jd, actual);
+            double dx = actual[0] - expected[0], dy = actual[1] - expected[1], dz = actual[2] - expected[2];
+            double errorKm = Math.sqrt(dx * dx + dy * dy + dz * dz) * KM_PER_UNIT;
+            assertTrue(errorKm < 0.5, source.getName(body) + " off by " + errorKm + " km at JD " + jd);
+            double dvx = actual[3] - expected[3], dvy = actual[4] - expected[4], dvz = actual[5] - expected[5];
+            double speed = Math.sqrt(expected[3] * expected[3] + expected[4] * expected[4] + expected[5] * expected[5]);
+            assertTrue(Math.sqrt(dvx * dvx + dvy * dvy + dvz * dvz) < 1e-5 * speed, source.getName(body) + " velocity at JD " + jd);
+        }
+    }
+
+    @Test
+    void fileWithoutMagicIsRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("junk.cheb");
+        Files.write(file, new byte[256]);
+        assertThrows(IllegalArgumentException.class, () -> ChebyshevEphemeris.open(file));
+    }
+
+    private static KeplerianEphemeris planets() {
+        KeplerianEphemeris ephemeris = new KeplerianEphemeris();
+        // JPL APPROXIMATE ELEMENTS (1800-2050) FOR MERCURY, EARTH-MOON BARYCENTRE AND JUPITER
+        ephemeris.add("MERCURY", 0.38709927, 0.20563593, 7.00497902, 252.25032350, 77.45779628, 48.33076593,
+            0.00000037, 0.00001906, -0.00594749, 149472.67411175, 0.16047689, -0.12534081);
+        ephemeris.add("EARTH", 1.00000261, 0.01671123, -0.00001531, 100.46457166, 102.93768193, 0.0,
+            0.00000562, -0.00004392, -0.01294668, 35999.37244981, 0.32327364, 0.0);
+        ephemeris.add("JUPITER", 5.20288700, 0.04838624, 1.30439695, 34.39644051, 14.72847983, 100.47390909,
+            -0.00011607, -0.00013253, -0.00183714, 3034.74612775, 0.21252668, 0.20469106);
+        return ephemeris;
+    }
+
+    /**
+     * Fit every body with eight segments per orbit, the builder's default, and write the table
+     */
+    private static Path writeTable(Path file, KeplerianEphemeris source, double start) throws IOException {
+        int bodies = source.size();
+        String[] names = new String[bodies];
+        double[] segmentDays = new double[bodies];
+        int[] segmentCount = new int[bodies];
+        int[] coefficientCount = new int[bodies];
+        for (int b = 0; b < bodies; b++) {
+            names[b] = source.getName(b);
+            double a = source.getSemiMajorAxis(b) / KeplerianEphemeris.UNITS_PER_AU;
+            segmentDays[b] = 365.25 * Math.sqrt(a * a * a) / 8.0;
+            segmentCount[b] = (int) Math.ceil(DAYS / segmentDays[b]);
+            coefficientCount[b] = COEFFICIENTS;
+        }
+
+        double[] state = new double[6];
+        double[] sx = new double[COEFFICIENTS], sy = new double[COEFFICIENTS], sz = new double[COEFFICIENTS];
+        double[] cx = new double[COEFFICIENTS], cy = new double[COEFFICIENTS], cz = new double[COEFFICIENTS];
+        ByteBuffer scratch = ByteBuffer.allocate(3 * COEFFICIENTS * Double.BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] offsets = ChebyshevEphemeris.writeHeader(channel, names, start, start + DAYS,
+                segmentDays, segmentCount, coefficientCount);
+            for (int b = 0; b < bodies; b++) {
+                for (int segment = 0; segment < segmentCount[b]; segment++) {
+                    for (int k = 0; k < COEFFICIENTS; k++) {
+                        double x = ChebyshevEphemeris.node(k, COEFFICIENTS);
+                        source.computeState(b, start + (segment + 0.5 * (x + 1.0)) * segmentDays[b], state);
+                        sx[k] = state[0];
+                        sy[k] = state[1];
+                        sz[k] = state[2];
+                    }
+                    ChebyshevEphemeris.fit(sx, COEFFICIENTS, cx);
+                    ChebyshevEphemeris.fit(sy, COEFFICIENTS, cy);
+                    ChebyshevEphemeris.fit(sz, COEFFICIENTS, cz);
+                    ChebyshevEphemeris.writeSegment(channel, scratch, offsets[b], segment, COEFFICIENTS, cx, cy, cz);
+                }
+            }
+        }
+        return file;
+    }
+}
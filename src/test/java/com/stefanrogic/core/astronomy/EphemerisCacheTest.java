@@ -0,0 +1,124 @@
+package com.stefanrogic.core.astronomy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EphemerisCacheTest {
+
+    private static final double QUANTUM = 1.0 / 1440.0; // ONE MINUTE
+
+    @Test
+    void sameCellHitsAndEvaluatesSourceAtGridPoint() {
+        CountingEphemeris source = new CountingEphemeris();
+        EphemerisCache cache = new EphemerisCache(source, 16, QUANTUM);
+        double[] first = cache.computeState(1, 2451545.0 + 0.1 * QUANTUM, new double[6]);
+        double[] second = cache.computeState(1, 2451545.0 - 0.2 * QUANTUM, new double[6]);
+
+        assertArrayEquals(first, second);
+        assertArrayEquals(source.computeState(1, 2451545.0, new double[6]), first);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, source.calls - 1); // THE LAST CALL WAS THE ASSERTION'S OWN
+    }
+
+    @Test
+    void bodiesAndCellsAreSeparateEntries() {
+        CountingEphemeris source = new CountingEphemeris();
+        EphemerisCache cache = new EphemerisCache(source, 16, QUANTUM);
+        double[] state = new double[6];
+        cache.computeState(0, 2451545.0, state);
+        cache.computeState(1, 2451545.0, state);
+        cache.computeState(0, 2451545.0 + QUANTUM, state);
+        assertEquals(3, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    void clockKeepsRecentlyHitEntries() {
+        CountingEphemeris source = new CountingEphemeris();
+        EphemerisCache cache = new EphemerisCache(source, 4, QUANTUM);
+        double[] state = new double[6];
+        for (int body = 0; body < 4; body++) {
+            cache.computeState(body, 2451545.0, state);
+        }
+        cache.computeState(0, 2451545.0, state); // SECOND CHANCE FOR BODY 0
+        cache.computeState(4, 2451545.0, state); // FULL: THE HAND PASSES 0 AND EVICTS 1
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(4, cache.getSize());
+        long hits = cache.getHits();
+        cache.computeState(0, 2451545.0, state);
+        assertEquals(hits + 1, cache.getHits());
+        long misses = cache.getMisses();
+        cache.computeState(1, 2451545.0, state);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    void evictionUnderChurnNeverReturnsAnotherKeysState() {
+        // A SMALL CACHE OVER MANY KEYS EXERCISES THE BACKWARD-SHIFT DELETE ON EVERY MISS
+        CountingEphemeris source = new CountingEphemeris();
+        EphemerisCache cache = new EphemerisCache(source, 37, QUANTUM);
+        Random random = new Random(17);
+        double[] cached = new double[6], expected = new double[6];
+        for (int i = 0; i < 50_000; i++) {
+            int body = random.nextInt(5);
+            long cell = random.nextInt(60);
+            cache.computeState(body, 2451545.0 + cell * QUANTUM, cached);
+            source.computeState(body, Math.round((2451545.0 + cell * QUANTUM) / QUANTUM) * QUANTUM, expected);
+            assertArrayEquals(expected, cached, "body " + body + ", cell " + cell);
+            assertTrue(cache.getSize() <= cache.getCapacity());
+        }
+        assertEquals(50_000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() > 0 && cache.getEvictions() > 0);
+    }
+
+    @Test
+    void clearDropsEntriesButKeepsStatistics() {
+        EphemerisCache cache = new EphemerisCache(new CountingEphemeris(), 8, QUANTUM);
+        double[] state = new double[6];
+        cache.computeState(0, 2451545.0, state);
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        cache.computeState(0, 2451545.0, state);
+        assertEquals(2, cache.getMisses());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getMisses());
+        assertEquals(0.0, cache.getHitRate());
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new EphemerisCache(new CountingEphemeris(), 0, QUANTUM));
+        assertThrows(IllegalArgumentException.class, () -> new EphemerisCache(new CountingEphemeris(), 8, 0.0));
+    }
+
+    /**
+     * A state that encodes its own key, so a wrong entry cannot pass for the right one
+     */
+    private static final class CountingEphemeris implements Ephemeris {
+        int calls;
+
+        @Override
+        public double[] computeState(int index, double julianDate, double[] dest) {
+            calls++;
+            for (int i = 0; i < 6; i++) {
+                dest[i] = index * 1000.0 + (julianDate - 2451545.0) * 10.0 + i;
+            }
+            return dest;
+        }
+
+        @Override
+        public int size() { return 5; }
+
+        @Override
+        public String getName(int index) { return "BODY" + index; }
+
+        @Override
+        public int indexOf(String name) { return name.startsWith("BODY") ? Integer.parseInt(name.substring(4)) : -1; }
+    }
+}
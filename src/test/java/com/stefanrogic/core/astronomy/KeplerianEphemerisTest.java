@@ -0,0 +1,79 @@
+package com.stefanrogic.core.astronomy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KeplerianEphemerisTest {
+
+    @Test
+    void solveKeplerSatisfiesKeplersEquation() {
+        // INCLUDING NEAR-PARABOLIC ORBITS, WHERE THE HIGH-ECCENTRICITY START MATTERS
+        for (double e : new double[] {0.0, 0.0167, 0.2056, 0.5, 0.9, 0.99}) {
+            for (int step = -40; step <= 40; step++) {
+                double m = step * Math.PI / 40.0;
+                double eccentricAnomaly = KeplerianEphemeris.solveKepler(m, e);
+                assertEquals(m, eccentricAnomaly - e * Math.sin(eccentricAnomaly), 1e-12, "M " + m + ", e " + e);
+            }
+        }
+    }
+
+    @Test
+    void orbitFromStateRecoversEllipseAtPeriapsis() {
+        double mu = 2.0, a = 3.0, e = 0.4;
+        double r = a * (1.0 - e);
+        double speed = Math.sqrt(mu * (1.0 + e) / r);
+        double[] orbit = KeplerianEphemeris.orbitFromState(r, 0.0, 0.0, 0.0, 0.0, speed, mu, new double[8]);
+
+        assertEquals(a, orbit[0], 1e-12);
+        assertEquals(e, orbit[1], 1e-12);
+        assertArrayEquals(new double[] {1.0, 0.0, 0.0}, new double[] {orbit[2], orbit[3], orbit[4]}, 1e-12);
+        assertArrayEquals(new double[] {0.0, 0.0, 1.0}, new double[] {orbit[5], orbit[6], orbit[7]}, 1e-12);
+    }
+
+    @Test
+    void orbitFromStatePointsLieOnTheOrbit() {
+        // ANY POINT GENERATED FROM THE ELEMENTS SATISFIES r = a (1 - e cos E)
+        double mu = 1.0;
+        double[] orbit = KeplerianEphemeris.orbitFromState(0.8, 0.3, -0.2, -0.1, 0.2, 1.05, mu, new double[8]);
+        double a = orbit[0], e = orbit[1];
+        assertTrue(a > 0.0 && e < 1.0);
+        for (int i = 0; i < 16; i++) {
+            double eccentricAnomaly = i * Math.PI / 8.0;
+            double along = a * (Math.cos(eccentricAnomaly) - e);
+            double across = a * Math.sqrt(1.0 - e * e) * Math.sin(eccentricAnomaly);
+            double x = along * orbit[2] + across * orbit[5];
+            double y = along * orbit[3] + across * orbit[6];
+            double z = along * orbit[4] + across * orbit[7];
+            assertEquals(a * (1.0 - e * Math.cos(eccentricAnomaly)), Math.sqrt(x * x + y * y + z * z), 1e-12);
+        }
+    }
+
+    @Test
+    void velocityMatchesPositionDerivative() {
+        KeplerianEphemeris ephemeris = new KeplerianEphemeris();
+        ephemeris.add("MERCURY", 0.38709927, 0.20563593, 7.00497902, 252.25032350, 77.45779628, 48.33076593,
+            0.00000037, 0.00001906, -0.00594749, 149472.67411175, 0.16047689, -0.12534081);
+        double[] before = new double[6], after = new double[6], state = new double[6];
+        double halfStepDays = 30.0 / 86400.0;
+        for (int day = 0; day < 88; day += 8) {
+            double jd = KeplerianEphemeris.J2000 + day;
+            ephemeris.computeState(0, jd - halfStepDays, before);
+            ephemeris.computeState(0, jd + halfStepDays, after);
+            ephemeris.computeState(0, jd, state);
+            double speed = Math.sqrt(state[3] * state[3] + state[4] * state[4] + state[5] * state[5]);
+            for (int axis = 0; axis < 3; axis++) {
+                double derivative = (after[axis] - before[axis]) / 60.0;
+                assertEquals(derivative, state[3 + axis], 1e-6 * speed, "day " + day + ", axis " + axis);
+            }
+        }
+    }
+
+    @Test
+    void degenerateStateIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> KeplerianEphemeris.orbitFromState(0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 1.0, new double[8]));
+        assertThrows(IllegalArgumentException.class,
+            () -> KeplerianEphemeris.orbitFromState(1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, new double[8]));
+    }
+}
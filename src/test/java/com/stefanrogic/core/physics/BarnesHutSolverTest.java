@@ -0,0 +1,85 @@
+package com.stefanrogic.core.physics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BarnesHutSolverTest {
+
+    private static final int BODIES = 400;
+
+    @Test
+    void zeroThetaMatchesDirectSummation() {
+        assertRmsRelativeError(0.0, 1e-12);
+    }
+
+    @Test
+    void moderateThetaStaysCloseToDirectSummation() {
+        assertRmsRelativeError(0.5, 1e-2);
+    }
+
+    @Test
+    void wideThetaStaysCloseToDirectSummation() {
+        // ABOVE 1/SQRT(3) A NODE CONTAINING THE BODY COULD PASS THE OPENING TEST
+        assertRmsRelativeError(0.7, 3e-2);
+    }
+
+    @Test
+    void bodyIsNotPulledByItsOwnNode() {
+        // BODY 0 IN ONE CORNER OF THE ROOT, NINE LIGHTER BODIES BUNCHED IN THE OPPOSITE CORNER: THE ROOT'S
+        // CENTRE OF MASS IS FAR ENOUGH FROM BODY 0 TO PASS A THETA 0.7 TEST, SO WITHOUT THE CONTAINMENT
+        // CHECK BODY 0 WOULD FEEL ITS OWN MASS AT THAT POINT
+        int count = 10;
+        double[] x = new double[count], y = new double[count], z = new double[count], mu = new double[count];
+        mu[0] = 1.5;
+        Random random = new Random(3);
+        for (int i = 1; i < count; i++) {
+            x[i] = 1.0 - random.nextDouble() * 0.01;
+            y[i] = 1.0 - random.nextDouble() * 0.01;
+            z[i] = 1.0 - random.nextDouble() * 0.01;
+            mu[i] = 1.0;
+        }
+        double[][] exact = accelerations(new DirectSummationSolver(), x, y, z, mu, count);
+        double[][] tree = accelerations(new BarnesHutSolver(0.7, 0.0), x, y, z, mu, count);
+        for (int axis = 0; axis < 3; axis++) {
+            assertEquals(exact[axis][0], tree[axis][0], 1e-3 * Math.abs(exact[axis][0]));
+        }
+    }
+
+    private static void assertRmsRelativeError(double theta, double tolerance) {
+        Random random = new Random(11);
+        double[] x = new double[BODIES], y = new double[BODIES], z = new double[BODIES], mu = new double[BODIES];
+        for (int i = 0; i < BODIES; i++) {
+            // A DENSE CORE AND A SPARSE HALO, SO THE TREE HAS BOTH DEEP AND SHALLOW BRANCHES
+            double scale = i < BODIES / 2 ? 10.0 : 1000.0;
+            x[i] = (random.nextDouble() - 0.5) * scale;
+            y[i] = (random.nextDouble() - 0.5) * scale;
+            z[i] = (random.nextDouble() - 0.5) * scale;
+            mu[i] = i % 10 == 0 ? 0.0 : 1.0 + random.nextDouble() * 100.0; // EVERY TENTH IS A TEST PARTICLE
+        }
+        double[][] exact = accelerations(new DirectSummationSolver(), x, y, z, mu, BODIES);
+        double[][] tree = accelerations(new BarnesHutSolver(theta, 0.0), x, y, z, mu, BODIES);
+
+        // EACH BODY'S ERROR RELATIVE TO ITS OWN ACCELERATION, AVERAGED AS A ROOT MEAN SQUARE
+        double sum = 0.0;
+        for (int i = 0; i < BODIES; i++) {
+            double error = 0.0, magnitude = 0.0;
+            for (int axis = 0; axis < 3; axis++) {
+                double d = tree[axis][i] - exact[axis][i];
+                error += d * d;
+                magnitude += exact[axis][i] * exact[axis][i];
+            }
+            sum += error / magnitude;
+        }
+        double rms = Math.sqrt(sum / BODIES);
+        assertTrue(rms <= tolerance, "theta " + theta + ": RMS relative error " + rms);
+    }
+
+    private static double[][] accelerations(ForceSolver solver, double[] x, double[] y, double[] z, double[] mu, int count) {
+        double[][] result = new double[3][count];
+        solver.prepare(x, y, z, mu, count);
+        solver.accelerate(0, count, result[0], result[1], result[2]);
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.stefanrogic.core.rendering;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BlockCompressorTest {
+
+    @Test
+    void flatBlocksRoundTripToTheNearest565Colour() {
+        ByteBuffer rgba = fill(8, 8, (x, y) -> 0xFF204080);
+        ByteBuffer decoded = roundTrip(rgba, 8, 8, false);
+        for (int i = 0; i < 8 * 8; i++) {
+            // A FLAT BLOCK ONLY LOSES THE LOW BITS RGB565 CANNOT HOLD
+            assertEquals(0x20, decoded.get(i * 4) & 0xFF, 8);
+            assertEquals(0x40, decoded.get(i * 4 + 1) & 0xFF, 4);
+            assertEquals(0x80, decoded.get(i * 4 + 2) & 0xFF, 8);
+            assertEquals(255, decoded.get(i * 4 + 3) & 0xFF);
+        }
+    }
+
+    @Test
+    void gradientsStayWithinBlockCompressionError() {
+        // A SMOOTH RAMP LIKE A PLANET MAP: EVERY TEXEL SHOULD LAND NEAR ITS SOURCE
+        ByteBuffer rgba = fill(32, 32, (x, y) -> 0xFF000000 | (x * 8) << 16 | (y * 8) << 8 | (x + y) * 4);
+        ByteBuffer decoded = roundTrip(rgba, 32, 32, false);
+        for (int i = 0; i < 32 * 32 * 4; i++) {
+            assertEquals(rgba.get(i) & 0xFF, decoded.get(i) & 0xFF, 24, "byte " + i);
+        }
+    }
+
+    @Test
+    void alphaSurvivesBc3() {
+        ByteBuffer rgba = fill(16, 16, (x, y) -> (x * 16) << 24 | 0x00808080);
+        ByteBuffer decoded = roundTrip(rgba, 16, 16, true);
+        for (int i = 0; i < 16 * 16; i++) {
+            assertEquals(rgba.get(i * 4 + 3) & 0xFF, decoded.get(i * 4 + 3) & 0xFF, 10, "alpha of texel " + i);
+        }
+    }
+
+    @Test
+    void partialEdgeBlocksDecodeToTheImageSize() {
+        // MIP TAILS (2x2, 1x1) AND ODD SIZES STILL OCCUPY WHOLE BLOCKS IN THE COMPRESSED LEVEL
+        Random random = new Random(3);
+        for (int[] size : new int[][] {{1, 1}, {2, 2}, {5, 3}, {13, 7}}) {
+            ByteBuffer rgba = fill(size[0], size[1], (x, y) -> 0xFF000000 | random.nextInt(1 << 24));
+            ByteBuffer decoded = roundTrip(rgba, size[0], size[1], true);
+            assertEquals(size[0] * size[1] * 4, decoded.capacity());
+        }
+    }
+
+    private static ByteBuffer roundTrip(ByteBuffer rgba, int width, int height, boolean withAlpha) {
+        int format = withAlpha ? TextureCache.FORMAT_BC3 : TextureCache.FORMAT_BC1;
+        ByteBuffer blocks = ByteBuffer.allocate(TextureCache.levelBytes(format, width, height));
+        BlockCompressor.compress(rgba, width, height, blocks, withAlpha);
+        return BlockCompressor.decompress(blocks, width, height, withAlpha);
+    }
+
+    private interface Pattern {
+        int argb(int x, int y);
+    }
+
+    private static ByteBuffer fill(int width, int height, Pattern pattern) {
+        ByteBuffer rgba = ByteBuffer.allocate(width * height * 4);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int argb = pattern.argb(x, y);
+                int texel = (y * width + x) * 4;
+                rgba.put(texel, (byte) (argb >> 16)).put(texel + 1, (byte) (argb >> 8));
+                rgba.put(texel + 2, (byte) argb).put(texel + 3, (byte) (argb >>> 24));
+            }
+        }
+        return rgba;
+    }
+}
@@ -0,0 +1,121 @@
+package com.stefanrogic.core.rendering;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * The line/split/linear-scan OBJ loader as it was before the rewrite (debug output removed), kept as
+ * the reference OBJLoader is checked and timed against
+ */
+final class LegacyOBJLoader {
+
+    private LegacyOBJLoader() {
+    }
+
+    static OBJLoader.ModelData load(byte[] data) {
+        List<Vector3f> vertices = new ArrayList<>();
+        List<Vector2f> texCoords = new ArrayList<>();
+        List<Vector3f> normals = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        List<Vector3f> finalVertices = new ArrayList<>();
+        List<Vector2f> finalTexCoords = new ArrayList<>();
+        List<Vector3f> finalNormals = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split("\\s+");
+                if (tokens.length == 0) continue;
+                switch (tokens[0]) {
+                    case "v" -> {
+                        if (tokens.length >= 4) {
+                            vertices.add(new Vector3f(Float.parseFloat(tokens[1]), Float.parseFloat(tokens[2]), Float.parseFloat(tokens[3])));
+                        }
+                    }
+                    case "vt" -> {
+                        if (tokens.length >= 3) {
+                            texCoords.add(new Vector2f(Float.parseFloat(tokens[1]), 1.0f - Float.parseFloat(tokens[2])));
+                        }
+                    }
+                    case "vn" -> {
+                        if (tokens.length >= 4) {
+                            normals.add(new Vector3f(Float.parseFloat(tokens[1]), Float.parseFloat(tokens[2]), Float.parseFloat(tokens[3])));
+                        }
+                    }
+                    case "f" -> {
+                        if (tokens.length == 4 || tokens.length == 5) {
+                            int[] corner = new int[tokens.length - 1];
+                            for (int i = 1; i < tokens.length; i++) {
+                                String[] vertexData = tokens[i].split("/");
+                                Vector3f vertex = vertices.get(Integer.parseInt(vertexData[0]) - 1);
+                                Vector2f texCoord = new Vector2f(0, 0);
+                                if (vertexData.length > 1 && !vertexData[1].isEmpty()) {
+                                    int texIndex = Integer.parseInt(vertexData[1]) - 1;
+                                    if (texIndex >= 0 && texIndex < texCoords.size()) {
+                                        texCoord = texCoords.get(texIndex);
+                                    }
+                                }
+                                Vector3f normal = new Vector3f(0, 1, 0);
+                                if (vertexData.length > 2 && !vertexData[2].isEmpty()) {
+                                    int normalIndex = Integer.parseInt(vertexData[2]) - 1;
+                                    if (normalIndex >= 0 && normalIndex < normals.size()) {
+                                        normal = normals.get(normalIndex);
+                                    }
+                                }
+                                corner[i - 1] = findOrCreateVertex(vertex, texCoord, normal, finalVertices, finalTexCoords, finalNormals);
+                            }
+                            indices.add(corner[0]);
+                            indices.add(corner[1]);
+                            indices.add(corner[2]);
+                            if (corner.length == 4) {
+                                indices.add(corner[0]);
+                                indices.add(corner[2]);
+                                indices.add(corner[3]);
+                            }
+                        }
+                    }
+                    default -> { }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        float[] vertexArray = new float[finalVertices.size() * 3];
+        float[] texCoordArray = new float[finalTexCoords.size() * 2];
+        float[] normalArray = new float[finalNormals.size() * 3];
+        int[] indexArray = new int[indices.size()];
+        for (int i = 0; i < finalVertices.size(); i++) {
+            Vector3f v = finalVertices.get(i);
+            vertexArray[i * 3] = v.x; vertexArray[i * 3 + 1] = v.y; vertexArray[i * 3 + 2] = v.z;
+            Vector2f t = finalTexCoords.get(i);
+            texCoordArray[i * 2] = t.x; texCoordArray[i * 2 + 1] = t.y;
+            Vector3f n = finalNormals.get(i);
+            normalArray[i * 3] = n.x; normalArray[i * 3 + 1] = n.y; normalArray[i * 3 + 2] = n.z;
+        }
+        for (int i = 0; i < indices.size(); i++) {
+            indexArray[i] = indices.get(i);
+        }
+        return new OBJLoader.ModelData(vertexArray, indexArray, normalArray, texCoordArray);
+    }
+
+    private static int findOrCreateVertex(Vector3f vertex, Vector2f texCoord, Vector3f normal,
+                                          List<Vector3f> vertices, List<Vector2f> texCoords, List<Vector3f> normals) {
+        for (int i = 0; i < vertices.size(); i++) {
+            if (vertices.get(i).equals(vertex) && texCoords.get(i).equals(texCoord) && normals.get(i).equals(normal)) {
+                return i;
+            }
+        }
+        vertices.add(new Vector3f(vertex));
+        texCoords.add(new Vector2f(texCoord));
+        normals.add(new Vector3f(normal));
+        return vertices.size() - 1;
+    }
+}
@@ -0,0 +1,99 @@
+package com.stefanrogic.core.rendering;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MeshCacheTest {
+
+    // SAME LENGTH, DIFFERENT CONTENT: ONLY THE MAX X BOUND TELLS THEM APART
+    private static final String SMALL = "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 3\n";
+    private static final String LARGE = "v 0 0 0\nv 2 0 0\nv 0 2 0\nf 1 2 3\n";
+
+    @Test
+    void coldLoadMatchesParser(@TempDir Path directory) throws IOException {
+        Path obj = write(directory.resolve("model.obj"), SMALL);
+        MeshCache.Mesh mesh = load(obj, directory.resolve("model.mesh"));
+        OBJLoader.ModelData parsed = OBJLoader.parse(SMALL.getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(parsed.vertices.length / 3, mesh.vertexCount);
+        assertEquals(parsed.indices.length, mesh.indexCount);
+        assertEquals(2, mesh.indexSize);
+        for (int v = 0; v < mesh.vertexCount; v++) {
+            for (int c = 0; c < 3; c++) {
+                int offset = v * MeshCache.VERTEX_STRIDE + MeshCache.POSITION_OFFSET + c * 4;
+                assertEquals(parsed.vertices[v * 3 + c], mesh.vertices.getFloat(offset));
+            }
+        }
+        assertArrayEquals(new float[] {0, 0, 0, 1, 1, 0}, mesh.bounds);
+    }
+
+    @Test
+    void unchangedSizeAndTimeSkipReadingTheSource(@TempDir Path directory) throws IOException {
+        Path obj = write(directory.resolve("model.obj"), SMALL);
+        Path cache = directory.resolve("model.mesh");
+        load(obj, cache);
+
+        // SWAP THE CONTENT BEHIND THE CACHE'S BACK: A STAT-ONLY CHECK CANNOT SEE IT
+        FileTime time = Files.getLastModifiedTime(obj);
+        write(obj, LARGE);
+        Files.setLastModifiedTime(obj, time);
+        assertEquals(1.0f, load(obj, cache).bounds[3]);
+
+        // A NEW TIME FORCES THE CHECKSUM, WHICH FINDS THE NEW CONTENT
+        Files.setLastModifiedTime(obj, FileTime.fromMillis(time.toMillis() + 10_000));
+        assertEquals(2.0f, load(obj, cache).bounds[3]);
+    }
+
+    @Test
+    void touchedButUnchangedSourceKeepsEntryAndUpdatesStamp(@TempDir Path directory) throws IOException {
+        Path obj = write(directory.resolve("model.obj"), SMALL);
+        Path cache = directory.resolve("model.mesh");
+        load(obj, cache);
+        Object entry = Files.readAttributes(cache, BasicFileAttributes.class).fileKey();
+
+        long touched = Files.getLastModifiedTime(obj).toMillis() + 10_000;
+        Files.setLastModifiedTime(obj, FileTime.fromMillis(touched));
+        assertEquals(1.0f, load(obj, cache).bounds[3]);
+
+        // REBUILDS REPLACE THE FILE; A RESTAMP WRITES INTO THE SAME ONE
+        assertEquals(entry, Files.readAttributes(cache, BasicFileAttributes.class).fileKey());
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(cache)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(Files.size(obj), header.getLong(64));
+        assertEquals(touched, header.getLong(72));
+    }
+
+    @Test
+    void corruptPayloadIsRebuilt(@TempDir Path directory) throws IOException {
+        Path obj = write(directory.resolve("model.obj"), SMALL);
+        Path cache = directory.resolve("model.mesh");
+        load(obj, cache);
+
+        byte[] bytes = Files.readAllBytes(cache);
+        bytes[MeshCache.HEADER_BYTES + 4] ^= 0x40;
+        Files.write(cache, bytes);
+        MeshCache.Mesh mesh = load(obj, cache);
+        assertArrayEquals(new float[] {0, 0, 0, 1, 1, 0}, mesh.bounds);
+        assertFalse(Arrays.equals(bytes, Files.readAllBytes(cache)));
+    }
+
+    private static MeshCache.Mesh load(Path obj, Path cache) throws IOException {
+        URL source = obj.toUri().toURL();
+        return MeshCache.load(obj.getFileName().toString(), source, cache);
+    }
+
+    private static Path write(Path file, String contents) throws IOException {
+        return Files.writeString(file, contents, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,59 @@
+package com.stefanrogic.core.rendering;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Micro-benchmark of OBJLoader against LegacyOBJLoader on the bundled models. Runs without OpenGL.
+ * Each loader gets timed warm-up iterations, then measured iterations that report mean and best time
+ * per load plus heap bytes allocated per load. That both produce the same triangles is OBJLoaderTest's job.
+ *
+ * Not a test (surefire skips it); run from the test classpath:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.stefanrogic.core.rendering.OBJLoaderBenchmark
+ */
+public final class OBJLoaderBenchmark {
+
+    private static final long WARM_UP_NANOS = 2_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+    private static final int MIN_MEASURED = 5;
+
+    private OBJLoaderBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.out.printf("%-26s %-8s %12s %12s %14s%n", "model", "loader", "mean ms/op", "best ms/op", "alloc KB/op");
+        for (String model : OBJLoaderTest.MODELS) {
+            byte[] data = OBJLoaderTest.readResource(model);
+            double[] legacyResult = measure(threads, () -> LegacyOBJLoader.load(data));
+            double[] currentResult = measure(threads, () -> OBJLoader.parse(data));
+            System.out.printf("%-26s %-8s %12.3f %12.3f %14.1f%n", model, "legacy", legacyResult[0], legacyResult[1], legacyResult[2]);
+            System.out.printf("%-26s %-8s %12.3f %12.3f %14.1f   %.1fx faster%n", model, "hashed",
+                currentResult[0], currentResult[1], currentResult[2], legacyResult[0] / currentResult[0]);
+        }
+    }
+
+    /**
+     * @return {mean ms, best ms, KB allocated} per operation
+     */
+    private static double[] measure(com.sun.management.ThreadMXBean threads, Runnable operation) {
+        long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+        while (System.nanoTime() < warmUpEnd) {
+            operation.run();
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long measureStart = System.nanoTime();
+        long best = Long.MAX_VALUE;
+        int runs = 0;
+        while (runs < MIN_MEASURED || System.nanoTime() - measureStart < MEASURE_NANOS) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+            runs++;
+        }
+        long total = System.nanoTime() - measureStart;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[] {total / 1e6 / runs, best / 1e6, allocated / 1024.0 / runs};
+    }
+}
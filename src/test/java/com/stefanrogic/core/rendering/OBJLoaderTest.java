@@ -0,0 +1,142 @@
+package com.stefanrogic.core.rendering;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class OBJLoaderTest {
+
+    static final String[] MODELS = {
+        "models/earth_model.obj", "models/sun_model.obj", "models/jupiter_model.obj"
+    };
+
+    @Test
+    void bundledModelsMatchLegacyLoaderCornerByCorner() throws IOException {
+        for (String model : MODELS) {
+            byte[] data = readResource(model);
+            OBJLoader.ModelData current = OBJLoader.parse(data);
+            OBJLoader.ModelData legacy = LegacyOBJLoader.load(data);
+            assertSameTriangles(model, current, legacy);
+            assertTrue(current.vertices.length <= legacy.vertices.length, model + ": dedup emitted more vertices");
+        }
+    }
+
+    @Test
+    void negativeIndicesCountBackFromLatestElement() {
+        OBJLoader.ModelData relative = parse("""
+            v 0 0 0
+            v 1 0 0
+            v 0 1 0
+            vt 0 0
+            vt 1 0
+            vt 0 1
+            vn 0 0 1
+            f -3/-3/-1 -2/-2/-1 -1/-1/-1
+            """);
+        OBJLoader.ModelData absolute = parse("""
+            v 0 0 0
+            v 1 0 0
+            v 0 1 0
+            vt 0 0
+            vt 1 0
+            vt 0 1
+            vn 0 0 1
+            f 1/1/1 2/2/1 3/3/1
+            """);
+        assertArrayEquals(absolute.indices, relative.indices);
+        assertArrayEquals(absolute.vertices, relative.vertices);
+        assertArrayEquals(absolute.texCoords, relative.texCoords);
+    }
+
+    @Test
+    void polygonsAreFannedAndSharedCornersDeduplicated() {
+        OBJLoader.ModelData pentagon = parse("""
+            v 0 0 0
+            v 1 0 0
+            v 2 1 0
+            v 1 2 0
+            v 0 1 0
+            f 1 2 3 4 5
+            """);
+        assertArrayEquals(new int[] {0, 1, 2, 0, 2, 3, 0, 3, 4}, pentagon.indices);
+        assertEquals(5 * 3, pentagon.vertices.length);
+    }
+
+    @Test
+    void missingNormalsAreComputedFromFaces() {
+        // COUNTER-CLOCKWISE IN THE XY PLANE, SO THE FACE NORMAL IS +Z
+        OBJLoader.ModelData triangle = parse("""
+            v 0 0 0
+            v 1 0 0
+            v 0 1 0
+            f 1 2 3
+            """);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0.0f, triangle.normals[i * 3], 1e-6f);
+            assertEquals(0.0f, triangle.normals[i * 3 + 1], 1e-6f);
+            assertEquals(1.0f, triangle.normals[i * 3 + 2], 1e-6f);
+        }
+    }
+
+    @Test
+    void textureCoordinatesAreFlippedForOpenGL() {
+        OBJLoader.ModelData triangle = parse("""
+            v 0 0 0
+            v 1 0 0
+            v 0 1 0
+            vt 0.25 0.75
+            f 1/1 2/1 3/1
+            """);
+        assertEquals(0.25f, triangle.texCoords[0]);
+        assertEquals(0.25f, triangle.texCoords[1]);
+    }
+
+    @Test
+    void outOfRangeVertexIndexIsRejected() {
+        assertThrows(RuntimeException.class, () -> parse("""
+            v 0 0 0
+            f 1 2 3
+            """));
+    }
+
+    static byte[] readResource(String path) throws IOException {
+        try (InputStream in = OBJLoaderTest.class.getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, "Missing resource " + path);
+            return in.readAllBytes();
+        }
+    }
+
+    private static OBJLoader.ModelData parse(String obj) {
+        return OBJLoader.parse(obj.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Same position and texture coordinate at every corner; normals only when the file provides them
+     * (the old loader filled missing normals with +Y, the new one computes them)
+     */
+    private static void assertSameTriangles(String model, OBJLoader.ModelData a, OBJLoader.ModelData b) {
+        assertEquals(b.indices.length, a.indices.length, model + ": index count");
+        boolean legacyDefaultNormals = true;
+        for (int i = 0; i < b.normals.length; i += 3) {
+            if (b.normals[i] != 0.0f || b.normals[i + 1] != 1.0f || b.normals[i + 2] != 0.0f) {
+                legacyDefaultNormals = false;
+                break;
+            }
+        }
+        for (int i = 0; i < a.indices.length; i++) {
+            int ia = a.indices[i], ib = b.indices[i];
+            for (int c = 0; c < 3; c++) {
+                assertEquals(b.vertices[ib * 3 + c], a.vertices[ia * 3 + c], model + ": position at corner " + i);
+                if (!legacyDefaultNormals) {
+                    assertEquals(b.normals[ib * 3 + c], a.normals[ia * 3 + c], model + ": normal at corner " + i);
+                }
+            }
+            for (int c = 0; c < 2; c++) {
+                assertEquals(b.texCoords[ib * 2 + c], a.texCoords[ia * 2 + c], model + ": texture coordinate at corner " + i);
+            }
+        }
+    }
+}
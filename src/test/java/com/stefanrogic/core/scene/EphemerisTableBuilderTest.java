@@ -0,0 +1,101 @@
+package com.stefanrogic.core.scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.stefanrogic.core.astronomy.AstronomicalCalculator;
+import com.stefanrogic.core.astronomy.ChebyshevEphemeris;
+import com.stefanrogic.core.physics.PhysicsEngine;
+import com.stefanrogic.core.physics.Units;
+
+class EphemerisTableBuilderTest {
+
+    private static final double KM_PER_UNIT = 10000.0;
+    private static final double YEARS = 0.1;
+
+    @Test
+    void mappedTableMatchesFreshIntegration(@TempDir Path directory) throws IOException {
+        ChebyshevEphemeris table = build(directory);
+        double epoch = AstronomicalCalculator.getSceneEpoch();
+        assertEquals(epoch, table.getStartJd(), 1e-9);
+
+        SceneManager sceneManager = new SceneManager();
+        sceneManager.createCelestialObjects();
+        try {
+            BodyStore store = sceneManager.getBodyStore();
+            PhysicsEngine engine = sceneManager.getPhysicsEngine();
+            int sun = store.indexOf("SUN");
+            double[] state = new double[6];
+
+            // SAMPLE AWAY FROM THE FITTING NODES, WHERE AN INTERPOLANT IS AT ITS WORST
+            double step = 1.37 * Units.SECONDS_PER_DAY;
+            double time = 0.0;
+            while (time + step <= YEARS * 365.25 * Units.SECONDS_PER_DAY) {
+                engine.advance(step);
+                time += step;
+                for (int b = 0; b < table.size(); b++) {
+                    int id = store.indexOf(table.getName(b));
+                    table.computeState(b, epoch + time / Units.SECONDS_PER_DAY, state);
+                    double dx = state[0] - (store.getPositionX()[id] - store.getPositionX()[sun]);
+                    double dy = state[1] - (store.getPositionY()[id] - store.getPositionY()[sun]);
+                    double dz = state[2] - (store.getPositionZ()[id] - store.getPositionZ()[sun]);
+                    double errorKm = Math.sqrt(dx * dx + dy * dy + dz * dz) * KM_PER_UNIT;
+                    assertTrue(errorKm < 0.5, table.getName(b) + " off by " + errorKm + " km at day " + time / Units.SECONDS_PER_DAY);
+                }
+            }
+        } finally {
+            sceneManager.cleanup();
+        }
+    }
+
+    @Test
+    void adjacentSegmentsJoinContinuously(@TempDir Path directory) throws IOException {
+        ChebyshevEphemeris table = build(directory);
+        double epsilon = 1e-6; // DAYS EITHER SIDE OF THE BOUNDARY
+        double seconds = epsilon * Units.SECONDS_PER_DAY;
+        double[] before = new double[6], after = new double[6];
+        int boundaries = 0;
+        for (int b = 0; b < table.size(); b++) {
+            double length = table.getSegmentDays(b);
+            for (int segment = 1; table.getStartJd() + segment * length < table.getEndJd(); segment++) {
+                double jd = table.getStartJd() + segment * length;
+                table.computeState(b, jd - epsilon, before);
+                table.computeState(b, jd + epsilon, after);
+
+                // TAKE OUT THE MOTION ACROSS THE 2 EPSILON BETWEEN THE TWO SAMPLES
+                double jump = 0.0, velocityJump = 0.0, speed = 0.0;
+                for (int axis = 0; axis < 3; axis++) {
+                    double d = after[axis] - before[axis] - (before[3 + axis] + after[3 + axis]) * seconds;
+                    double dv = after[3 + axis] - before[3 + axis];
+                    jump += d * d;
+                    velocityJump += dv * dv;
+                    speed += before[3 + axis] * before[3 + axis];
+                }
+                String where = table.getName(b) + " segment " + segment;
+                assertTrue(Math.sqrt(jump) * KM_PER_UNIT < 0.05, where + ": position jumps " + Math.sqrt(jump) * KM_PER_UNIT + " km");
+                assertTrue(Math.sqrt(velocityJump / speed) < 1e-3, where + ": velocity jumps by " + Math.sqrt(velocityJump / speed));
+                boundaries++;
+            }
+        }
+        assertTrue(boundaries > 0, "table has no segment boundaries to check");
+    }
+
+    @Test
+    void unknownArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EphemerisTableBuilder.fromArgs(new String[] {"--build-ephemeris"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> EphemerisTableBuilder.fromArgs(new String[] {"--build-ephemeris", "--out", "x", "--bogus"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> EphemerisTableBuilder.fromArgs(new String[] {"--build-ephemeris", "--out", "x", "--years", "0"}));
+    }
+
+    private static ChebyshevEphemeris build(Path directory) throws IOException {
+        Path file = directory.resolve("table.cheb");
+        EphemerisTableBuilder.fromArgs(new String[] {"--build-ephemeris", "--out", file.toString(), "--years", String.valueOf(YEARS)}).run();
+        return ChebyshevEphemeris.open(file);
+    }
+}
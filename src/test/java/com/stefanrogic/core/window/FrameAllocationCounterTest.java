@@ -0,0 +1,68 @@
+package com.stefanrogic.core.window;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import com.stefanrogic.assets.celestial.CelestialBody;
+import com.stefanrogic.assets.celestial.earth.Earth;
+import com.stefanrogic.core.scene.SceneManager;
+
+class FrameAllocationCounterTest {
+
+    private static final int FRAMES = 1200;
+    private static final int WARM_UP_FRAMES = 120; // SAME AS THE COUNTER'S OWN WARM-UP
+    // A JIT DEOPTIMIZATION CAN REMATERIALIZE A FEW OBJECTS ONCE; A REAL LEAK ALLOCATES EVERY FRAME
+    private static final int TOLERATED_FRAMES = 10;
+
+    // EVERY RESULT IS STORED HERE SO ESCAPE ANALYSIS CANNOT HIDE AN ALLOCATION FROM THE COUNTER
+    private Object sink;
+    private float total;
+
+    @Test
+    void counterSeesAllocationsOnTheCurrentThread() {
+        FrameAllocationCounter counter = new FrameAllocationCounter();
+        counter.beginFrame();
+        sink = new Vector3f(0.15f, 0.35f, 0.65f);
+        counter.endFrame();
+        assertTrue(counter.getLastFrameBytes() > 0, "a new Vector3f went unnoticed");
+    }
+
+    @Test
+    void bodyObjectSlotReadsAllocateNothing() {
+        SceneManager sceneManager = new SceneManager();
+        sceneManager.createCelestialObjects();
+        try {
+            CelestialBody[] bodies = sceneManager.getCelestialBodies().toArray(new CelestialBody[0]);
+            Earth earth = sceneManager.getEarth();
+            assertNotNull(earth);
+            Matrix4f model = new Matrix4f();
+            FrameAllocationCounter counter = new FrameAllocationCounter();
+
+            int allocatingFrames = 0;
+            for (int frame = 0; frame < FRAMES; frame++) {
+                counter.beginFrame();
+                // WHAT RenderEngine READS WHEN IT PUSHES A BODY'S OBJECT SLOT, EARTH'S EXTRA LAYERS INCLUDED
+                for (CelestialBody body : bodies) {
+                    model.identity().translate(body.getPosition()).rotateY(body.getRotationAngle()).scale(body.getRadius());
+                    sink = body.getColor();
+                }
+                model.identity().translate(earth.getPosition()).rotateY(earth.getRotationAngle());
+                sink = earth.getColor();
+                total += earth.getCloudsTextureId() + earth.getBumpTextureId() + earth.getNightLightsTextureId()
+                    + (earth.isUsingOBJModel() ? 1 : 0) + model.m30();
+                counter.endFrame();
+                if (frame >= WARM_UP_FRAMES && counter.getLastFrameBytes() > 0) {
+                    allocatingFrames++;
+                }
+            }
+            assertTrue(allocatingFrames <= TOLERATED_FRAMES,
+                allocatingFrames + " of " + (FRAMES - WARM_UP_FRAMES) + " steady-state frames allocated");
+            assertSame(earth.getColor(), earth.getColor());
+        } finally {
+            sceneManager.cleanup();
+        }
+    }
+}